@@ -11,6 +11,7 @@ const App: React.FC = () => {
     messages,
     isLoading,
     isLoadingHistory,
+    activity,
     quickStats,
     messagesEndRef,
     sendMessage,
@@ -76,6 +77,7 @@ const App: React.FC = () => {
           messages={messages}
           isLoading={isLoading}
           isLoadingHistory={isLoadingHistory}
+          activity={activity}
           messagesEndRef={messagesEndRef}
           onSendMessage={sendMessage}
         />
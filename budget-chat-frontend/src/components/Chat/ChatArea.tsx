@@ -9,6 +9,7 @@ interface ChatAreaProps {
   messages: Message[];
   isLoading: boolean;
   isLoadingHistory?: boolean;
+  activity?: string | null;
   messagesEndRef: React.RefObject<HTMLDivElement | null>;
   onSendMessage: (message: string) => void;
 }
@@ -17,6 +18,7 @@ export const ChatArea: React.FC<ChatAreaProps> = ({
   messages, 
   isLoading, 
   isLoadingHistory = false,
+  activity = null,
   messagesEndRef, 
   onSendMessage 
 }) => {
@@ -37,7 +39,7 @@ export const ChatArea: React.FC<ChatAreaProps> = ({
               <ChatMessage key={index} message={message} />
             ))}
             
-            {isLoading && (
+            {isLoading && activity && (
               <div className="flex justify-start">
                 <div className="max-w-3xl flex items-start space-x-3">
                   <div className="flex-shrink-0 w-8 h-8 rounded-full bg-gray-500 flex items-center justify-center">
@@ -46,7 +48,7 @@ export const ChatArea: React.FC<ChatAreaProps> = ({
                   <div className="p-4 rounded-lg bg-white shadow-md border border-gray-200">
                     <div className="flex items-center space-x-2">
                       <LoadingSpinner className="text-gray-500" />
-                      <span className="text-gray-500">AI is thinking...</span>
+                      <span className="text-gray-500">{activity}</span>
                     </div>
                   </div>
                 </div>
@@ -6,6 +6,7 @@ export const useChat = () => {
   const [messages, setMessages] = useState<Message[]>([]);
   const [isLoading, setIsLoading] = useState(false);
   const [isLoadingHistory, setIsLoadingHistory] = useState(true);
+  const [activity, setActivity] = useState<string | null>(null);
   const [quickStats, setQuickStats] = useState<QuickStats>({ 
     totalIncome: 0, 
     totalExpenses: 0, 
@@ -94,10 +95,36 @@ Just **talk to me naturally** and I'll help manage your budget while remembering
     
     setMessages(prev => [...prev, userMessage]);
     setIsLoading(true);
+    setActivity('AI is thinking...');
+
+    // The answer is appended on its first token, then grows in place as more arrive
+    let answerStarted = false;
+    const showAnswer = (content: string) => {
+      const answer: Message = { role: 'assistant', content, timestamp: Date.now() };
+      setMessages(prev => answerStarted ? [...prev.slice(0, -1), answer] : [...prev, answer]);
+      answerStarted = true;
+      setActivity(null);
+    };
 
     try {
-      const aiResponse = await apiService.sendChatMessage(inputMessage);
-      setMessages(prev => [...prev, aiResponse]);
+      let answer = '';
+      await apiService.streamChatMessage(inputMessage, event => {
+        switch (event.type) {
+          case 'token':
+            answer += event.content ?? '';
+            showAnswer(answer);
+            break;
+          case 'tool':
+            if (!answerStarted) {
+              setActivity(event.status === 'started' ? `Running ${event.tool}...` : 'AI is thinking...');
+            }
+            break;
+          case 'done':
+          case 'error':
+            showAnswer(event.content ?? answer);
+            break;
+        }
+      });
       
       setTimeout(() => {
         fetchQuickStats();
@@ -112,6 +139,7 @@ Just **talk to me naturally** and I'll help manage your budget while remembering
       setMessages(prev => [...prev, errorMessage]);
     } finally {
       setIsLoading(false);
+      setActivity(null);
     }
   }, [isLoading, fetchQuickStats]);
 
@@ -141,6 +169,7 @@ Just **talk to me naturally** and I'll help manage your budget while remembering
     messages,
     isLoading,
     isLoadingHistory,
+    activity,
     quickStats,
     messagesEndRef,
     sendMessage,
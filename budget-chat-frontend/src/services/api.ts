@@ -1,7 +1,19 @@
-import { ChatRequest, ChatResponse, QuickStats, ApiError } from '../types';
+import { ChatRequest, ChatResponse, ChatStreamEvent, QuickStats, ApiError } from '../types';
 
 const API_BASE = process.env.REACT_APP_API_BASE || 'http://localhost:8080/api';
 
+// Each browser keeps its own conversation, so chat memory is not shared between users
+const CONVERSATION_KEY = 'budget-chat-conversation-id';
+
+const conversationId = (): string => {
+  let id = localStorage.getItem(CONVERSATION_KEY);
+  if (!id) {
+    id = crypto.randomUUID();
+    localStorage.setItem(CONVERSATION_KEY, id);
+  }
+  return id;
+};
+
 class ApiService {
   private async handleResponse<T>(response: Response): Promise<T> {
     if (!response.ok) {
@@ -22,6 +34,7 @@ class ApiService {
       method: 'POST',
       headers: {
         'Content-Type': 'application/json',
+        'X-Conversation-Id': conversationId(),
       },
       body: JSON.stringify(request),
     });
@@ -29,14 +42,68 @@ class ApiService {
     return this.handleResponse<ChatResponse>(response);
   }
 
+  /**
+   * Sends a message to the streaming endpoint and calls onEvent for each server-sent event as it
+   * arrives, so the answer can be shown while it is still being written.
+   */
+  async streamChatMessage(message: string, onEvent: (event: ChatStreamEvent) => void): Promise<void> {
+    const request: ChatRequest = { message };
+
+    const response = await fetch(`${API_BASE}/chat/stream`, {
+      method: 'POST',
+      headers: {
+        'Content-Type': 'application/json',
+        'Accept': 'text/event-stream',
+        'X-Conversation-Id': conversationId(),
+      },
+      body: JSON.stringify(request),
+    });
+
+    if (!response.ok || !response.body) {
+      const error: ApiError = {
+        message: `HTTP error! status: ${response.status}`,
+        status: response.status
+      };
+      throw error;
+    }
+
+    const reader = response.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+    for (;;) {
+      const { done, value } = await reader.read();
+      buffer += decoder.decode(value, { stream: !done }).replace(/\r\n/g, '\n');
+      // Events are separated by a blank line; their JSON payload is on the data: lines
+      let boundary = buffer.indexOf('\n\n');
+      while (boundary >= 0) {
+        const data = buffer.slice(0, boundary)
+          .split('\n')
+          .filter(line => line.startsWith('data:'))
+          .map(line => line.slice(5))
+          .join('\n');
+        if (data) {
+          onEvent(JSON.parse(data) as ChatStreamEvent);
+        }
+        buffer = buffer.slice(boundary + 2);
+        boundary = buffer.indexOf('\n\n');
+      }
+      if (done) {
+        return;
+      }
+    }
+  }
+
   async getChatHistory(): Promise<any[]> {
-    const response = await fetch(`${API_BASE}/chat/history`);
+    const response = await fetch(`${API_BASE}/chat/history`, {
+      headers: { 'X-Conversation-Id': conversationId() },
+    });
     return this.handleResponse<any[]>(response);
   }
 
   async clearChatMemory(): Promise<{ message: string }> {
     const response = await fetch(`${API_BASE}/chat/memory`, {
       method: 'DELETE',
+      headers: { 'X-Conversation-Id': conversationId() },
     });
 
     return this.handleResponse<{ message: string }>(response);
@@ -21,6 +21,14 @@ export interface ChatResponse {
   success?: boolean;
 }
 
+export interface ChatStreamEvent {
+  type: 'token' | 'tool' | 'done' | 'error';
+  content?: string;
+  tool?: string;
+  status?: 'started' | 'finished' | 'failed';
+  durationMs?: number;
+}
+
 export interface ApiError {
   message: string;
   status?: number;
@@ -4,8 +4,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
 import org.springframework.ai.chat.memory.ChatMemory;
-import org.springframework.ai.mcp.AsyncMcpToolCallbackProvider;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -18,7 +16,6 @@ public class ChatClientConfig {
     @Bean
     public ChatClient chatClient(
             ChatClient.Builder chatClientBuilder,
-            @Autowired(required = false) AsyncMcpToolCallbackProvider toolCallbackProvider,
             ChatMemory chatMemory) {
 
         String currentDate = LocalDate.now().toString();
@@ -35,17 +32,12 @@ public class ChatClientConfig {
                 When users say "that category" or "that transaction", use context to understand.
                 """, currentDate, currentYear, currentMonth, currentDate);
 
-        var builder = chatClientBuilder
+        // MCP tools are added per request by ChatService, as the pool may only find them after startup
+        return chatClientBuilder
                 .defaultSystem(systemPrompt)
                 .defaultAdvisors(
                         MessageChatMemoryAdvisor.builder(chatMemory).build()
-                );
-
-        if (toolCallbackProvider != null) {
-            builder = builder.defaultToolCallbacks(toolCallbackProvider.getToolCallbacks());
-            log.info("✅ Configured {} MCP tools", toolCallbackProvider.getToolCallbacks().length);
-        }
-
-        return builder.build();
+                )
+                .build();
     }
 }
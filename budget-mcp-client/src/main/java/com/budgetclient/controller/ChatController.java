@@ -3,14 +3,22 @@ package com.budgetclient.controller;
 import com.budgetclient.dto.BudgetSummary;
 import com.budgetclient.dto.ChatRequest;
 import com.budgetclient.dto.ChatResponse;
+import com.budgetclient.dto.ChatStreamEvent;
 import com.budgetclient.service.BudgetSummaryService;
 import com.budgetclient.service.ChatService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.messages.Message;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
@@ -22,13 +30,19 @@ import java.util.Map;
 @Slf4j
 public class ChatController {
 
+    public static final String CONVERSATION_HEADER = "X-Conversation-Id";
+
     private final ChatService chatService;
     private final BudgetSummaryService budgetSummaryService;
 
     @PostMapping("/chat/message")
-    public ResponseEntity<ChatResponse> chat(@Valid @RequestBody ChatRequest request) {
+    public ResponseEntity<ChatResponse> chat(
+            @Valid @RequestBody ChatRequest request,
+            @RequestHeader(value = CONVERSATION_HEADER, required = false)
+            @Pattern(regexp = ChatRequest.CONVERSATION_ID_PATTERN) String conversationId) {
         try {
             log.info("Received chat request: {}", request.getMessage());
+            withConversation(request, conversationId);
 
             ChatResponse response = chatService.processMessage(request);
             return ResponseEntity.ok(response);
@@ -43,11 +57,25 @@ public class ChatController {
         }
     }
 
+    @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ChatStreamEvent>> streamChat(
+            @Valid @RequestBody ChatRequest request,
+            @RequestHeader(value = CONVERSATION_HEADER, required = false)
+            @Pattern(regexp = ChatRequest.CONVERSATION_ID_PATTERN) String conversationId) {
+        log.info("Received streaming chat request: {}", request.getMessage());
+        withConversation(request, conversationId);
+
+        return chatService.streamMessage(request)
+                .map(event -> ServerSentEvent.builder(event).event(event.getType()).build());
+    }
+
     @DeleteMapping("/chat/memory")
-    public ResponseEntity<Map<String, String>> clearChatMemory() {
+    public ResponseEntity<Map<String, String>> clearChatMemory(
+            @RequestHeader(value = CONVERSATION_HEADER, required = false)
+            @Pattern(regexp = ChatRequest.CONVERSATION_ID_PATTERN) String conversationId) {
         try {
-            chatService.clearChatMemory();
-            log.info("Cleared POC chat memory");
+            chatService.clearChatMemory(conversationId);
+            log.info("Cleared chat memory for conversation {}", conversationId);
             return ResponseEntity.ok(Map.of("message", "Chat memory cleared successfully"));
         } catch (Exception e) {
             log.error("Error clearing chat memory", e);
@@ -57,9 +85,13 @@ public class ChatController {
     }
 
     @GetMapping("/chat/history")
-    public ResponseEntity<List<Message>> getChatHistory() {
+    public ResponseEntity<List<Message>> getChatHistory(
+            @RequestHeader(value = CONVERSATION_HEADER, required = false)
+            @Pattern(regexp = ChatRequest.CONVERSATION_ID_PATTERN) String conversationId,
+            @RequestParam(defaultValue = "0") @Min(0) int skip,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(200) int limit) {
         try {
-            List<Message> history = chatService.getChatHistory();
+            List<Message> history = chatService.getChatHistory(conversationId, skip, limit);
             return ResponseEntity.ok(history);
         } catch (Exception e) {
             log.error("Error getting chat history", e);
@@ -67,21 +99,20 @@ public class ChatController {
         }
     }
 
+    /**
+     * Answered asynchronously: the request thread is released while the MCP call runs.
+     */
     @GetMapping("/transactions/totals/{year}/{month}")
-    public ResponseEntity<BudgetSummary> getTotals(
+    public Mono<ResponseEntity<BudgetSummary>> getTotals(
             @PathVariable Integer year,
             @PathVariable Integer month) {
-        try {
-            log.info("Getting totals for {}/{}", month, year);
-            BudgetSummary summary = budgetSummaryService.getTotals(year, month);
-            return ResponseEntity.ok(summary);
-        } catch (IllegalArgumentException e) {
-            log.warn("Invalid year/month: {}", e.getMessage());
-            return ResponseEntity.badRequest().body(BudgetSummary.empty());
-        } catch (Exception e) {
-            log.error("Error getting totals", e);
-            return ResponseEntity.internalServerError().body(BudgetSummary.empty());
-        }
+        log.info("Getting totals for {}/{}", month, year);
+        return budgetSummaryService.getTotalsAsync(year, month)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    log.error("Error getting totals", e);
+                    return Mono.just(ResponseEntity.internalServerError().body(BudgetSummary.empty()));
+                });
     }
 
     @GetMapping("/health")
@@ -94,4 +125,10 @@ public class ChatController {
         boolean hasMcp = chatService.hasMcpTools();
         return ResponseEntity.ok("MCP Tools Available: " + hasMcp);
     }
+
+    private static void withConversation(ChatRequest request, String conversationId) {
+        if (request.getConversationId() == null) {
+            request.setConversationId(conversationId);
+        }
+    }
 }
\ No newline at end of file
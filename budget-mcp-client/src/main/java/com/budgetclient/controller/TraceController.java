@@ -0,0 +1,24 @@
+package com.budgetclient.controller;
+
+import com.budgetclient.tracing.InMemorySpanExporter;
+import com.budgetclient.tracing.Span;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/traces")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "${app.cors.allowed-origins}", maxAge = 3600)
+public class TraceController {
+
+    private final InMemorySpanExporter spanExporter;
+
+    @GetMapping("/{traceId}")
+    public ResponseEntity<List<Span>> getTrace(@PathVariable String traceId) {
+        List<Span> spans = spanExporter.trace(traceId);
+        return spans.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(spans);
+    }
+}
@@ -1,6 +1,7 @@
 package com.budgetclient.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,8 +10,20 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ChatRequest {
+
+    public static final String CONVERSATION_ID_PATTERN = "[A-Za-z0-9_.:-]{1,128}";
     
     @NotBlank(message = "Message cannot be empty")
     private String message;
 
+    private boolean timings;  // Return the per-stage timing breakdown with the answer
+
+    // Falls back to the X-Conversation-Id header, then to the shared default conversation
+    @Pattern(regexp = CONVERSATION_ID_PATTERN, message = "Invalid conversation id")
+    private String conversationId;
+
+    public ChatRequest(String message) {
+        this.message = message;
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.budgetclient.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,16 +13,19 @@ public class ChatResponse {
     private String role;
     private String content;
     private long timestamp;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private StageTimings timings;  // Only when the request asked for it
     
     public static ChatResponse assistant(String content) {
-        return new ChatResponse("assistant", content, System.currentTimeMillis());
+        return new ChatResponse("assistant", content, System.currentTimeMillis(), null);
     }
     
     public static ChatResponse user(String content) {
-        return new ChatResponse("user", content, System.currentTimeMillis());
+        return new ChatResponse("user", content, System.currentTimeMillis(), null);
     }
     
     public static ChatResponse error(String errorMessage) {
-        return new ChatResponse("assistant", "❌ " + errorMessage, System.currentTimeMillis());
+        return new ChatResponse("assistant", "❌ " + errorMessage, System.currentTimeMillis(), null);
     }
-}
\ No newline at end of file
+}
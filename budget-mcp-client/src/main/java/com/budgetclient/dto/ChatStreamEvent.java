@@ -0,0 +1,55 @@
+package com.budgetclient.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One event of a streamed chat answer; {@code type} is also the SSE event name.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChatStreamEvent {
+
+    public static final String TOKEN = "token";
+    public static final String TOOL = "tool";
+    public static final String DONE = "done";
+    public static final String ERROR = "error";
+
+    private String type;
+    private String content;       // The text chunk, or the complete answer on "done"
+    private String tool;
+    private String status;        // Tool progress: started | finished | failed
+    private Double durationMs;
+    private StageTimings timings; // On "done", when the request asked for it
+
+    public static ChatStreamEvent token(String content) {
+        return ChatStreamEvent.builder().type(TOKEN).content(content).build();
+    }
+
+    public static ChatStreamEvent toolStarted(String tool) {
+        return ChatStreamEvent.builder().type(TOOL).tool(tool).status("started").build();
+    }
+
+    public static ChatStreamEvent toolFinished(String tool, double durationMs, boolean failed) {
+        return ChatStreamEvent.builder()
+                .type(TOOL)
+                .tool(tool)
+                .status(failed ? "failed" : "finished")
+                .durationMs(durationMs)
+                .build();
+    }
+
+    public static ChatStreamEvent done(String content, StageTimings timings) {
+        return ChatStreamEvent.builder().type(DONE).content(content).timings(timings).build();
+    }
+
+    public static ChatStreamEvent error(String content) {
+        return ChatStreamEvent.builder().type(ERROR).content(content).build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.budgetclient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Where the time of one chat message went, in milliseconds. See {@code ChatTrace#timings()}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StageTimings {
+
+    private String traceId;
+    private double totalMs;
+    private double modelMs;
+    private double mcpTransportMs;
+    private double serverToolMs;
+    private double dbMs;
+    private int toolCalls;
+}
@@ -0,0 +1,351 @@
+package com.budgetclient.mcp;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.mcp.ToolContextToMcpMetaConverter;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Spreads MCP tool calls over every connected budget server replica.
+ * <p>
+ * Each call goes to the healthy connection with the fewest calls in flight, ties taken in turn. A
+ * connection whose transport fails under a call (refused, reset) is taken out at once and the call is
+ * made once more on another connection, unless the tool is listed in {@code non-idempotent-tools}: a
+ * write that may already have been applied is reported, not repeated. A call that outlasts the request
+ * timeout fails on its own; the connection and the calls sharing it stay up. Healthy connections are
+ * pinged every {@code probe-interval}, and one that does not answer is taken out; connections that are
+ * down are rebuilt from scratch with a backoff doubling from {@code initial-backoff} up to {@code max-backoff}.
+ * <p>
+ * The chat model's tools are the tools of the first server to connect, each routed through the pool
+ * per call. They are taken when the first connection succeeds, whether at startup or on a later
+ * reconnection, so callers should ask for them per request. Calls per connection are counted as {@value #CALLS} with
+ * {@code outcome=success|failed|failover}, and {@value #IN_FLIGHT} and {@value #UP} are gauged per connection.
+ */
+@Slf4j
+public class McpClientPool implements ToolCallbackProvider, DisposableBean {
+
+    public static final String CALLS = "mcp.pool.calls";
+    public static final String IN_FLIGHT = "mcp.pool.in-flight";
+    public static final String UP = "mcp.pool.up";
+
+    /**
+     * How the pool watches and retries its connections.
+     */
+    public record Settings(
+            Duration connectTimeout,
+            Duration requestTimeout,
+            Duration probeInterval,
+            Duration initialBackoff,
+            Duration maxBackoff,
+            Set<String> nonIdempotentTools) {
+    }
+
+    private final List<Connection> connections;
+    private final Settings settings;
+    private final ToolContextToMcpMetaConverter metaConverter;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicInteger turn = new AtomicInteger();
+    private volatile List<McpSchema.Tool> tools = List.of();
+    private volatile ToolCallback[] toolCallbacks = new ToolCallback[0];
+    private final List<Consumer<String>> callListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Connects to every server, waiting up to the connect timeout for them, and starts probing.
+     *
+     * @param connectors one entry per server, each building a new, unconnected client when called
+     */
+    public McpClientPool(
+            Map<String, Supplier<McpAsyncClient>> connectors,
+            Settings settings,
+            ToolContextToMcpMetaConverter metaConverter,
+            MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.metaConverter = metaConverter;
+        this.meterRegistry = meterRegistry;
+        this.connections = connectors.entrySet().stream()
+                .map(entry -> new Connection(entry.getKey(), entry.getValue()))
+                .toList();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("mcp-pool").daemon(true).factory());
+
+        Flux.fromIterable(connections)
+                .flatMap(this::connect)
+                .then()
+                .block(settings.connectTimeout().plusSeconds(1));
+        if (!connections.isEmpty()) {
+            scheduler.scheduleWithFixedDelay(this::probe, settings.probeInterval().toMillis(),
+                    settings.probeInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        log.info("🔌 MCP pool ready: {} of {} servers up, {} tools", healthy(), connections.size(), tools.size());
+    }
+
+    /**
+     * Calls a tool on the least busy healthy server, and on a second one if the first cannot be reached
+     * and the tool is safe to repeat. Fails when no server is up.
+     */
+    public Mono<McpSchema.CallToolResult> callTool(McpSchema.CallToolRequest request) {
+        return call(request, null)
+                .doOnTerminate(() -> callEnded(request.name()));
+    }
+
+    /**
+     * Hears the tool name of every call made through the pool, whoever made it, as the call ends
+     * and before its caller sees the answer or the failure. A failed call may still have been applied.
+     */
+    public void onCallEnded(Consumer<String> listener) {
+        callListeners.add(listener);
+    }
+
+    /**
+     * Whether the pool has no servers configured at all.
+     */
+    public boolean isEmpty() {
+        return connections.isEmpty();
+    }
+
+    /**
+     * Connections currently up.
+     */
+    public int healthy() {
+        return (int) connections.stream().filter(Connection::isUp).count();
+    }
+
+    /**
+     * The tools of the first server that connected, empty until one has.
+     */
+    public List<McpSchema.Tool> tools() {
+        return tools;
+    }
+
+    /**
+     * A callback per tool in {@link #tools()}, empty until a server has connected.
+     */
+    @Override
+    public ToolCallback[] getToolCallbacks() {
+        return toolCallbacks.clone();
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        for (Connection connection : connections) {
+            McpAsyncClient client = connection.client.getAndSet(null);
+            if (client != null) {
+                client.close();
+            }
+        }
+    }
+
+    private void callEnded(String toolName) {
+        for (Consumer<String> listener : callListeners) {
+            try {
+                listener.accept(toolName);
+            } catch (RuntimeException e) {
+                log.warn("🔌 Call listener failed after {}: {}", toolName, e.getMessage());
+            }
+        }
+    }
+
+    private Mono<McpSchema.CallToolResult> call(McpSchema.CallToolRequest request, Connection excluded) {
+        return Mono.defer(() -> {
+            Connection connection = leastBusy(excluded);
+            McpAsyncClient client = connection != null ? connection.client.get() : null;
+            if (client == null) {
+                return Mono.error(new IllegalStateException("No MCP server is reachable for " + request.name()));
+            }
+            // Released as the answer arrives, before the caller sees it, so that its next call is balanced on current counts
+            AtomicBoolean answered = new AtomicBoolean();
+            Runnable release = () -> {
+                if (answered.compareAndSet(false, true)) {
+                    connection.inFlight.decrementAndGet();
+                }
+            };
+            connection.inFlight.incrementAndGet();
+            return client.callTool(request)
+                    .doOnTerminate(release)
+                    .doOnCancel(release)
+                    .doOnNext(result -> connection.success.increment())
+                    .doOnError(TimeoutException.class, e -> {
+                        connection.failed.increment();
+                        log.warn("🔌 {} timed out on {}", request.name(), connection.name);
+                    })
+                    .onErrorResume(McpClientPool::connectionLost, e -> {
+                        markDown(connection, client, e);
+                        if (excluded != null || settings.nonIdempotentTools().contains(request.name())) {
+                            connection.failed.increment();
+                            return Mono.error(e);
+                        }
+                        connection.failover.increment();
+                        log.warn("🔌 {} failed on {}, trying another server", request.name(), connection.name);
+                        return call(request, connection);
+                    });
+        });
+    }
+
+    /**
+     * The up connection with the fewest calls in flight, starting the scan at a different connection
+     * each time so that ties are shared out.
+     */
+    private Connection leastBusy(Connection excluded) {
+        int size = connections.size();
+        int start = size > 0 ? Math.floorMod(turn.getAndIncrement(), size) : 0;
+        Connection best = null;
+        for (int i = 0; i < size; i++) {
+            Connection candidate = connections.get((start + i) % size);
+            if (candidate != excluded && candidate.isUp()
+                    && (best == null || candidate.inFlight.get() < best.inFlight.get())) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Opens a new client for the connection. Never fails: a connection that cannot be made is retried later.
+     */
+    private Mono<Void> connect(Connection connection) {
+        return Mono.defer(() -> {
+                    McpAsyncClient client = connection.connector.get();
+                    return client.initialize()
+                            .then(client.listTools())
+                            // A refused SSE connection is not always reported, only noticed by waiting
+                            .timeout(settings.connectTimeout())
+                            .doOnNext(listed -> {
+                                if (tools.isEmpty()) {
+                                    useTools(listed.tools());
+                                }
+                                connection.failures.set(0);
+                                connection.client.set(client);
+                                log.info("🔌 Connected to {}", connection.name);
+                            })
+                            .doOnError(e -> client.close());
+                })
+                .onErrorResume(e -> {
+                    retryLater(connection, e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private synchronized void useTools(List<McpSchema.Tool> listed) {
+        if (tools.isEmpty()) {
+            toolCallbacks = listed.stream()
+                    .map(tool -> new PooledMcpToolCallback(this, tool, metaConverter))
+                    .toArray(ToolCallback[]::new);
+            tools = List.copyOf(listed);
+            log.info("🔌 {} tools available to the model", tools.size());
+        }
+    }
+
+    private void probe() {
+        for (Connection connection : connections) {
+            McpAsyncClient client = connection.client.get();
+            if (client != null) {
+                client.ping()
+                        .timeout(settings.requestTimeout())
+                        .subscribe(pong -> { }, e -> markDown(connection, client, e));
+            }
+        }
+    }
+
+    /**
+     * Takes a connection out of rotation, unless it was already replaced, and schedules its reconnection.
+     */
+    private void markDown(Connection connection, McpAsyncClient client, Throwable cause) {
+        if (connection.client.compareAndSet(client, null)) {
+            client.close();
+            retryLater(connection, cause);
+        }
+    }
+
+    private void retryLater(Connection connection, Throwable cause) {
+        int failures = connection.failures.incrementAndGet();
+        long initial = settings.initialBackoff().toMillis();
+        long backoff = Math.min(settings.maxBackoff().toMillis(), initial << Math.min(failures - 1, 20));
+        log.warn("🔌 {} is down ({}), reconnecting in {} ms", connection.name, cause, backoff);
+        try {
+            scheduler.schedule(() -> connect(connection).subscribe(), backoff, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("MCP pool closed, not reconnecting to {}", connection.name);
+        }
+    }
+
+    /**
+     * Failures of the connection itself rather than of the call. An MCP error response means the server
+     * is up and simply rejected the call, and a timeout only that this call was slow: closing the client
+     * for it would fail every other call in flight on it. A server that has stopped answering altogether
+     * is left to the probe.
+     */
+    private static boolean connectionLost(Throwable e) {
+        if (e instanceof McpError error) {
+            return error.getJsonRpcError() == null;
+        }
+        return !(e instanceof TimeoutException);
+    }
+
+    private final class Connection {
+
+        private final String name;
+        private final Supplier<McpAsyncClient> connector;
+        private final AtomicReference<McpAsyncClient> client = new AtomicReference<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final Counter success;
+        private final Counter failed;
+        private final Counter failover;
+
+        private Connection(String name, Supplier<McpAsyncClient> connector) {
+            this.name = name;
+            this.connector = connector;
+            this.success = calls("success");
+            this.failed = calls("failed");
+            this.failover = calls("failover");
+            Gauge.builder(IN_FLIGHT, inFlight, AtomicInteger::get)
+                    .description("MCP tool calls waiting for an answer")
+                    .tag("connection", name)
+                    .register(meterRegistry);
+            Gauge.builder(UP, client, current -> current.get() != null ? 1 : 0)
+                    .description("Whether the MCP connection is in rotation")
+                    .tag("connection", name)
+                    .register(meterRegistry);
+        }
+
+        private boolean isUp() {
+            return client.get() != null;
+        }
+
+        private Counter calls(String outcome) {
+            return Counter.builder(CALLS)
+                    .description("MCP tool calls made through the pool")
+                    .tag("connection", name)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.budgetclient.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.transport.HttpClientSseClientTransport;
+import io.modelcontextprotocol.json.jackson.JacksonMcpJsonMapper;
+import io.modelcontextprotocol.spec.McpClientTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.springframework.ai.mcp.ToolContextToMcpMetaConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+@Configuration
+public class McpPoolConfig {
+
+    /**
+     * One pooled connection per URL in {@code app.mcp.servers}, each a plain SSE client whose
+     * transport passes through every {@link McpTransportDecorator}. With {@code app.mcp.enabled=false}
+     * the pool has no servers: direct calls fall back and the model gets no tools.
+     */
+    @Bean
+    public McpClientPool mcpClientPool(
+            @Value("${app.mcp.enabled:true}") boolean enabled,
+            @Value("${app.mcp.servers:http://localhost:8081}") List<String> servers,
+            @Value("${app.mcp.sse-endpoint:/sse}") String sseEndpoint,
+            @Value("${app.mcp.request-timeout:30s}") Duration requestTimeout,
+            @Value("${app.mcp.pool.connect-timeout:5s}") Duration connectTimeout,
+            @Value("${app.mcp.pool.probe-interval:5s}") Duration probeInterval,
+            @Value("${app.mcp.pool.initial-backoff:1s}") Duration initialBackoff,
+            @Value("${app.mcp.pool.max-backoff:30s}") Duration maxBackoff,
+            @Value("${app.mcp.pool.non-idempotent-tools:addTransaction,addTransactions,createBudget}") Set<String> nonIdempotentTools,
+            @Value("${spring.application.name:budget-mcp-client}") String clientName,
+            ObjectMapper objectMapper,
+            List<McpTransportDecorator> decorators,
+            ToolContextToMcpMetaConverter metaConverter,
+            MeterRegistry meterRegistry) {
+
+        McpSchema.Implementation clientInfo = new McpSchema.Implementation(clientName, "1.0.0");
+        Map<String, Supplier<McpAsyncClient>> connectors = new LinkedHashMap<>();
+        if (enabled) {
+            for (String url : servers) {
+                String name = URI.create(url).getAuthority();
+                connectors.put(name, () -> {
+                    McpClientTransport transport = HttpClientSseClientTransport.builder(url)
+                            .sseEndpoint(sseEndpoint)
+                            .connectTimeout(connectTimeout)
+                            .jsonMapper(new JacksonMcpJsonMapper(objectMapper))
+                            .build();
+                    for (McpTransportDecorator decorator : decorators) {
+                        transport = decorator.decorate(name, transport);
+                    }
+                    return McpClient.async(transport)
+                            .clientInfo(clientInfo)
+                            .requestTimeout(requestTimeout)
+                            .build();
+                });
+            }
+        }
+        return new McpClientPool(connectors,
+                new McpClientPool.Settings(connectTimeout, requestTimeout, probeInterval, initialBackoff, maxBackoff, nonIdempotentTools),
+                metaConverter, meterRegistry);
+    }
+}
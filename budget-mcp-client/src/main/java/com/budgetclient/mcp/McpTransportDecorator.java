@@ -0,0 +1,13 @@
+package com.budgetclient.mcp;
+
+import io.modelcontextprotocol.spec.McpClientTransport;
+
+/**
+ * Wraps the transport of every MCP connection the {@link McpClientPool} opens, including the fresh
+ * transport of each reconnection. Decorator beans are applied in bean order, the last one outermost.
+ */
+@FunctionalInterface
+public interface McpTransportDecorator {
+
+    McpClientTransport decorate(String connectionName, McpClientTransport transport);
+}
@@ -0,0 +1,66 @@
+package com.budgetclient.mcp;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.mcp.ToolContextToMcpMetaConverter;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.DefaultToolDefinition;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.execution.ToolExecutionException;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
+
+/**
+ * An MCP tool offered to the chat model, called through the {@link McpClientPool} so that each call
+ * goes to whichever server is least busy at the time. Behaves like Spring AI's own MCP tool callback:
+ * the tool context becomes the request {@code _meta}, and an error result is thrown as a
+ * {@link ToolExecutionException} for the model to see.
+ */
+class PooledMcpToolCallback implements ToolCallback {
+
+    private final McpClientPool pool;
+    private final McpSchema.Tool tool;
+    private final ToolContextToMcpMetaConverter metaConverter;
+    private final ToolDefinition definition;
+
+    PooledMcpToolCallback(McpClientPool pool, McpSchema.Tool tool, ToolContextToMcpMetaConverter metaConverter) {
+        this.pool = pool;
+        this.tool = tool;
+        this.metaConverter = metaConverter;
+        this.definition = DefaultToolDefinition.builder()
+                .name(tool.name())
+                .description(tool.description())
+                .inputSchema(ModelOptionsUtils.toJsonString(tool.inputSchema()))
+                .build();
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return definition;
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return call(toolInput, null);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        Map<String, Object> arguments = ModelOptionsUtils.jsonToMap(StringUtils.hasText(toolInput) ? toolInput : "{}");
+        McpSchema.CallToolRequest request =
+                new McpSchema.CallToolRequest(tool.name(), arguments, metaConverter.convert(toolContext));
+        McpSchema.CallToolResult result;
+        try {
+            result = pool.callTool(request).block();
+        } catch (RuntimeException e) {
+            throw new ToolExecutionException(definition, e);
+        }
+        if (result == null || Boolean.TRUE.equals(result.isError())) {
+            throw new ToolExecutionException(definition,
+                    new IllegalStateException("Error calling tool: " + (result != null ? result.content() : "no result")));
+        }
+        return ModelOptionsUtils.toJsonString(result.content());
+    }
+}
@@ -0,0 +1,35 @@
+package com.budgetclient.memory;
+
+import org.springframework.ai.chat.messages.Message;
+
+import java.util.List;
+
+/**
+ * Durable, append-only record of every conversation, behind the hot windows of {@link ShardedChatMemory}.
+ * <p>
+ * Each conversation has a version that changes with every write to it, from any process, so a
+ * window read earlier can be checked against the store before it is used again.
+ */
+public interface ChatMemoryStore {
+
+    /**
+     * The conversation's version just before and just after an append. {@code before} differs from
+     * the version the writer last saw when someone else wrote in between.
+     */
+    record Appended(long before, long after) {
+    }
+
+    Appended append(String conversationId, List<Message> messages);
+
+    /**
+     * The conversation's current version, 0 when it has never been written or was deleted.
+     */
+    long version(String conversationId);
+
+    /**
+     * Up to {@code limit} messages, oldest first, after skipping the {@code skip} most recent ones.
+     */
+    List<Message> read(String conversationId, int skip, int limit);
+
+    void delete(String conversationId);
+}
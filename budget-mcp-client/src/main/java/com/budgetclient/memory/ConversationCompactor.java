@@ -0,0 +1,225 @@
+package com.budgetclient.memory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the history replayed into each prompt within a token budget.
+ * <p>
+ * After every turn the conversation's history is estimated at about four characters per token.
+ * Once it passes {@code app.chat-memory.compaction.token-budget}, everything before the last
+ * {@code keep-turns} user turns is folded, together with any earlier summary, into a new running
+ * summary written by the chat model. This runs on a small background pool, so the answer that
+ * crossed the budget is not held up, and only one compaction per conversation runs at a time.
+ * <p>
+ * The estimate is published as {@value #HISTORY_TOKENS} after every turn and as
+ * {@value #COMPACTION_TOKENS}, tagged {@code stage=before|after}, for each compaction.
+ */
+@Component
+@Slf4j
+public class ConversationCompactor implements DisposableBean {
+
+    public static final String HISTORY_TOKENS = "chat.memory.history.tokens";
+    public static final String COMPACTION_TOKENS = "chat.memory.compaction.tokens";
+    public static final String COMPACTIONS = "chat.memory.compactions";
+
+    static final String SUMMARY_PREFIX = "Summary of the earlier conversation: ";
+
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final int TOKENS_PER_MESSAGE = 4;
+
+    private static final String INSTRUCTIONS = """
+            You keep the running summary of a conversation between a user and a budget assistant.
+            Merge the earlier summary, if there is one, and the new messages into a single summary of
+            at most %d words. Keep every amount, category, date, budget and transaction that was
+            mentioned, and anything still unresolved. Answer with the summary only.
+            """;
+
+    private final ShardedChatMemory chatMemory;
+    private final ChatModel chatModel;
+    private final MeterRegistry meterRegistry;
+    private final int tokenBudget;
+    private final int keepTurns;
+    private final int summaryWords;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> compacting = ConcurrentHashMap.newKeySet();
+    private final DistributionSummary historyTokens;
+    private final DistributionSummary tokensBefore;
+    private final DistributionSummary tokensAfter;
+
+    public ConversationCompactor(
+            ShardedChatMemory chatMemory,
+            ChatModel chatModel,
+            MeterRegistry meterRegistry,
+            @Value("${app.chat-memory.compaction.token-budget:4000}") int tokenBudget,
+            @Value("${app.chat-memory.compaction.keep-turns:3}") int keepTurns,
+            @Value("${app.chat-memory.compaction.summary-words:200}") int summaryWords,
+            @Value("${app.chat-memory.compaction.threads:2}") int threads) {
+        if (keepTurns < 1 || threads < 1) {
+            throw new IllegalArgumentException("Compaction needs at least one kept turn and one thread");
+        }
+        this.chatMemory = chatMemory;
+        this.chatModel = chatModel;
+        this.meterRegistry = meterRegistry;
+        this.tokenBudget = tokenBudget;
+        this.keepTurns = keepTurns;
+        this.summaryWords = summaryWords;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(256),
+                Thread.ofPlatform().name("chat-compaction-", 0).daemon(true).factory());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.historyTokens = tokens(HISTORY_TOKENS, null);
+        this.tokensBefore = tokens(COMPACTION_TOKENS, "before");
+        this.tokensAfter = tokens(COMPACTION_TOKENS, "after");
+    }
+
+    /**
+     * Records the size of a conversation's history after a turn, and starts compacting it in the
+     * background when it is over budget. Returns at once. A budget of 0 or less turns compaction off.
+     */
+    public void compactIfNeeded(String conversationId) {
+        int tokens = estimateTokens(chatMemory.get(conversationId));
+        historyTokens.record(tokens);
+        if (tokenBudget <= 0 || tokens <= tokenBudget || !compacting.add(conversationId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    compact(conversationId);
+                } finally {
+                    compacting.remove(conversationId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            compacting.remove(conversationId);
+            count("rejected");
+            log.warn("🗜️ Compaction queue full, conversation {} stays over budget for now", conversationId);
+        }
+    }
+
+    /**
+     * Folds everything before the last {@code keep-turns} user turns into the running summary.
+     */
+    boolean compact(String conversationId) {
+        List<Message> window = chatMemory.get(conversationId);
+        Message summary = !window.isEmpty() && window.getFirst() instanceof SystemMessage ? window.getFirst() : null;
+        List<Message> verbatim = summary != null ? window.subList(1, window.size()) : window;
+        int kept = keptFrom(verbatim);
+        if (kept == 0) {
+            count("skipped");
+            return false;
+        }
+        List<Message> folded = verbatim.subList(0, kept);
+        try {
+            String text = chatModel.call(new Prompt(List.of(
+                            new SystemMessage(INSTRUCTIONS.formatted(summaryWords)),
+                            new UserMessage(transcript(summary, folded)))))
+                    .getResult().getOutput().getText();
+            if (text == null || text.isBlank()) {
+                throw new IllegalStateException("The model returned an empty summary");
+            }
+            SystemMessage newSummary = new SystemMessage(SUMMARY_PREFIX + text.strip());
+            if (!chatMemory.compact(conversationId, folded, newSummary.getText())) {
+                count("skipped");
+                return false;
+            }
+            List<Message> compacted = new ArrayList<>();
+            compacted.add(newSummary);
+            compacted.addAll(verbatim.subList(kept, verbatim.size()));
+            int before = estimateTokens(window);
+            int after = estimateTokens(compacted);
+            tokensBefore.record(before);
+            tokensAfter.record(after);
+            count("compacted");
+            log.info("🗜️ Compacted conversation {}: {} messages folded, ~{} -> ~{} tokens",
+                    conversationId, folded.size(), before, after);
+            return true;
+        } catch (RuntimeException e) {
+            count("failed");
+            log.warn("🗜️ Could not compact conversation {}: {}", conversationId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * A rough count of the tokens a list of messages adds to a prompt.
+     */
+    static int estimateTokens(List<Message> messages) {
+        int tokens = 0;
+        for (Message message : messages) {
+            String text = message.getText();
+            tokens += TOKENS_PER_MESSAGE + (text != null ? (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN : 0);
+        }
+        return tokens;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Index of the first message that stays verbatim: the start of the {@code keep-turns}-th user turn from the end.
+     */
+    private int keptFrom(List<Message> verbatim) {
+        int turns = 0;
+        for (int i = verbatim.size() - 1; i > 0; i--) {
+            if (verbatim.get(i) instanceof UserMessage && ++turns == keepTurns) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static String transcript(Message summary, List<Message> folded) {
+        StringBuilder transcript = new StringBuilder();
+        if (summary != null) {
+            transcript.append("Earlier summary:\n").append(summary.getText()).append("\n\n");
+        }
+        transcript.append("New messages:\n");
+        for (Message message : folded) {
+            transcript.append(message.getMessageType() == MessageType.USER ? "User: " : "Assistant: ")
+                    .append(message.getText())
+                    .append('\n');
+        }
+        return transcript.toString();
+    }
+
+    private DistributionSummary tokens(String name, String stage) {
+        DistributionSummary.Builder builder = DistributionSummary.builder(name)
+                .description("Estimated tokens of conversation history replayed into a prompt")
+                .baseUnit("tokens");
+        if (stage != null) {
+            builder.tag("stage", stage);
+        }
+        return builder.register(meterRegistry);
+    }
+
+    private void count(String outcome) {
+        Counter.builder(COMPACTIONS)
+                .description("Conversation compaction attempts")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
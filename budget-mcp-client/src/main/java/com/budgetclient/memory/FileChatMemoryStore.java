@@ -0,0 +1,192 @@
+package com.budgetclient.memory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps each conversation in its own JSON lines file under {@code app.chat-memory.dir}, one message
+ * per line. Messages are only ever appended, and reads start from the end of the file, so writing a
+ * message and restoring the latest turns cost the same however long the conversation is. Reading
+ * further back costs as much as the turns skipped.
+ * <p>
+ * User, assistant and system messages are kept as text; tool messages are not stored. A line left
+ * incomplete by a crash is skipped when read.
+ * <p>
+ * A conversation's version is the length of its file. Appends hold an exclusive lock on the file, so
+ * processes sharing the directory see each other's writes in order; within one process, appends to
+ * the same conversation must not overlap, as {@link ShardedChatMemory} ensures.
+ */
+@Component
+@ConditionalOnProperty(name = "app.chat-memory.dir")
+@Slf4j
+public class FileChatMemoryStore implements ChatMemoryStore {
+
+    private static final int BLOCK_SIZE = 8 * 1024;
+
+    private final Path dir;
+    private final ObjectMapper objectMapper;
+
+    record StoredMessage(String type, String text) {
+    }
+
+    public FileChatMemoryStore(@Value("${app.chat-memory.dir}") Path dir, ObjectMapper objectMapper) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.objectMapper = objectMapper;
+        log.info("💾 Storing chat memory in {}", dir.toAbsolutePath());
+    }
+
+    @Override
+    public Appended append(String conversationId, List<Message> messages) {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (Message message : messages) {
+            if (message.getMessageType() == MessageType.TOOL) {
+                continue;
+            }
+            try {
+                lines.writeBytes(objectMapper.writeValueAsBytes(
+                        new StoredMessage(message.getMessageType().getValue(), message.getText())));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize a chat message", e);
+            }
+            lines.write('\n');
+        }
+        if (lines.size() == 0) {
+            long version = version(conversationId);
+            return new Appended(version, version);
+        }
+        // One locked write per batch, so a turn is never interleaved with another writer's
+        try (FileChannel channel = FileChannel.open(file(conversationId),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+             FileLock ignored = channel.lock()) {
+            long before = channel.size();
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            return new Appended(before, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store chat messages of " + conversationId, e);
+        }
+    }
+
+    @Override
+    public long version(String conversationId) {
+        try {
+            return Files.size(file(conversationId));
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read chat messages of " + conversationId, e);
+        }
+    }
+
+    @Override
+    public List<Message> read(String conversationId, int skip, int limit) {
+        List<Message> newestFirst = new ArrayList<>(Math.max(limit, 0));
+        if (limit <= 0) {
+            return newestFirst;
+        }
+        try (FileChannel channel = FileChannel.open(file(conversationId), StandardOpenOption.READ)) {
+            int skipped = 0;
+            byte[] carry = new byte[0];
+            long position = channel.size();
+            while (position > 0 && newestFirst.size() < limit) {
+                int length = (int) Math.min(BLOCK_SIZE, position);
+                position -= length;
+                byte[] bytes = new byte[length + carry.length];
+                ByteBuffer block = ByteBuffer.wrap(bytes, 0, length);
+                while (block.hasRemaining()) {
+                    if (channel.read(block, position + block.position()) < 0) {
+                        throw new EOFException("Chat memory file shrank while being read");
+                    }
+                }
+                System.arraycopy(carry, 0, bytes, length, carry.length);
+
+                int end = bytes.length;
+                for (int i = bytes.length - 1; i >= 0 && newestFirst.size() < limit; i--) {
+                    if (bytes[i] != '\n') {
+                        continue;
+                    }
+                    if (end - i > 1 && skipped++ >= skip) {
+                        addIfReadable(newestFirst, bytes, i + 1, end);
+                    }
+                    end = i;
+                }
+                carry = Arrays.copyOf(bytes, end);
+            }
+            if (position == 0 && carry.length > 0 && newestFirst.size() < limit && skipped >= skip) {
+                addIfReadable(newestFirst, carry, 0, carry.length);
+            }
+        } catch (NoSuchFileException e) {
+            return List.of();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read chat messages of " + conversationId, e);
+        }
+        Collections.reverse(newestFirst);
+        return newestFirst;
+    }
+
+    @Override
+    public void delete(String conversationId) {
+        try {
+            Files.deleteIfExists(file(conversationId));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete chat messages of " + conversationId, e);
+        }
+    }
+
+    private void addIfReadable(List<Message> messages, byte[] bytes, int from, int to) {
+        try {
+            StoredMessage stored = objectMapper.readValue(bytes, from, to - from, StoredMessage.class);
+            messages.add(switch (MessageType.fromValue(stored.type())) {
+                case USER -> new UserMessage(stored.text());
+                case SYSTEM -> new SystemMessage(stored.text());
+                default -> new AssistantMessage(stored.text());
+            });
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("💾 Skipping an unreadable chat memory line: {}", new String(bytes, from, to - from, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Conversation ids become file names with every character outside {@code [A-Za-z0-9-]} escaped,
+     * so no id can reach outside the directory or collide with another.
+     */
+    private Path file(String conversationId) {
+        StringBuilder name = new StringBuilder();
+        for (byte b : conversationId.getBytes(StandardCharsets.UTF_8)) {
+            if (b >= 'a' && b <= 'z' || b >= 'A' && b <= 'Z' || b >= '0' && b <= '9' || b == '-') {
+                name.append((char) b);
+            } else {
+                name.append('_').append(String.format("%02x", b & 0xff));
+            }
+        }
+        return dir.resolve(name.append(".jsonl").toString());
+    }
+}
@@ -0,0 +1,337 @@
+package com.budgetclient.memory;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process chat memory for many concurrent conversations.
+ * <p>
+ * Conversations are spread over {@code shards} lock stripes by id, so requests for different
+ * conversations rarely wait on each other. Each conversation keeps its last
+ * {@code max-messages-per-session} messages, trimmed so it still starts with a user message.
+ * Conversations idle for longer than {@code idle-timeout} are dropped as their shard is next
+ * written, and once all conversations together hold more than {@code max-total-messages}, the
+ * least recently used conversations are dropped, one shard at a time, until they fit again.
+ * <p>
+ * With a {@link ChatMemoryStore}, every message is also written to the store, and the windows above
+ * are only a hot cache: a conversation that is not in memory, after a restart, on another replica
+ * or after eviction, is restored from its latest stored turns on first use. Older turns stay in the
+ * store until {@link #history} asks for them. A window is checked against the store's version of the
+ * conversation each time it is read or written, and restored again if another replica wrote to or
+ * cleared the conversation since, so replicas sharing a store need no sticky sessions. Without a
+ * store, each replica only knows the turns it served itself.
+ * <p>
+ * {@link ConversationCompactor} may fold the oldest messages of a window into a running summary,
+ * which {@link #get} returns first, as a system message. Summaries live in memory only; a restored
+ * conversation starts from its stored turns again.
+ */
+@Component
+@Slf4j
+public class ShardedChatMemory implements ChatMemory {
+
+    private final Shard[] shards;
+    private final int maxMessagesPerSession;
+    private final long maxTotalMessages;
+    private final long idleTimeoutMillis;
+    private final Clock clock;
+    private final ChatMemoryStore store;
+    private final AtomicLong totalMessages = new AtomicLong();
+    private final AtomicInteger nextEvictionShard = new AtomicInteger();
+
+    @Autowired
+    public ShardedChatMemory(
+            @Value("${app.chat-memory.shards:16}") int shards,
+            @Value("${app.chat-memory.max-messages-per-session:20}") int maxMessagesPerSession,
+            @Value("${app.chat-memory.max-total-messages:200000}") long maxTotalMessages,
+            @Value("${app.chat-memory.idle-timeout:30m}") Duration idleTimeout,
+            @Autowired(required = false) ChatMemoryStore store) {
+        this(shards, maxMessagesPerSession, maxTotalMessages, idleTimeout, store, Clock.systemUTC());
+    }
+
+    ShardedChatMemory(int shards, int maxMessagesPerSession, long maxTotalMessages,
+                      Duration idleTimeout, ChatMemoryStore store, Clock clock) {
+        if (shards < 1 || maxMessagesPerSession < 1 || maxTotalMessages < maxMessagesPerSession) {
+            throw new IllegalArgumentException("Chat memory needs at least one shard, and room for one full session");
+        }
+        this.shards = new Shard[shards];
+        for (int i = 0; i < shards; i++) {
+            this.shards[i] = new Shard();
+        }
+        this.maxMessagesPerSession = maxMessagesPerSession;
+        this.maxTotalMessages = maxTotalMessages;
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.store = store;
+        this.clock = clock;
+    }
+
+    @Override
+    public void add(String conversationId, List<Message> messages) {
+        Shard shard = shard(conversationId);
+        long now = clock.millis();
+        synchronized (shard) {
+            evictIdle(shard, now);
+            Session session = session(shard, conversationId);
+            boolean current = true;
+            if (store != null) {
+                ChatMemoryStore.Appended appended = store.append(conversationId, messages);
+                current = appended.before() == session.storeVersion;
+                session.storeVersion = appended.after();
+            }
+            if (current) {
+                int before = session.messages.size();
+                session.append(messages, maxMessagesPerSession);
+                totalMessages.addAndGet(session.messages.size() - before);
+            } else {
+                // Written elsewhere since this window was read; the store has both writes in order
+                session = restore(shard, conversationId);
+            }
+            session.lastAccessMillis = now;
+        }
+        if (totalMessages.get() > maxTotalMessages) {
+            evictLeastRecentlyUsed(conversationId);
+        }
+    }
+
+    @Override
+    public List<Message> get(String conversationId) {
+        Shard shard = shard(conversationId);
+        long now = clock.millis();
+        synchronized (shard) {
+            Session session = shard.sessions.get(conversationId);
+            if (session != null && isIdle(session, now)) {
+                remove(shard, conversationId);
+                session = null;
+            }
+            if (session == null && store == null) {
+                return List.of();
+            }
+            if (session != null && store != null && store.version(conversationId) != session.storeVersion) {
+                session = restore(shard, conversationId);
+            }
+            session = session != null ? session : session(shard, conversationId);
+            session.lastAccessMillis = now;
+            return session.snapshot();
+        }
+    }
+
+    /**
+     * Replaces the oldest messages of a conversation, and any summary before them, with a new
+     * summary. Does nothing, and answers false, if the window no longer starts with {@code folded},
+     * because it was trimmed, cleared or compacted in the meantime.
+     */
+    public boolean compact(String conversationId, List<Message> folded, String summary) {
+        Shard shard = shard(conversationId);
+        synchronized (shard) {
+            Session session = shard.sessions.get(conversationId);
+            if (session == null || folded.isEmpty() || folded.size() >= session.messages.size()) {
+                return false;
+            }
+            Iterator<Message> window = session.messages.iterator();
+            for (Message message : folded) {
+                if (window.next() != message) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < folded.size(); i++) {
+                session.messages.removeFirst();
+            }
+            totalMessages.addAndGet((session.summary == null ? 1 : 0) - folded.size());
+            session.summary = new SystemMessage(summary);
+            return true;
+        }
+    }
+
+    @Override
+    public void clear(String conversationId) {
+        Shard shard = shard(conversationId);
+        synchronized (shard) {
+            remove(shard, conversationId);
+            if (store != null) {
+                store.delete(conversationId);
+            }
+        }
+    }
+
+    /**
+     * Up to {@code limit} messages of a conversation, oldest first, after skipping the {@code skip}
+     * most recent ones. Pages inside the hot window are served from memory, older ones from the store.
+     */
+    public List<Message> history(String conversationId, int skip, int limit) {
+        List<Message> window = get(conversationId);
+        if (store != null) {
+            // A summary stands in for stored turns, so only the verbatim part of the window can serve a page
+            boolean summarized = !window.isEmpty() && window.getFirst() instanceof SystemMessage;
+            if (skip + limit > window.size() - (summarized ? 1 : 0)) {
+                return store.read(conversationId, skip, limit);
+            }
+        }
+        int to = Math.max(window.size() - skip, 0);
+        return window.subList(Math.max(to - limit, 0), to);
+    }
+
+    /**
+     * Conversations currently held.
+     */
+    public int sessions() {
+        int sessions = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                sessions += shard.sessions.size();
+            }
+        }
+        return sessions;
+    }
+
+    /**
+     * Messages currently held, across all conversations.
+     */
+    public long messages() {
+        return totalMessages.get();
+    }
+
+    private Shard shard(String conversationId) {
+        return shards[Math.floorMod(conversationId.hashCode(), shards.length)];
+    }
+
+    /**
+     * The session held for a conversation, restored from the store's latest turns when it is not in memory.
+     */
+    private Session session(Shard shard, String conversationId) {
+        Session session = shard.sessions.get(conversationId);
+        if (session == null) {
+            session = new Session();
+            if (store != null) {
+                // Taken first: a write landing during the read then only makes the window look stale
+                session.storeVersion = store.version(conversationId);
+                session.append(store.read(conversationId, 0, maxMessagesPerSession), maxMessagesPerSession);
+                session.startAtUserTurn();
+                totalMessages.addAndGet(session.messages.size());
+            }
+            shard.sessions.put(conversationId, session);
+        }
+        return session;
+    }
+
+    /**
+     * Drops the window held for a conversation and reads it again from the store.
+     */
+    private Session restore(Shard shard, String conversationId) {
+        remove(shard, conversationId);
+        return session(shard, conversationId);
+    }
+
+    private boolean isIdle(Session session, long now) {
+        return now - session.lastAccessMillis > idleTimeoutMillis;
+    }
+
+    /**
+     * Sessions are kept in access order, so the idle ones are all at the front.
+     */
+    private void evictIdle(Shard shard, long now) {
+        Iterator<Map.Entry<String, Session>> eldest = shard.sessions.entrySet().iterator();
+        while (eldest.hasNext()) {
+            Session session = eldest.next().getValue();
+            if (!isIdle(session, now)) {
+                return;
+            }
+            eldest.remove();
+            totalMessages.addAndGet(-session.size());
+        }
+    }
+
+    private void remove(Shard shard, String conversationId) {
+        Session session = shard.sessions.remove(conversationId);
+        if (session != null) {
+            totalMessages.addAndGet(-session.size());
+        }
+    }
+
+    /**
+     * Drops the least recently used session of one shard after another until the cap holds. The
+     * session just written is kept, so a shard holding only that one is skipped.
+     */
+    private void evictLeastRecentlyUsed(String keep) {
+        int skipped = 0;
+        while (totalMessages.get() > maxTotalMessages && skipped < shards.length) {
+            Shard shard = shards[Math.floorMod(nextEvictionShard.getAndIncrement(), shards.length)];
+            synchronized (shard) {
+                Iterator<Map.Entry<String, Session>> eldest = shard.sessions.entrySet().iterator();
+                Map.Entry<String, Session> evicted = eldest.hasNext() ? eldest.next() : null;
+                if (evicted != null && evicted.getKey().equals(keep)) {
+                    evicted = eldest.hasNext() ? eldest.next() : null;
+                }
+                if (evicted == null) {
+                    skipped++;
+                    continue;
+                }
+                skipped = 0;
+                remove(shard, evicted.getKey());
+                log.debug("🧹 Evicted conversation {} to stay under {} messages", evicted.getKey(), maxTotalMessages);
+            }
+        }
+    }
+
+    private static class Shard {
+
+        // Access order, so the least recently used session comes first
+        private final LinkedHashMap<String, Session> sessions = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    private static class Session {
+
+        private final ArrayDeque<Message> messages = new ArrayDeque<>();
+        private Message summary;
+        private long lastAccessMillis;
+        // The store's version of the conversation this window reflects
+        private long storeVersion;
+
+        int size() {
+            return messages.size() + (summary != null ? 1 : 0);
+        }
+
+        List<Message> snapshot() {
+            if (summary == null) {
+                return List.copyOf(messages);
+            }
+            List<Message> snapshot = new ArrayList<>(messages.size() + 1);
+            snapshot.add(summary);
+            snapshot.addAll(messages);
+            return List.copyOf(snapshot);
+        }
+
+        void append(List<Message> added, int maxMessages) {
+            messages.addAll(added);
+            if (messages.size() <= maxMessages) {
+                return;
+            }
+            while (messages.size() > maxMessages) {
+                messages.removeFirst();
+            }
+            startAtUserTurn();
+        }
+
+        // The model expects a conversation to open with the user's turn
+        void startAtUserTurn() {
+            while (!messages.isEmpty() && !(messages.peekFirst() instanceof UserMessage)) {
+                messages.removeFirst();
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.budgetclient.routing;
+
+import com.budgetclient.mcp.McpClientPool;
+import com.budgetclient.tracing.TraceParent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.modelcontextprotocol.spec.McpSchema;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Answers the most frequent, unambiguous requests with a direct MCP tool call instead of a model
+ * round trip: "what did I spend this month", "show my budgets", "show my recent transactions" and
+ * "add $12 lunch food expense today". A message is only routed when it matches one of these forms
+ * as a whole; anything else, or a tool call whose answer cannot be shown as it is, goes to the model
+ * as before.
+ * <p>
+ * Declining is a handful of precompiled regular expressions over a short string, a few microseconds.
+ * Every message counts towards {@value #ROUTED} with {@code route=tool|model|fallback}, and
+ * {@value #BYPASS_RATIO} is the share of messages answered without the model.
+ */
+@Component
+@Slf4j
+public class IntentRouter {
+
+    public static final String ROUTED = "chat.routing.messages";
+    public static final String BYPASS_RATIO = "chat.routing.bypass.ratio";
+
+    // Longer messages are conversation, not commands
+    private static final int MAX_ROUTED_LENGTH = 120;
+
+    private static final int FLAGS = Pattern.CASE_INSENSITIVE;
+
+    private static final Pattern SPENDING = Pattern.compile(
+            "(?:(?:what|how much) (?:did|have) i spen[dt](?: so far)?|(?:show|get)(?: me)? my spending|what(?:'s| is) my spending)"
+                    + "(?: (?<period>this|last) month)?", FLAGS);
+
+    private static final Pattern BUDGETS = Pattern.compile(
+            "(?:show|list|get)(?: me)?(?: all)? my budgets|what are my budgets", FLAGS);
+
+    private static final Pattern RECENT_TRANSACTIONS = Pattern.compile(
+            "(?:show|list|get)(?: me)? my (?:recent|latest|last) transactions", FLAGS);
+
+    private static final Pattern ADD_TRANSACTION = Pattern.compile(
+            "(?:add|log|record) \\$?(?<amount>\\d{1,7}(?:\\.\\d{1,2})?)\\$? (?:for )?"
+                    + "(?:(?<description>[a-z][a-z' ]{0,40}?) )?(?<category>[a-z]+) (?<type>expense|income)"
+                    + "(?: (?<date>today|yesterday|on \\d{4}-\\d{2}-\\d{2}))?", FLAGS);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // How the server starts the validation errors it answers with as ordinary text
+    private static final String ERROR_PREFIX = "❌";
+
+    /**
+     * A tool call that answers a message on its own.
+     */
+    public record ToolCall(String tool, Map<String, Object> arguments) {
+    }
+
+    private final McpClientPool mcpClientPool;
+    private final boolean enabled;
+    private final Clock clock;
+    private final Counter tool;
+    private final Counter model;
+    private final Counter fallback;
+
+    @Autowired
+    public IntentRouter(
+            McpClientPool mcpClientPool,
+            MeterRegistry meterRegistry,
+            @Value("${app.routing.enabled:true}") boolean enabled) {
+        this(mcpClientPool, meterRegistry, enabled, Clock.systemDefaultZone());
+    }
+
+    IntentRouter(McpClientPool mcpClientPool, MeterRegistry meterRegistry, boolean enabled, Clock clock) {
+        this.mcpClientPool = mcpClientPool;
+        this.enabled = enabled;
+        this.clock = clock;
+        this.tool = routed(meterRegistry, "tool");
+        this.model = routed(meterRegistry, "model");
+        this.fallback = routed(meterRegistry, "fallback");
+        Gauge.builder(BYPASS_RATIO, this, IntentRouter::bypassRatio)
+                .description("Share of chat messages answered by a direct tool call, without the model")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The tool call that answers this message on its own, if there is one. Counts the message as
+     * going to the model when there is not.
+     */
+    public Optional<ToolCall> route(String message) {
+        Optional<ToolCall> call = enabled && message != null && message.length() <= MAX_ROUTED_LENGTH
+                ? match(normalize(message))
+                : Optional.empty();
+        if (call.isEmpty()) {
+            model.increment();
+        }
+        return call;
+    }
+
+    /**
+     * Makes a routed tool call as part of the given trace. Completes empty, for the caller to ask the
+     * model instead, when no MCP server can be reached or the answer is not fit to show: an error,
+     * flagged or written as text, or the JSON of a server in {@code app.tool-output.format=json} mode.
+     */
+    public Mono<String> call(ToolCall call, String traceparent) {
+        if (mcpClientPool.isEmpty()) {
+            fallback.increment();
+            return Mono.empty();
+        }
+        McpSchema.CallToolRequest request =
+                new McpSchema.CallToolRequest(call.tool(), call.arguments(), Map.of(TraceParent.KEY, traceparent));
+        return mcpClientPool.callTool(request)
+                .mapNotNull(IntentRouter::answer)
+                .onErrorResume(e -> {
+                    log.warn("🧭 Routed call to {} failed, asking the model instead: {}", call.tool(), e.getMessage());
+                    return Mono.empty();
+                })
+                .doOnSuccess(text -> {
+                    if (text != null) {
+                        tool.increment();
+                        log.debug("🧭 Answered with {} {}, no model call", call.tool(), call.arguments());
+                    } else {
+                        fallback.increment();
+                    }
+                });
+    }
+
+    Optional<ToolCall> match(String message) {
+        Matcher matcher = SPENDING.matcher(message);
+        if (matcher.matches()) {
+            YearMonth period = YearMonth.now(clock);
+            if ("last".equalsIgnoreCase(matcher.group("period"))) {
+                period = period.minusMonths(1);
+            }
+            return Optional.of(new ToolCall("getSpendingSummary",
+                    Map.of("year", period.getYear(), "month", period.getMonthValue())));
+        }
+        if (BUDGETS.matcher(message).matches()) {
+            return Optional.of(new ToolCall("getAllBudgets", Map.of()));
+        }
+        if (RECENT_TRANSACTIONS.matcher(message).matches()) {
+            return Optional.of(new ToolCall("getRecentTransactions", Map.of()));
+        }
+        matcher = ADD_TRANSACTION.matcher(message);
+        if (matcher.matches()) {
+            return addTransaction(matcher);
+        }
+        return Optional.empty();
+    }
+
+    private Optional<ToolCall> addTransaction(Matcher matcher) {
+        LocalDate date;
+        try {
+            date = date(matcher.group("date"));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+        String category = capitalize(matcher.group("category"));
+        String description = matcher.group("description");
+        Map<String, Object> arguments = new LinkedHashMap<>();
+        arguments.put("amount", new BigDecimal(matcher.group("amount")));
+        arguments.put("description", description != null ? capitalize(description) : category);
+        arguments.put("category", category);
+        arguments.put("type", matcher.group("type").toUpperCase());
+        arguments.put("date", date.toString());
+        return Optional.of(new ToolCall("addTransaction", arguments));
+    }
+
+    private LocalDate date(String date) {
+        LocalDate today = LocalDate.now(clock);
+        if (date == null || date.equalsIgnoreCase("today")) {
+            return today;
+        }
+        if (date.equalsIgnoreCase("yesterday")) {
+            return today.minusDays(1);
+        }
+        return LocalDate.parse(date.substring("on ".length()));
+    }
+
+    private double bypassRatio() {
+        double total = tool.count() + model.count() + fallback.count();
+        return total > 0 ? tool.count() / total : 0;
+    }
+
+    private static String normalize(String message) {
+        String trimmed = WHITESPACE.matcher(message.strip()).replaceAll(" ");
+        int end = trimmed.length();
+        while (end > 0 && ".?!".indexOf(trimmed.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        return trimmed.substring(0, end).stripTrailing();
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    /**
+     * The tool's text if it reads as an answer for the user, otherwise null.
+     */
+    private static String answer(McpSchema.CallToolResult result) {
+        if (Boolean.TRUE.equals(result.isError())) {
+            return null;
+        }
+        String text = text(result);
+        if (text == null) {
+            return null;
+        }
+        String start = text.stripLeading();
+        return start.startsWith(ERROR_PREFIX) || start.startsWith("{") || start.startsWith("[") ? null : text;
+    }
+
+    private static String text(McpSchema.CallToolResult result) {
+        for (McpSchema.Content content : result.content()) {
+            if (content instanceof McpSchema.TextContent textContent) {
+                return textContent.text();
+            }
+        }
+        return null;
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, String route) {
+        return Counter.builder(ROUTED)
+                .description("Chat messages by how they were answered")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+}
@@ -1,60 +1,120 @@
 package com.budgetclient.service;
 
 import com.budgetclient.dto.BudgetSummary;
+import com.budgetclient.mcp.McpClientPool;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.modelcontextprotocol.client.McpAsyncClient;
 import io.modelcontextprotocol.spec.McpSchema;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Month totals for the frontend, read with a direct {@code getSummary} call at no AI cost.
+ * <p>
+ * Concurrent requests for the same month share one call, and its result is reused for
+ * {@code app.totals.cache-ttl}. Any call through the {@link McpClientPool} that records a transaction,
+ * from the model, a routed message or elsewhere, drops every cached month, so the next request reads
+ * the new totals. Failures are never cached.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class BudgetSummaryService {
 
-    private final List<McpAsyncClient> mcpClients;
-
-    private final ObjectMapper objectMapper;
+    // Tools whose calls change the totals getSummary reports
+    static final Set<String> WRITE_TOOLS = Set.of("addTransaction", "addTransactions");
 
-    public BudgetSummary getTotals(Integer year, Integer month) {
-        try {
-            log.info("Getting budget totals for {}/{} using direct MCP call", month, year);
+    // Months held at once; the frontend only ever asks for a few
+    private static final int MAX_CACHED_MONTHS = 64;
 
-            // Vérifier qu'on a au moins un client MCP
-            if (mcpClients.isEmpty()) {
-                log.error("No MCP clients available");
-                return BudgetSummary.empty();
-            }
+    private final McpClientPool mcpClientPool;
 
-            // Utiliser le premier client MCP (vous en avez 1)
-            McpAsyncClient mcpClient = mcpClients.getFirst();
+    private final ObjectMapper objectMapper;
 
-            // Créer les paramètres pour le tool getSummary
-            Map<String, Object> arguments = new HashMap<>();
-            arguments.put("year", year);
-            arguments.put("month", month);
+    private final Duration cacheTtl;
 
-            log.debug("Calling getSummary tool with arguments: {}", arguments);
+    private final Map<Period, Mono<BudgetSummary>> totals = new ConcurrentHashMap<>();
 
-            // Créer la requête pour appeler le tool
-            McpSchema.CallToolRequest request = new McpSchema.CallToolRequest("getSummary", arguments);
+    private record Period(Integer year, Integer month) {
+    }
 
-            // Appel direct du tool MCP - AUCUN COÛT D'IA
-            McpSchema.CallToolResult result = mcpClient.callTool(request).block();
-            String jsonResponse = extractJsonFromResult(result);
+    public BudgetSummaryService(
+            McpClientPool mcpClientPool,
+            ObjectMapper objectMapper,
+            @Value("${app.totals.cache-ttl:5s}") Duration cacheTtl) {
+        this.mcpClientPool = mcpClientPool;
+        this.objectMapper = objectMapper;
+        this.cacheTtl = cacheTtl;
+        mcpClientPool.onCallEnded(toolName -> {
+            if (WRITE_TOOLS.contains(toolName)) {
+                totals.clear();
+                log.debug("Totals cache cleared after {}", toolName);
+            }
+        });
+    }
 
-            BudgetSummary summary = objectMapper.readValue(jsonResponse, BudgetSummary.class);
+    public BudgetSummary getTotals(Integer year, Integer month) {
+        return getTotalsAsync(year, month).block();
+    }
 
-            return summary;
+    /**
+     * The totals of a month, without blocking the caller's thread.
+     */
+    public Mono<BudgetSummary> getTotalsAsync(Integer year, Integer month) {
+        // Vérifier qu'on a au moins un client MCP
+        if (mcpClientPool.isEmpty()) {
+            log.error("No MCP servers configured");
+            return Mono.just(BudgetSummary.empty());
+        }
 
-        } catch (Exception e) {
+        Period period = new Period(year, month);
+        Mono<BudgetSummary> shared = totals.get(period);
+        if (shared == null) {
+            if (totals.size() >= MAX_CACHED_MONTHS) {
+                totals.clear();
+            }
+            shared = totals.computeIfAbsent(period, this::fetch);
+        }
+        return shared.onErrorResume(e -> {
             log.error("Error calling getSummary tool: {}", e.getMessage(), e);
-            return BudgetSummary.empty();
+            return Mono.just(BudgetSummary.empty());
+        });
+    }
+
+    /**
+     * One getSummary call, made when first subscribed, shared by everyone subscribed while it runs,
+     * and replayed until the cache TTL has passed.
+     */
+    private Mono<BudgetSummary> fetch(Period period) {
+        // Créer les paramètres pour le tool getSummary
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("year", period.year());
+        arguments.put("month", period.month());
+
+        // Créer la requête pour appeler le tool
+        McpSchema.CallToolRequest request = new McpSchema.CallToolRequest("getSummary", arguments);
+
+        // Appel direct du tool MCP - AUCUN COÛT D'IA
+        return Mono.defer(() -> {
+                    log.info("Getting budget totals for {}/{} using direct MCP call", period.month(), period.year());
+                    return mcpClientPool.callTool(request);
+                })
+                .map(result -> parse(extractJsonFromResult(result)))
+                .cache(summary -> cacheTtl, error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    private BudgetSummary parse(String json) {
+        try {
+            return objectMapper.readValue(json, BudgetSummary.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable getSummary result", e);
         }
     }
 
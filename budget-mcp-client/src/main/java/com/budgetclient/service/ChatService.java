@@ -2,53 +2,163 @@ package com.budgetclient.service;
 
 import com.budgetclient.dto.ChatRequest;
 import com.budgetclient.dto.ChatResponse;
+import com.budgetclient.dto.ChatStreamEvent;
+import com.budgetclient.mcp.McpClientPool;
+import com.budgetclient.memory.ConversationCompactor;
+import com.budgetclient.memory.ShardedChatMemory;
+import com.budgetclient.routing.IntentRouter;
+import com.budgetclient.tracing.ChatTrace;
+import com.budgetclient.tracing.ChatTracer;
+import com.budgetclient.tracing.Span;
+import com.budgetclient.tracing.ToolCallListener;
+import com.budgetclient.tracing.TraceParent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
-import org.springframework.ai.mcp.AsyncMcpToolCallbackProvider;
+import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ChatService {
 
-    private final AsyncMcpToolCallbackProvider toolCallbackProvider;
+    private final McpClientPool mcpClientPool;
     private final ChatClient chatClient;
-    private final ChatMemory chatMemory;
+    private final ShardedChatMemory chatMemory;
+    private final ConversationCompactor conversationCompactor;
+    private final IntentRouter intentRouter;
+    private final ChatTracer chatTracer;
     
-    private static final String POC_CONVERSATION_ID = "poc-budget-chat";
+    // Used when a request names no conversation
+    public static final String DEFAULT_CONVERSATION_ID = "poc-budget-chat";
+
+    // Tool progress can be emitted from several MCP transport threads at once
+    private static final Sinks.EmitFailureHandler RETRY_CONCURRENT_EMIT = Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1));
 
     public ChatResponse processMessage(ChatRequest request) {
+        ChatTrace trace = chatTracer.start("chat.message");
+        String conversationId = conversationId(request.getConversationId());
         try {
-            String response = chatClient.prompt()
-                    .user(request.getMessage())
-                    .advisors(spec -> spec.param(ChatMemory.CONVERSATION_ID, POC_CONVERSATION_ID))
-                    .call()
-                    .content();
+            String content = intentRouter.route(request.getMessage())
+                    .flatMap(call -> intentRouter.call(call, trace.traceparent()).blockOptional())
+                    .map(answer -> remember(conversationId, request.getMessage(), answer))
+                    .orElseGet(() -> chatClient.prompt()
+                            .user(request.getMessage())
+                            .advisors(spec -> spec.param(ChatMemory.CONVERSATION_ID, conversationId))
+                            .toolCallbacks(mcpClientPool)
+                            .toolContext(Map.of(TraceParent.KEY, trace.traceparent()))
+                            .call()
+                            .content());
+            chatTracer.end(trace);
+            conversationCompactor.compactIfNeeded(conversationId);
 
-            return ChatResponse.assistant(response);
+            ChatResponse response = ChatResponse.assistant(content);
+            if (request.isTimings()) {
+                response.setTimings(trace.timings());
+            }
+            return response;
         } catch (Exception e) {
             log.error("Error processing chat message", e);
+            trace.attribute("error", true);
+            chatTracer.end(trace);
             return ChatResponse.assistant("I encountered an error. Please try again.");
         }
     }
 
-    public List<Message> getChatHistory() {
-        return chatMemory.get(POC_CONVERSATION_ID);
+    /**
+     * Streams the answer as it is generated: text chunks as the model produces them, and a tool
+     * event as each MCP tool call starts and finishes, then one {@code done} event with the complete
+     * answer. The memory advisor writes the complete answer to chat memory once the stream ends.
+     * A request the {@link IntentRouter} answers directly arrives as a single text chunk.
+     */
+    public Flux<ChatStreamEvent> streamMessage(ChatRequest request) {
+        return Flux.defer(() -> {
+            ChatTrace trace = chatTracer.start("chat.stream");
+            String conversationId = conversationId(request.getConversationId());
+            Sinks.Many<ChatStreamEvent> toolProgress = Sinks.many().unicast().onBackpressureBuffer();
+            trace.onToolCall(new ToolCallListener() {
+                @Override
+                public void started(String toolName) {
+                    toolProgress.emitNext(ChatStreamEvent.toolStarted(toolName), RETRY_CONCURRENT_EMIT);
+                }
+
+                @Override
+                public void finished(String toolName, Span span) {
+                    toolProgress.emitNext(ChatStreamEvent.toolFinished(toolName, span.durationMillis(),
+                            span.attributes().containsKey("error")), RETRY_CONCURRENT_EMIT);
+                }
+            });
+
+            StringBuilder content = new StringBuilder();
+            Flux<String> modelAnswer = Flux.defer(() -> chatClient.prompt()
+                    .user(request.getMessage())
+                    .advisors(spec -> spec.param(ChatMemory.CONVERSATION_ID, conversationId))
+                    .toolCallbacks(mcpClientPool)
+                    .toolContext(Map.of(TraceParent.KEY, trace.traceparent()))
+                    .stream()
+                    .content());
+            Flux<String> answer = intentRouter.route(request.getMessage())
+                    .map(call -> intentRouter.call(call, trace.traceparent())
+                            .map(text -> remember(conversationId, request.getMessage(), text))
+                            .flux()
+                            .switchIfEmpty(modelAnswer))
+                    .orElse(modelAnswer);
+            Flux<ChatStreamEvent> tokens = answer
+                    .doOnNext(content::append)
+                    .map(ChatStreamEvent::token)
+                    .doFinally(signal -> toolProgress.emitComplete(RETRY_CONCURRENT_EMIT));
+
+            return Flux.merge(tokens, toolProgress.asFlux())
+                    .concatWith(Mono.fromSupplier(() -> {
+                        chatTracer.end(trace);
+                        conversationCompactor.compactIfNeeded(conversationId);
+                        return ChatStreamEvent.done(content.toString(), request.isTimings() ? trace.timings() : null);
+                    }))
+                    .onErrorResume(e -> {
+                        log.error("Error streaming chat message", e);
+                        trace.attribute("error", true);
+                        chatTracer.end(trace);
+                        return Flux.just(ChatStreamEvent.error("I encountered an error. Please try again."));
+                    })
+                    .doOnCancel(() -> chatTracer.end(trace));
+        });
+    }
+
+    /**
+     * One page of a conversation, oldest first, after skipping the {@code skip} most recent messages.
+     */
+    public List<Message> getChatHistory(String conversationId, int skip, int limit) {
+        return chatMemory.history(conversationId(conversationId), skip, limit);
     }
 
-    public void clearChatMemory() {
-        chatMemory.clear(POC_CONVERSATION_ID);
+    public void clearChatMemory(String conversationId) {
+        chatMemory.clear(conversationId(conversationId));
     }
 
     public boolean hasMcpTools() {
-        return toolCallbackProvider != null && 
-               toolCallbackProvider.getToolCallbacks() != null &&
-               toolCallbackProvider.getToolCallbacks().length > 0;
+        return mcpClientPool.healthy() > 0 && !mcpClientPool.tools().isEmpty();
+    }
+
+    /**
+     * Writes a turn answered without the model to memory, as the memory advisor would have.
+     */
+    private String remember(String conversationId, String message, String answer) {
+        chatMemory.add(conversationId, List.of(new UserMessage(message), new AssistantMessage(answer)));
+        return answer;
+    }
+
+    private static String conversationId(String requested) {
+        return requested != null ? requested : DEFAULT_CONVERSATION_ID;
     }
 }
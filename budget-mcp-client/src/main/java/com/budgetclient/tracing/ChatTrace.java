@@ -0,0 +1,127 @@
+package com.budgetclient.tracing;
+
+import com.budgetclient.dto.StageTimings;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The trace of one chat message: a root span for the whole request, and an {@code mcp.tools/call}
+ * span for each tool call made while answering it, recorded by {@link TracingMcpTransport}.
+ */
+public class ChatTrace {
+
+    static final String SERVER_TOOL_MS = "server.tool.ms";
+    static final String SERVER_DB_MS = "server.db.ms";
+
+    private final TraceParent root = TraceParent.root();
+    private final String name;
+    private final long startEpochNanos;
+    private final long startNanos;
+    private final List<Span> toolCalls = new CopyOnWriteArrayList<>();
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private volatile ToolCallListener toolCallListener;
+    private volatile long endNanos;
+
+    ChatTrace(String name) {
+        this.name = name;
+        Instant now = Instant.now();
+        this.startEpochNanos = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+        this.startNanos = System.nanoTime();
+    }
+
+    public String traceId() {
+        return root.traceId();
+    }
+
+    /**
+     * The context to hand to tool calls, so their spans join this trace.
+     */
+    public String traceparent() {
+        return root.header();
+    }
+
+    String spanId() {
+        return root.spanId();
+    }
+
+    public void attribute(String key, Object value) {
+        attributes.put(key, value);
+    }
+
+    /**
+     * Follows this trace's tool calls as they happen, for progress reporting.
+     */
+    public void onToolCall(ToolCallListener listener) {
+        this.toolCallListener = listener;
+    }
+
+    void toolCallStarted(String toolName) {
+        ToolCallListener listener = toolCallListener;
+        if (listener != null) {
+            listener.started(toolName);
+        }
+    }
+
+    void addToolCall(String toolName, Span span) {
+        toolCalls.add(span);
+        ToolCallListener listener = toolCallListener;
+        if (listener != null) {
+            listener.finished(toolName, span);
+        }
+    }
+
+    long epochNanos(long nanoTime) {
+        return startEpochNanos + (nanoTime - startNanos);
+    }
+
+    void end() {
+        endNanos = System.nanoTime();
+    }
+
+    /**
+     * The root span followed by the tool call spans.
+     */
+    List<Span> spans() {
+        List<Span> spans = new ArrayList<>(toolCalls.size() + 1);
+        spans.add(new Span(root.traceId(), root.spanId(), null, name,
+                startEpochNanos, epochNanos(endNanos), Map.copyOf(attributes)));
+        spans.addAll(toolCalls);
+        return spans;
+    }
+
+    /**
+     * Splits the request time by stage. Everything outside tool calls counts as model time, which
+     * is dominated by the Anthropic round trips; MCP transport is the tool call time the server
+     * did not spend running the tool, queueing on its tool pool included.
+     */
+    public StageTimings timings() {
+        double totalMs = (endNanos - startNanos) / 1_000_000.0;
+        double toolCallMs = 0;
+        double serverToolMs = 0;
+        double dbMs = 0;
+        for (Span toolCall : toolCalls) {
+            toolCallMs += toolCall.durationMillis();
+            serverToolMs += millis(toolCall.attributes().get(SERVER_TOOL_MS));
+            dbMs += millis(toolCall.attributes().get(SERVER_DB_MS));
+        }
+        return StageTimings.builder()
+                .traceId(traceId())
+                .totalMs(totalMs)
+                .modelMs(totalMs - toolCallMs)
+                .mcpTransportMs(toolCallMs - serverToolMs)
+                .serverToolMs(serverToolMs - dbMs)
+                .dbMs(dbMs)
+                .toolCalls(toolCalls.size())
+                .build();
+    }
+
+    private static double millis(Object value) {
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+}
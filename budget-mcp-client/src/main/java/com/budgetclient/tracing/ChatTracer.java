@@ -0,0 +1,54 @@
+package com.budgetclient.tracing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Starts and ends {@link ChatTrace}s and hands their spans to the {@link SpanExporter}s. Open traces
+ * are looked up by id when a tool call carrying their {@code traceparent} goes out.
+ */
+@Component
+@Slf4j
+public class ChatTracer {
+
+    private final List<SpanExporter> exporters;
+    private final Map<String, ChatTrace> active = new ConcurrentHashMap<>();
+
+    public ChatTracer(List<SpanExporter> exporters) {
+        this.exporters = exporters;
+    }
+
+    public ChatTrace start(String name) {
+        ChatTrace trace = new ChatTrace(name);
+        active.put(trace.traceId(), trace);
+        return trace;
+    }
+
+    /**
+     * @return the open trace with this id, or null once it has ended
+     */
+    ChatTrace find(String traceId) {
+        return active.get(traceId);
+    }
+
+    public void end(ChatTrace trace) {
+        if (active.remove(trace.traceId()) == null) {
+            return;
+        }
+        trace.end();
+        List<Span> spans = trace.spans();
+        for (SpanExporter exporter : exporters) {
+            try {
+                exporter.export(spans);
+            } catch (RuntimeException e) {
+                log.warn("🔎 Span exporter {} failed: {}", exporter.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+        log.debug("🔎 Trace {} {}: {} ms, {} tool calls",
+                trace.traceId(), spans.getFirst().name(), spans.getFirst().durationMillis(), spans.size() - 1);
+    }
+}
@@ -0,0 +1,40 @@
+package com.budgetclient.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent spans in memory for {@code GET /api/traces/{traceId}}.
+ */
+@Component
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final int maxSpans;
+    private final Deque<Span> spans = new ArrayDeque<>();
+
+    public InMemorySpanExporter(@Value("${app.tracing.in-memory.max-spans:2000}") int maxSpans) {
+        this.maxSpans = maxSpans;
+    }
+
+    @Override
+    public synchronized void export(List<Span> finished) {
+        for (Span span : finished) {
+            if (spans.size() == maxSpans) {
+                spans.removeFirst();
+            }
+            spans.addLast(span);
+        }
+    }
+
+    public synchronized List<Span> trace(String traceId) {
+        return spans.stream().filter(span -> span.traceId().equals(traceId)).toList();
+    }
+
+    public synchronized int size() {
+        return spans.size();
+    }
+}
@@ -0,0 +1,11 @@
+package com.budgetclient.tracing;
+
+import java.util.List;
+
+/**
+ * Receives the spans of each chat trace once it ends.
+ */
+public interface SpanExporter {
+
+    void export(List<Span> spans);
+}
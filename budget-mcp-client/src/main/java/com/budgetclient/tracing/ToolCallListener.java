@@ -0,0 +1,14 @@
+package com.budgetclient.tracing;
+
+/**
+ * Notified as the tool calls of a {@link ChatTrace} start and finish, from the MCP transport's threads.
+ */
+public interface ToolCallListener {
+
+    void started(String toolName);
+
+    /**
+     * @param span the finished {@code mcp.tools/call} span, with an {@code error} attribute if the call failed
+     */
+    void finished(String toolName, Span span);
+}
@@ -0,0 +1,32 @@
+package com.budgetclient.tracing;
+
+import com.budgetclient.mcp.McpTransportDecorator;
+import org.springframework.ai.mcp.ToolContextToMcpMetaConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Sends only the trace context from the tool context as MCP request {@code _meta}. Spring AI's
+     * default converter forwards every entry, including the whole tool call history.
+     */
+    @Bean
+    public ToolContextToMcpMetaConverter traceContextMetaConverter() {
+        return toolContext -> {
+            Object traceparent = toolContext != null ? toolContext.getContext().get(TraceParent.KEY) : null;
+            return traceparent != null ? Map.of(TraceParent.KEY, traceparent) : Map.of();
+        };
+    }
+
+    /**
+     * Wraps the transport of every pooled MCP connection in {@link TracingMcpTransport}.
+     */
+    @Bean
+    public McpTransportDecorator tracingMcpTransports(ChatTracer chatTracer) {
+        return (connectionName, transport) -> new TracingMcpTransport(transport, chatTracer);
+    }
+}
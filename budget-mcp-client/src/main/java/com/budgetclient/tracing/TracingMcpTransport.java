@@ -0,0 +1,127 @@
+package com.budgetclient.tracing;
+
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpClientTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Wraps an MCP client transport to trace {@code tools/call} requests whose {@code _meta} carries the
+ * {@code traceparent} of an open {@link ChatTrace}. Each becomes an {@code mcp.tools/call} span, from
+ * the request leaving the client to its response arriving, and the server is handed that span as
+ * its parent. The tool and database time the server reports in the result {@code _meta} are kept
+ * as span attributes. The trace's {@link ToolCallListener} hears about each call as it starts and ends.
+ */
+public class TracingMcpTransport implements McpClientTransport {
+
+    static final String TIMINGS_KEY = "timings";
+
+    private final McpClientTransport delegate;
+    private final ChatTracer chatTracer;
+    private final Map<Object, PendingCall> pending = new ConcurrentHashMap<>();
+
+    public TracingMcpTransport(McpClientTransport delegate, ChatTracer chatTracer) {
+        this.delegate = delegate;
+        this.chatTracer = chatTracer;
+    }
+
+    @Override
+    public Mono<Void> connect(Function<Mono<McpSchema.JSONRPCMessage>, Mono<McpSchema.JSONRPCMessage>> handler) {
+        return delegate.connect(message -> handler.apply(message.doOnNext(this::received)));
+    }
+
+    @Override
+    public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+        return delegate.sendMessage(traced(message));
+    }
+
+    private McpSchema.JSONRPCMessage traced(McpSchema.JSONRPCMessage message) {
+        if (!(message instanceof McpSchema.JSONRPCRequest request)
+                || !McpSchema.METHOD_TOOLS_CALL.equals(request.method())
+                || !(request.params() instanceof McpSchema.CallToolRequest call)
+                || call.meta() == null) {
+            return message;
+        }
+        TraceParent parent = TraceParent.parse(call.meta().get(TraceParent.KEY));
+        ChatTrace trace = parent != null ? chatTracer.find(parent.traceId()) : null;
+        if (trace == null) {
+            return message;
+        }
+
+        TraceParent span = new TraceParent(parent.traceId(), TraceParent.newSpanId());
+        pending.put(request.id(), new PendingCall(trace, span.spanId(), parent.spanId(), call.name(), System.nanoTime()));
+        trace.toolCallStarted(call.name());
+        Map<String, Object> meta = new LinkedHashMap<>(call.meta());
+        meta.put(TraceParent.KEY, span.header());
+        return new McpSchema.JSONRPCRequest(request.jsonrpc(), request.method(), request.id(),
+                new McpSchema.CallToolRequest(call.name(), call.arguments(), meta));
+    }
+
+    private void received(McpSchema.JSONRPCMessage message) {
+        if (!(message instanceof McpSchema.JSONRPCResponse response)) {
+            return;
+        }
+        PendingCall call = pending.remove(response.id());
+        if (call == null) {
+            return;
+        }
+        long endNanos = System.nanoTime();
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("mcp.tool.name", call.toolName());
+        if (response.error() != null
+                || response.result() instanceof Map<?, ?> result && Boolean.TRUE.equals(result.get("isError"))) {
+            attributes.put("error", true);
+        }
+        if (response.result() instanceof Map<?, ?> result
+                && result.get("_meta") instanceof Map<?, ?> meta
+                && meta.get(TIMINGS_KEY) instanceof Map<?, ?> timings) {
+            putIfPresent(attributes, ChatTrace.SERVER_TOOL_MS, timings.get("toolMs"));
+            putIfPresent(attributes, ChatTrace.SERVER_DB_MS, timings.get("dbMs"));
+            putIfPresent(attributes, "server.db.calls", timings.get("dbCalls"));
+        }
+        call.trace().addToolCall(call.toolName(), new Span(call.trace().traceId(), call.spanId(), call.parentSpanId(),
+                "mcp.tools/call " + call.toolName(), call.trace().epochNanos(call.startNanos()),
+                call.trace().epochNanos(endNanos), attributes));
+    }
+
+    private static void putIfPresent(Map<String, Object> attributes, String key, Object value) {
+        if (value instanceof Number) {
+            attributes.put(key, value);
+        }
+    }
+
+    private record PendingCall(ChatTrace trace, String spanId, String parentSpanId, String toolName, long startNanos) {
+    }
+
+    @Override
+    public void setExceptionHandler(Consumer<Throwable> handler) {
+        delegate.setExceptionHandler(handler);
+    }
+
+    @Override
+    public List<String> protocolVersions() {
+        return delegate.protocolVersions();
+    }
+
+    @Override
+    public Mono<Void> closeGracefully() {
+        return delegate.closeGracefully();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
+        return delegate.unmarshalFrom(data, typeRef);
+    }
+}
@@ -3,10 +3,11 @@ package com.budgetclient.controller;
 import com.budgetclient.dto.BudgetSummary;
 import com.budgetclient.dto.ChatRequest;
 import com.budgetclient.dto.ChatResponse;
+import com.budgetclient.dto.ChatStreamEvent;
+import com.budgetclient.mcp.McpClientPool;
 import com.budgetclient.service.BudgetSummaryService;
 import com.budgetclient.service.ChatService;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.modelcontextprotocol.client.McpAsyncClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,18 +15,21 @@ import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.UserMessage;
-import org.springframework.ai.mcp.AsyncMcpToolCallbackProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -47,7 +51,7 @@ class ChatControllerTest {
 
     // Mock the dependencies that ChatService and BudgetSummaryService need
     @MockBean
-    private AsyncMcpToolCallbackProvider mcpToolCallbackProvider;
+    private McpClientPool mcpClientPool;
 
     @MockBean
     private ChatClient chatClient;
@@ -55,9 +59,6 @@ class ChatControllerTest {
     @MockBean
     private ChatMemory chatMemory;
 
-    @MockBean
-    private List<McpAsyncClient> mcpClients;
-
     // Use the real ObjectMapper, don't mock it
     @Autowired
     private ObjectMapper objectMapper;
@@ -98,11 +99,65 @@ class ChatControllerTest {
         verify(chatService).processMessage(any(ChatRequest.class));
     }
 
+    @Test
+    @DisplayName("Should take the conversation id from the header when the body has none")
+    void chat_WithConversationHeader_ShouldUseItForTheConversation() throws Exception {
+        // Given
+        when(chatService.processMessage(any(ChatRequest.class))).thenReturn(successChatResponse);
+
+        // When
+        mockMvc.perform(post("/api/chat/message")
+                        .header(ChatController.CONVERSATION_HEADER, "session-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validChatRequest)))
+                .andExpect(status().isOk());
+
+        // Then
+        verify(chatService).processMessage(argThat(request -> "session-123".equals(request.getConversationId())));
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed conversation id")
+    void chatHistory_WithInvalidConversationHeader_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/chat/history")
+                        .header(ChatController.CONVERSATION_HEADER, "../other user"))
+                .andExpect(status().isBadRequest());
+
+        verify(chatService, never()).getChatHistory(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should stream chat events as server-sent events")
+    void streamChat_WithValidRequest_ShouldStreamEvents() throws Exception {
+        // Given
+        when(chatService.streamMessage(any(ChatRequest.class))).thenReturn(Flux.just(
+                ChatStreamEvent.toolStarted("createBudget"),
+                ChatStreamEvent.toolFinished("createBudget", 12.5, false),
+                ChatStreamEvent.token("Budget created"),
+                ChatStreamEvent.done("Budget created", null)));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/chat/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validChatRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(containsString("event:tool\ndata:{\"type\":\"tool\",\"tool\":\"createBudget\",\"status\":\"started\"}")))
+                .andExpect(content().string(containsString("\"status\":\"finished\",\"durationMs\":12.5")))
+                .andExpect(content().string(containsString("event:done\ndata:{\"type\":\"done\",\"content\":\"Budget created\"}")));
+    }
+
     @Test
     @DisplayName("Should clear chat memory successfully")
     void clearChatMemory_ShouldReturnSuccessMessage() throws Exception {
         // Given
-        doNothing().when(chatService).clearChatMemory();
+        doNothing().when(chatService).clearChatMemory(null);
 
         // When & Then
         mockMvc.perform(delete("/api/chat/memory"))
@@ -110,7 +165,7 @@ class ChatControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.message").value("Chat memory cleared successfully"));
 
-        verify(chatService).clearChatMemory();
+        verify(chatService).clearChatMemory(null);
     }
 
     @Test
@@ -121,7 +176,7 @@ class ChatControllerTest {
                 new UserMessage("Hello"),
                 new UserMessage("How are you?")
         );
-        when(chatService.getChatHistory()).thenReturn(mockHistory);
+        when(chatService.getChatHistory(null, 0, 50)).thenReturn(mockHistory);
 
         // When & Then
         mockMvc.perform(get("/api/chat/history"))
@@ -130,24 +185,47 @@ class ChatControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(2));
 
-        verify(chatService).getChatHistory();
+        verify(chatService).getChatHistory(null, 0, 50);
+    }
+
+    @Test
+    @DisplayName("Should page through older history")
+    void getChatHistory_WithPage_ShouldPassItOn() throws Exception {
+        // Given
+        when(chatService.getChatHistory("session-123", 50, 25)).thenReturn(List.of(new UserMessage("Hello")));
+
+        // When & Then
+        mockMvc.perform(get("/api/chat/history")
+                        .header(ChatController.CONVERSATION_HEADER, "session-123")
+                        .param("skip", "50")
+                        .param("limit", "25"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        mockMvc.perform(get("/api/chat/history").param("limit", "1000"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
     @DisplayName("Should get budget totals successfully")
     void getTotals_WithValidYearAndMonth_ShouldReturnBudgetSummary() throws Exception {
         // Given
-        when(budgetSummaryService.getTotals(2025, 6)).thenReturn(testBudgetSummary);
+        when(budgetSummaryService.getTotalsAsync(2025, 6)).thenReturn(Mono.just(testBudgetSummary));
 
-        // When & Then
-        mockMvc.perform(get("/api/transactions/totals/2025/6"))
+        // When
+        MvcResult result = mockMvc.perform(get("/api/transactions/totals/2025/6"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.totalIncome").value(3000.00))
                 .andExpect(jsonPath("$.totalExpenses").value(1500.00))
                 .andExpect(jsonPath("$.netAmount").value(1500.00));
 
-        verify(budgetSummaryService).getTotals(2025, 6);
+        verify(budgetSummaryService).getTotalsAsync(2025, 6);
     }
 
     @Test
@@ -0,0 +1,363 @@
+package com.budgetclient.load;
+
+import com.budgetclient.dto.BudgetSummary;
+import com.budgetclient.dto.ChatRequest;
+import com.budgetclient.dto.ChatResponse;
+import com.budgetclient.load.ScriptedChatModel.ScriptedToolCall;
+import com.budgetclient.mcp.McpTransportDecorator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays concurrent chat sessions against the client, with {@link ScriptedChatModel} standing in
+ * for Anthropic and a real budget MCP server behind it, then does the same for the totals endpoint.
+ * Reports p50/p95/p99 latency and throughput per endpoint, and splits the mean request time into
+ * the model stand-in's think time, client work, MCP transport and database time. MCP time is
+ * measured by {@link TimedMcpTransport}; database time is the server's
+ * {@code hikaricp.connections.usage} total over the run. "Show my budgets" is answered by the intent
+ * router's direct tool call, so it skips the stand-in as it would skip Anthropic. A second test compares time to first byte
+ * and first answer text between the blocking and the streaming chat endpoints. Only correctness is asserted.
+ * <p>
+ * Start a server first, ideally with a dataset, for example
+ * {@code java -jar budget-mcp-server.jar --app.synthetic-data.transactions=100000}, then run
+ * {@code mvn test -Dtest=ChatLoadTest -DloadTest=true} (tune with {@code -DloadTest.serverUrl=},
+ * {@code -DloadTest.sessions=}, {@code -DloadTest.concurrency=}, {@code -DloadTest.thinkMs=} and {@code -DloadTest.wordMs=}, the
+ * stand-in's time per answer word).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.ai.model.chat=scripted",
+        "spring.ai.chat.client.enabled=true",
+        "app.mcp.enabled=true",
+        "logging.level.com.budgetclient=WARN",
+        "logging.level.org.springframework.ai=WARN"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "loadTest", matches = "true")
+@DisplayName("Chat Load Test - Scripted Model Against a Running MCP Server")
+class ChatLoadTest {
+
+    private static final String SERVER_URL = System.getProperty("loadTest.serverUrl", "http://localhost:8081");
+    private static final int SESSIONS = Integer.getInteger("loadTest.sessions", 200);
+    private static final int CONCURRENCY = Integer.getInteger("loadTest.concurrency", 16);
+    private static final Duration THINK_TIME = Duration.ofMillis(Long.getLong("loadTest.thinkMs", 100));
+    private static final Duration WORD_TIME = Duration.ofMillis(Long.getLong("loadTest.wordMs", 0));
+
+    private static final int YEAR = 2025;
+    private static final int MONTH = 6;
+
+    /**
+     * One session's messages, in order, with the tool call the model makes for each.
+     */
+    private static final Map<String, ScriptedToolCall> SESSION = sessionScript();
+
+    private static final List<TimedMcpTransport> TRANSPORTS = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class LoadTestConfig {
+
+        @Bean
+        McpTransportDecorator timedMcpTransports() {
+            return TimedMcpTransport.wrapping(TRANSPORTS);
+        }
+
+        @Bean
+        ScriptedChatModel scriptedChatModel() {
+            return new ScriptedChatModel(SESSION, THINK_TIME, WORD_TIME);
+        }
+    }
+
+    @DynamicPropertySource
+    static void mcpServer(DynamicPropertyRegistry registry) {
+        registry.add("app.mcp.servers", () -> SERVER_URL);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ScriptedChatModel scriptedChatModel;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("Should report latency percentiles, throughput and the time split for both endpoints")
+    void chatAndTotals_UnderConcurrentSessions_ShouldReportLatencySplit() throws Exception {
+        // Given
+        assertThat(TRANSPORTS).as("MCP transports wrapped for timing").isNotEmpty();
+        List<String> messages = List.copyOf(SESSION.keySet());
+
+        // When
+        Phase chat = run("/api/chat/message", messages.size(), step -> {
+            ResponseEntity<ChatResponse> response = restTemplate.postForEntity(
+                    "/api/chat/message", new ChatRequest(messages.get(step)), ChatResponse.class);
+            return response.getStatusCode().is2xxSuccessful() && response.getBody() != null
+                    && isAnswer(response.getBody().getContent());
+        });
+        Phase totals = run("/api/transactions/totals/{year}/{month}", messages.size(), step -> {
+            ResponseEntity<BudgetSummary> response = restTemplate.getForEntity(
+                    "/api/transactions/totals/{year}/{month}", BudgetSummary.class, YEAR, MONTH);
+            return response.getStatusCode().is2xxSuccessful() && response.getBody() != null;
+        });
+
+        // Then
+        System.out.println(chat.report());
+        System.out.println(totals.report());
+        assertThat(chat.failures()).isZero();
+        assertThat(totals.failures()).isZero();
+        assertThat(chat.mcpCalls()).isEqualTo(chat.latencies().count());
+    }
+
+    @Test
+    @DisplayName("Should report time to first byte and first text for the blocking and streaming chat endpoints")
+    void chatAndStream_UnderConcurrentSessions_ShouldReportTimeToFirstByte() throws Exception {
+        // Given
+        List<String> messages = List.copyOf(SESSION.keySet());
+
+        // When
+        FirstByte blocking = firstByte("/api/chat/message", messages, "\"content\":\"");
+        FirstByte streaming = firstByte("/api/chat/stream", messages, "event:token");
+
+        // Then
+        System.out.println(blocking.report());
+        System.out.println(streaming.report());
+        assertThat(blocking.failures()).isZero();
+        assertThat(streaming.failures()).isZero();
+    }
+
+    /**
+     * Runs {@link #SESSIONS} sessions of {@code steps} requests each, {@link #CONCURRENCY} sessions at a time.
+     */
+    private Phase run(String endpoint, int steps, IntPredicate request) throws Exception {
+        Snapshot before = snapshot();
+        Latencies latencies = new Latencies();
+        AtomicInteger failures = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService sessions = Executors.newFixedThreadPool(CONCURRENCY)) {
+            List<Future<?>> running = new ArrayList<>(SESSIONS);
+            for (int session = 0; session < SESSIONS; session++) {
+                running.add(sessions.submit(() -> {
+                    for (int step = 0; step < steps; step++) {
+                        long sent = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = request.test(step);
+                        } catch (RuntimeException e) {
+                            ok = false;
+                        }
+                        latencies.record(System.nanoTime() - sent);
+                        if (!ok) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> session : running) {
+                session.get();
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return new Phase(endpoint, latencies, failures.get(), elapsed, before, snapshot());
+    }
+
+    /**
+     * Like {@link #run}, but reads each response as it arrives, noting when the first byte and the
+     * first line containing {@code firstText} come in.
+     */
+    private FirstByte firstByte(String endpoint, List<String> messages, String firstText) throws Exception {
+        FirstByte result = new FirstByte(endpoint, new Latencies(), new Latencies(), new Latencies(), new AtomicInteger());
+        try (ExecutorService sessions = Executors.newFixedThreadPool(CONCURRENCY)) {
+            List<Future<?>> running = new ArrayList<>(SESSIONS);
+            for (int session = 0; session < SESSIONS; session++) {
+                running.add(sessions.submit(() -> {
+                    for (String message : messages) {
+                        try {
+                            read(endpoint, message, firstText, result);
+                        } catch (Exception e) {
+                            result.failed().incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> session : running) {
+                session.get();
+            }
+        }
+        return result;
+    }
+
+    private void read(String endpoint, String message, String firstText, FirstByte result) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + endpoint))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(new ChatRequest(message))))
+                .build();
+        long sent = System.nanoTime();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            int first = body.read();
+            if (first < 0 || response.statusCode() != 200) {
+                result.failed().incrementAndGet();
+                return;
+            }
+            result.firstByte().record(System.nanoTime() - sent);
+            boolean found = false;
+            BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            String line = (char) first + lines.readLine();
+            while (line != null) {
+                if (!found && line.contains(firstText)) {
+                    result.firstText().record(System.nanoTime() - sent);
+                    found = true;
+                }
+                line = lines.readLine();
+            }
+            result.total().record(System.nanoTime() - sent);
+            if (!found) {
+                result.failed().incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * The stand-in's answer, or a tool's own answer for a message the intent router took.
+     */
+    private static boolean isAnswer(String content) {
+        return content != null && !content.isBlank() && !content.startsWith("I encountered an error");
+    }
+
+    private Snapshot snapshot() {
+        long mcpCalls = 0;
+        long mcpNanos = 0;
+        for (TimedMcpTransport transport : TRANSPORTS) {
+            mcpCalls += transport.calls();
+            mcpNanos += transport.total().toNanos();
+        }
+        return new Snapshot(scriptedChatModel.thinkTime().toNanos(), mcpCalls, mcpNanos, serverDbSeconds());
+    }
+
+    /**
+     * Total time the server held JDBC connections, or NaN when its metrics endpoint is unavailable.
+     */
+    private double serverDbSeconds() {
+        try {
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(URI.create(SERVER_URL + "/actuator/metrics/hikaricp.connections.usage"))
+                            .timeout(Duration.ofSeconds(5))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return Double.NaN;
+            }
+            for (JsonNode measurement : objectMapper.readTree(response.body()).path("measurements")) {
+                if ("TOTAL_TIME".equals(measurement.path("statistic").asText())) {
+                    return measurement.path("value").asDouble();
+                }
+            }
+        } catch (Exception e) {
+            // Reported as n/a
+        }
+        return Double.NaN;
+    }
+
+    private record Snapshot(long thinkNanos, long mcpCalls, long mcpNanos, double dbSeconds) {
+    }
+
+    private record Phase(String endpoint, Latencies latencies, int failures, Duration elapsed,
+                         Snapshot before, Snapshot after) {
+
+        long mcpCalls() {
+            return after.mcpCalls() - before.mcpCalls();
+        }
+
+        String report() {
+            int requests = latencies.count();
+            double mean = latencies.meanMillis();
+            double think = (after.thinkNanos() - before.thinkNanos()) / 1_000_000.0 / requests;
+            double mcp = (after.mcpNanos() - before.mcpNanos()) / 1_000_000.0 / requests;
+            double db = (after.dbSeconds() - before.dbSeconds()) * 1_000 / requests;
+            double throughput = requests / (elapsed.toNanos() / 1_000_000_000.0);
+            return String.format("""
+                            📈 %s - %d requests in %.1f s (%.1f req/s), %d failed
+                               latency: p50 %.1f ms, p95 %.1f ms, p99 %.1f ms, mean %.1f ms
+                               mean split: model stand-in %.1f ms, client %.1f ms, MCP transport %s, DB %s""",
+                    endpoint, requests, elapsed.toMillis() / 1_000.0, throughput, failures,
+                    latencies.percentileMillis(50), latencies.percentileMillis(95), latencies.percentileMillis(99),
+                    mean, think, mean - think - mcp,
+                    Double.isNaN(db) ? String.format("%.1f ms (incl. DB)", mcp) : String.format("%.1f ms", mcp - db),
+                    Double.isNaN(db) ? "n/a" : String.format("%.1f ms", db));
+        }
+    }
+
+    private record FirstByte(String endpoint, Latencies firstByte, Latencies firstText, Latencies total,
+                             AtomicInteger failed) {
+
+        int failures() {
+            return failed.get();
+        }
+
+        String report() {
+            return String.format("""
+                            📈 %s - %d requests, %d failed
+                               first byte: p50 %.1f ms, p95 %.1f ms
+                               first text: p50 %.1f ms, p95 %.1f ms
+                               complete:   p50 %.1f ms, p95 %.1f ms""",
+                    endpoint, total.count(), failures(),
+                    firstByte.percentileMillis(50), firstByte.percentileMillis(95),
+                    firstText.percentileMillis(50), firstText.percentileMillis(95),
+                    total.percentileMillis(50), total.percentileMillis(95));
+        }
+    }
+
+    private static Map<String, ScriptedToolCall> sessionScript() {
+        String period = "\"year\":" + YEAR + ",\"month\":" + MONTH;
+        Map<String, ScriptedToolCall> script = new LinkedHashMap<>();
+        script.put("How am I doing this month?", new ScriptedToolCall("getSummary", "{" + period + "}"));
+        script.put("Show my budgets", new ScriptedToolCall("getAllBudgets", "{}"));
+        script.put("How much did I spend on food?",
+                new ScriptedToolCall("getSpendingSummary", "{\"category\":\"Food\"," + period + "}"));
+        script.put("I just paid 12.50 for lunch", new ScriptedToolCall("addTransaction",
+                String.format("{\"amount\":12.50,\"description\":\"Lunch\",\"category\":\"Food\","
+                        + "\"type\":\"EXPENSE\",\"date\":\"%d-%02d-15\"}", YEAR, MONTH)));
+        script.put("What did I buy recently?", new ScriptedToolCall("getRecentTransactions", "{}"));
+        return script;
+    }
+}
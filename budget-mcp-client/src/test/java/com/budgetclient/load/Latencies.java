@@ -0,0 +1,47 @@
+package com.budgetclient.load;
+
+import java.util.Arrays;
+
+/**
+ * Request latencies collected by concurrent workers, read back as nearest-rank percentiles.
+ */
+class Latencies {
+
+    private long[] nanos = new long[1024];
+    private int count;
+
+    synchronized void record(long elapsedNanos) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = elapsedNanos;
+    }
+
+    synchronized int count() {
+        return count;
+    }
+
+    /**
+     * @param percentile between 0 (exclusive) and 100
+     */
+    synchronized double percentileMillis(double percentile) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+
+    synchronized double meanMillis() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += nanos[i];
+        }
+        return total / (count * 1_000_000.0);
+    }
+}
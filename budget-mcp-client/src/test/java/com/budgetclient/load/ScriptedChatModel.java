@@ -0,0 +1,166 @@
+package com.budgetclient.load;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.DefaultToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.ToolCallback;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A stand-in for the Anthropic model that answers from a script instead of the network.
+ * <p>
+ * A user message found in the script gets the scripted tool call back; the tool runs through the
+ * same {@link ToolCallingManager} the real model uses, so it reaches the MCP server. Once the tool
+ * responses are in, the model answers with a short text built from them. Each model turn waits
+ * {@code thinkTime} first, to stand in for the provider's response time, and the final answer
+ * takes {@code wordTime} per word to generate. A streamed answer arrives word by word as it is
+ * generated; a called one arrives whole.
+ */
+public class ScriptedChatModel implements ChatModel {
+
+    /**
+     * The tool call the model makes for one user message; {@code arguments} is the JSON input.
+     */
+    public record ScriptedToolCall(String tool, String arguments) {
+    }
+
+    private static final int MAX_ANSWER_LENGTH = 200;
+
+    private final Map<String, ScriptedToolCall> script;
+    private final Duration thinkTime;
+    private final Duration wordTime;
+    private final ToolCallingManager toolCallingManager = ToolCallingManager.builder().build();
+    private final AtomicLong turns = new AtomicLong();
+    private final AtomicLong thinkNanos = new AtomicLong();
+
+    public ScriptedChatModel(Map<String, ScriptedToolCall> script, Duration thinkTime) {
+        this(script, thinkTime, Duration.ZERO);
+    }
+
+    public ScriptedChatModel(Map<String, ScriptedToolCall> script, Duration thinkTime, Duration wordTime) {
+        this.script = Map.copyOf(script);
+        this.thinkTime = thinkTime;
+        this.wordTime = wordTime;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        ChatResponse response = runTools(prompt);
+        pause(wordTime.multipliedBy(words(response).length));
+        return response;
+    }
+
+    /**
+     * Runs the same turns as {@link #call(Prompt)} on a worker thread, then emits the answer one word per chunk.
+     */
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> Flux.fromArray(words(runTools(prompt))))
+                .map(word -> {
+                    pause(wordTime);
+                    return new ChatResponse(List.of(new Generation(new AssistantMessage(word))));
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return new DefaultToolCallingChatOptions();
+    }
+
+    /**
+     * Model turns taken so far, each one a {@code thinkTime} wait.
+     */
+    public long turns() {
+        return turns.get();
+    }
+
+    /**
+     * Time spent in the think-time and word waits so far.
+     */
+    public Duration thinkTime() {
+        return Duration.ofNanos(thinkNanos.get());
+    }
+
+    private ChatResponse runTools(Prompt prompt) {
+        ChatResponse response = respond(prompt);
+        while (response.hasToolCalls()) {
+            ToolExecutionResult result = toolCallingManager.executeToolCalls(prompt, response);
+            prompt = new Prompt(result.conversationHistory(), prompt.getOptions());
+            response = respond(prompt);
+        }
+        return response;
+    }
+
+    private ChatResponse respond(Prompt prompt) {
+        turns.incrementAndGet();
+        pause(thinkTime);
+        List<Message> messages = prompt.getInstructions();
+        Message last = messages.getLast();
+        AssistantMessage answer;
+        if (last instanceof ToolResponseMessage toolResponses) {
+            answer = new AssistantMessage(summarize(toolResponses));
+        } else if (last instanceof UserMessage user && script.containsKey(user.getText())) {
+            ScriptedToolCall call = script.get(user.getText());
+            answer = new AssistantMessage("", Map.of(), List.of(new AssistantMessage.ToolCall(
+                    UUID.randomUUID().toString(), "function", toolName(prompt, call.tool()), call.arguments())));
+        } else {
+            answer = new AssistantMessage("I can help with budgets, spending and transactions.");
+        }
+        return new ChatResponse(List.of(new Generation(answer)));
+    }
+
+    private void pause(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        long start = System.nanoTime();
+        LockSupport.parkNanos(duration.toNanos());
+        thinkNanos.addAndGet(System.nanoTime() - start);
+    }
+
+    private static String[] words(ChatResponse response) {
+        return response.getResult().getOutput().getText().split("(?<= )");
+    }
+
+    /**
+     * MCP tool callbacks may carry a connection prefix, so the script names tools by their server-side name.
+     */
+    private static String toolName(Prompt prompt, String tool) {
+        if (prompt.getOptions() instanceof ToolCallingChatOptions options) {
+            for (ToolCallback callback : options.getToolCallbacks()) {
+                String name = callback.getToolDefinition().name();
+                if (name.equals(tool) || name.endsWith("_" + tool)) {
+                    return name;
+                }
+            }
+        }
+        return tool;
+    }
+
+    private static String summarize(ToolResponseMessage toolResponses) {
+        StringBuilder answer = new StringBuilder("Here is what I found: ");
+        for (ToolResponseMessage.ToolResponse response : toolResponses.getResponses()) {
+            answer.append(response.responseData());
+        }
+        return answer.length() > MAX_ANSWER_LENGTH ? answer.substring(0, MAX_ANSWER_LENGTH) + "…" : answer.toString();
+    }
+}
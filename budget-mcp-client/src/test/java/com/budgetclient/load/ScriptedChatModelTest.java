@@ -0,0 +1,93 @@
+package com.budgetclient.load;
+
+import com.budgetclient.load.ScriptedChatModel.ScriptedToolCall;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.DefaultToolCallingChatOptions;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.DefaultToolDefinition;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Scripted Chat Model Tests")
+class ScriptedChatModelTest {
+
+    private final List<String> toolInputs = new ArrayList<>();
+
+    private final ToolCallback summaryTool = new ToolCallback() {
+        @Override
+        public ToolDefinition getToolDefinition() {
+            return DefaultToolDefinition.builder()
+                    .name("budget_server_getSummary")
+                    .description("Monthly totals")
+                    .inputSchema("{\"type\":\"object\"}")
+                    .build();
+        }
+
+        @Override
+        public String call(String toolInput) {
+            toolInputs.add(toolInput);
+            return "{\"totalIncome\":3000}";
+        }
+    };
+
+    private final ScriptedChatModel model = new ScriptedChatModel(
+            Map.of("How am I doing?", new ScriptedToolCall("getSummary", "{\"year\":2025,\"month\":6}")),
+            Duration.ofMillis(5));
+
+    @Test
+    @DisplayName("Should call the scripted tool, then answer from its response")
+    void call_ScriptedMessage_ShouldRunToolThenAnswer() {
+        // When
+        ChatResponse response = model.call(prompt("How am I doing?"));
+
+        // Then
+        assertThat(toolInputs).containsExactly("{\"year\":2025,\"month\":6}");
+        assertThat(response.getResult().getOutput().getText())
+                .isEqualTo("Here is what I found: {\"totalIncome\":3000}");
+        assertThat(model.turns()).isEqualTo(2);
+        assertThat(model.thinkTime()).isGreaterThanOrEqualTo(Duration.ofMillis(10));
+    }
+
+    @Test
+    @DisplayName("Should answer unscripted messages without calling tools")
+    void call_UnscriptedMessage_ShouldAnswerDirectly() {
+        // When
+        ChatResponse response = model.call(prompt("Hello"));
+
+        // Then
+        assertThat(toolInputs).isEmpty();
+        assertThat(response.hasToolCalls()).isFalse();
+        assertThat(model.turns()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stream the answer one word per chunk after running the scripted tool")
+    void stream_ScriptedMessage_ShouldEmitAnswerInChunks() {
+        // When
+        List<String> chunks = model.stream(prompt("How am I doing?"))
+                .map(response -> response.getResult().getOutput().getText())
+                .collectList()
+                .block();
+
+        // Then
+        assertThat(toolInputs).hasSize(1);
+        assertThat(chunks).containsExactly("Here ", "is ", "what ", "I ", "found: ", "{\"totalIncome\":3000}");
+        assertThat(model.turns()).isEqualTo(2);
+    }
+
+    private Prompt prompt(String message) {
+        DefaultToolCallingChatOptions options = new DefaultToolCallingChatOptions();
+        options.setToolCallbacks(List.of(summaryTool));
+        return new Prompt(List.of(new UserMessage(message)), options);
+    }
+}
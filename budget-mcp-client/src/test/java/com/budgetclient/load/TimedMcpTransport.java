@@ -0,0 +1,99 @@
+package com.budgetclient.load;
+
+import com.budgetclient.mcp.McpTransportDecorator;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpClientTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Wraps an MCP client transport to time {@code tools/call} requests, from the request leaving the
+ * client to its response arriving: SSE transport plus the server's tool execution, database included.
+ */
+public class TimedMcpTransport implements McpClientTransport {
+
+    private final McpClientTransport delegate;
+    private final Map<Object, Long> pending = new ConcurrentHashMap<>();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+
+    public TimedMcpTransport(McpClientTransport delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Wraps the transports of the pooled MCP connections as they are created.
+     */
+    public static McpTransportDecorator wrapping(List<TimedMcpTransport> created) {
+        return (connectionName, transport) -> {
+            TimedMcpTransport timed = new TimedMcpTransport(transport);
+            created.add(timed);
+            return timed;
+        };
+    }
+
+    public long calls() {
+        return calls.get();
+    }
+
+    public Duration total() {
+        return Duration.ofNanos(totalNanos.get());
+    }
+
+    @Override
+    public Mono<Void> connect(Function<Mono<McpSchema.JSONRPCMessage>, Mono<McpSchema.JSONRPCMessage>> handler) {
+        return delegate.connect(message -> handler.apply(message.doOnNext(this::received)));
+    }
+
+    @Override
+    public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+        if (message instanceof McpSchema.JSONRPCRequest request
+                && McpSchema.METHOD_TOOLS_CALL.equals(request.method())) {
+            pending.put(request.id(), System.nanoTime());
+        }
+        return delegate.sendMessage(message);
+    }
+
+    private void received(McpSchema.JSONRPCMessage message) {
+        if (message instanceof McpSchema.JSONRPCResponse response) {
+            Long sent = pending.remove(response.id());
+            if (sent != null) {
+                calls.incrementAndGet();
+                totalNanos.addAndGet(System.nanoTime() - sent);
+            }
+        }
+    }
+
+    @Override
+    public void setExceptionHandler(Consumer<Throwable> handler) {
+        delegate.setExceptionHandler(handler);
+    }
+
+    @Override
+    public List<String> protocolVersions() {
+        return delegate.protocolVersions();
+    }
+
+    @Override
+    public Mono<Void> closeGracefully() {
+        return delegate.closeGracefully();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
+        return delegate.unmarshalFrom(data, typeRef);
+    }
+}
@@ -0,0 +1,137 @@
+package com.budgetclient.mcp;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.transport.HttpServletSseServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A budget server stand-in on embedded Tomcat, serving MCP over SSE like the real one. It offers
+ * {@code whoami}, answering with the server's name, {@code hold}, answering only once {@link #release()}
+ * is called, and {@code addTransaction}. Each server counts the calls it served per tool, and can be
+ * stopped and started again on the same port.
+ */
+class InProcessMcpServer implements AutoCloseable {
+
+    private static final String OBJECT_SCHEMA = "{\"type\":\"object\",\"properties\":{}}";
+
+    private final String name;
+    private final Map<String, AtomicInteger> served = new ConcurrentHashMap<>();
+    private volatile Sinks.Empty<Void> held = Sinks.empty();
+    private int port;
+    private Tomcat tomcat;
+    private HttpServletSseServerTransportProvider transport;
+    private McpAsyncServer server;
+
+    private InProcessMcpServer(String name) {
+        this.name = name;
+    }
+
+    static InProcessMcpServer start(String name) {
+        InProcessMcpServer server = new InProcessMcpServer(name);
+        server.start();
+        return server;
+    }
+
+    String url() {
+        return "http://localhost:" + port;
+    }
+
+    int served(String tool) {
+        AtomicInteger count = served.get(tool);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Answers every {@code hold} call waiting so far.
+     */
+    void release() {
+        Sinks.Empty<Void> waiting = held;
+        held = Sinks.empty();
+        waiting.tryEmitEmpty();
+    }
+
+    /**
+     * Starts serving, on the port of the previous run if there was one.
+     */
+    void start() {
+        McpJsonMapper jsonMapper = McpJsonMapper.getDefault();
+        transport = HttpServletSseServerTransportProvider.builder()
+                .jsonMapper(jsonMapper)
+                .messageEndpoint("/mcp/message")
+                .build();
+        server = McpServer.async(transport)
+                .serverInfo(name, "1.0.0")
+                .capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+                .tools(tool(jsonMapper, "whoami", () -> Mono.just(name)),
+                        tool(jsonMapper, "hold", () -> held.asMono().thenReturn(name)),
+                        tool(jsonMapper, "addTransaction", () -> Mono.just("Added on " + name)))
+                .build();
+        try {
+            tomcat = new Tomcat();
+            tomcat.setBaseDir(Files.createTempDirectory("mcp-" + name).toString());
+            tomcat.setPort(port);
+            Context context = tomcat.addContext("", null);
+            Tomcat.addServlet(context, "mcp", transport).setAsyncSupported(true);
+            context.addServletMappingDecoded("/*", "mcp");
+            tomcat.getConnector();
+            tomcat.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (LifecycleException e) {
+            throw new IllegalStateException("Could not start " + name, e);
+        }
+        port = tomcat.getConnector().getLocalPort();
+    }
+
+    /**
+     * Stops serving, dropping every open connection.
+     */
+    void stop() {
+        server.close();
+        try {
+            tomcat.stop();
+            tomcat.destroy();
+        } catch (LifecycleException e) {
+            throw new IllegalStateException("Could not stop " + name, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        release();
+        if (tomcat.getServer().getState().isAvailable()) {
+            stop();
+        }
+    }
+
+    private McpServerFeatures.AsyncToolSpecification tool(
+            McpJsonMapper jsonMapper, String toolName, Supplier<Mono<String>> answer) {
+        return McpServerFeatures.AsyncToolSpecification.builder()
+                .tool(McpSchema.Tool.builder()
+                        .name(toolName)
+                        .description(toolName + " on a test server")
+                        .inputSchema(jsonMapper, OBJECT_SCHEMA)
+                        .build())
+                .callHandler((exchange, request) -> {
+                    served.computeIfAbsent(toolName, key -> new AtomicInteger()).incrementAndGet();
+                    return answer.get().map(text -> McpSchema.CallToolResult.builder().addTextContent(text).build());
+                })
+                .build();
+    }
+}
@@ -0,0 +1,297 @@
+package com.budgetclient.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.mcp.ToolContextToMcpMetaConverter;
+import org.springframework.ai.tool.ToolCallback;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+@DisplayName("MCP Client Pool Tests - In-Process Servers")
+class McpClientPoolTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<InProcessMcpServer> servers = new ArrayList<>();
+
+    private McpClientPool pool;
+
+    @AfterEach
+    void shutdown() {
+        if (pool != null) {
+            pool.destroy();
+        }
+        servers.forEach(InProcessMcpServer::close);
+    }
+
+    @Test
+    @DisplayName("Should share calls evenly between idle servers")
+    void callTool_WithIdleServers_ShouldTakeTurns() {
+        // Given
+        InProcessMcpServer a = server("a");
+        InProcessMcpServer b = server("b");
+        InProcessMcpServer c = server("c");
+        pool = pool(Duration.ofMinutes(1), a, b, c);
+
+        // When
+        for (int i = 0; i < 30; i++) {
+            call("whoami");
+        }
+
+        // Then
+        assertThat(pool.healthy()).isEqualTo(3);
+        assertThat(List.of(a.served("whoami"), b.served("whoami"), c.served("whoami"))).containsOnly(10);
+    }
+
+    @Test
+    @DisplayName("Should send calls to the server with the fewest calls in flight")
+    void callTool_WithBusyServer_ShouldPreferTheOtherOne() {
+        // Given - one call held open on whichever server takes it
+        InProcessMcpServer a = server("a");
+        InProcessMcpServer b = server("b");
+        pool = pool(Duration.ofMinutes(1), a, b);
+        Mono<String> held = pool.callTool(request("hold")).map(McpClientPoolTest::text).cache();
+        held.subscribe();
+        await().atMost(Duration.ofSeconds(5)).until(() -> a.served("hold") + b.served("hold") == 1);
+        InProcessMcpServer busy = a.served("hold") == 1 ? a : b;
+        InProcessMcpServer idle = busy == a ? b : a;
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            call("whoami");
+        }
+
+        // Then
+        assertThat(idle.served("whoami")).isEqualTo(4);
+        assertThat(busy.served("whoami")).isZero();
+        assertThat(meterRegistry.get(McpClientPool.IN_FLIGHT).tag("connection", authority(busy)).gauge().value())
+                .isEqualTo(1);
+
+        busy.release();
+        assertThat(held.block(Duration.ofSeconds(5))).isEqualTo(busy == a ? "a" : "b");
+    }
+
+    @Test
+    @DisplayName("Should fail a read over to another server when one goes away")
+    void callTool_WhenServerStops_ShouldFailOver() {
+        // Given
+        InProcessMcpServer a = server("a");
+        InProcessMcpServer b = server("b");
+        pool = pool(Duration.ofMinutes(1), a, b);
+        b.stop();
+
+        // When
+        List<String> answers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            answers.add(call("whoami"));
+        }
+
+        // Then
+        assertThat(answers).containsOnly("a");
+        assertThat(pool.healthy()).isEqualTo(1);
+        assertThat(meterRegistry.get(McpClientPool.CALLS).tag("connection", authority(b)).tag("outcome", "failover")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(McpClientPool.UP).tag("connection", authority(b)).gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should report a failed write instead of repeating it on another server")
+    void callTool_NonIdempotentTool_ShouldNotBeRetried() {
+        // Given
+        InProcessMcpServer a = server("a");
+        InProcessMcpServer b = server("b");
+        pool = pool(Duration.ofMinutes(1), a, b);
+        b.stop();
+
+        // When - one of two calls lands on the stopped server before it is taken out
+        int failures = 0;
+        for (int i = 0; i < 2; i++) {
+            try {
+                call("addTransaction");
+            } catch (RuntimeException e) {
+                failures++;
+            }
+        }
+
+        // Then
+        assertThat(failures).isEqualTo(1);
+        assertThat(a.served("addTransaction")).isEqualTo(1);
+        assertThat(meterRegistry.get(McpClientPool.CALLS).tag("connection", authority(b)).tag("outcome", "failed")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fail only a call that times out, keeping its server and its other calls")
+    void callTool_WhenCallTimesOut_ShouldKeepTheConnection() throws Exception {
+        // Given - two calls held open on the only server, the second started a little later
+        InProcessMcpServer a = server("a");
+        pool = pool(Duration.ofSeconds(1), Duration.ofMinutes(1), a);
+        CompletableFuture<McpSchema.CallToolResult> slow = pool.callTool(request("hold")).toFuture();
+        await().atMost(Duration.ofSeconds(5)).until(() -> a.served("hold") == 1);
+        Thread.sleep(400);
+        CompletableFuture<McpSchema.CallToolResult> other = pool.callTool(request("hold")).toFuture();
+        await().atMost(Duration.ofSeconds(5)).until(() -> a.served("hold") == 2);
+
+        // When - the first runs out of time before the server answers
+        assertThatThrownBy(() -> slow.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(TimeoutException.class);
+        a.release();
+
+        // Then
+        assertThat(text(other.get(5, TimeUnit.SECONDS))).isEqualTo("a");
+        assertThat(pool.healthy()).isEqualTo(1);
+        assertThat(call("whoami")).isEqualTo("a");
+        assertThat(meterRegistry.get(McpClientPool.CALLS).tag("connection", authority(a)).tag("outcome", "failed")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should tell listeners about every call before its caller sees the outcome")
+    void onCallEnded_ShouldHearAnsweredAndFailedCalls() {
+        // Given
+        InProcessMcpServer a = server("a");
+        pool = pool(Duration.ofMinutes(1), a);
+        List<String> ended = new CopyOnWriteArrayList<>();
+        pool.onCallEnded(ended::add);
+
+        // When
+        call("addTransaction");
+        List<String> afterAnswer = List.copyOf(ended);
+        a.stop();
+        assertThatThrownBy(() -> call("addTransaction"));
+
+        // Then
+        assertThat(afterAnswer).containsExactly("addTransaction");
+        assertThat(ended).containsExactly("addTransaction", "addTransaction");
+    }
+
+    @Test
+    @DisplayName("Should notice a lost server by probing and take it back once it returns")
+    void probe_WhenServerRestarts_ShouldReconnect() {
+        // Given
+        InProcessMcpServer a = server("a");
+        InProcessMcpServer b = server("b");
+        pool = pool(Duration.ofMillis(100), a, b);
+
+        // When - no calls are made while it is away
+        b.stop();
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> pool.healthy() == 1);
+
+        // When
+        b.start();
+
+        // Then
+        await().atMost(Duration.ofSeconds(10)).until(() -> pool.healthy() == 2);
+        for (int i = 0; i < 4; i++) {
+            call("whoami");
+        }
+        assertThat(b.served("whoami")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should fail fast when no server can be reached")
+    void callTool_WithNoServerUp_ShouldFail() {
+        // Given
+        InProcessMcpServer a = server("a");
+        a.stop();
+        pool = pool(Duration.ofMinutes(1), a);
+
+        // Then
+        assertThat(pool.healthy()).isZero();
+        assertThat(pool.getToolCallbacks()).isEmpty();
+        assertThatThrownBy(() -> call("whoami")).hasMessageContaining("No MCP server is reachable");
+    }
+
+    @Test
+    @DisplayName("Should offer tools once a server comes up after startup")
+    void getToolCallbacks_WhenFirstServerComesUpLate_ShouldOfferItsTools() {
+        // Given
+        InProcessMcpServer a = server("a");
+        a.stop();
+        pool = pool(Duration.ofMinutes(1), a);
+        assertThat(pool.getToolCallbacks()).isEmpty();
+
+        // When
+        a.start();
+
+        // Then
+        await().atMost(Duration.ofSeconds(10)).until(() -> pool.getToolCallbacks().length == 3);
+        assertThat(pool.tools()).extracting(McpSchema.Tool::name)
+                .containsExactlyInAnyOrder("whoami", "hold", "addTransaction");
+    }
+
+    @Test
+    @DisplayName("Should offer the servers' tools to the model, routed through the pool")
+    void getToolCallbacks_ShouldCallThroughThePool() {
+        // Given
+        InProcessMcpServer a = server("a");
+        InProcessMcpServer b = server("b");
+        pool = pool(Duration.ofMinutes(1), a, b);
+
+        // When
+        ToolCallback[] callbacks = pool.getToolCallbacks();
+        ToolCallback whoami = Arrays.stream(callbacks)
+                .filter(callback -> callback.getToolDefinition().name().equals("whoami"))
+                .findFirst().orElseThrow();
+        String first = whoami.call("{}");
+        String second = whoami.call("");
+
+        // Then
+        assertThat(callbacks).extracting(callback -> callback.getToolDefinition().name())
+                .containsExactlyInAnyOrder("whoami", "hold", "addTransaction");
+        assertThat(List.of(first, second)).anySatisfy(text -> assertThat(text).contains("\"text\":\"a\""))
+                .anySatisfy(text -> assertThat(text).contains("\"text\":\"b\""));
+    }
+
+    private InProcessMcpServer server(String name) {
+        InProcessMcpServer server = InProcessMcpServer.start(name);
+        servers.add(server);
+        return server;
+    }
+
+    private McpClientPool pool(Duration probeInterval, InProcessMcpServer... servers) {
+        return pool(Duration.ofSeconds(5), probeInterval, servers);
+    }
+
+    private McpClientPool pool(Duration requestTimeout, Duration probeInterval, InProcessMcpServer... servers) {
+        return new McpPoolConfig().mcpClientPool(true, Arrays.stream(servers).map(InProcessMcpServer::url).toList(),
+                "/sse", requestTimeout, Duration.ofSeconds(1), probeInterval, Duration.ofMillis(100), Duration.ofSeconds(1),
+                Set.of("addTransaction"), "pool-test", new ObjectMapper(), List.of(),
+                ToolContextToMcpMetaConverter.defaultConverter(), meterRegistry);
+    }
+
+    private String call(String tool) {
+        return text(pool.callTool(request(tool)).block(Duration.ofSeconds(10)));
+    }
+
+    private static McpSchema.CallToolRequest request(String tool) {
+        return new McpSchema.CallToolRequest(tool, Map.of());
+    }
+
+    private static String authority(InProcessMcpServer server) {
+        return server.url().substring("http://".length());
+    }
+
+    private static String text(McpSchema.CallToolResult result) {
+        return ((McpSchema.TextContent) result.content().getFirst()).text();
+    }
+}
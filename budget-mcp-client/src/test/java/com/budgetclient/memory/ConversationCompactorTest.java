@@ -0,0 +1,179 @@
+package com.budgetclient.memory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Conversation Compactor Tests")
+class ConversationCompactorTest {
+
+    private final ShardedChatMemory chatMemory = new ShardedChatMemory(4, 100, 10_000, Duration.ofMinutes(30), null,
+            Clock.systemUTC());
+
+    private final ChatModel chatModel = mock(ChatModel.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Budget of 200 tokens, keeping the last two user turns verbatim
+    private final ConversationCompactor compactor =
+            new ConversationCompactor(chatMemory, chatModel, meterRegistry, 200, 2, 100, 1);
+
+    @AfterEach
+    void shutdown() {
+        compactor.destroy();
+    }
+
+    @Test
+    @DisplayName("Should fold older turns into a summary and keep the last turns verbatim")
+    void compact_OverBudget_ShouldSummarizeOlderTurns() {
+        // Given
+        for (int turn = 1; turn <= 5; turn++) {
+            chatMemory.add("alice", turn(turn));
+        }
+        answer("Alice spent $50 on food and set a $300 transport budget.");
+
+        // When
+        boolean compacted = compactor.compact("alice");
+
+        // Then
+        assertThat(compacted).isTrue();
+        List<Message> window = chatMemory.get("alice");
+        assertThat(window).hasSize(5);
+        assertThat(window.getFirst()).isInstanceOf(SystemMessage.class);
+        assertThat(window.getFirst().getText())
+                .isEqualTo("Summary of the earlier conversation: Alice spent $50 on food and set a $300 transport budget.");
+        assertThat(window.subList(1, 5)).extracting(Message::getText)
+                .containsExactly("question 4 " + "x".repeat(200), "answer 4", "question 5 " + "x".repeat(200), "answer 5");
+
+        ArgumentCaptor<Prompt> prompt = ArgumentCaptor.forClass(Prompt.class);
+        verify(chatModel).call(prompt.capture());
+        assertThat(prompt.getValue().getContents())
+                .contains("User: question 1").contains("Assistant: answer 3").doesNotContain("question 4");
+
+        double before = meterRegistry.get(ConversationCompactor.COMPACTION_TOKENS).tag("stage", "before").summary().totalAmount();
+        double after = meterRegistry.get(ConversationCompactor.COMPACTION_TOKENS).tag("stage", "after").summary().totalAmount();
+        assertThat(after).isEqualTo(ConversationCompactor.estimateTokens(window));
+        assertThat(before).isGreaterThan(after);
+    }
+
+    @Test
+    @DisplayName("Should merge the earlier summary into the next one")
+    void compact_Twice_ShouldCarryTheEarlierSummary() {
+        // Given
+        for (int turn = 1; turn <= 3; turn++) {
+            chatMemory.add("alice", turn(turn));
+        }
+        answer("First summary.");
+        compactor.compact("alice");
+        chatMemory.add("alice", turn(4));
+        answer("Second summary.");
+
+        // When
+        compactor.compact("alice");
+
+        // Then
+        ArgumentCaptor<Prompt> prompt = ArgumentCaptor.forClass(Prompt.class);
+        verify(chatModel, times(2)).call(prompt.capture());
+        assertThat(prompt.getValue().getContents())
+                .contains("Earlier summary:\nSummary of the earlier conversation: First summary.")
+                .contains("User: question 2");
+        assertThat(chatMemory.get("alice")).hasSize(5)
+                .first().extracting(Message::getText).isEqualTo("Summary of the earlier conversation: Second summary.");
+    }
+
+    @Test
+    @DisplayName("Should compact in the background only once the budget is exceeded")
+    void compactIfNeeded_ShouldRunAsynchronouslyOverBudget() {
+        // Given
+        chatMemory.add("alice", List.of(new UserMessage("hello"), new AssistantMessage("hi")));
+        answer("Greetings were exchanged.");
+
+        // When - under budget
+        compactor.compactIfNeeded("alice");
+
+        // Then
+        verifyNoInteractions(chatModel);
+
+        // When - over budget
+        for (int turn = 1; turn <= 4; turn++) {
+            chatMemory.add("alice", turn(turn));
+        }
+        compactor.compactIfNeeded("alice");
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(chatMemory.get("alice").getFirst()).isInstanceOf(SystemMessage.class));
+        assertThat(meterRegistry.get(ConversationCompactor.HISTORY_TOKENS).summary().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(ConversationCompactor.COMPACTIONS).tag("outcome", "compacted").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop a summary when the conversation was cleared while it was written")
+    void compact_WhenClearedMeanwhile_ShouldLeaveConversationAlone() throws Exception {
+        // Given
+        for (int turn = 1; turn <= 4; turn++) {
+            chatMemory.add("alice", turn(turn));
+        }
+        CountDownLatch summarizing = new CountDownLatch(1);
+        CountDownLatch cleared = new CountDownLatch(1);
+        when(chatModel.call(any(Prompt.class))).thenAnswer(invocation -> {
+            summarizing.countDown();
+            cleared.await(5, TimeUnit.SECONDS);
+            return response("Too late.");
+        });
+
+        // When
+        compactor.compactIfNeeded("alice");
+        summarizing.await(5, TimeUnit.SECONDS);
+        chatMemory.clear("alice");
+        chatMemory.add("alice", List.of(new UserMessage("fresh start"), new AssistantMessage("ok")));
+        cleared.countDown();
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(meterRegistry.find(ConversationCompactor.COMPACTIONS).tag("outcome", "skipped").counter())
+                        .isNotNull());
+        assertThat(chatMemory.get("alice")).extracting(Message::getText).containsExactly("fresh start", "ok");
+    }
+
+    @Test
+    @DisplayName("Should estimate about four characters per token plus a per-message overhead")
+    void estimateTokens_ShouldCountCharactersAndMessages() {
+        assertThat(ConversationCompactor.estimateTokens(List.of(
+                new UserMessage("x".repeat(40)), new AssistantMessage("x".repeat(41))))).isEqualTo(4 + 10 + 4 + 11);
+    }
+
+    private void answer(String summary) {
+        when(chatModel.call(any(Prompt.class))).thenReturn(response(summary));
+    }
+
+    private static ChatResponse response(String text) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
+
+    private static List<Message> turn(int turn) {
+        return List.of(new UserMessage("question " + turn + " " + "x".repeat(200)), new AssistantMessage("answer " + turn));
+    }
+}
@@ -0,0 +1,147 @@
+package com.budgetclient.memory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("File Chat Memory Store Tests")
+class FileChatMemoryStoreTest {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    @DisplayName("Should read pages backwards from the newest message")
+    void read_ShouldPageFromTheEnd() throws Exception {
+        // Given
+        FileChatMemoryStore store = new FileChatMemoryStore(dir, new ObjectMapper());
+        for (int i = 1; i <= 10; i++) {
+            store.append("alice", List.of(new UserMessage("question " + i), new AssistantMessage("answer " + i)));
+        }
+
+        // When & Then
+        assertThat(texts(store.read("alice", 0, 3))).containsExactly("answer 9", "question 10", "answer 10");
+        assertThat(texts(store.read("alice", 18, 5))).containsExactly("question 1", "answer 1");
+        assertThat(store.read("alice", 20, 5)).isEmpty();
+        assertThat(store.read("bob", 0, 5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should read messages longer than a read block, with their types and non-ASCII text")
+    void read_WithLongMessages_ShouldSpanBlocks() throws Exception {
+        // Given
+        FileChatMemoryStore store = new FileChatMemoryStore(dir, new ObjectMapper());
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            String text = i + " 💰 " + "x".repeat(5_000 + i * 1_000);
+            messages.add(i % 2 == 0 ? new UserMessage(text) : new AssistantMessage(text));
+        }
+        messages.add(new SystemMessage("Summary so far: café budget"));
+        store.append("alice", messages);
+
+        // When
+        List<Message> read = store.read("alice", 0, 100);
+
+        // Then
+        assertThat(texts(read)).isEqualTo(texts(messages));
+        assertThat(read).extracting(Message::getMessageType)
+                .isEqualTo(messages.stream().map(Message::getMessageType).toList());
+    }
+
+    @Test
+    @DisplayName("Should skip tool messages and lines left incomplete by a crash")
+    void append_ShouldSkipToolMessagesAndTornLines() throws Exception {
+        // Given
+        FileChatMemoryStore store = new FileChatMemoryStore(dir, new ObjectMapper());
+        store.append("alice", List.of(new UserMessage("Show my budgets"),
+                new ToolResponseMessage(List.of(new ToolResponseMessage.ToolResponse("1", "getAllBudgets", "[]")))));
+        Files.writeString(dir.resolve("alice.jsonl"), "{\"type\":\"assis", StandardOpenOption.APPEND);
+
+        // When
+        List<Message> read = store.read("alice", 0, 10);
+
+        // Then
+        assertThat(texts(read)).containsExactly("Show my budgets");
+    }
+
+    @Test
+    @DisplayName("Should keep conversation ids inside the directory and apart from each other")
+    void append_WithUnusualIds_ShouldEscapeFileNames() throws Exception {
+        // Given
+        FileChatMemoryStore store = new FileChatMemoryStore(dir, new ObjectMapper());
+
+        // When
+        store.append("../escape", List.of(new UserMessage("one")));
+        store.append("a:b", List.of(new UserMessage("two")));
+        store.append("a_3ab", List.of(new UserMessage("three")));
+
+        // Then
+        try (var files = Files.list(dir)) {
+            assertThat(files.map(file -> file.getFileName().toString()))
+                    .containsExactlyInAnyOrder("_2e_2e_2fescape.jsonl", "a_3ab.jsonl", "a_5f3ab.jsonl");
+        }
+        assertThat(texts(store.read("a:b", 0, 10))).containsExactly("two");
+        assertThat(texts(store.read("a_3ab", 0, 10))).containsExactly("three");
+    }
+
+    @Test
+    @DisplayName("Should forget a deleted conversation")
+    void delete_ShouldRemoveConversation() throws Exception {
+        // Given
+        FileChatMemoryStore store = new FileChatMemoryStore(dir, new ObjectMapper());
+        store.append("alice", List.of(new UserMessage("hello")));
+
+        // When
+        store.delete("alice");
+        store.delete("never-written");
+
+        // Then
+        assertThat(store.read("alice", 0, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should version a conversation by every write to it")
+    void append_ShouldReportVersionsAroundTheWrite() throws Exception {
+        // Given - two stores on one directory, as two replicas would have
+        FileChatMemoryStore first = new FileChatMemoryStore(dir, new ObjectMapper());
+        FileChatMemoryStore second = new FileChatMemoryStore(dir, new ObjectMapper());
+
+        // When
+        ChatMemoryStore.Appended opened = first.append("alice", List.of(new UserMessage("hello")));
+        ChatMemoryStore.Appended elsewhere = second.append("alice", List.of(new AssistantMessage("hi")));
+        ChatMemoryStore.Appended toolsOnly = first.append("alice", List.of(new ToolResponseMessage(List.of())));
+
+        // Then
+        assertThat(opened.before()).isZero();
+        assertThat(opened.after()).isPositive();
+        assertThat(elsewhere.before()).isEqualTo(opened.after());
+        assertThat(elsewhere.after()).isGreaterThan(elsewhere.before());
+        assertThat(toolsOnly).isEqualTo(new ChatMemoryStore.Appended(elsewhere.after(), elsewhere.after()));
+        assertThat(first.version("alice")).isEqualTo(elsewhere.after());
+
+        // When
+        second.delete("alice");
+
+        // Then
+        assertThat(first.version("alice")).isZero();
+        assertThat(first.version("never-written")).isZero();
+    }
+
+    private static List<String> texts(List<Message> messages) {
+        return messages.stream().map(Message::getText).toList();
+    }
+}
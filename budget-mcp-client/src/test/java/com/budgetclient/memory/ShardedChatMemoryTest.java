@@ -0,0 +1,246 @@
+package com.budgetclient.memory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Sharded Chat Memory Tests")
+class ShardedChatMemoryTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    @DisplayName("Should keep the last messages of a session, starting from a user turn")
+    void add_BeyondWindow_ShouldKeepLatestTurnsStartingWithUser() {
+        // Given
+        ShardedChatMemory memory = new ShardedChatMemory(4, 5, 1_000, Duration.ofMinutes(30), null, clock);
+
+        // When - three turns are six messages, one more than the window
+        for (int turn = 1; turn <= 3; turn++) {
+            memory.add("alice", turn("question " + turn, "answer " + turn));
+        }
+
+        // Then - the oldest answer would open the window, so it goes too
+        assertThat(texts(memory.get("alice")))
+                .containsExactly("question 2", "answer 2", "question 3", "answer 3");
+        assertThat(memory.messages()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should drop sessions that stayed idle past the timeout")
+    void get_AfterIdleTimeout_ShouldForgetSession() {
+        // Given
+        ShardedChatMemory memory = new ShardedChatMemory(1, 20, 1_000, Duration.ofMinutes(30), null, clock);
+        memory.add("idle", turn("Show my budgets", "You have 3 budgets"));
+        clock.advance(Duration.ofMinutes(20));
+        memory.add("active", turn("How am I doing?", "You are under budget"));
+
+        // When
+        clock.advance(Duration.ofMinutes(15));
+        memory.add("active", turn("And food?", "$120 spent on food"));
+
+        // Then
+        assertThat(memory.sessions()).isEqualTo(1);
+        assertThat(memory.get("idle")).isEmpty();
+        assertThat(memory.get("active")).hasSize(4);
+        assertThat(memory.messages()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used sessions once the global cap is exceeded")
+    void add_OverGlobalCap_ShouldEvictLeastRecentlyUsed() {
+        // Given - room for three two-message sessions
+        ShardedChatMemory memory = new ShardedChatMemory(1, 4, 6, Duration.ofMinutes(30), null, clock);
+        memory.add("first", turn("q", "a"));
+        memory.add("second", turn("q", "a"));
+        memory.add("third", turn("q", "a"));
+        memory.get("first");
+
+        // When
+        memory.add("fourth", turn("q", "a"));
+
+        // Then
+        assertThat(memory.messages()).isEqualTo(6);
+        assertThat(memory.get("second")).isEmpty();
+        assertThat(memory.get("first")).hasSize(2);
+        assertThat(memory.get("third")).hasSize(2);
+        assertThat(memory.get("fourth")).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should release a cleared session's messages from the global count")
+    void clear_ShouldForgetSessionAndItsMessages() {
+        // Given
+        ShardedChatMemory memory = new ShardedChatMemory(4, 20, 1_000, Duration.ofMinutes(30), null, clock);
+        memory.add("alice", turn("q", "a"));
+        memory.add("bob", turn("q", "a"));
+
+        // When
+        memory.clear("alice");
+
+        // Then
+        assertThat(memory.get("alice")).isEmpty();
+        assertThat(memory.get("bob")).hasSize(2);
+        assertThat(memory.messages()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep thousands of concurrent sessions apart")
+    void add_FromConcurrentSessions_ShouldNotMixConversations() throws Exception {
+        // Given
+        ShardedChatMemory memory = new ShardedChatMemory(16, 20, 1_000_000, Duration.ofMinutes(30), null, clock);
+        int sessions = 5_000;
+        int turns = 8;
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(32)) {
+            List<Future<?>> running = new ArrayList<>();
+            for (int session = 0; session < sessions; session++) {
+                String id = "session-" + session;
+                running.add(executor.submit(() -> {
+                    for (int turn = 0; turn < turns; turn++) {
+                        memory.add(id, turn(id + " asks " + turn, id + " hears " + turn));
+                        memory.get(id);
+                    }
+                }));
+            }
+            for (Future<?> session : running) {
+                session.get();
+            }
+        }
+
+        // Then
+        assertThat(memory.sessions()).isEqualTo(sessions);
+        assertThat(memory.messages()).isEqualTo((long) sessions * 16);
+        for (int session = 0; session < sessions; session++) {
+            String id = "session-" + session;
+            List<String> texts = texts(memory.get(id));
+            assertThat(texts).hasSize(16).allMatch(text -> text.startsWith(id + " "));
+            assertThat(texts.getFirst()).isEqualTo(id + " asks 0");
+        }
+    }
+
+    @Test
+    @DisplayName("Should restore a conversation from the store after a restart")
+    void get_AfterRestart_ShouldRestoreLatestTurnsFromStore() throws Exception {
+        // Given - a long conversation written by a previous instance
+        ShardedChatMemory before = new ShardedChatMemory(4, 5, 1_000, Duration.ofMinutes(30), store(), clock);
+        for (int turn = 1; turn <= 50; turn++) {
+            before.add("alice", turn("question " + turn, "answer " + turn));
+        }
+
+        // When
+        ShardedChatMemory after = new ShardedChatMemory(4, 5, 1_000, Duration.ofMinutes(30), store(), clock);
+        after.add("alice", turn("question 51", "answer 51"));
+
+        // Then - the window is restored from the latest turns and still opens with a user message
+        assertThat(texts(after.get("alice")))
+                .containsExactly("question 50", "answer 50", "question 51", "answer 51");
+        assertThat(texts(after.history("alice", 100, 2))).containsExactly("question 1", "answer 1");
+        assertThat(texts(after.history("alice", 0, 2))).containsExactly("question 51", "answer 51");
+    }
+
+    @Test
+    @DisplayName("Should bring evicted conversations back from the store, and forget cleared ones")
+    void get_AfterEviction_ShouldRestoreUnlessCleared() throws Exception {
+        // Given
+        ShardedChatMemory memory = new ShardedChatMemory(1, 4, 4, Duration.ofMinutes(30), store(), clock);
+        memory.add("first", turn("q1", "a1"));
+        memory.add("second", turn("q2", "a2"));
+        memory.add("third", turn("q3", "a3"));
+
+        // When
+        List<Message> evicted = memory.get("first");
+        memory.clear("second");
+
+        // Then
+        assertThat(texts(evicted)).containsExactly("q1", "a1");
+        assertThat(memory.get("second")).isEmpty();
+        assertThat(memory.history("second", 0, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should see turns and clears made on another replica sharing the store")
+    void get_AfterOtherReplicaWrote_ShouldReadStoreAgain() throws Exception {
+        // Given - two replicas, each holding a window of the same conversation
+        ShardedChatMemory first = new ShardedChatMemory(4, 20, 1_000, Duration.ofMinutes(30), store(), clock);
+        ShardedChatMemory second = new ShardedChatMemory(4, 20, 1_000, Duration.ofMinutes(30), store(), clock);
+        first.add("alice", turn("question 1", "answer 1"));
+
+        // When - the next turns land on alternate replicas
+        second.add("alice", turn("question 2", "answer 2"));
+        List<Message> seenByFirst = first.get("alice");
+        second.add("alice", turn("question 3", "answer 3"));
+        first.add("alice", turn("question 4", "answer 4"));
+
+        // Then
+        assertThat(texts(seenByFirst)).containsExactly("question 1", "answer 1", "question 2", "answer 2");
+        assertThat(texts(first.get("alice"))).containsExactly("question 1", "answer 1", "question 2", "answer 2",
+                "question 3", "answer 3", "question 4", "answer 4");
+        assertThat(texts(second.get("alice"))).isEqualTo(texts(first.get("alice")));
+        assertThat(first.messages()).isEqualTo(8);
+
+        // When
+        second.clear("alice");
+
+        // Then
+        assertThat(first.get("alice")).isEmpty();
+        assertThat(first.messages()).isZero();
+    }
+
+    private FileChatMemoryStore store() throws Exception {
+        return new FileChatMemoryStore(dir, new ObjectMapper());
+    }
+
+    private static List<Message> turn(String question, String answer) {
+        return List.of(new UserMessage(question), new AssistantMessage(answer));
+    }
+
+    private static List<String> texts(List<Message> messages) {
+        return messages.stream().map(Message::getText).toList();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-06-15T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.budgetclient.routing;
+
+import com.budgetclient.mcp.McpClientPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Intent Router Tests")
+class IntentRouterTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2025-06-15T10:00:00Z"), ZoneId.of("UTC"));
+
+    private final McpClientPool mcpClientPool = mock(McpClientPool.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final IntentRouter router = new IntentRouter(mcpClientPool, meterRegistry, true, clock);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"What did I spend this month?", "how much have I spent", "Show me my spending this month",
+            "what's my spending"})
+    @DisplayName("Should route this month's spending to the spending summary")
+    void route_SpendingQuestion_ShouldCallSpendingSummary(String message) {
+        assertThat(router.route(message))
+                .contains(new IntentRouter.ToolCall("getSpendingSummary", Map.of("year", 2025, "month", 6)));
+    }
+
+    @Test
+    @DisplayName("Should route last month's spending to the previous month")
+    void route_LastMonth_ShouldAskForPreviousMonth() {
+        assertThat(router.route("What did I spend last month"))
+                .contains(new IntentRouter.ToolCall("getSpendingSummary", Map.of("year", 2025, "month", 5)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Show my budgets", "list all my budgets.", "  What are   my budgets  "})
+    @DisplayName("Should route budget listings to all budgets")
+    void route_BudgetListing_ShouldCallAllBudgets(String message) {
+        assertThat(router.route(message)).contains(new IntentRouter.ToolCall("getAllBudgets", Map.of()));
+    }
+
+    @Test
+    @DisplayName("Should route recent transactions")
+    void route_RecentTransactions_ShouldCallRecentTransactions() {
+        assertThat(router.route("show me my latest transactions"))
+                .contains(new IntentRouter.ToolCall("getRecentTransactions", Map.of()));
+    }
+
+    @Test
+    @DisplayName("Should route a complete expense to add transaction")
+    void route_AddExpense_ShouldCallAddTransaction() {
+        assertThat(router.route("add $12 lunch food expense today")).hasValueSatisfying(call -> {
+            assertThat(call.tool()).isEqualTo("addTransaction");
+            assertThat(call.arguments()).containsExactly(
+                    Map.entry("amount", new BigDecimal("12")),
+                    Map.entry("description", "Lunch"),
+                    Map.entry("category", "Food"),
+                    Map.entry("type", "EXPENSE"),
+                    Map.entry("date", "2025-06-15"));
+        });
+        assertThat(router.route("Log 2500.50 monthly salary Salary income on 2025-06-01")).hasValueSatisfying(call ->
+                assertThat(call.arguments())
+                        .containsEntry("amount", new BigDecimal("2500.50"))
+                        .containsEntry("description", "Monthly salary")
+                        .containsEntry("type", "INCOME")
+                        .containsEntry("date", "2025-06-01"));
+        assertThat(router.route("record $8 transport expense yesterday")).hasValueSatisfying(call ->
+                assertThat(call.arguments())
+                        .containsEntry("description", "Transport")
+                        .containsEntry("date", "2025-06-14"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Create a budget for food with $500 limit", "What did I spend on food in March?",
+            "Show my budgets and my recent transactions", "add $12 lunch", "add $12 food expense on 2025-02-30",
+            "Is my spending this month reasonable?", ""})
+    @DisplayName("Should leave anything else to the model")
+    void route_OtherMessages_ShouldDecline(String message) {
+        assertThat(router.route(message)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should decline everything when routing is disabled")
+    void route_WhenDisabled_ShouldDecline() {
+        IntentRouter disabled = new IntentRouter(mcpClientPool, meterRegistry, false, clock);
+
+        assertThat(disabled.route("Show my budgets")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should decline in well under a millisecond")
+    void route_Declining_ShouldTakeMicroseconds() {
+        // Given
+        String message = "Can you compare my food spending with last month and tell me where to cut back?";
+        for (int i = 0; i < 10_000; i++) {
+            router.route(message);
+        }
+
+        // When
+        int runs = 10_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            router.route(message);
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / runs;
+
+        // Then
+        assertThat(micros).isLessThan(1_000);
+    }
+
+    @Test
+    @DisplayName("Should call the tool within the chat trace and report the bypass share")
+    void call_ShouldReturnToolTextAndCountBypass() {
+        // Given
+        when(mcpClientPool.callTool(any())).thenReturn(Mono.just(McpSchema.CallToolResult.builder()
+                .addTextContent("Food: $120 of $500").build()));
+        IntentRouter.ToolCall call = router.route("Show my budgets").orElseThrow();
+        router.route("Help me plan a holiday budget");
+
+        // When
+        String answer = router.call(call, "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01").block();
+
+        // Then
+        assertThat(answer).isEqualTo("Food: $120 of $500");
+        ArgumentCaptor<McpSchema.CallToolRequest> request = ArgumentCaptor.forClass(McpSchema.CallToolRequest.class);
+        verify(mcpClientPool).callTool(request.capture());
+        assertThat(request.getValue().name()).isEqualTo("getAllBudgets");
+        assertThat(request.getValue().meta())
+                .containsEntry("traceparent", "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01");
+        assertThat(meterRegistry.get(IntentRouter.ROUTED).tag("route", "tool").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(IntentRouter.BYPASS_RATIO).gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should complete empty when the tool answers with an error")
+    void call_WithToolError_ShouldFallBack() {
+        // Given
+        when(mcpClientPool.callTool(any())).thenReturn(Mono.just(McpSchema.CallToolResult.builder()
+                .addTextContent("Server busy").isError(true).build()));
+
+        // When
+        String answer = router.call(new IntentRouter.ToolCall("getAllBudgets", Map.of()), "traceparent").block();
+
+        // Then
+        assertThat(answer).isNull();
+        assertThat(meterRegistry.get(IntentRouter.ROUTED).tag("route", "fallback").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(IntentRouter.BYPASS_RATIO).gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should complete empty when the tool reports a validation error as text")
+    void call_WithErrorText_ShouldFallBack() {
+        // Given - the server answers validation failures without flagging them as errors
+        when(mcpClientPool.callTool(any())).thenReturn(Mono.just(McpSchema.CallToolResult.builder()
+                .addTextContent("❌ Invalid date format. Use YYYY-MM-DD (e.g., 2025-11-08)").build()));
+        IntentRouter.ToolCall call = router.route("Add $12 lunch food expense today").orElseThrow();
+
+        // When
+        String answer = router.call(call, "traceparent").block();
+
+        // Then
+        assertThat(answer).isNull();
+        assertThat(meterRegistry.get(IntentRouter.ROUTED).tag("route", "fallback").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should complete empty when the server answers in JSON")
+    void call_WithJsonOutput_ShouldFallBack() {
+        // Given - a server running with app.tool-output.format=json
+        when(mcpClientPool.callTool(any())).thenReturn(Mono.just(McpSchema.CallToolResult.builder()
+                .addTextContent("[{\"category\":\"Food\",\"monthlyLimit\":500,\"spent\":120}]").build()));
+        IntentRouter.ToolCall call = router.route("Show my budgets").orElseThrow();
+
+        // When
+        String answer = router.call(call, "traceparent").block();
+
+        // Then
+        assertThat(answer).isNull();
+        assertThat(meterRegistry.get(IntentRouter.ROUTED).tag("route", "fallback").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(IntentRouter.ROUTED).tag("route", "tool").counter().count()).isZero();
+    }
+}
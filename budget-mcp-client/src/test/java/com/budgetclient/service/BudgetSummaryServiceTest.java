@@ -1,21 +1,25 @@
 package com.budgetclient.service;
 
 import com.budgetclient.dto.BudgetSummary;
+import com.budgetclient.mcp.McpClientPool;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.modelcontextprotocol.client.McpAsyncClient;
 import io.modelcontextprotocol.spec.McpSchema;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,21 +30,18 @@ import static org.mockito.Mockito.*;
 class BudgetSummaryServiceTest {
 
     @Mock
-    private List<McpAsyncClient> mcpClients;
-
-    @Mock
-    private McpAsyncClient mcpClient;
+    private McpClientPool mcpClientPool;
 
     @Mock
     private ObjectMapper objectMapper;
 
-    @InjectMocks
     private BudgetSummaryService budgetSummaryService;
 
     private BudgetSummary testSummary;
 
     @BeforeEach
     void setUp() {
+        budgetSummaryService = new BudgetSummaryService(mcpClientPool, objectMapper, Duration.ofMinutes(1));
         testSummary = BudgetSummary.builder()
                 .totalIncome(BigDecimal.valueOf(3000.00))
                 .totalExpenses(BigDecimal.valueOf(1500.00))
@@ -58,9 +59,8 @@ class BudgetSummaryServiceTest {
 
         McpSchema.CallToolResult callResult = createMockCallToolResult(jsonResponse);
 
-        when(mcpClients.isEmpty()).thenReturn(false);
-        when(mcpClients.getFirst()).thenReturn(mcpClient);
-        when(mcpClient.callTool(any(McpSchema.CallToolRequest.class))).thenReturn(Mono.just(callResult));
+        when(mcpClientPool.isEmpty()).thenReturn(false);
+        when(mcpClientPool.callTool(any(McpSchema.CallToolRequest.class))).thenReturn(Mono.just(callResult));
         when(objectMapper.readValue(jsonResponse, BudgetSummary.class)).thenReturn(testSummary);
 
         // When
@@ -72,7 +72,7 @@ class BudgetSummaryServiceTest {
         assertThat(summaryResult.getTotalExpenses()).isEqualByComparingTo(BigDecimal.valueOf(1500.00));
         assertThat(summaryResult.getNetAmount()).isEqualByComparingTo(BigDecimal.valueOf(1500.00));
 
-        verify(mcpClient).callTool(argThat(request ->
+        verify(mcpClientPool).callTool(argThat(request ->
                 request.name().equals("getSummary") &&
                         request.arguments().get("year").equals(year) &&
                         request.arguments().get("month").equals(month)));
@@ -83,14 +83,14 @@ class BudgetSummaryServiceTest {
     @DisplayName("Should return empty summary when no MCP clients available")
     void getTotals_WithNoMcpClients_ShouldReturnEmptySummary() {
         // Given
-        when(mcpClients.isEmpty()).thenReturn(true);
+        when(mcpClientPool.isEmpty()).thenReturn(true);
 
         // When
         BudgetSummary emptyResult = budgetSummaryService.getTotals(2025, 6);
 
         // Then
         assertThat(emptyResult).isEqualTo(BudgetSummary.empty());
-        verifyNoInteractions(mcpClient);
+        verify(mcpClientPool, never()).callTool(any());
         verifyNoInteractions(objectMapper);
     }
 
@@ -98,9 +98,8 @@ class BudgetSummaryServiceTest {
     @DisplayName("Should handle MCP client call failure gracefully")
     void getTotals_WithMcpClientFailure_ShouldReturnEmptySummary() {
         // Given
-        when(mcpClients.isEmpty()).thenReturn(false);
-        when(mcpClients.getFirst()).thenReturn(mcpClient);
-        when(mcpClient.callTool(any(McpSchema.CallToolRequest.class)))
+        when(mcpClientPool.isEmpty()).thenReturn(false);
+        when(mcpClientPool.callTool(any(McpSchema.CallToolRequest.class)))
                 .thenReturn(Mono.error(new RuntimeException("MCP call failed")));
 
         // When
@@ -108,7 +107,7 @@ class BudgetSummaryServiceTest {
 
         // Then
         assertThat(failureResult).isEqualTo(BudgetSummary.empty());
-        verify(mcpClient).callTool(any(McpSchema.CallToolRequest.class));
+        verify(mcpClientPool).callTool(any(McpSchema.CallToolRequest.class));
         verifyNoInteractions(objectMapper);
     }
 
@@ -119,9 +118,8 @@ class BudgetSummaryServiceTest {
         String invalidJson = "{invalid json}";
         McpSchema.CallToolResult parseResult = createMockCallToolResult(invalidJson);
 
-        when(mcpClients.isEmpty()).thenReturn(false);
-        when(mcpClients.getFirst()).thenReturn(mcpClient);
-        when(mcpClient.callTool(any(McpSchema.CallToolRequest.class))).thenReturn(Mono.just(parseResult));
+        when(mcpClientPool.isEmpty()).thenReturn(false);
+        when(mcpClientPool.callTool(any(McpSchema.CallToolRequest.class))).thenReturn(Mono.just(parseResult));
         when(objectMapper.readValue(invalidJson, BudgetSummary.class))
                 .thenThrow(new RuntimeException("JSON parsing failed"));
 
@@ -140,9 +138,8 @@ class BudgetSummaryServiceTest {
         String jsonResponse = "{}";
         McpSchema.CallToolResult nullParamResult = createMockCallToolResult(jsonResponse);
 
-        when(mcpClients.isEmpty()).thenReturn(false);
-        when(mcpClients.getFirst()).thenReturn(mcpClient);
-        when(mcpClient.callTool(any(McpSchema.CallToolRequest.class))).thenReturn(Mono.just(nullParamResult));
+        when(mcpClientPool.isEmpty()).thenReturn(false);
+        when(mcpClientPool.callTool(any(McpSchema.CallToolRequest.class))).thenReturn(Mono.just(nullParamResult));
         when(objectMapper.readValue(jsonResponse, BudgetSummary.class)).thenReturn(BudgetSummary.empty());
 
         // When
@@ -150,7 +147,7 @@ class BudgetSummaryServiceTest {
 
         // Then
         assertThat(nullParamsResult).isEqualTo(BudgetSummary.empty());
-        verify(mcpClient).callTool(argThat(request ->
+        verify(mcpClientPool).callTool(argThat(request ->
                 request.arguments().get("year") == null &&
                         request.arguments().get("month") == null));
     }
@@ -162,9 +159,8 @@ class BudgetSummaryServiceTest {
         String expectedJson = "{\"totalIncome\":1000.00}";
         McpSchema.CallToolResult textContentResult = createMockCallToolResult(expectedJson);
 
-        when(mcpClients.isEmpty()).thenReturn(false);
-        when(mcpClients.getFirst()).thenReturn(mcpClient);
-        when(mcpClient.callTool(any(McpSchema.CallToolRequest.class))).thenReturn(Mono.just(textContentResult));
+        when(mcpClientPool.isEmpty()).thenReturn(false);
+        when(mcpClientPool.callTool(any(McpSchema.CallToolRequest.class))).thenReturn(Mono.just(textContentResult));
         when(objectMapper.readValue(expectedJson, BudgetSummary.class)).thenReturn(testSummary);
 
         // When
@@ -182,9 +178,8 @@ class BudgetSummaryServiceTest {
         McpSchema.CallToolResult noTextContentResult = mock(McpSchema.CallToolResult.class);
         when(noTextContentResult.content()).thenReturn(Collections.emptyList());
 
-        when(mcpClients.isEmpty()).thenReturn(false);
-        when(mcpClients.getFirst()).thenReturn(mcpClient);
-        when(mcpClient.callTool(any(McpSchema.CallToolRequest.class))).thenReturn(Mono.just(noTextContentResult));
+        when(mcpClientPool.isEmpty()).thenReturn(false);
+        when(mcpClientPool.callTool(any(McpSchema.CallToolRequest.class))).thenReturn(Mono.just(noTextContentResult));
         when(objectMapper.readValue("{}", BudgetSummary.class)).thenReturn(BudgetSummary.empty());
 
         // When
@@ -204,16 +199,15 @@ class BudgetSummaryServiceTest {
         String jsonResponse = "{}";
         McpSchema.CallToolResult argumentsResult = createMockCallToolResult(jsonResponse);
 
-        when(mcpClients.isEmpty()).thenReturn(false);
-        when(mcpClients.getFirst()).thenReturn(mcpClient);
-        when(mcpClient.callTool(any(McpSchema.CallToolRequest.class))).thenReturn(Mono.just(argumentsResult));
+        when(mcpClientPool.isEmpty()).thenReturn(false);
+        when(mcpClientPool.callTool(any(McpSchema.CallToolRequest.class))).thenReturn(Mono.just(argumentsResult));
         when(objectMapper.readValue(jsonResponse, BudgetSummary.class)).thenReturn(BudgetSummary.empty());
 
         // When
         budgetSummaryService.getTotals(year, month);
 
         // Then
-        verify(mcpClient).callTool(argThat(request -> {
+        verify(mcpClientPool).callTool(argThat(request -> {
             assertThat(request.name()).isEqualTo("getSummary");
             assertThat(request.arguments()).containsEntry("year", year);
             assertThat(request.arguments()).containsEntry("month", month);
@@ -222,6 +216,75 @@ class BudgetSummaryServiceTest {
         }));
     }
 
+    @Test
+    @DisplayName("Should share one MCP call between concurrent requests for the same month")
+    void getTotalsAsync_ConcurrentRequests_ShouldShareOneCall() throws Exception {
+        // Given
+        String jsonResponse = "{\"totalIncome\":3000.00}";
+        Sinks.One<McpSchema.CallToolResult> pending = Sinks.one();
+        AtomicInteger calls = new AtomicInteger();
+        when(mcpClientPool.isEmpty()).thenReturn(false);
+        when(mcpClientPool.callTool(any(McpSchema.CallToolRequest.class)))
+                .thenReturn(pending.asMono().doOnSubscribe(subscription -> calls.incrementAndGet()));
+        when(objectMapper.readValue(jsonResponse, BudgetSummary.class)).thenReturn(testSummary);
+
+        // When - three tabs ask while the call runs, one more after it answered
+        List<Mono<BudgetSummary>> waiting = List.of(
+                budgetSummaryService.getTotalsAsync(2025, 6).cache(),
+                budgetSummaryService.getTotalsAsync(2025, 6).cache(),
+                budgetSummaryService.getTotalsAsync(2025, 6).cache());
+        waiting.forEach(Mono::subscribe);
+        pending.tryEmitValue(createMockCallToolResult(jsonResponse));
+        BudgetSummary later = budgetSummaryService.getTotals(2025, 6);
+
+        // Then
+        assertThat(waiting).allSatisfy(totals -> assertThat(totals.block()).isEqualTo(testSummary));
+        assertThat(later).isEqualTo(testSummary);
+        assertThat(calls).hasValue(1);
+        verify(objectMapper, times(1)).readValue(jsonResponse, BudgetSummary.class);
+    }
+
+    @Test
+    @DisplayName("Should read the totals again once a transaction is recorded through the pool")
+    void getTotalsAsync_AfterWriteTool_ShouldCallAgain() throws Exception {
+        // Given
+        ArgumentCaptor<Consumer<String>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(mcpClientPool).onCallEnded(listener.capture());
+        when(mcpClientPool.isEmpty()).thenReturn(false);
+        when(mcpClientPool.callTool(any(McpSchema.CallToolRequest.class)))
+                .thenAnswer(invocation -> Mono.just(createMockCallToolResult("{}")));
+        when(objectMapper.readValue("{}", BudgetSummary.class)).thenReturn(testSummary);
+        budgetSummaryService.getTotals(2025, 6);
+
+        // When
+        listener.getValue().accept("getAllBudgets");
+        budgetSummaryService.getTotals(2025, 6);
+        listener.getValue().accept("addTransaction");
+        budgetSummaryService.getTotals(2025, 6);
+
+        // Then
+        verify(mcpClientPool, times(2)).callTool(any(McpSchema.CallToolRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should not keep a failed call for later requests")
+    void getTotalsAsync_AfterFailure_ShouldCallAgain() throws Exception {
+        // Given
+        when(mcpClientPool.isEmpty()).thenReturn(false);
+        when(mcpClientPool.callTool(any(McpSchema.CallToolRequest.class)))
+                .thenReturn(Mono.error(new RuntimeException("MCP call failed")))
+                .thenAnswer(invocation -> Mono.just(createMockCallToolResult("{}")));
+        when(objectMapper.readValue("{}", BudgetSummary.class)).thenReturn(testSummary);
+
+        // When
+        BudgetSummary failed = budgetSummaryService.getTotals(2025, 6);
+        BudgetSummary retried = budgetSummaryService.getTotals(2025, 6);
+
+        // Then
+        assertThat(failed).isEqualTo(BudgetSummary.empty());
+        assertThat(retried).isEqualTo(testSummary);
+    }
+
     private McpSchema.CallToolResult createMockCallToolResult(String jsonContent) {
         McpSchema.TextContent textContent = mock(McpSchema.TextContent.class);
         when(textContent.text()).thenReturn(jsonContent);
@@ -2,24 +2,39 @@ package com.budgetclient.service;
 
 import com.budgetclient.dto.ChatRequest;
 import com.budgetclient.dto.ChatResponse;
+import com.budgetclient.dto.ChatStreamEvent;
+import com.budgetclient.mcp.McpClientPool;
+import com.budgetclient.memory.ConversationCompactor;
+import com.budgetclient.memory.ShardedChatMemory;
+import com.budgetclient.routing.IntentRouter;
+import com.budgetclient.tracing.ChatTracer;
+import com.budgetclient.tracing.InMemorySpanExporter;
+import io.modelcontextprotocol.spec.McpSchema;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.chat.messages.Message;
-import org.springframework.ai.mcp.AsyncMcpToolCallbackProvider;
-import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.tool.ToolCallbackProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -28,7 +43,7 @@ import static org.mockito.Mockito.*;
 class ChatServiceTest {
 
     @Mock
-    private AsyncMcpToolCallbackProvider toolCallbackProvider;
+    private McpClientPool mcpClientPool;
 
     @Mock
     private ChatClient chatClient;
@@ -40,7 +55,21 @@ class ChatServiceTest {
     private ChatClient.CallResponseSpec responseSpec;
 
     @Mock
-    private ChatMemory chatMemory;
+    private ChatClient.StreamResponseSpec streamResponseSpec;
+
+    @Mock
+    private ShardedChatMemory chatMemory;
+
+    @Mock
+    private ConversationCompactor conversationCompactor;
+
+    @Mock
+    private IntentRouter intentRouter;
+
+    private final InMemorySpanExporter spanExporter = new InMemorySpanExporter(100);
+
+    @Spy
+    private ChatTracer chatTracer = new ChatTracer(List.of(spanExporter));
 
     @InjectMocks
     private ChatService chatService;
@@ -50,6 +79,8 @@ class ChatServiceTest {
         when(chatClient.prompt()).thenReturn(requestSpec);
         when(requestSpec.user(anyString())).thenReturn(requestSpec);
         when(requestSpec.advisors(any(Consumer.class))).thenReturn(requestSpec);
+        when(requestSpec.toolCallbacks(any(ToolCallbackProvider.class))).thenReturn(requestSpec);
+        when(requestSpec.toolContext(anyMap())).thenReturn(requestSpec);
         when(requestSpec.call()).thenReturn(responseSpec);
     }
 
@@ -70,8 +101,10 @@ class ChatServiceTest {
         assertThat(result.getContent()).isEqualTo(expectedResponse);
         assertThat(result.getRole()).isEqualTo("assistant");
         verify(chatClient).prompt();
+        verify(requestSpec).toolCallbacks(mcpClientPool);
         verify(requestSpec).call();
         verify(responseSpec).content();
+        verify(conversationCompactor).compactIfNeeded("poc-budget-chat");
     }
 
     @Test
@@ -110,11 +143,185 @@ class ChatServiceTest {
         assertThat(errorResponse.getRole()).isEqualTo("assistant");
     }
 
+    @Test
+    @DisplayName("Should pass the trace context to tools and return timings when asked")
+    @SuppressWarnings("unchecked")
+    void processMessage_WithTimingsRequested_ShouldReturnStageTimings() {
+        // Given
+        setupChatClientMocks();
+        when(responseSpec.content()).thenReturn("📊 Monthly Summary: ...");
+        ChatRequest request = new ChatRequest("How am I doing this month?");
+        request.setTimings(true);
+
+        // When
+        ChatResponse response = chatService.processMessage(request);
+
+        // Then
+        ArgumentCaptor<Map<String, Object>> toolContext = ArgumentCaptor.forClass(Map.class);
+        verify(requestSpec).toolContext(toolContext.capture());
+        String traceId = response.getTimings().getTraceId();
+        assertThat(toolContext.getValue().get("traceparent"))
+                .asString()
+                .matches("00-" + traceId + "-[0-9a-f]{16}-01");
+        assertThat(response.getTimings().getToolCalls()).isZero();
+        assertThat(response.getTimings().getModelMs()).isEqualTo(response.getTimings().getTotalMs());
+        assertThat(spanExporter.trace(traceId)).singleElement()
+                .satisfies(span -> assertThat(span.name()).isEqualTo("chat.message"));
+    }
+
+    @Test
+    @DisplayName("Should leave timings out unless asked, and still trace failed messages")
+    void processMessage_WithoutTimingsRequested_ShouldOmitTimings() {
+        // Given
+        setupChatClientMocks();
+        when(responseSpec.content()).thenReturn("✅ Done").thenThrow(new RuntimeException("Anthropic unavailable"));
+
+        // When
+        ChatResponse response = chatService.processMessage(new ChatRequest("Add $5 for coffee"));
+        chatService.processMessage(new ChatRequest("Add $5 for tea"));
+
+        // Then
+        assertThat(response.getTimings()).isNull();
+        assertThat(spanExporter.size()).isEqualTo(2);
+        verify(chatTracer, times(2)).end(any());
+    }
+
+    @Test
+    @DisplayName("Should stream text chunks, then the complete answer")
+    void streamMessage_ShouldEmitTokensThenDone() {
+        // Given
+        when(chatClient.prompt()).thenReturn(requestSpec);
+        when(requestSpec.user(anyString())).thenReturn(requestSpec);
+        when(requestSpec.advisors(any(Consumer.class))).thenReturn(requestSpec);
+        when(requestSpec.toolCallbacks(any(ToolCallbackProvider.class))).thenReturn(requestSpec);
+        when(requestSpec.toolContext(anyMap())).thenReturn(requestSpec);
+        when(requestSpec.stream()).thenReturn(streamResponseSpec);
+        when(streamResponseSpec.content()).thenReturn(Flux.just("You spent ", "$120 ", "on food."));
+        ChatRequest request = new ChatRequest("How much did I spend on food?");
+        request.setTimings(true);
+
+        // When
+        List<ChatStreamEvent> events = chatService.streamMessage(request).collectList().block();
+
+        // Then
+        assertThat(events).extracting(ChatStreamEvent::getType)
+                .containsExactly("token", "token", "token", "done");
+        ChatStreamEvent done = events.getLast();
+        assertThat(done.getContent()).isEqualTo("You spent $120 on food.");
+        assertThat(done.getTimings()).isNotNull();
+        assertThat(spanExporter.trace(done.getTimings().getTraceId())).singleElement()
+                .satisfies(span -> assertThat(span.name()).isEqualTo("chat.stream"));
+        verify(requestSpec).advisors(any(Consumer.class));
+        verify(conversationCompactor).compactIfNeeded("poc-budget-chat");
+    }
+
+    @Test
+    @DisplayName("Should end a failed stream with an error event")
+    void streamMessage_WithModelFailure_ShouldEmitErrorEvent() {
+        // Given
+        when(chatClient.prompt()).thenReturn(requestSpec);
+        when(requestSpec.user(anyString())).thenReturn(requestSpec);
+        when(requestSpec.advisors(any(Consumer.class))).thenReturn(requestSpec);
+        when(requestSpec.toolCallbacks(any(ToolCallbackProvider.class))).thenReturn(requestSpec);
+        when(requestSpec.toolContext(anyMap())).thenReturn(requestSpec);
+        when(requestSpec.stream()).thenReturn(streamResponseSpec);
+        when(streamResponseSpec.content()).thenReturn(Flux.concat(
+                Flux.just("Let me check"), Flux.error(new RuntimeException("Anthropic unavailable"))));
+
+        // When
+        List<ChatStreamEvent> events = chatService.streamMessage(new ChatRequest("Show my budgets")).collectList().block();
+
+        // Then
+        assertThat(events).extracting(ChatStreamEvent::getType).containsExactly("token", "error");
+        assertThat(events.getLast().getContent()).isEqualTo("I encountered an error. Please try again.");
+        assertThat(spanExporter.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep each conversation's memory under its own id")
+    void processMessage_WithConversationId_ShouldUseItForMemory() {
+        // Given
+        setupChatClientMocks();
+        when(responseSpec.content()).thenReturn("Your food budget is $500.");
+        ChatRequest request = new ChatRequest("What is my food budget?");
+        request.setConversationId("alice-42");
+
+        // When
+        chatService.processMessage(request);
+
+        // Then
+        ArgumentCaptor<Consumer<ChatClient.AdvisorSpec>> advisors = ArgumentCaptor.forClass(Consumer.class);
+        verify(requestSpec).advisors(advisors.capture());
+        ChatClient.AdvisorSpec advisorSpec = mock(ChatClient.AdvisorSpec.class);
+        advisors.getValue().accept(advisorSpec);
+        verify(advisorSpec).param(ChatMemory.CONVERSATION_ID, "alice-42");
+        verify(conversationCompactor).compactIfNeeded("alice-42");
+    }
+
+    @Test
+    @DisplayName("Should answer a routed request with its tool call, without the model")
+    void processMessage_WhenRouted_ShouldAnswerWithoutModel() {
+        // Given
+        IntentRouter.ToolCall call = new IntentRouter.ToolCall("getAllBudgets", Map.of());
+        when(intentRouter.route("Show my budgets")).thenReturn(Optional.of(call));
+        when(intentRouter.call(eq(call), anyString())).thenReturn(Mono.just("Food: $120 of $500"));
+
+        // When
+        ChatResponse response = chatService.processMessage(new ChatRequest("Show my budgets"));
+
+        // Then
+        assertThat(response.getContent()).isEqualTo("Food: $120 of $500");
+        verifyNoInteractions(chatClient);
+        ArgumentCaptor<List<Message>> remembered = ArgumentCaptor.forClass(List.class);
+        verify(chatMemory).add(eq("poc-budget-chat"), remembered.capture());
+        assertThat(remembered.getValue()).extracting(Message::getText)
+                .containsExactly("Show my budgets", "Food: $120 of $500");
+        verify(conversationCompactor).compactIfNeeded("poc-budget-chat");
+    }
+
+    @Test
+    @DisplayName("Should ask the model when a routed tool call fails")
+    void processMessage_WhenRoutedCallFails_ShouldFallBackToModel() {
+        // Given
+        setupChatClientMocks();
+        IntentRouter.ToolCall call = new IntentRouter.ToolCall("getAllBudgets", Map.of());
+        when(intentRouter.route("Show my budgets")).thenReturn(Optional.of(call));
+        when(intentRouter.call(eq(call), anyString())).thenReturn(Mono.empty());
+        when(responseSpec.content()).thenReturn("You have no budgets yet.");
+
+        // When
+        ChatResponse response = chatService.processMessage(new ChatRequest("Show my budgets"));
+
+        // Then
+        assertThat(response.getContent()).isEqualTo("You have no budgets yet.");
+        verify(requestSpec).call();
+        verify(chatMemory, never()).add(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should stream a routed answer as one chunk, then done")
+    void streamMessage_WhenRouted_ShouldStreamToolAnswer() {
+        // Given
+        IntentRouter.ToolCall call = new IntentRouter.ToolCall("getRecentTransactions", Map.of());
+        when(intentRouter.route("Show my recent transactions")).thenReturn(Optional.of(call));
+        when(intentRouter.call(eq(call), anyString())).thenReturn(Mono.just("Lunch $12"));
+
+        // When
+        List<ChatStreamEvent> events = chatService.streamMessage(new ChatRequest("Show my recent transactions"))
+                .collectList().block();
+
+        // Then
+        assertThat(events).extracting(ChatStreamEvent::getType).containsExactly("token", "done");
+        assertThat(events.getLast().getContent()).isEqualTo("Lunch $12");
+        verifyNoInteractions(chatClient);
+        verify(chatMemory).add(eq("poc-budget-chat"), anyList());
+    }
+
     @Test
     @DisplayName("Should clear chat memory successfully")
     void clearChatMemory_ShouldCallChatMemoryClear() {
         // When
-        chatService.clearChatMemory();
+        chatService.clearChatMemory(null);
 
         // Then
         verify(chatMemory).clear("poc-budget-chat");
@@ -125,20 +332,35 @@ class ChatServiceTest {
     void getChatHistory_ShouldReturnMessageList() {
         // Given
         List<Message> expectedMessages = new ArrayList<>();
-        when(chatMemory.get("poc-budget-chat")).thenReturn(expectedMessages);
+        when(chatMemory.history("poc-budget-chat", 0, 50)).thenReturn(expectedMessages);
+
+        // When
+        List<Message> historyResult = chatService.getChatHistory(null, 0, 50);
+
+        // Then
+        assertThat(historyResult).isEqualTo(expectedMessages);
+        verify(chatMemory).history("poc-budget-chat", 0, 50);
+    }
+
+    @Test
+    @DisplayName("Should get the requested page of the requested conversation")
+    void getChatHistory_WithConversationId_ShouldReadThatConversation() {
+        // Given
+        List<Message> expectedMessages = List.of(new UserMessage("Show my budgets"));
+        when(chatMemory.history("bob-7", 20, 10)).thenReturn(expectedMessages);
 
         // When
-        List<Message> historyResult = chatService.getChatHistory();
+        List<Message> historyResult = chatService.getChatHistory("bob-7", 20, 10);
 
         // Then
         assertThat(historyResult).isEqualTo(expectedMessages);
-        verify(chatMemory).get("poc-budget-chat");
+        verify(chatMemory, never()).history(eq("poc-budget-chat"), anyInt(), anyInt());
     }
 
     @Test
     @DisplayName("Should check MCP tools availability")
-    void hasMcpTools_WithNullProvider_ShouldReturnFalse() {
-        // Given - toolCallbackProvider is already mocked as null by default
+    void hasMcpTools_WithNoServerUp_ShouldReturnFalse() {
+        // Given - the mocked pool has no connection up
 
         // When
         boolean mcpResult = chatService.hasMcpTools();
@@ -148,11 +370,11 @@ class ChatServiceTest {
     }
 
     @Test
-    @DisplayName("Should check MCP tools availability with valid provider")
-    void hasMcpTools_WithValidProvider_ShouldReturnTrue() {
+    @DisplayName("Should check MCP tools availability with a server up")
+    void hasMcpTools_WithServerUp_ShouldReturnTrue() {
         // Given
-        ToolCallback[] mockCallbacks = new ToolCallback[1];
-        when(toolCallbackProvider.getToolCallbacks()).thenReturn(mockCallbacks);
+        when(mcpClientPool.healthy()).thenReturn(1);
+        when(mcpClientPool.tools()).thenReturn(List.of(McpSchema.Tool.builder().name("getAllBudgets").build()));
 
         // When
         boolean mcpResultWithTools = chatService.hasMcpTools();
@@ -0,0 +1,156 @@
+package com.budgetclient.tracing;
+
+import com.budgetclient.dto.StageTimings;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpClientTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ToolContext;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Tracing MCP Transport Tests")
+class TracingMcpTransportTest {
+
+    private final InMemorySpanExporter spanExporter = new InMemorySpanExporter(100);
+
+    private final ChatTracer chatTracer = new ChatTracer(List.of(spanExporter));
+
+    private final RecordingTransport delegate = new RecordingTransport();
+
+    private final TracingMcpTransport transport = new TracingMcpTransport(delegate, chatTracer);
+
+    @BeforeEach
+    void setUp() {
+        transport.connect(message -> message).block();
+    }
+
+    @Test
+    @DisplayName("Should hand the server a child span and record the tool call with the server's timings")
+    void toolCall_WithOpenTrace_ShouldRecordSpanWithServerTimings() {
+        // Given
+        ChatTrace trace = chatTracer.start("chat.message");
+        List<String> progress = new ArrayList<>();
+        trace.onToolCall(new ToolCallListener() {
+            @Override
+            public void started(String toolName) {
+                progress.add("started " + toolName);
+            }
+
+            @Override
+            public void finished(String toolName, Span span) {
+                progress.add("finished " + toolName);
+            }
+        });
+
+        // When
+        transport.sendMessage(toolCall(1, Map.of(TraceParent.KEY, trace.traceparent()))).block();
+        delegate.respond(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, 1, Map.of(
+                "content", List.of(),
+                "_meta", Map.of("timings", Map.of("toolMs", 12.0, "dbMs", 8.0, "dbCalls", 2))), null));
+        chatTracer.end(trace);
+
+        // Then
+        McpSchema.CallToolRequest sent = (McpSchema.CallToolRequest) ((McpSchema.JSONRPCRequest) delegate.sent.getFirst()).params();
+        TraceParent serverParent = TraceParent.parse(sent.meta().get(TraceParent.KEY));
+        assertThat(serverParent.traceId()).isEqualTo(trace.traceId());
+        assertThat(serverParent.spanId()).isNotEqualTo(TraceParent.parse(trace.traceparent()).spanId());
+        assertThat(sent.arguments()).containsEntry("year", 2025);
+
+        List<Span> spans = spanExporter.trace(trace.traceId());
+        assertThat(spans).hasSize(2);
+        Span toolCall = spans.get(1);
+        assertThat(toolCall.name()).isEqualTo("mcp.tools/call getSummary");
+        assertThat(toolCall.spanId()).isEqualTo(serverParent.spanId());
+        assertThat(toolCall.parentSpanId()).isEqualTo(spans.getFirst().spanId());
+        assertThat(toolCall.attributes()).containsEntry("server.db.calls", 2);
+        assertThat(progress).containsExactly("started getSummary", "finished getSummary");
+
+        StageTimings timings = trace.timings();
+        assertThat(timings.getToolCalls()).isEqualTo(1);
+        assertThat(timings.getDbMs()).isEqualTo(8.0);
+        assertThat(timings.getServerToolMs()).isEqualTo(4.0);
+        assertThat(timings.getModelMs() + timings.getMcpTransportMs() + timings.getServerToolMs() + timings.getDbMs())
+                .isCloseTo(timings.getTotalMs(), within(0.001));
+    }
+
+    @Test
+    @DisplayName("Should pass untraced messages through unchanged")
+    void messages_WithoutOpenTrace_ShouldPassThrough() {
+        // Given
+        McpSchema.JSONRPCRequest untraced = toolCall(1, null);
+        McpSchema.JSONRPCRequest unknownTrace = toolCall(2, Map.of(TraceParent.KEY, TraceParent.root().header()));
+
+        // When
+        transport.sendMessage(untraced).block();
+        transport.sendMessage(unknownTrace).block();
+        delegate.respond(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, 1, Map.of(), null));
+
+        // Then
+        assertThat(delegate.sent).containsExactly(untraced, unknownTrace);
+        assertThat(spanExporter.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should forward only the trace context from the tool context as request meta")
+    void metaConverter_ShouldForwardOnlyTraceparent() {
+        // Given
+        String traceparent = TraceParent.root().header();
+        ToolContext toolContext = new ToolContext(Map.of(
+                TraceParent.KEY, traceparent,
+                ToolContext.TOOL_CALL_HISTORY, List.of("earlier messages")));
+
+        // When
+        Map<String, Object> meta = new TracingConfig().traceContextMetaConverter().convert(toolContext);
+
+        // Then
+        assertThat(meta).containsExactly(Map.entry(TraceParent.KEY, traceparent));
+        assertThat(new TracingConfig().traceContextMetaConverter().convert(new ToolContext(Map.of()))).isEmpty();
+    }
+
+    private static McpSchema.JSONRPCRequest toolCall(int id, Map<String, Object> meta) {
+        return new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_TOOLS_CALL, id,
+                new McpSchema.CallToolRequest("getSummary", Map.of("year", 2025, "month", 6), meta));
+    }
+
+    private static class RecordingTransport implements McpClientTransport {
+
+        private final List<McpSchema.JSONRPCMessage> sent = new ArrayList<>();
+        private Function<Mono<McpSchema.JSONRPCMessage>, Mono<McpSchema.JSONRPCMessage>> handler;
+
+        @Override
+        public Mono<Void> connect(Function<Mono<McpSchema.JSONRPCMessage>, Mono<McpSchema.JSONRPCMessage>> handler) {
+            this.handler = handler;
+            return Mono.empty();
+        }
+
+        void respond(McpSchema.JSONRPCMessage message) {
+            handler.apply(Mono.just(message)).block();
+        }
+
+        @Override
+        public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+            sent.add(message);
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> closeGracefully() {
+            return Mono.empty();
+        }
+
+        @Override
+        public <T> T unmarshalFrom(Object data, TypeRef<T> typeRef) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.budgetserver.benchmark;
+
+import com.budgetserver.dto.BudgetSpending;
+import com.budgetserver.dto.PeriodTotals;
+import com.budgetserver.dto.SpendingTotals;
+import com.budgetserver.entity.TransactionType;
+import com.budgetserver.repository.MonthlyRollupRepository;
+import com.budgetserver.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.budgetserver.benchmark.BudgetDataset.MONTH;
+import static com.budgetserver.benchmark.BudgetDataset.YEAR;
+
+/**
+ * The aggregate queries behind the summary tools, each next to the queries it replaced:
+ * the single {@code SUM(CASE)} period totals against one {@code SUM} per type over the rollups
+ * and against the original pair of sums over {@code transactions}, and budget spending from the
+ * monthly rollups against the grouped join over {@code transactions} it replaced, which only
+ * the benchmark still runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggregateQueryBenchmark {
+
+    private static final LocalDate START = LocalDate.of(YEAR, MONTH, 1);
+    private static final LocalDate END = START.withDayOfMonth(START.lengthOfMonth());
+
+    private static final String SPENDING_FROM_TRANSACTIONS = "SELECT new com.budgetserver.dto.BudgetSpending(" +
+            "b.id, b.category, b.budgetYear, b.budgetMonth, COALESCE(SUM(t.amount), 0)) " +
+            "FROM Budget b LEFT JOIN Transaction t ON t.category = b.category " +
+            "AND t.type = 'EXPENSE' " +
+            "AND YEAR(t.date) = b.budgetYear AND MONTH(t.date) = b.budgetMonth " +
+            "WHERE b.isActive = true " +
+            "GROUP BY b.id, b.category, b.budgetYear, b.budgetMonth";
+
+    private MonthlyRollupRepository monthlyRollupRepository;
+    private TransactionRepository transactionRepository;
+    private EntityManager entityManager;
+
+    @Setup
+    public void setUp(BudgetDataset dataset) {
+        monthlyRollupRepository = dataset.bean(MonthlyRollupRepository.class);
+        transactionRepository = dataset.bean(TransactionRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(dataset.bean(EntityManagerFactory.class));
+    }
+
+    @Benchmark
+    public PeriodTotals periodTotalsSumCase() {
+        return monthlyRollupRepository.findPeriodTotals(YEAR, MONTH);
+    }
+
+    @Benchmark
+    public void periodTotalsQueryPerType(Blackhole blackhole) {
+        blackhole.consume(monthlyRollupRepository.sumByTypeAndPeriod(TransactionType.INCOME, YEAR, MONTH));
+        blackhole.consume(monthlyRollupRepository.sumByTypeAndPeriod(TransactionType.EXPENSE, YEAR, MONTH));
+    }
+
+    @Benchmark
+    public void periodTotalsFromTransactions(Blackhole blackhole) {
+        blackhole.consume(transactionRepository.sumByTypeAndDateBetween(TransactionType.INCOME, START, END));
+        blackhole.consume(transactionRepository.sumByTypeAndDateBetween(TransactionType.EXPENSE, START, END));
+    }
+
+    @Benchmark
+    public List<BudgetSpending> budgetSpendingFromRollups() {
+        return monthlyRollupRepository.findSpendingForActiveBudgets();
+    }
+
+    @Benchmark
+    public List<BudgetSpending> budgetSpendingFromTransactions() {
+        return entityManager.createQuery(SPENDING_FROM_TRANSACTIONS, BudgetSpending.class).getResultList();
+    }
+
+    @Benchmark
+    public SpendingTotals categoryExpenseTotals() {
+        return monthlyRollupRepository.findExpenseTotals("Food", YEAR, MONTH);
+    }
+}
@@ -0,0 +1,73 @@
+package com.budgetserver.benchmark;
+
+import com.budgetserver.BudgetMcpServerApplication;
+import com.budgetserver.dto.DatasetSpec;
+import com.budgetserver.service.BudgetMcpService;
+import com.budgetserver.service.SyntheticDataGenerator;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * The budget server booted on an in-memory H2 database. {@link SyntheticDataGenerator} seeds it,
+ * with its fixed seed, with {@code transactions} rows spread over the 24 months up to
+ * {@link #YEAR}/{@link #MONTH}, and a budget is created per expense category for that month.
+ * Each benchmark runs at 10 000 rows and at 250 000, where scans of {@code transactions} start to
+ * show; pick one size with {@code -Djmh.args="-p transactions=250000"}.
+ */
+@State(Scope.Benchmark)
+public class BudgetDataset {
+
+    static final int YEAR = 2025;
+    static final int MONTH = 6;
+    static final List<String> CATEGORIES =
+            List.of("Food", "Transport", "Entertainment", "Utilities", "Housing", "Health", "Shopping", "Travel");
+
+    @Param({"10000", "250000"})
+    public int transactions;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(BudgetMcpServerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.h2.console.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.budgetserver=WARN",
+                        "--logging.level.org.springframework.ai=WARN",
+                        "--logging.level.org.springframework.ai.mcp=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN");
+
+        bean(SyntheticDataGenerator.class).generate(DatasetSpec.builder()
+                .transactions(transactions)
+                .firstMonth(YearMonth.of(YEAR, MONTH).minusMonths(23))
+                .months(24)
+                .budgets(false)
+                .build());
+        BudgetMcpService tools = bean(BudgetMcpService.class);
+        for (int i = 0; i < CATEGORIES.size(); i++) {
+            tools.createBudget(CATEGORIES.get(i), BigDecimal.valueOf(400 + 100L * i), YEAR, MONTH, null, null);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
@@ -0,0 +1,72 @@
+package com.budgetserver.benchmark;
+
+import com.budgetserver.dto.BudgetSummary;
+import com.budgetserver.dto.Dashboard;
+import com.budgetserver.service.BudgetMcpService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import static com.budgetserver.benchmark.BudgetDataset.MONTH;
+import static com.budgetserver.benchmark.BudgetDataset.YEAR;
+
+/**
+ * The MCP tool methods end to end through their Spring proxies: repository reads, summary cache
+ * and response rendering. {@code getAllBudgets} and {@code getSummary} are served from the warm
+ * summary cache; {@code getDashboard} and the category summary always query the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToolBenchmark {
+
+    private BudgetMcpService tools;
+
+    @Setup
+    public void setUp(BudgetDataset dataset) {
+        tools = dataset.bean(BudgetMcpService.class);
+    }
+
+    @Benchmark
+    public String getAllBudgets() {
+        return tools.getAllBudgets();
+    }
+
+    @Benchmark
+    public BudgetSummary getSummary() {
+        return tools.getSummary(YEAR, MONTH);
+    }
+
+    @Benchmark
+    public String getSpendingSummaryForCategory() {
+        return tools.getSpendingSummary("Food", YEAR, MONTH);
+    }
+
+    @Benchmark
+    public String getRecentTransactions() {
+        return tools.getRecentTransactions();
+    }
+
+    @Benchmark
+    public Dashboard getDashboard() {
+        return tools.getDashboard(YEAR, MONTH);
+    }
+
+    @Benchmark
+    public String addTransaction() {
+        return tools.addTransaction(new BigDecimal("12.34"), "Benchmark purchase", "Food", "EXPENSE", "2025-06-15");
+    }
+}
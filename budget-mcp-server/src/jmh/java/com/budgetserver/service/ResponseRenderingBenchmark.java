@@ -0,0 +1,146 @@
+package com.budgetserver.service;
+
+import com.budgetserver.entity.Budget;
+import com.budgetserver.entity.Transaction;
+import com.budgetserver.entity.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Time and allocation per rendered row of the two list responses, compiled templates against the
+ * {@code String.format} rendering they replaced. Run with {@code -prof gc} (the profile's default)
+ * and compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseRenderingBenchmark {
+
+    private static final int ROWS = 10;
+
+    private static final List<String> CATEGORIES = List.of("Food", "Transport", "Entertainment", "Utilities", "Shopping");
+
+    private List<Budget> budgets;
+    private List<Transaction> transactions;
+    private Function<Budget, BigDecimal> spentFor;
+
+    @Setup
+    public void setUp() {
+        budgets = IntStream.range(0, ROWS)
+                .mapToObj(i -> Budget.builder()
+                        .id((long) i)
+                        .category(CATEGORIES.get(i % CATEGORIES.size()) + " " + i)
+                        .monthlyLimit(BigDecimal.valueOf(200 + 50L * i))
+                        .budgetYear(2025)
+                        .budgetMonth(6)
+                        .alertThreshold(BigDecimal.valueOf(80))
+                        .notes(i % 3 == 0 ? "Reviewed monthly" : null)
+                        .isActive(true)
+                        .build())
+                .toList();
+        Map<Long, BigDecimal> spent = budgets.stream()
+                .collect(Collectors.toMap(Budget::getId, budget -> new BigDecimal("123.45")));
+        spentFor = budget -> spent.get(budget.getId());
+        transactions = IntStream.range(0, ROWS)
+                .mapToObj(i -> Transaction.builder()
+                        .amount(new BigDecimal("12.50").add(BigDecimal.valueOf(7L * i)))
+                        .description("Purchase " + i)
+                        .category(CATEGORIES.get(i % CATEGORIES.size()))
+                        .type(i % 4 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE)
+                        .date(LocalDate.of(2025, 6, 1 + i))
+                        .build())
+                .toList();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public String activeBudgetsTemplate() {
+        return BudgetResponses.activeBudgets(budgets, spentFor);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public String activeBudgetsStringFormat() {
+        return StringFormatRendering.activeBudgets(budgets, spentFor);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public String recentTransactionsTemplate() {
+        return BudgetResponses.recentTransactions(transactions);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public String recentTransactionsStringFormat() {
+        return StringFormatRendering.recentTransactions(transactions);
+    }
+
+    /**
+     * The rendering before compiled templates: a {@code String.format} pass and a new date formatter per row.
+     */
+    static final class StringFormatRendering {
+
+        static String activeBudgets(List<Budget> budgets, Function<Budget, BigDecimal> spentFor) {
+            StringBuilder response = new StringBuilder("📋 **Current Active Budgets:**\n\n");
+            for (Budget budget : budgets) {
+                BigDecimal spent = spentFor.apply(budget);
+                BigDecimal remaining = budget.getMonthlyLimit().subtract(spent);
+                BigDecimal percentUsed = spent.divide(budget.getMonthlyLimit(), 4, RoundingMode.HALF_UP)
+                        .multiply(BigDecimal.valueOf(100));
+                String status = percentUsed.compareTo(budget.getAlertThreshold()) >= 0 ? "⚠️" : "✅";
+                response.append(String.format("""
+                        %s **%s**
+                          💰 Budget: $%.2f
+                          💸 Spent: $%.2f (%.1f%%)
+                          💵 Remaining: $%.2f
+                          📅 Period: %d/%d
+                        """,
+                        status, budget.getCategory(), budget.getMonthlyLimit(),
+                        spent, percentUsed, remaining, budget.getBudgetMonth(), budget.getBudgetYear()));
+                if (budget.getNotes() != null && !budget.getNotes().trim().isEmpty()) {
+                    response.append(String.format("      📝 Notes: %s\n", budget.getNotes()));
+                }
+                response.append("\n");
+            }
+            return response.toString();
+        }
+
+        static String recentTransactions(List<Transaction> transactions) {
+            StringBuilder response = new StringBuilder("📝 **Recent Transactions:**\n\n");
+            for (Transaction transaction : transactions) {
+                String emoji = transaction.getType() == TransactionType.INCOME ? "💰" : "💸";
+                response.append(String.format("""
+                        %s $%.2f - %s
+                          🏷️ %s | 📅 %s
+                        """,
+                        emoji, transaction.getAmount(), transaction.getDescription(), transaction.getCategory(),
+                        transaction.getDate().format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))));
+            }
+            return response.toString();
+        }
+    }
+}
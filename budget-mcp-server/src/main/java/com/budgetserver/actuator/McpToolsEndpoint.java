@@ -1,5 +1,6 @@
 package com.budgetserver.actuator;
 
+import com.budgetserver.execution.ToolMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.tool.ToolCallback;
@@ -20,8 +21,9 @@ import java.util.Map;
 public class McpToolsEndpoint {
 
     private final ToolCallbackProvider toolCallbackProvider;
+    private final ToolMetrics toolMetrics;
 
-    // GET /actuator/mcp-tools
+    // GET /actuator/mcp-tools - each tool with its calls, error rate and p50/p99 latency in ms
     @ReadOperation
     public Map<String, Object> getAllTools() {
         Map<String, Object> result = new HashMap<>();
@@ -36,6 +38,7 @@ public class McpToolsEndpoint {
                 tool.put("name", callback.getToolDefinition().name());
                 tool.put("description", callback.getToolDefinition().description());
                 tool.put("inputSchema", callback.getToolDefinition().inputSchema());
+                tool.putAll(toolMetrics.stats(callback.getToolDefinition().name()));
                 tools.add(tool);
             }
 
@@ -0,0 +1,58 @@
+package com.budgetserver.actuator;
+
+import com.budgetserver.tracing.InMemorySpanExporter;
+import com.budgetserver.tracing.Span;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "mcp-traces")  // Creates /actuator/mcp-traces
+@RequiredArgsConstructor
+public class McpTracesEndpoint {
+
+    private static final int RECENT_TRACES = 20;
+
+    private final InMemorySpanExporter spanExporter;
+
+    // GET /actuator/mcp-traces - the most recent tool call traces with their spans
+    @ReadOperation
+    public Map<String, Object> recentTraces() {
+        List<Map<String, Object>> traces = new ArrayList<>();
+        spanExporter.traces(RECENT_TRACES).forEach((traceId, spans) -> traces.add(trace(traceId, spans)));
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("retainedSpans", spanExporter.size());
+        result.put("traces", traces);
+        return result;
+    }
+
+    // GET /actuator/mcp-traces/{traceId}
+    @ReadOperation
+    public Map<String, Object> trace(@Selector String traceId) {
+        return trace(traceId, spanExporter.trace(traceId));
+    }
+
+    private static Map<String, Object> trace(String traceId, List<Span> spans) {
+        Map<String, Object> trace = new LinkedHashMap<>();
+        trace.put("traceId", traceId);
+        trace.put("spans", spans.stream().map(span -> {
+            Map<String, Object> view = new LinkedHashMap<>();
+            view.put("name", span.name());
+            view.put("spanId", span.spanId());
+            view.put("parentSpanId", span.parentSpanId());
+            view.put("durationMs", span.durationMillis());
+            view.put("attributes", span.attributes());
+            return view;
+        }).toList());
+        return trace;
+    }
+}
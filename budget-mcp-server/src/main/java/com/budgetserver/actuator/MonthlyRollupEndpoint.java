@@ -0,0 +1,53 @@
+package com.budgetserver.actuator;
+
+import com.budgetserver.repository.MonthlyRollupRepository;
+import com.budgetserver.service.MonthlyRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "monthly-rollups")  // Creates /actuator/monthly-rollups
+@RequiredArgsConstructor
+@Slf4j
+public class MonthlyRollupEndpoint {
+
+    private final MonthlyRollupService monthlyRollupService;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+
+    // GET /actuator/monthly-rollups
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("rollups", monthlyRollupRepository.count());
+        return result;
+    }
+
+    // POST /actuator/monthly-rollups
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        Map<String, Object> result = new HashMap<>();
+
+        try {
+            long start = System.currentTimeMillis();
+            int rows = monthlyRollupService.rebuild();
+
+            result.put("status", "rebuilt");
+            result.put("rollups", rows);
+            result.put("durationMs", System.currentTimeMillis() - start);
+
+        } catch (Exception e) {
+            log.error("Error rebuilding monthly rollups", e);
+            result.put("status", "error");
+            result.put("error", e.getMessage());
+        }
+
+        return result;
+    }
+}
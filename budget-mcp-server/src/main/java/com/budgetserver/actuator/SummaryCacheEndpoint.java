@@ -0,0 +1,26 @@
+package com.budgetserver.actuator;
+
+import com.budgetserver.cache.SummaryCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "summary-cache")  // Creates /actuator/summary-cache
+@RequiredArgsConstructor
+public class SummaryCacheEndpoint {
+
+    private final SummaryCache summaryCache;
+
+    // GET /actuator/summary-cache
+    @ReadOperation
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("caches", summaryCache.stats());
+        return result;
+    }
+}
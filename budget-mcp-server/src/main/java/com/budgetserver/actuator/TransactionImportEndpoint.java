@@ -0,0 +1,87 @@
+package com.budgetserver.actuator;
+
+import com.budgetserver.dto.ImportReport;
+import com.budgetserver.service.TransactionImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Status and trigger for bulk imports. Only files inside {@code app.transaction-import.directory}
+ * can be imported; a relative path is resolved against that directory.
+ */
+@Component
+@Endpoint(id = "transaction-import")  // Creates /actuator/transaction-import
+@Slf4j
+public class TransactionImportEndpoint {
+
+    private final TransactionImportService transactionImportService;
+    private final Path importDirectory;
+
+    private volatile ImportReport lastReport;
+
+    public TransactionImportEndpoint(
+            TransactionImportService transactionImportService,
+            @Value("${app.transaction-import.directory:./imports}") String importDirectory) {
+        this.transactionImportService = transactionImportService;
+        this.importDirectory = Path.of(importDirectory).toAbsolutePath().normalize();
+    }
+
+    // GET /actuator/transaction-import
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("running", transactionImportService.isRunning());
+        if (lastReport != null) {
+            result.put("lastImport", lastReport);
+        }
+        return result;
+    }
+
+    // POST /actuator/transaction-import {"path": "statement.csv"}
+    @WriteOperation
+    public Map<String, Object> importFile(String path) {
+        Map<String, Object> result = new HashMap<>();
+
+        try {
+            Path file = importDirectory.resolve(path).normalize();
+            if (!file.startsWith(importDirectory)) {
+                result.put("status", "error");
+                result.put("error", "Only files in the import directory can be imported: " + path);
+                return result;
+            }
+            if (!Files.isReadable(file)) {
+                result.put("status", "error");
+                result.put("error", "File not found or not readable: " + path);
+                return result;
+            }
+            // A symbolic link inside the directory must not lead out of it
+            if (!file.toRealPath().startsWith(importDirectory.toRealPath())) {
+                result.put("status", "error");
+                result.put("error", "Only files in the import directory can be imported: " + path);
+                return result;
+            }
+
+            ImportReport report = transactionImportService.importFile(file);
+            lastReport = report;
+
+            result.put("status", "imported");
+            result.put("report", report);
+
+        } catch (Exception e) {
+            log.error("Error importing transactions from {}", path, e);
+            result.put("status", "error");
+            result.put("error", e.getMessage());
+        }
+
+        return result;
+    }
+}
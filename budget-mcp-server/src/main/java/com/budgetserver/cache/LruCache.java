@@ -0,0 +1,129 @@
+package com.budgetserver.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Small size-bounded, access-ordered cache with hit/miss/eviction counters.
+ *
+ * <p>Every invalidation takes the next value of a generation counter and records it
+ * against the key it invalidated. Loaders capture the generation before reading the
+ * database and only store their value if that key was not invalidated since, so a value
+ * computed from data that was invalidated mid-load is never cached, while writes to
+ * other keys leave the load alone. The recorded generations are bounded like the
+ * entries; when the eldest is dropped, loads that started before it are refused for
+ * every key.
+ */
+public class LruCache<K, V> {
+
+    private final String name;
+    private final int maxEntries;
+    private final Map<K, V> entries;
+    private final Map<K, Long> invalidatedAt;
+
+    private final AtomicLong generation = new AtomicLong();
+    private long oldestAcceptedLoad;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public LruCache(String name, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be greater than 0");
+        }
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                boolean evict = size() > LruCache.this.maxEntries;
+                if (evict) {
+                    evictions.incrementAndGet();
+                }
+                return evict;
+            }
+        };
+        this.invalidatedAt = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Long> eldest) {
+                boolean forget = size() > LruCache.this.maxEntries;
+                if (forget) {
+                    oldestAcceptedLoad = Math.max(oldestAcceptedLoad, eldest.getValue());
+                }
+                return forget;
+            }
+        };
+    }
+
+    public V getIfPresent(K key) {
+        V value;
+        synchronized (entries) {
+            value = entries.get(key);
+        }
+        if (value != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return value;
+    }
+
+    /**
+     * Generation to pass to {@link #putIfCurrent} once a load has finished.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Stores a loaded value unless {@code key} was invalidated after {@code loadGeneration}.
+     */
+    public void putIfCurrent(K key, V value, long loadGeneration) {
+        synchronized (entries) {
+            if (loadGeneration >= oldestAcceptedLoad && invalidatedAt.getOrDefault(key, 0L) <= loadGeneration) {
+                entries.put(key, value);
+            }
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            long invalidation = generation.incrementAndGet();
+            // Re-inserted so the map stays ordered by invalidation
+            invalidatedAt.remove(key);
+            invalidatedAt.put(key, invalidation);
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            oldestAcceptedLoad = generation.incrementAndGet();
+            invalidatedAt.clear();
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long lookups = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("size", size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.get());
+        stats.put("hitRate", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        return stats;
+    }
+}
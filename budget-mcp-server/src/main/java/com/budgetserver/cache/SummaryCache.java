@@ -0,0 +1,129 @@
+package com.budgetserver.cache;
+
+import com.budgetserver.dto.BudgetSpending;
+import com.budgetserver.dto.BudgetSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache for the monthly summary and per-budget spending computations.
+ *
+ * <p>Writes evict only the keys they touch, once immediately and once more when the
+ * surrounding transaction completes, so readers never keep data a concurrent
+ * transaction computed before the write became visible.
+ */
+@Component
+@Slf4j
+public class SummaryCache {
+
+    /**
+     * Spending of one category in one month, the key of a budget status.
+     */
+    public record CategoryPeriod(String category, YearMonth period) {
+    }
+
+    private final LruCache<YearMonth, BudgetSummary> summaries;
+    private final LruCache<CategoryPeriod, BigDecimal> budgetSpending;
+
+    public SummaryCache(@Value("${app.summary-cache.max-entries:512}") int maxEntries) {
+        this.summaries = new LruCache<>("summaries", maxEntries);
+        this.budgetSpending = new LruCache<>("budgetSpending", maxEntries);
+    }
+
+    public BudgetSummary getSummary(YearMonth period, Supplier<BudgetSummary> loader) {
+        BudgetSummary cached = summaries.getIfPresent(period);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = summaries.generation();
+        BudgetSummary loaded = loader.get();
+        summaries.putIfCurrent(period, loaded, generation);
+        return loaded;
+    }
+
+    /**
+     * Spending for every requested budget key. Served from the cache only when all keys
+     * are present; otherwise the loader runs once and refreshes every key it returns.
+     */
+    public Map<CategoryPeriod, BigDecimal> getBudgetSpending(
+            Collection<CategoryPeriod> keys, Supplier<List<BudgetSpending>> loader) {
+        Map<CategoryPeriod, BigDecimal> result = new HashMap<>();
+        boolean complete = true;
+        for (CategoryPeriod key : keys) {
+            BigDecimal spent = budgetSpending.getIfPresent(key);
+            if (spent == null) {
+                complete = false;
+            } else {
+                result.put(key, spent);
+            }
+        }
+        if (complete) {
+            return result;
+        }
+
+        long generation = budgetSpending.generation();
+        for (BudgetSpending spending : loader.get()) {
+            CategoryPeriod key = new CategoryPeriod(
+                    spending.getCategory(), YearMonth.of(spending.getYear(), spending.getMonth()));
+            result.put(key, spending.getSpent());
+            budgetSpending.putIfCurrent(key, spending.getSpent(), generation);
+        }
+        return result;
+    }
+
+    /**
+     * A transaction was written: its month's summary changes, and so does the
+     * budget status of its category when it is an expense.
+     */
+    public void evictTransaction(YearMonth period, String category, boolean expense) {
+        evictNowAndOnCompletion(() -> {
+            summaries.invalidate(period);
+            if (expense) {
+                budgetSpending.invalidate(new CategoryPeriod(category, period));
+            }
+        });
+    }
+
+    /**
+     * A budget was created: only the status of that category and month changes.
+     */
+    public void evictBudget(YearMonth period, String category) {
+        evictNowAndOnCompletion(() -> budgetSpending.invalidate(new CategoryPeriod(category, period)));
+    }
+
+    public void evictAll() {
+        evictNowAndOnCompletion(() -> {
+            summaries.invalidateAll();
+            budgetSpending.invalidateAll();
+        });
+    }
+
+    public List<Map<String, Object>> stats() {
+        return List.of(summaries.stats(), budgetSpending.stats());
+    }
+
+    private void evictNowAndOnCompletion(Runnable eviction) {
+        eviction.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.budgetserver.dto;
+
+import com.budgetserver.entity.Budget;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * A budget's settings as structured tool output.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetItem {
+
+    private String category;
+
+    private Integer year;
+
+    private Integer month;
+
+    private BigDecimal limit;
+
+    private BigDecimal alertThreshold;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private String notes;
+
+    public static BudgetItem of(Budget budget) {
+        return new BudgetItem(budget.getCategory(), budget.getBudgetYear(), budget.getBudgetMonth(),
+                budget.getMonthlyLimit(), budget.getAlertThreshold(), budget.getNotes());
+    }
+}
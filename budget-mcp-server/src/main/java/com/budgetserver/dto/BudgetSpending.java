@@ -0,0 +1,23 @@
+package com.budgetserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetSpending {
+
+    private Long budgetId;
+
+    private String category;
+
+    private Integer year;
+
+    private Integer month;
+
+    private BigDecimal spent;
+}
@@ -0,0 +1,50 @@
+package com.budgetserver.dto;
+
+import com.budgetserver.entity.Budget;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * A budget with its spending for the budget's month, as structured tool output.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetStatus {
+
+    private String category;
+
+    private Integer year;
+
+    private Integer month;
+
+    private BigDecimal limit;
+
+    private BigDecimal spent;
+
+    private BigDecimal remaining;
+
+    private BigDecimal percentUsed;
+
+    /**
+     * True once spending reaches the budget's alert threshold.
+     */
+    private boolean alert;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private String notes;
+
+    public static BudgetStatus of(Budget budget, BigDecimal spent) {
+        BigDecimal percentUsed = spent.divide(budget.getMonthlyLimit(), 4, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100));
+        return new BudgetStatus(budget.getCategory(), budget.getBudgetYear(), budget.getBudgetMonth(),
+                budget.getMonthlyLimit(), spent, budget.getMonthlyLimit().subtract(spent),
+                percentUsed.setScale(1, RoundingMode.HALF_UP),
+                percentUsed.compareTo(budget.getAlertThreshold()) >= 0, budget.getNotes());
+    }
+}
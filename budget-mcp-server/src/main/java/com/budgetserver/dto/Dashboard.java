@@ -0,0 +1,31 @@
+package com.budgetserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Everything an opening "how am I doing?" question needs, read from one snapshot:
+ * the month's totals, the status of that month's budgets and the latest transactions.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Dashboard {
+
+    private Integer year;
+
+    private Integer month;
+
+    private BudgetSummary summary;
+
+    private List<BudgetStatus> budgets;
+
+    private List<TransactionItem> recentTransactions;
+
+    public static Dashboard empty(Integer year, Integer month) {
+        return new Dashboard(year, month, BudgetSummary.empty(), List.of(), List.of());
+    }
+}
@@ -0,0 +1,28 @@
+package com.budgetserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one synthetic data generation run.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatasetReport {
+
+    private long seed;
+
+    private long transactions;
+
+    private long budgets;
+
+    private long durationMs;
+
+    public long getRowsPerSecond() {
+        return durationMs > 0 ? transactions * 1000 / durationMs : transactions;
+    }
+}
@@ -0,0 +1,42 @@
+package com.budgetserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+
+/**
+ * What the synthetic data generator writes. The same spec always produces the same rows.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatasetSpec {
+
+    @Builder.Default
+    private long seed = 42;
+
+    @Builder.Default
+    private int transactions = 100_000;
+
+    @Builder.Default
+    private YearMonth firstMonth = YearMonth.of(2024, 1);
+
+    @Builder.Default
+    private int months = 24;
+
+    /**
+     * Whether to add a budget per expense category and month, sized to the generated spending.
+     */
+    @Builder.Default
+    private boolean budgets = true;
+
+    /**
+     * Whether to delete all transactions, rollups and budgets first.
+     */
+    @Builder.Default
+    private boolean replace = false;
+}
@@ -0,0 +1,39 @@
+package com.budgetserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of one bulk transaction import.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReport {
+
+    private String source;
+
+    private long rowsRead;
+
+    private long imported;
+
+    private long rejected;
+
+    private int chunks;
+
+    private long durationMs;
+
+    /**
+     * The first rejected rows, as "line N: reason".
+     */
+    private List<String> errors;
+
+    public long getRowsPerSecond() {
+        return durationMs > 0 ? imported * 1000 / durationMs : imported;
+    }
+}
@@ -0,0 +1,29 @@
+package com.budgetserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Income and expense totals for one month, read from a single conditional-aggregation statement
+ * so both sides come from the same snapshot.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PeriodTotals {
+
+    private BigDecimal totalIncome;
+
+    private BigDecimal totalExpenses;
+
+    private Long incomeCount;
+
+    private Long expenseCount;
+
+    public BudgetSummary toSummary() {
+        return new BudgetSummary(totalIncome, totalExpenses, totalIncome.subtract(totalExpenses));
+    }
+}
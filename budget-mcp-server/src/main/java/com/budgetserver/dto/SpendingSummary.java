@@ -0,0 +1,43 @@
+package com.budgetserver.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * A month's spending as structured tool output: income, expenses and net for the whole month,
+ * or the expenses and transaction count of one category. Fields that don't apply are omitted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SpendingSummary {
+
+    private Integer year;
+
+    private Integer month;
+
+    private String category;
+
+    private BigDecimal totalIncome;
+
+    private BigDecimal totalExpenses;
+
+    private BigDecimal netAmount;
+
+    private Long transactionCount;
+
+    public static SpendingSummary ofMonth(int year, int month, BudgetSummary summary) {
+        return new SpendingSummary(year, month, null, summary.getTotalIncome(), summary.getTotalExpenses(),
+                summary.getNetAmount(), null);
+    }
+
+    public static SpendingSummary ofCategory(int year, int month, String category, BigDecimal spent,
+                                             long transactionCount) {
+        return new SpendingSummary(year, month, category, null, spent, null, transactionCount);
+    }
+}
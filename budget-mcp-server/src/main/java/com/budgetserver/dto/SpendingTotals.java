@@ -0,0 +1,20 @@
+package com.budgetserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Amount and transaction count aggregated in the database, so callers never load rows just to count them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingTotals {
+
+    private BigDecimal total;
+
+    private Long transactionCount;
+}
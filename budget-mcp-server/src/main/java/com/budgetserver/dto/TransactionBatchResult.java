@@ -0,0 +1,27 @@
+package com.budgetserver.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch transaction call as structured tool output. Errors name the
+ * 1-based position of the rejected item, e.g. {@code "3: Amount must be greater than 0"}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBatchResult {
+
+    private int added;
+
+    private int rejected;
+
+    private List<TransactionItem> transactions;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> errors;
+}
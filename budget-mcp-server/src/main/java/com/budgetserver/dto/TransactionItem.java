@@ -0,0 +1,33 @@
+package com.budgetserver.dto;
+
+import com.budgetserver.entity.Transaction;
+import com.budgetserver.entity.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * A transaction as structured tool output, with the date in ISO format.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionItem {
+
+    private String date;
+
+    private TransactionType type;
+
+    private BigDecimal amount;
+
+    private String category;
+
+    private String description;
+
+    public static TransactionItem of(Transaction transaction) {
+        return new TransactionItem(transaction.getDate().toString(), transaction.getType(),
+                transaction.getAmount(), transaction.getCategory(), transaction.getDescription());
+    }
+}
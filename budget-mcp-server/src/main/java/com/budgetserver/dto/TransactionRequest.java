@@ -0,0 +1,34 @@
+package com.budgetserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.ai.tool.annotation.ToolParam;
+
+import java.math.BigDecimal;
+
+/**
+ * One item of an {@code addTransactions} call; same fields as {@code addTransaction}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionRequest {
+
+    @ToolParam(description = "Transaction amount (positive number)")
+    private BigDecimal amount;
+
+    @ToolParam(description = "Description of the transaction")
+    private String description;
+
+    @ToolParam(description = "Transaction category")
+    private String category;
+
+    @ToolParam(description = "Transaction type: INCOME or EXPENSE")
+    private String type;
+
+    @ToolParam(description = "Transaction date in YYYY-MM-DD format (default: today)", required = false)
+    private String date;
+}
@@ -10,7 +10,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "budgets")
+@Table(name = "budgets", indexes = {
+        @Index(name = "idx_budgets_category_period", columnList = "category, budget_year, budget_month, is_active"),
+        @Index(name = "idx_budgets_active_category", columnList = "is_active, category"),
+        @Index(name = "idx_budgets_period", columnList = "budget_year, budget_month, is_active")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
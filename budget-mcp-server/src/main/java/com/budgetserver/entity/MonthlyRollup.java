@@ -0,0 +1,61 @@
+package com.budgetserver.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Pre-aggregated transaction totals per (category, type, year, month).
+ * Maintained on every transaction write so summary reads never scan the transactions table.
+ */
+@Entity
+@Table(name = "monthly_rollups",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_monthly_rollups_key",
+                columnNames = {"category", "type", "rollup_year", "rollup_month"}),
+        indexes = @Index(name = "idx_monthly_rollups_period_type", columnList = "rollup_year, rollup_month, type"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransactionType type;
+
+    @Column(name = "rollup_year", nullable = false)
+    private Integer rollupYear;
+
+    @Column(name = "rollup_month", nullable = false)
+    private Integer rollupMonth;
+
+    @Column(name = "total_amount", nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "transaction_count", nullable = false)
+    @Builder.Default
+    private Long transactionCount = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,22 @@
+package com.budgetserver.execution;
+
+import org.springframework.ai.tool.execution.DefaultToolCallResultConverter;
+import org.springframework.ai.tool.execution.ToolCallResultConverter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Sends {@code String} tool results as they are. Spring AI's default converter would JSON-encode
+ * them, so text answers reached clients quoted with escaped newlines, and compact JSON answers
+ * ({@code app.tool-output.format=json}) would arrive as a string holding JSON. Other results are
+ * serialized by the default converter.
+ */
+public class PlainTextResultConverter implements ToolCallResultConverter {
+
+    private final ToolCallResultConverter delegate = new DefaultToolCallResultConverter();
+
+    @Override
+    public String convert(Object result, Type returnType) {
+        return result instanceof String text ? text : delegate.convert(result, returnType);
+    }
+}
@@ -0,0 +1,69 @@
+package com.budgetserver.execution;
+
+import com.budgetserver.service.ReactiveBudgetMcpService;
+import com.budgetserver.tracing.ToolTracer;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import org.springframework.ai.mcp.McpToolUtils;
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.ai.tool.execution.ToolCallResultConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+public class ToolExecutionConfig {
+
+    /**
+     * Registers the budget tools with the async MCP server in place of Spring AI's default
+     * conversion ({@code spring.ai.mcp.server.tool-callback-converter: false}), so their bodies
+     * run on the {@link ToolExecutor} pool instead of Reactor's shared boundedElastic scheduler.
+     * Each call is timed by {@link ToolMetrics}.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.persistence.mode", havingValue = "jpa", matchIfMissing = true)
+    public List<AsyncToolSpecification> budgetToolSpecifications(
+            ToolCallbackProvider budgetTools, ToolExecutor toolExecutor, ToolMetrics toolMetrics) {
+        return Arrays.stream(budgetTools.getToolCallbacks())
+                .map(toolMetrics::timed)
+                .map(toolExecutor::toAsyncToolSpecification)
+                .toList();
+    }
+
+    /**
+     * In {@code app.persistence.mode=r2dbc} the same tool definitions are served by
+     * {@link ReactiveBudgetMcpService}, whose calls never leave the event loop for a blocking pool.
+     * Results go through the same {@link PlainTextResultConverter} as the JPA tools, so clients see
+     * identical payloads in both modes, and calls are timed and traced like theirs.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.persistence.mode", havingValue = "r2dbc")
+    public List<AsyncToolSpecification> reactiveBudgetToolSpecifications(
+            ToolCallbackProvider budgetTools, ReactiveBudgetMcpService reactiveBudgetService,
+            ToolMetrics toolMetrics, ToolTracer toolTracer) {
+        ToolCallResultConverter resultConverter = new PlainTextResultConverter();
+        return Arrays.stream(budgetTools.getToolCallbacks())
+                .map(toolCallback -> McpToolUtils.toSyncToolSpecification(toolCallback).tool())
+                .map(tool -> AsyncToolSpecification.builder()
+                        .tool(tool)
+                        .callHandler((exchange, request) -> {
+                            Map<String, Object> arguments = request.arguments() != null ? request.arguments() : Map.of();
+                            Mono<CallToolResult> call = toolMetrics.timed(tool.name(), reactiveBudgetService.call(tool.name(), arguments))
+                                    .map(result -> CallToolResult.builder()
+                                            .addTextContent(resultConverter.convert(result, result.getClass()))
+                                            .build())
+                                    .onErrorResume(e -> Mono.just(CallToolResult.builder()
+                                            .addTextContent(e.getMessage())
+                                            .isError(true)
+                                            .build()));
+                            return toolTracer.trace(tool.name(), request.meta(), call);
+                        })
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,123 @@
+package com.budgetserver.execution;
+
+import com.budgetserver.tracing.ToolTracer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.server.McpServerFeatures.SyncToolSpecification;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.mcp.McpToolUtils;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dedicated pool that runs the blocking JPA-backed tools, so Netty event-loop threads only
+ * ever schedule work and hand back a {@link Mono}. The pool is bounded in concurrency and
+ * queue depth; calls beyond both are answered with a "busy" tool error instead of piling up.
+ * <p>
+ * Pool gauges and task timings are published through Micrometer under {@code name=mcp.tools}
+ * ({@code executor.active}, {@code executor.queued}, {@code executor.pool.size}, {@code executor}),
+ * and each tool body is traced by {@link ToolTracer} on the thread that runs it.
+ */
+@Component
+@Slf4j
+public class ToolExecutor implements DisposableBean {
+
+    public static final String METRICS_NAME = "mcp.tools";
+
+    private final ThreadPoolExecutor executor;
+    private final Scheduler scheduler;
+    private final ToolTracer toolTracer;
+
+    public ToolExecutor(
+            @Value("${app.tool-execution.threads:platform}") String threads,
+            @Value("${app.tool-execution.max-concurrency:16}") int maxConcurrency,
+            @Value("${app.tool-execution.queue-capacity:256}") int queueCapacity,
+            MeterRegistry meterRegistry,
+            ToolTracer toolTracer) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("app.tool-execution.max-concurrency must be positive");
+        }
+        BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new ArrayBlockingQueue<>(queueCapacity)
+                : new SynchronousQueue<>();
+
+        this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60, TimeUnit.SECONDS,
+                queue, threadFactory(threads), new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.scheduler = Schedulers.fromExecutorService(
+                ExecutorServiceMetrics.monitor(meterRegistry, executor, METRICS_NAME), METRICS_NAME);
+        this.toolTracer = toolTracer;
+
+        log.info("🧵 MCP tool executor: {} threads, max concurrency {}, queue capacity {}",
+                threads, maxConcurrency, queueCapacity);
+    }
+
+    /**
+     * Runs a blocking task on the tool pool. Subscribing never blocks the caller.
+     */
+    public <T> Mono<T> execute(Callable<T> task) {
+        return Mono.fromCallable(task).subscribeOn(scheduler);
+    }
+
+    /**
+     * Wraps a Spring AI tool callback as an async MCP tool whose body runs on this pool.
+     */
+    public AsyncToolSpecification toAsyncToolSpecification(ToolCallback toolCallback) {
+        SyncToolSpecification sync = McpToolUtils.toSyncToolSpecification(toolCallback);
+        String toolName = sync.tool().name();
+
+        return AsyncToolSpecification.builder()
+                .tool(sync.tool())
+                .callHandler((exchange, request) -> execute(
+                        () -> toolTracer.trace(toolName, request.meta(),
+                                () -> sync.callHandler().apply(new McpSyncServerExchange(exchange), request)))
+                        .onErrorResume(RejectedExecutionException.class, e -> {
+                            log.warn("🧵 MCP tool executor saturated, rejecting call to {}", toolName);
+                            return Mono.just(CallToolResult.builder()
+                                    .addTextContent("❌ Server is busy, please retry " + toolName + " shortly")
+                                    .isError(true)
+                                    .build());
+                        }))
+                .build();
+    }
+
+    public int activeCount() {
+        return executor.getActiveCount();
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+        executor.shutdown();
+    }
+
+    private static ThreadFactory threadFactory(String threads) {
+        return switch (threads.toLowerCase()) {
+            case "virtual" -> Thread.ofVirtual().name("mcp-tool-", 0).factory();
+            case "platform" -> Thread.ofPlatform().name("mcp-tool-", 0).daemon(true).factory();
+            default -> throw new IllegalArgumentException(
+                    "app.tool-execution.threads must be 'platform' or 'virtual', got: " + threads);
+        };
+    }
+}
@@ -0,0 +1,167 @@
+package com.budgetserver.execution;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.TimeWindowPercentileHistogram;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Times every tool call with a Micrometer timer named {@value #TIMER_NAME}, tagged with the tool
+ * name and its {@link ToolOutcome}. The timers publish percentile histograms, so a Prometheus-style
+ * registry can aggregate them. The in-memory registry keeps no buckets, so each tool also records
+ * into its own percentile window across outcomes, which {@link #stats(String)} reads for
+ * {@code /actuator/mcp-tools}.
+ * <p>
+ * Only the time a tool body runs is measured. Time spent waiting for a {@link ToolExecutor} thread
+ * shows up in the executor metrics instead.
+ */
+@Component
+public class ToolMetrics {
+
+    public static final String TIMER_NAME = "mcp.tool.calls";
+
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(30);
+
+    private static final DistributionStatisticConfig WINDOW = DistributionStatisticConfig.builder()
+            .percentiles(0.50, 0.99)
+            .percentilePrecision(2)
+            .minimumExpectedValue((double) MIN_EXPECTED.toNanos())
+            .maximumExpectedValue((double) MAX_EXPECTED.toNanos())
+            .expiry(Duration.ofMinutes(2))
+            .bufferLength(3)
+            .build()
+            .merge(DistributionStatisticConfig.DEFAULT);
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, TimeWindowPercentileHistogram> windows = new ConcurrentHashMap<>();
+
+    public ToolMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Wraps a tool callback so each call is timed under the tool's name.
+     */
+    public ToolCallback timed(ToolCallback toolCallback) {
+        String toolName = toolCallback.getToolDefinition().name();
+        return new ToolCallback() {
+            @Override
+            public ToolDefinition getToolDefinition() {
+                return toolCallback.getToolDefinition();
+            }
+
+            @Override
+            public ToolMetadata getToolMetadata() {
+                return toolCallback.getToolMetadata();
+            }
+
+            @Override
+            public String call(String toolInput) {
+                return record(toolName, () -> toolCallback.call(toolInput));
+            }
+
+            @Override
+            public String call(String toolInput, ToolContext toolContext) {
+                return record(toolName, () -> toolCallback.call(toolInput, toolContext));
+            }
+        };
+    }
+
+    /**
+     * Runs a tool body and records its duration. A body that throws counts as {@link ToolOutcome#EXCEPTION}.
+     */
+    public <T> T record(String toolName, Supplier<T> body) {
+        ToolOutcome.begin();
+        long start = System.nanoTime();
+        try {
+            return body.get();
+        } catch (RuntimeException e) {
+            ToolOutcome.report(ToolOutcome.EXCEPTION);
+            throw e;
+        } finally {
+            record(toolName, ToolOutcome.end(), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Times a reactive tool call from subscription until it completes, fails or is cancelled. Its
+     * body reports the outcome with {@link ToolOutcome#report(reactor.util.context.ContextView, ToolOutcome)};
+     * a call that fails counts as {@link ToolOutcome#EXCEPTION}.
+     */
+    public <T> Mono<T> timed(String toolName, Mono<T> call) {
+        return Mono.defer(() -> {
+            AtomicReference<ToolOutcome> outcome = ToolOutcome.slot();
+            long start = System.nanoTime();
+            return call
+                    .doOnError(e -> outcome.set(ToolOutcome.EXCEPTION))
+                    .doFinally(signal -> record(toolName, outcome.get(), System.nanoTime() - start))
+                    .contextWrite(Context.of(ToolOutcome.class, outcome));
+        });
+    }
+
+    void record(String toolName, ToolOutcome outcome, long nanos) {
+        timer(toolName, outcome).record(nanos, TimeUnit.NANOSECONDS);
+        windows.computeIfAbsent(toolName, name -> new TimeWindowPercentileHistogram(meterRegistry.config().clock(), WINDOW, false))
+                .recordLong(nanos);
+    }
+
+    /**
+     * Calls, error rate and latency percentiles for one tool, across outcomes. Calls and errors count
+     * since startup; percentiles cover the last two minutes and are null before any call.
+     */
+    public Map<String, Object> stats(String toolName) {
+        long calls = 0;
+        long errors = 0;
+        Map<String, Long> outcomes = new LinkedHashMap<>();
+        for (ToolOutcome outcome : ToolOutcome.values()) {
+            Timer timer = meterRegistry.find(TIMER_NAME)
+                    .tags("tool", toolName, "outcome", outcome.tag())
+                    .timer();
+            long count = timer != null ? timer.count() : 0;
+            outcomes.put(outcome.tag(), count);
+            calls += count;
+            if (outcome != ToolOutcome.SUCCESS) {
+                errors += count;
+            }
+        }
+        TimeWindowPercentileHistogram window = calls > 0 ? windows.get(toolName) : null;
+        ValueAtPercentile[] percentiles = window != null ? window.takeSnapshot(0, 0, 0).percentileValues() : null;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("calls", calls);
+        stats.put("errorRate", calls > 0 ? (double) errors / calls : 0.0);
+        stats.put("p50Ms", percentiles != null ? percentiles[0].value(TimeUnit.MILLISECONDS) : null);
+        stats.put("p99Ms", percentiles != null ? percentiles[1].value(TimeUnit.MILLISECONDS) : null);
+        stats.put("outcomes", outcomes);
+        return stats;
+    }
+
+    private Timer timer(String toolName, ToolOutcome outcome) {
+        return Timer.builder(TIMER_NAME)
+                .description("MCP tool call durations")
+                .tag("tool", toolName)
+                .tag("outcome", outcome.tag())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,69 @@
+package com.budgetserver.execution;
+
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * How a tool call ended, as tagged on the {@link ToolMetrics} timers.
+ * <p>
+ * The tools answer both rejected input and caught exceptions with an error response, so the
+ * outcome can't be read off the result; tool code reports it with {@link #report} on the calling
+ * thread while {@link ToolMetrics} times the call. Reactive tool code, which may run on any thread,
+ * reports through the Reactor context instead. Outside a timed call reporting does nothing.
+ */
+public enum ToolOutcome {
+
+    SUCCESS("success"),
+    VALIDATION_ERROR("validation_error"),
+    EXCEPTION("exception");
+
+    private static final ThreadLocal<ToolOutcome> CURRENT = new ThreadLocal<>();
+
+    private final String tag;
+
+    ToolOutcome(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    /**
+     * Marks the current tool call. A call that reports several outcomes keeps the most severe.
+     */
+    public static void report(ToolOutcome outcome) {
+        ToolOutcome current = CURRENT.get();
+        if (current != null && outcome.ordinal() > current.ordinal()) {
+            CURRENT.set(outcome);
+        }
+    }
+
+    /**
+     * Marks the reactive tool call whose context this is, as {@link #report(ToolOutcome)} does for a
+     * call running on one thread.
+     */
+    public static void report(ContextView context, ToolOutcome outcome) {
+        context.<AtomicReference<ToolOutcome>>getOrEmpty(ToolOutcome.class)
+                .ifPresent(current -> current.accumulateAndGet(outcome, ToolOutcome::moreSevere));
+    }
+
+    static AtomicReference<ToolOutcome> slot() {
+        return new AtomicReference<>(SUCCESS);
+    }
+
+    private static ToolOutcome moreSevere(ToolOutcome current, ToolOutcome outcome) {
+        return outcome.ordinal() > current.ordinal() ? outcome : current;
+    }
+
+    static void begin() {
+        CURRENT.set(SUCCESS);
+    }
+
+    static ToolOutcome end() {
+        ToolOutcome outcome = CURRENT.get();
+        CURRENT.remove();
+        return outcome != null ? outcome : SUCCESS;
+    }
+}
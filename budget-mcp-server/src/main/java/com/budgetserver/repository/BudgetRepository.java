@@ -3,6 +3,7 @@ package com.budgetserver.repository;
 import com.budgetserver.entity.Budget;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,4 +17,8 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
 
     @Query("SELECT b FROM Budget b WHERE b.isActive = true ORDER BY b.category")
     List<Budget> findAllActiveBudgets();
+
+    @Query("SELECT b FROM Budget b WHERE b.isActive = true " +
+            "AND b.budgetYear = :year AND b.budgetMonth = :month ORDER BY b.category")
+    List<Budget> findActiveBudgetsFor(@Param("year") Integer year, @Param("month") Integer month);
 }
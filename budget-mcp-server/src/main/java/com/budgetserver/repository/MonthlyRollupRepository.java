@@ -0,0 +1,120 @@
+package com.budgetserver.repository;
+
+import com.budgetserver.dto.BudgetSpending;
+import com.budgetserver.dto.PeriodTotals;
+import com.budgetserver.dto.SpendingTotals;
+import com.budgetserver.entity.MonthlyRollup;
+import com.budgetserver.entity.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, Long> {
+
+    Optional<MonthlyRollup> findByCategoryAndTypeAndRollupYearAndRollupMonth(
+            String category, TransactionType type, Integer year, Integer month);
+
+    @Query("SELECT COALESCE(SUM(r.totalAmount), 0) FROM MonthlyRollup r " +
+            "WHERE r.type = :type AND r.rollupYear = :year AND r.rollupMonth = :month")
+    BigDecimal sumByTypeAndPeriod(
+            @Param("type") TransactionType type,
+            @Param("year") Integer year,
+            @Param("month") Integer month);
+
+    /**
+     * Income and expense totals and counts for a month in one pass over its rollup rows,
+     * instead of one {@link #sumByTypeAndPeriod} call per type.
+     */
+    @Query("SELECT new com.budgetserver.dto.PeriodTotals(" +
+            "COALESCE(SUM(CASE WHEN r.type = 'INCOME' THEN r.totalAmount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN r.type = 'EXPENSE' THEN r.totalAmount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN r.type = 'INCOME' THEN r.transactionCount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN r.type = 'EXPENSE' THEN r.transactionCount ELSE 0 END), 0)) " +
+            "FROM MonthlyRollup r WHERE r.rollupYear = :year AND r.rollupMonth = :month")
+    PeriodTotals findPeriodTotals(@Param("year") Integer year, @Param("month") Integer month);
+
+    /**
+     * Expense total and transaction count for one category and month as a single aggregate row.
+     * Both values are zero when the category has no expenses in that month.
+     */
+    @Query("SELECT new com.budgetserver.dto.SpendingTotals(" +
+            "COALESCE(SUM(r.totalAmount), 0), COALESCE(SUM(r.transactionCount), 0)) " +
+            "FROM MonthlyRollup r WHERE r.category = :category AND r.type = 'EXPENSE' " +
+            "AND r.rollupYear = :year AND r.rollupMonth = :month")
+    SpendingTotals findExpenseTotals(
+            @Param("category") String category,
+            @Param("year") Integer year,
+            @Param("month") Integer month);
+
+    @Query("SELECT new com.budgetserver.dto.BudgetSpending(" +
+            "b.id, b.category, b.budgetYear, b.budgetMonth, COALESCE(r.totalAmount, 0)) " +
+            "FROM Budget b LEFT JOIN MonthlyRollup r ON r.category = b.category " +
+            "AND r.type = 'EXPENSE' " +
+            "AND r.rollupYear = b.budgetYear AND r.rollupMonth = b.budgetMonth " +
+            "WHERE b.isActive = true")
+    List<BudgetSpending> findSpendingForActiveBudgets();
+
+    @Query("SELECT new com.budgetserver.dto.BudgetSpending(" +
+            "b.id, b.category, b.budgetYear, b.budgetMonth, COALESCE(r.totalAmount, 0)) " +
+            "FROM Budget b LEFT JOIN MonthlyRollup r ON r.category = b.category " +
+            "AND r.type = 'EXPENSE' " +
+            "AND r.rollupYear = b.budgetYear AND r.rollupMonth = b.budgetMonth " +
+            "WHERE b.isActive = true AND b.budgetYear = :year AND b.budgetMonth = :month")
+    List<BudgetSpending> findSpendingForActiveBudgetsFor(@Param("year") Integer year, @Param("month") Integer month);
+
+    /**
+     * Adds one transaction to an existing rollup row. The update runs in the database
+     * so concurrent writers never lose increments; the persistence context is cleared
+     * afterwards so no stale rollup entity survives it.
+     *
+     * @return the number of rows updated, 0 when the rollup row does not exist yet
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE MonthlyRollup r SET r.totalAmount = r.totalAmount + :amount, " +
+            "r.transactionCount = r.transactionCount + 1, r.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE r.category = :category AND r.type = :type " +
+            "AND r.rollupYear = :year AND r.rollupMonth = :month")
+    int increment(
+            @Param("category") String category,
+            @Param("type") TransactionType type,
+            @Param("year") Integer year,
+            @Param("month") Integer month,
+            @Param("amount") BigDecimal amount);
+
+    /**
+     * Adds a pre-aggregated group of transactions to an existing rollup row, so a bulk
+     * import touches each rollup once per chunk rather than once per transaction.
+     *
+     * @return the number of rows updated, 0 when the rollup row does not exist yet
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE MonthlyRollup r SET r.totalAmount = r.totalAmount + :amount, " +
+            "r.transactionCount = r.transactionCount + :count, r.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE r.category = :category AND r.type = :type " +
+            "AND r.rollupYear = :year AND r.rollupMonth = :month")
+    int incrementBy(
+            @Param("category") String category,
+            @Param("type") TransactionType type,
+            @Param("year") Integer year,
+            @Param("month") Integer month,
+            @Param("amount") BigDecimal amount,
+            @Param("count") Long count);
+
+    /**
+     * Regenerates every rollup row from the raw transactions table in one statement.
+     * Callers are expected to clear the table first.
+     */
+    @Modifying
+    @Query("INSERT INTO MonthlyRollup (category, type, rollupYear, rollupMonth, totalAmount, transactionCount, updatedAt) " +
+            "SELECT t.category, t.type, YEAR(t.date), MONTH(t.date), SUM(t.amount), COUNT(t), CURRENT_TIMESTAMP " +
+            "FROM Transaction t " +
+            "GROUP BY t.category, t.type, YEAR(t.date), MONTH(t.date)")
+    int insertFromTransactions();
+}
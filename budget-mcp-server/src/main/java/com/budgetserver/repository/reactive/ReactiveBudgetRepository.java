@@ -0,0 +1,100 @@
+package com.budgetserver.repository.reactive;
+
+import com.budgetserver.entity.Budget;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Reactive counterpart of {@link com.budgetserver.repository.BudgetRepository}.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.persistence.mode", havingValue = "r2dbc")
+@RequiredArgsConstructor
+public class ReactiveBudgetRepository {
+
+    private static final String COLUMNS = "id, category, monthly_limit, budget_year, budget_month, notes, " +
+            "alert_threshold, is_active, created_at, updated_at";
+
+    private final DatabaseClient reactiveDatabaseClient;
+
+    public Mono<Budget> findByCategoryAndBudgetYearAndBudgetMonthAndIsActive(
+            String category, Integer year, Integer month, Boolean isActive) {
+        return reactiveDatabaseClient.sql("SELECT " + COLUMNS + " FROM budgets " +
+                        "WHERE category = :category AND budget_year = :year AND budget_month = :month " +
+                        "AND is_active = :active")
+                .bind("category", category)
+                .bind("year", year)
+                .bind("month", month)
+                .bind("active", isActive)
+                .map(ReactiveBudgetRepository::toBudget)
+                .first();
+    }
+
+    public Flux<Budget> findAllActiveBudgets() {
+        return reactiveDatabaseClient.sql("SELECT " + COLUMNS + " FROM budgets WHERE is_active = TRUE ORDER BY category")
+                .map(ReactiveBudgetRepository::toBudget)
+                .all();
+    }
+
+    public Flux<Budget> findActiveBudgetsFor(Integer year, Integer month) {
+        return reactiveDatabaseClient.sql("SELECT " + COLUMNS + " FROM budgets " +
+                        "WHERE is_active = TRUE AND budget_year = :year AND budget_month = :month ORDER BY category")
+                .bind("year", year)
+                .bind("month", month)
+                .map(ReactiveBudgetRepository::toBudget)
+                .all();
+    }
+
+    public Mono<Budget> save(Budget budget) {
+        LocalDateTime now = LocalDateTime.now();
+        DatabaseClient.GenericExecuteSpec insert = reactiveDatabaseClient.sql(
+                        "INSERT INTO budgets (category, monthly_limit, budget_year, budget_month, notes, " +
+                        "alert_threshold, is_active, created_at, updated_at) " +
+                        "VALUES (:category, :limit, :year, :month, :notes, :threshold, :active, :now, :now)")
+                .bind("category", budget.getCategory())
+                .bind("limit", budget.getMonthlyLimit())
+                .bind("year", budget.getBudgetYear())
+                .bind("month", budget.getBudgetMonth())
+                .bind("active", budget.getIsActive())
+                .bind("now", now);
+        insert = budget.getNotes() != null
+                ? insert.bind("notes", budget.getNotes())
+                : insert.bindNull("notes", String.class);
+        insert = budget.getAlertThreshold() != null
+                ? insert.bind("threshold", budget.getAlertThreshold())
+                : insert.bindNull("threshold", BigDecimal.class);
+
+        return insert.filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    budget.setId(id);
+                    budget.setCreatedAt(now);
+                    budget.setUpdatedAt(now);
+                    return budget;
+                });
+    }
+
+    private static Budget toBudget(Readable row) {
+        return Budget.builder()
+                .id(row.get("id", Long.class))
+                .category(row.get("category", String.class))
+                .monthlyLimit(row.get("monthly_limit", BigDecimal.class))
+                .budgetYear(row.get("budget_year", Integer.class))
+                .budgetMonth(row.get("budget_month", Integer.class))
+                .notes(row.get("notes", String.class))
+                .alertThreshold(row.get("alert_threshold", BigDecimal.class))
+                .isActive(row.get("is_active", Boolean.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,185 @@
+package com.budgetserver.repository.reactive;
+
+import com.budgetserver.dto.BudgetSpending;
+import com.budgetserver.dto.PeriodTotals;
+import com.budgetserver.dto.SpendingTotals;
+import com.budgetserver.entity.Transaction;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reactive counterpart of {@link com.budgetserver.repository.MonthlyRollupRepository},
+ * covering the rollup maintenance and the summary reads the tools need.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.persistence.mode", havingValue = "r2dbc")
+@RequiredArgsConstructor
+public class ReactiveMonthlyRollupRepository {
+
+    /**
+     * How often a writer that lost the race to create a rollup row goes back to updating it.
+     */
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String SAVEPOINT = "rollup_insert";
+
+    private final DatabaseClient reactiveDatabaseClient;
+
+    /**
+     * Adds a transaction to its (category, type, month) rollup, creating the row on first use.
+     * Callers run it in the same reactive transaction as the transaction insert. As in
+     * {@link com.budgetserver.service.MonthlyRollupService}, the insert runs in a savepoint so
+     * a writer that loses the race to create the row adds to the winner's row instead.
+     */
+    public Mono<Void> record(Transaction transaction) {
+        return add(new RollupKey(transaction), transaction.getAmount(), 1, 1);
+    }
+
+    /**
+     * Adds a batch of transactions to their rollups, one statement per (category, type, month)
+     * group rather than one per transaction. Callers run it in the transaction that inserted them.
+     */
+    public Mono<Void> recordAll(Collection<Transaction> transactions) {
+        Map<RollupKey, BigDecimal> amounts = new LinkedHashMap<>();
+        Map<RollupKey, Long> counts = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            RollupKey key = new RollupKey(transaction);
+            amounts.merge(key, transaction.getAmount(), BigDecimal::add);
+            counts.merge(key, 1L, Long::sum);
+        }
+        return Flux.fromIterable(amounts.entrySet())
+                .concatMap(group -> add(group.getKey(), group.getValue(), counts.get(group.getKey()), 1))
+                .then();
+    }
+
+    private Mono<Void> add(RollupKey key, BigDecimal amount, long count, int attempt) {
+        return reactiveDatabaseClient.sql("UPDATE monthly_rollups SET total_amount = total_amount + :amount, " +
+                        "transaction_count = transaction_count + :count, updated_at = CURRENT_TIMESTAMP " +
+                        "WHERE category = :category AND type = :type AND rollup_year = :year AND rollup_month = :month")
+                .bind("amount", amount)
+                .bind("count", count)
+                .bind("category", key.category())
+                .bind("type", key.type())
+                .bind("year", key.year())
+                .bind("month", key.month())
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> updated > 0 ? Mono.<Void>empty() : inSavepoint(reactiveDatabaseClient.sql(
+                                "INSERT INTO monthly_rollups (category, type, rollup_year, rollup_month, " +
+                                "total_amount, transaction_count, updated_at) " +
+                                "VALUES (:category, :type, :year, :month, :amount, :count, :now)")
+                        .bind("category", key.category())
+                        .bind("type", key.type())
+                        .bind("year", key.year())
+                        .bind("month", key.month())
+                        .bind("amount", amount)
+                        .bind("count", count)
+                        .bind("now", LocalDateTime.now())
+                        .then())
+                        .onErrorResume(DuplicateKeyException.class, e -> attempt < MAX_ATTEMPTS
+                                ? add(key, amount, count, attempt + 1)
+                                : Mono.error(e)));
+    }
+
+    /**
+     * Runs a statement in a savepoint of the surrounding transaction, rolling back only the
+     * statement when it fails.
+     */
+    private Mono<Void> inSavepoint(Mono<Void> statement) {
+        return reactiveDatabaseClient.inConnection(connection -> Mono.from(connection.createSavepoint(SAVEPOINT))
+                .then(statement)
+                .then(Mono.from(connection.releaseSavepoint(SAVEPOINT)))
+                .onErrorResume(e -> Mono.from(connection.rollbackTransactionToSavepoint(SAVEPOINT))
+                        .then(Mono.error(e))));
+    }
+
+    public Mono<PeriodTotals> findPeriodTotals(Integer year, Integer month) {
+        return reactiveDatabaseClient.sql("SELECT " +
+                        "COALESCE(SUM(CASE WHEN type = 'INCOME' THEN total_amount ELSE 0 END), 0) AS income, " +
+                        "COALESCE(SUM(CASE WHEN type = 'EXPENSE' THEN total_amount ELSE 0 END), 0) AS expenses, " +
+                        "COALESCE(SUM(CASE WHEN type = 'INCOME' THEN transaction_count ELSE 0 END), 0) AS income_count, " +
+                        "COALESCE(SUM(CASE WHEN type = 'EXPENSE' THEN transaction_count ELSE 0 END), 0) AS expense_count " +
+                        "FROM monthly_rollups WHERE rollup_year = :year AND rollup_month = :month")
+                .bind("year", year)
+                .bind("month", month)
+                .map(row -> new PeriodTotals(
+                        row.get("income", BigDecimal.class),
+                        row.get("expenses", BigDecimal.class),
+                        count(row, "income_count"),
+                        count(row, "expense_count")))
+                .one();
+    }
+
+    public Mono<SpendingTotals> findExpenseTotals(String category, Integer year, Integer month) {
+        return reactiveDatabaseClient.sql("SELECT COALESCE(SUM(total_amount), 0) AS total, " +
+                        "COALESCE(SUM(transaction_count), 0) AS transaction_count FROM monthly_rollups " +
+                        "WHERE category = :category AND type = 'EXPENSE' AND rollup_year = :year AND rollup_month = :month")
+                .bind("category", category)
+                .bind("year", year)
+                .bind("month", month)
+                .map(row -> new SpendingTotals(
+                        row.get("total", BigDecimal.class),
+                        count(row, "transaction_count")))
+                .one();
+    }
+
+    public Flux<BudgetSpending> findSpendingForActiveBudgets() {
+        return reactiveDatabaseClient.sql("SELECT b.id, b.category, b.budget_year, b.budget_month, " +
+                        "COALESCE(r.total_amount, 0) AS spent FROM budgets b " +
+                        "LEFT JOIN monthly_rollups r ON r.category = b.category AND r.type = 'EXPENSE' " +
+                        "AND r.rollup_year = b.budget_year AND r.rollup_month = b.budget_month " +
+                        "WHERE b.is_active = TRUE")
+                .map(ReactiveMonthlyRollupRepository::toBudgetSpending)
+                .all();
+    }
+
+    public Flux<BudgetSpending> findSpendingForActiveBudgetsFor(Integer year, Integer month) {
+        return reactiveDatabaseClient.sql("SELECT b.id, b.category, b.budget_year, b.budget_month, " +
+                        "COALESCE(r.total_amount, 0) AS spent FROM budgets b " +
+                        "LEFT JOIN monthly_rollups r ON r.category = b.category AND r.type = 'EXPENSE' " +
+                        "AND r.rollup_year = b.budget_year AND r.rollup_month = b.budget_month " +
+                        "WHERE b.is_active = TRUE AND b.budget_year = :year AND b.budget_month = :month")
+                .bind("year", year)
+                .bind("month", month)
+                .map(ReactiveMonthlyRollupRepository::toBudgetSpending)
+                .all();
+    }
+
+    /**
+     * H2 widens SUM over an INT column to BIGINT or DECIMAL depending on the expression.
+     */
+    private static Long count(Readable row, String column) {
+        Number value = row.get(column, Number.class);
+        return value != null ? value.longValue() : 0L;
+    }
+
+    private static BudgetSpending toBudgetSpending(Readable row) {
+        return new BudgetSpending(
+                row.get("id", Long.class),
+                row.get("category", String.class),
+                row.get("budget_year", Integer.class),
+                row.get("budget_month", Integer.class),
+                row.get("spent", BigDecimal.class));
+    }
+
+    private record RollupKey(String category, String type, int year, int month) {
+
+        RollupKey(Transaction transaction) {
+            this(transaction.getCategory(), transaction.getType().name(),
+                    transaction.getDate().getYear(), transaction.getDate().getMonthValue());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.budgetserver.repository.reactive;
+
+import io.r2dbc.spi.Closeable;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking access to the same database the JPA layer uses, active when
+ * {@code app.persistence.mode=r2dbc}. Flyway still migrates the schema over JDBC, and the
+ * connection reuses the DataSource credentials unless the R2DBC URL carries its own.
+ * <p>
+ * The connection factory and its transaction manager are deliberately not exposed as beans:
+ * a {@link ConnectionFactory} bean would make Spring Boot back off from the JDBC DataSource,
+ * and a second transaction manager would make {@code @Transactional} ambiguous.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.persistence.mode", havingValue = "r2dbc")
+@Slf4j
+public class ReactivePersistenceConfig implements DisposableBean {
+
+    private final ConnectionFactory connectionFactory;
+
+    public ReactivePersistenceConfig(
+            @Value("${app.persistence.r2dbc.url}") String url,
+            @Value("${spring.datasource.username:sa}") String username,
+            @Value("${spring.datasource.password:}") String password) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url);
+        if (!options.hasOption(ConnectionFactoryOptions.USER)) {
+            options = options.mutate()
+                    .option(ConnectionFactoryOptions.USER, username)
+                    .option(ConnectionFactoryOptions.PASSWORD, password)
+                    .build();
+        }
+        this.connectionFactory = ConnectionFactories.get(options);
+        log.info("⚡ Reactive persistence enabled: {}", url);
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionFactory instanceof Closeable closeable) {
+            Mono.from(closeable.close()).block(Duration.ofSeconds(10));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.budgetserver.repository.reactive;
+
+import com.budgetserver.entity.Transaction;
+import com.budgetserver.entity.TransactionType;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Reactive counterpart of {@link com.budgetserver.repository.TransactionRepository}.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.persistence.mode", havingValue = "r2dbc")
+@RequiredArgsConstructor
+public class ReactiveTransactionRepository {
+
+    private final DatabaseClient reactiveDatabaseClient;
+
+    public Mono<Transaction> save(Transaction transaction) {
+        LocalDateTime now = LocalDateTime.now();
+        return reactiveDatabaseClient.sql(
+                        "INSERT INTO transactions (amount, description, date, category, type, created_at, updated_at) " +
+                        "VALUES (:amount, :description, :date, :category, :type, :now, :now)")
+                .bind("amount", transaction.getAmount())
+                .bind("description", transaction.getDescription())
+                .bind("date", transaction.getDate())
+                .bind("category", transaction.getCategory())
+                .bind("type", transaction.getType().name())
+                .bind("now", now)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    transaction.setId(id);
+                    transaction.setCreatedAt(now);
+                    transaction.setUpdatedAt(now);
+                    return transaction;
+                });
+    }
+
+    /**
+     * Inserts the transactions with one multi-row statement, a single round trip however many
+     * there are. Generated ids are not read back.
+     */
+    public Mono<Long> saveAll(List<Transaction> transactions) {
+        LocalDateTime now = LocalDateTime.now();
+        StringJoiner rows = new StringJoiner(", ",
+                "INSERT INTO transactions (amount, description, date, category, type, created_at, updated_at) VALUES ", "");
+        for (int i = 0; i < transactions.size(); i++) {
+            rows.add("(:amount" + i + ", :description" + i + ", :date" + i + ", :category" + i + ", :type" + i +
+                    ", :now, :now)");
+        }
+        DatabaseClient.GenericExecuteSpec insert = reactiveDatabaseClient.sql(rows.toString()).bind("now", now);
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction transaction = transactions.get(i);
+            insert = insert.bind("amount" + i, transaction.getAmount())
+                    .bind("description" + i, transaction.getDescription())
+                    .bind("date" + i, transaction.getDate())
+                    .bind("category" + i, transaction.getCategory())
+                    .bind("type" + i, transaction.getType().name());
+        }
+        return insert.fetch()
+                .rowsUpdated()
+                .doOnNext(inserted -> transactions.forEach(transaction -> {
+                    transaction.setCreatedAt(now);
+                    transaction.setUpdatedAt(now);
+                }));
+    }
+
+    public Flux<Transaction> findTop10ByOrderByCreatedAtDesc() {
+        return reactiveDatabaseClient.sql("SELECT id, amount, description, date, category, type, created_at, updated_at " +
+                        "FROM transactions ORDER BY created_at DESC FETCH FIRST 10 ROWS ONLY")
+                .map(ReactiveTransactionRepository::toTransaction)
+                .all();
+    }
+
+    private static Transaction toTransaction(Readable row) {
+        return Transaction.builder()
+                .id(row.get("id", Long.class))
+                .amount(row.get("amount", BigDecimal.class))
+                .description(row.get("description", String.class))
+                .date(row.get("date", LocalDate.class))
+                .category(row.get("category", String.class))
+                .type(TransactionType.valueOf(row.get("type", String.class)))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+}
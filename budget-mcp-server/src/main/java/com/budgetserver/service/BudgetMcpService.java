@@ -1,34 +1,77 @@
 package com.budgetserver.service;
 
 
+import com.budgetserver.cache.SummaryCache;
+import com.budgetserver.cache.SummaryCache.CategoryPeriod;
+import com.budgetserver.dto.BudgetSpending;
+import com.budgetserver.dto.BudgetStatus;
 import com.budgetserver.dto.BudgetSummary;
+import com.budgetserver.dto.Dashboard;
+import com.budgetserver.dto.SpendingTotals;
+import com.budgetserver.dto.TransactionItem;
+import com.budgetserver.dto.TransactionRequest;
 import com.budgetserver.entity.Budget;
 import com.budgetserver.entity.Transaction;
 import com.budgetserver.entity.TransactionType;
+import com.budgetserver.execution.PlainTextResultConverter;
+import com.budgetserver.execution.ToolOutcome;
 import com.budgetserver.repository.BudgetRepository;
+import com.budgetserver.repository.MonthlyRollupRepository;
 import com.budgetserver.repository.TransactionRepository;
-import lombok.RequiredArgsConstructor;
+import com.budgetserver.service.TransactionInputs.BatchItem;
+import com.budgetserver.service.TransactionInputs.InvalidTransactionException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class BudgetMcpService {
     
+    static final int MAX_BATCH_SIZE = 100;
+    
     private final BudgetRepository budgetRepository;
     private final TransactionRepository transactionRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final SummaryCache summaryCache;
+    private final ToolResponses toolResponses;
+    private final TransactionTemplate writeTemplate;
+    private final TransactionTemplate snapshotTemplate;
+    
+    public BudgetMcpService(BudgetRepository budgetRepository,
+                            TransactionRepository transactionRepository,
+                            MonthlyRollupRepository monthlyRollupRepository,
+                            MonthlyRollupService monthlyRollupService,
+                            SummaryCache summaryCache,
+                            ToolResponses toolResponses,
+                            PlatformTransactionManager transactionManager) {
+        this.budgetRepository = budgetRepository;
+        this.transactionRepository = transactionRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.monthlyRollupService = monthlyRollupService;
+        this.summaryCache = summaryCache;
+        this.toolResponses = toolResponses;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setReadOnly(true);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
     
-    @Tool(description = "Create a new budget for a category with monthly limit and alert threshold")
+    @Tool(description = "Create a new budget for a category with monthly limit and alert threshold",
+            resultConverter = PlainTextResultConverter.class)
     @Transactional
     public String createBudget(
             @ToolParam(description = "Budget category name (e.g., Food, Transportation)")
@@ -51,13 +94,9 @@ public class BudgetMcpService {
             if (alertThreshold == null) alertThreshold = BigDecimal.valueOf(80);
             
             // Validate inputs
-            if (monthlyLimit.compareTo(BigDecimal.ZERO) <= 0) {
-                return "❌ Monthly limit must be greater than 0";
-            }
-            
-            if (alertThreshold.compareTo(BigDecimal.ZERO) <= 0 || 
-                alertThreshold.compareTo(BigDecimal.valueOf(100)) > 0) {
-                return "❌ Alert threshold must be between 1 and 100";
+            String validationError = BudgetResponses.validateBudget(category, monthlyLimit, alertThreshold);
+            if (validationError != null) {
+                return toolResponses.error(validationError);
             }
             
             // Check if budget already exists
@@ -65,8 +104,7 @@ public class BudgetMcpService {
                 category, year, month, true);
             
             if (existingBudget.isPresent()) {
-                return String.format("❌ Budget for %s already exists for %d/%d. Current limit: $%.2f", 
-                    category, month, year, existingBudget.get().getMonthlyLimit());
+                return toolResponses.budgetExists(category, month, year, existingBudget.get().getMonthlyLimit());
             }
             
             // Create new budget
@@ -81,27 +119,20 @@ public class BudgetMcpService {
                 .build();
             
             budgetRepository.save(budget);
+            summaryCache.evictBudget(YearMonth.of(year, month), category);
 
             log.info("🤖 AI calls tool: createBudget - Created budget for {} with limit ${}", category, monthlyLimit);
             
-            return String.format("""
-                ✅ Budget created successfully!
-                📋 Category: %s
-                💰 Monthly Limit: $%.2f
-                📅 Period: %d/%d
-                ⚠️ Alert Threshold: %.1f%%
-                📝 Notes: %s
-                """,
-                category, monthlyLimit, month, year, alertThreshold, 
-                notes != null ? notes : "None");
+            return toolResponses.budgetCreated(budget);
                 
         } catch (Exception e) {
+            ToolOutcome.report(ToolOutcome.EXCEPTION);
             log.error("🤖 AI tool call failed: createBudget - Error: {}", e.getMessage(), e);
-            return "❌ Error creating budget: " + e.getMessage();
+            return toolResponses.error("❌ Error creating budget: " + e.getMessage());
         }
     }
     
-    @Tool(description = "Add a new income or expense transaction")
+    @Tool(description = "Add a new income or expense transaction", resultConverter = PlainTextResultConverter.class)
     @Transactional
     public String addTransaction(
             @ToolParam(description = "Transaction amount (positive number)") 
@@ -116,101 +147,96 @@ public class BudgetMcpService {
             String date) {
         
         try {
-            // Validate inputs
-            if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-                return "❌ Amount must be greater than 0";
-            }
-            
-            LocalDate transactionDate = date != null 
-                ? LocalDate.parse(date, DateTimeFormatter.ISO_LOCAL_DATE)
-                : LocalDate.now();
-                
-            TransactionType transactionType = TransactionType.valueOf(type.toUpperCase());
-            
-            // Create transaction
-            Transaction transaction = Transaction.builder()
-                .amount(amount)
-                .description(description)
-                .category(category)
-                .type(transactionType)
-                .date(transactionDate)
-                .build();
+            Transaction transaction = TransactionInputs.toTransaction(amount, description, category, type, date);
+            TransactionType transactionType = transaction.getType();
+            LocalDate transactionDate = transaction.getDate();
             
             transactionRepository.save(transaction);
+            monthlyRollupService.record(transaction);
+            summaryCache.evictTransaction(
+                YearMonth.from(transactionDate), category, transactionType == TransactionType.EXPENSE);
 
             log.info("🤖 AI calls tool: addTransaction - Added {} transaction: {} ${} in {}", type, description, amount, category);
             
-            String emoji = transactionType == TransactionType.INCOME ? "💰" : "💸";
-            return String.format("""
-                %s Transaction added successfully!
-                💵 Amount: $%.2f
-                📝 Description: %s
-                🏷️ Category: %s
-                📅 Date: %s
-                🔄 Type: %s
-                """,
-                emoji, amount, description, category, 
-                transactionDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")), type);
+            return toolResponses.transactionAdded(transaction, type);
                 
-        } catch (IllegalArgumentException e) {
-            log.warn("🤖 AI tool call rejected: addTransaction - Invalid transaction type: {}", e.getMessage());
-            return "❌ Invalid transaction type. Use INCOME or EXPENSE";
+        } catch (InvalidTransactionException e) {
+            log.warn("🤖 AI tool call rejected: addTransaction - {}", e.getMessage());
+            return toolResponses.error(e.getMessage());
         } catch (Exception e) {
+            ToolOutcome.report(ToolOutcome.EXCEPTION);
             log.error("🤖 AI tool call failed: addTransaction - Error: {}", e.getMessage(), e);
-            return "❌ Error adding transaction: " + e.getMessage();
+            return toolResponses.error("❌ Error adding transaction: " + e.getMessage());
+        }
+    }
+    
+    @Tool(description = "Add several income or expense transactions in one call, e.g. a list of receipts. " +
+            "Valid items are saved together; invalid items are skipped and reported by position",
+            resultConverter = PlainTextResultConverter.class)
+    public String addTransactions(
+            @ToolParam(description = "Transactions to add, at most " + MAX_BATCH_SIZE + " per call")
+            List<TransactionRequest> transactions) {
+        
+        try {
+            if (transactions == null || transactions.isEmpty()) {
+                return toolResponses.error("❌ No transactions given");
+            }
+            if (transactions.size() > MAX_BATCH_SIZE) {
+                return toolResponses.error("❌ Too many transactions: at most " + MAX_BATCH_SIZE + " per call");
+            }
+            
+            List<BatchItem> items = TransactionInputs.toTransactions(transactions);
+            List<Transaction> valid = items.stream().filter(BatchItem::isValid).map(BatchItem::transaction).toList();
+            
+            // Saved in a transaction of their own so a failed insert is caught here, after the
+            // rollback, rather than inside a transaction that can no longer commit
+            if (!valid.isEmpty()) {
+                writeTemplate.executeWithoutResult(status -> {
+                    transactionRepository.saveAllAndFlush(valid);
+                    monthlyRollupService.recordAll(valid);
+                    valid.forEach(transaction -> summaryCache.evictTransaction(YearMonth.from(transaction.getDate()),
+                        transaction.getCategory(), transaction.getType() == TransactionType.EXPENSE));
+                });
+            }
+            
+            log.info("🤖 AI calls tool: addTransactions - Added {} of {} transactions", valid.size(), transactions.size());
+            
+            return toolResponses.transactionsAdded(items);
+            
+        } catch (Exception e) {
+            ToolOutcome.report(ToolOutcome.EXCEPTION);
+            log.error("🤖 AI tool call failed: addTransactions - Error: {}", e.getMessage(), e);
+            return toolResponses.error("❌ Error adding transactions: " + e.getMessage());
         }
     }
     
-    @Tool(description = "Get all active budgets with current spending status")
+    @Tool(description = "Get all active budgets with current spending status", resultConverter = PlainTextResultConverter.class)
     public String getAllBudgets() {
         try {
             log.info("🤖 AI calls tool: getAllBudgets - Retrieving all active budgets");
             List<Budget> budgets = budgetRepository.findAllActiveBudgets();
             
             if (budgets.isEmpty()) {
-                return "📋 No active budgets found. Create your first budget to get started!";
-            }
-            
-            StringBuilder response = new StringBuilder("📋 **Current Active Budgets:**\n\n");
-            
-            for (Budget budget : budgets) {
-                LocalDate startDate = LocalDate.of(budget.getBudgetYear(), budget.getBudgetMonth(), 1);
-                LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-                
-                BigDecimal spent = transactionRepository.sumExpensesByCategoryAndDateBetween(
-                    budget.getCategory(), startDate, endDate);
-                
-                BigDecimal remaining = budget.getMonthlyLimit().subtract(spent);
-                BigDecimal percentUsed = spent.divide(budget.getMonthlyLimit(), 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100));
-                
-                String status = percentUsed.compareTo(budget.getAlertThreshold()) >= 0 ? "⚠️" : "✅";
-                
-                response.append(String.format("""
-                    %s **%s**
-                      💰 Budget: $%.2f
-                      💸 Spent: $%.2f (%.1f%%)
-                      💵 Remaining: $%.2f
-                      📅 Period: %d/%d
-                    """, 
-                    status, budget.getCategory(), budget.getMonthlyLimit(), 
-                    spent, percentUsed, remaining, budget.getBudgetMonth(), budget.getBudgetYear()));
-                
-                if (budget.getNotes() != null && !budget.getNotes().trim().isEmpty()) {
-                    response.append(String.format("      📝 Notes: %s\n", budget.getNotes()));
-                }
-                response.append("\n");
+                return toolResponses.activeBudgets(budgets, budget -> BigDecimal.ZERO);
             }
             
-            return response.toString();
+            // Cached per budget; one rollup lookup covers every budget on a miss
+            List<CategoryPeriod> keys = budgets.stream().map(BudgetMcpService::budgetKey).toList();
+            Map<CategoryPeriod, BigDecimal> spentByBudget = summaryCache.getBudgetSpending(
+                keys, monthlyRollupRepository::findSpendingForActiveBudgets);
+
+            return toolResponses.activeBudgets(budgets,
+                budget -> spentByBudget.getOrDefault(budgetKey(budget), BigDecimal.ZERO));
 
         } catch (Exception e) {
+            ToolOutcome.report(ToolOutcome.EXCEPTION);
             log.error("🤖 AI tool call failed: getAllBudgets - Error: {}", e.getMessage(), e);
-            return "❌ Error retrieving budgets: " + e.getMessage();
+            return toolResponses.error("❌ Error retrieving budgets: " + e.getMessage());
         }
     }
 
-    @Tool(description = "Get spending summary for a specific month or category")
+    @Tool(description = "Get spending summary for a specific month or category",
+            resultConverter = PlainTextResultConverter.class)
     public String getSpendingSummary(
             @ToolParam(description = "Category to filter by (optional)")
             String category,
@@ -227,78 +253,38 @@ public class BudgetMcpService {
             if (year == null) year = LocalDate.now().getYear();
             if (month == null) month = LocalDate.now().getMonthValue();
             
-            LocalDate startDate = LocalDate.of(year, month, 1);
-            LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
+            YearMonth period = YearMonth.of(year, month);
             
             if (category != null && !category.trim().isEmpty()) {
                 // Category-specific spending
-                BigDecimal spent = transactionRepository.sumExpensesByCategoryAndDateBetween(
-                    category, startDate, endDate);
-                    
-                List<Transaction> transactions = transactionRepository.findByCategoryAndDateBetween(
-                    category, startDate, endDate);
-                
-                return String.format("""
-                    💳 **%s Spending for %d/%d:**
-                    
-                    💸 Total Spent: $%.2f
-                    📊 Number of Transactions: %d
-                    """,
-                    category, month, year, spent, transactions.size());
+                SpendingTotals totals = monthlyRollupRepository.findExpenseTotals(
+                    category, period.getYear(), period.getMonthValue());
+                return toolResponses.categorySpending(
+                    category, month, year, totals.getTotal(), totals.getTransactionCount());
             } else {
                 // Overall spending summary
-                BigDecimal totalIncome = transactionRepository.sumByTypeAndDateBetween(
-                    TransactionType.INCOME, startDate, endDate);
-                BigDecimal totalExpenses = transactionRepository.sumByTypeAndDateBetween(
-                    TransactionType.EXPENSE, startDate, endDate);
-                BigDecimal netAmount = totalIncome.subtract(totalExpenses);
-                
-                return String.format("""
-                    📊 **Monthly Summary for %d/%d:**
-                    
-                    💰 Total Income: $%.2f
-                    💸 Total Expenses: $%.2f
-                    💵 Net Amount: $%.2f
-                    📈 Status: %s
-                    """,
-                    month, year, totalIncome, totalExpenses, netAmount,
-                    netAmount.compareTo(BigDecimal.ZERO) >= 0 ? "Positive ✅" : "Negative ⚠️");
+                return toolResponses.monthlySummary(month, year, monthlySummary(period));
             }
 
         } catch (Exception e) {
+            ToolOutcome.report(ToolOutcome.EXCEPTION);
             log.error("🤖 AI tool call failed: getSpendingSummary - Error: {}", e.getMessage(), e);
-            return "❌ Error getting spending summary: " + e.getMessage();
+            return toolResponses.error("❌ Error getting spending summary: " + e.getMessage());
         }
     }
 
-    @Tool(description = "Get recent transactions (last 10)")
+    @Tool(description = "Get recent transactions (last 10)", resultConverter = PlainTextResultConverter.class)
     public String getRecentTransactions() {
         try {
             log.info("🤖 AI calls tool: getRecentTransactions - Fetching last 10 transactions");
             List<Transaction> transactions = transactionRepository.findTop10ByOrderByCreatedAtDesc();
             
-            if (transactions.isEmpty()) {
-                return "📝 No transactions found. Add your first transaction to get started!";
-            }
-            
-            StringBuilder response = new StringBuilder("📝 **Recent Transactions:**\n\n");
-            
-            for (Transaction transaction : transactions) {
-                String emoji = transaction.getType() == TransactionType.INCOME ? "💰" : "💸";
-                response.append(String.format("""
-                    %s $%.2f - %s
-                      🏷️ %s | 📅 %s
-                    """,
-                    emoji, transaction.getAmount(), transaction.getDescription(),
-                    transaction.getCategory(),
-                    transaction.getDate().format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))));
-            }
-            
-            return response.toString();
+            return toolResponses.recentTransactions(transactions);
 
         } catch (Exception e) {
+            ToolOutcome.report(ToolOutcome.EXCEPTION);
             log.error("🤖 AI tool call failed: getRecentTransactions - Error: {}", e.getMessage(), e);
-            return "❌ Error getting recent transactions: " + e.getMessage();
+            return toolResponses.error("❌ Error getting recent transactions: " + e.getMessage());
         }
     }
 
@@ -315,32 +301,78 @@ public class BudgetMcpService {
 
             log.info("🤖 AI calls tool: getSummary - Getting structured budget summary for {}/{}", month, year);
 
-            LocalDate startDate = LocalDate.of(year, month, 1);
-            LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-
-            // Get totals from database
-            BigDecimal totalIncome = transactionRepository.sumByTypeAndDateBetween(
-                    TransactionType.INCOME, startDate, endDate);
-
-            BigDecimal totalExpenses = transactionRepository.sumByTypeAndDateBetween(
-                    TransactionType.EXPENSE, startDate, endDate);
-
-            // Handle null values (when no transactions exist)
-            if (totalIncome == null) totalIncome = BigDecimal.ZERO;
-            if (totalExpenses == null) totalExpenses = BigDecimal.ZERO;
-
-            BigDecimal netAmount = totalIncome.subtract(totalExpenses);
-
-            BudgetSummary summary = new BudgetSummary(totalIncome, totalExpenses, netAmount);
+            BudgetSummary summary = monthlySummary(YearMonth.of(year, month));
 
             log.info("🤖 AI tool result: getSummary - Income=${}, Expenses=${}, Net=${} for {}/{}",
-                    totalIncome, totalExpenses, netAmount, month, year);
+                    summary.getTotalIncome(), summary.getTotalExpenses(), summary.getNetAmount(), month, year);
 
             return summary;
 
         } catch (Exception e) {
+            ToolOutcome.report(ToolOutcome.EXCEPTION);
             log.error("🤖 AI tool call failed: getSummary - Error: {}", e.getMessage(), e);
             return BudgetSummary.empty();
         }
     }
+
+    @Tool(description = "Get a month's dashboard in one call: income and expense totals, the status of " +
+            "that month's budgets and the 10 most recent transactions, as structured data. " +
+            "Prefer it over calling getSummary, getAllBudgets and getRecentTransactions separately")
+    public Dashboard getDashboard(
+            @ToolParam(description = "Year (default: current year)")
+            Integer year,
+            @ToolParam(description = "Month (default: current month)")
+            Integer month) {
+        
+        int dashboardYear = year != null ? year : LocalDate.now().getYear();
+        int dashboardMonth = month != null ? month : LocalDate.now().getMonthValue();
+        
+        // The catch stays outside the snapshot transaction: a failed query marks it
+        // rollback-only, and committing it from here would throw instead of returning
+        try {
+            log.info("🤖 AI calls tool: getDashboard - Building dashboard for {}/{}", dashboardMonth, dashboardYear);
+            
+            return snapshotTemplate.execute(status -> readDashboard(dashboardYear, dashboardMonth));
+            
+        } catch (Exception e) {
+            ToolOutcome.report(ToolOutcome.EXCEPTION);
+            log.error("🤖 AI tool call failed: getDashboard - Error: {}", e.getMessage(), e);
+            return Dashboard.empty(dashboardYear, dashboardMonth);
+        }
+    }
+
+    /**
+     * Reads every part of the dashboard. Runs inside one read-only, repeatable-read
+     * transaction so the parts agree with each other; the cache is bypassed on purpose.
+     */
+    private Dashboard readDashboard(int year, int month) {
+        BudgetSummary summary = monthlyRollupRepository.findPeriodTotals(year, month).toSummary();
+        Map<Long, BigDecimal> spentById = monthlyRollupRepository.findSpendingForActiveBudgetsFor(year, month).stream()
+            .collect(Collectors.toMap(BudgetSpending::getBudgetId, BudgetSpending::getSpent));
+        List<BudgetStatus> budgets = budgetRepository.findActiveBudgetsFor(year, month).stream()
+            .map(budget -> BudgetStatus.of(budget, spentById.getOrDefault(budget.getId(), BigDecimal.ZERO)))
+            .toList();
+        List<TransactionItem> recent = transactionRepository.findTop10ByOrderByCreatedAtDesc().stream()
+            .map(TransactionItem::of)
+            .toList();
+        
+        return new Dashboard(year, month, summary, budgets, recent);
+    }
+
+    /**
+     * Income, expenses and net for a month, served from the summary cache when possible.
+     * Returns a copy so callers cannot mutate the cached instance.
+     */
+    private BudgetSummary monthlySummary(YearMonth period) {
+        // Income and expenses come from one statement over the monthly rollups
+        BudgetSummary cached = summaryCache.getSummary(period, () -> monthlyRollupRepository
+                .findPeriodTotals(period.getYear(), period.getMonthValue())
+                .toSummary());
+
+        return new BudgetSummary(cached.getTotalIncome(), cached.getTotalExpenses(), cached.getNetAmount());
+    }
+
+    private static CategoryPeriod budgetKey(Budget budget) {
+        return new CategoryPeriod(budget.getCategory(), YearMonth.of(budget.getBudgetYear(), budget.getBudgetMonth()));
+    }
 }
\ No newline at end of file
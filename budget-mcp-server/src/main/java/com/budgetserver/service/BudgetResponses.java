@@ -0,0 +1,190 @@
+package com.budgetserver.service;
+
+import com.budgetserver.dto.BudgetSummary;
+import com.budgetserver.entity.Budget;
+import com.budgetserver.entity.Transaction;
+import com.budgetserver.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Tool response texts shared by the JPA and reactive tool implementations, so both
+ * persistence modes answer the model with identical wording. Templates are compiled once;
+ * list responses render every row into a single buffer.
+ */
+final class BudgetResponses {
+
+    static final String NO_ACTIVE_BUDGETS = "📋 No active budgets found. Create your first budget to get started!";
+    static final String NO_TRANSACTIONS = "📝 No transactions found. Add your first transaction to get started!";
+    static final String INVALID_TRANSACTION_TYPE = "❌ Invalid transaction type. Use INCOME or EXPENSE";
+
+    private static final ResponseTemplate BUDGET_EXISTS = ResponseTemplate.compile(
+        "❌ Budget for {text} already exists for {number}/{number}. Current limit: ${money}");
+
+    private static final ResponseTemplate BUDGET_CREATED = ResponseTemplate.compile("""
+        ✅ Budget created successfully!
+        📋 Category: {text}
+        💰 Monthly Limit: ${money}
+        📅 Period: {number}/{number}
+        ⚠️ Alert Threshold: {percent}%
+        📝 Notes: {text}
+        """);
+
+    private static final ResponseTemplate TRANSACTION_ADDED = ResponseTemplate.compile("""
+        {text} Transaction added successfully!
+        💵 Amount: ${money}
+        📝 Description: {text}
+        🏷️ Category: {text}
+        📅 Date: {date}
+        🔄 Type: {text}
+        """);
+
+    private static final ResponseTemplate TRANSACTION_LINE = ResponseTemplate.compile(
+        "{text} ${money} {text} - {text} ({date})");
+
+    private static final ResponseTemplate TRANSACTIONS_ADDED = ResponseTemplate.compile(
+        "{text} Added {number} of {number} transactions\n");
+
+    private static final ResponseTemplate ACTIVE_BUDGET = ResponseTemplate.compile("""
+        {text} **{text}**
+          💰 Budget: ${money}
+          💸 Spent: ${money} ({percent}%)
+          💵 Remaining: ${money}
+          📅 Period: {number}/{number}
+        """);
+
+    private static final ResponseTemplate BUDGET_NOTES = ResponseTemplate.compile("      📝 Notes: {text}\n");
+
+    private static final ResponseTemplate CATEGORY_SPENDING = ResponseTemplate.compile("""
+        💳 **{text} Spending for {number}/{number}:**
+
+        💸 Total Spent: ${money}
+        📊 Number of Transactions: {number}
+        """);
+
+    private static final ResponseTemplate MONTHLY_SUMMARY = ResponseTemplate.compile("""
+        📊 **Monthly Summary for {number}/{number}:**
+
+        💰 Total Income: ${money}
+        💸 Total Expenses: ${money}
+        💵 Net Amount: ${money}
+        📈 Status: {text}
+        """);
+
+    private static final ResponseTemplate RECENT_TRANSACTION = ResponseTemplate.compile("""
+        {text} ${money} - {text}
+          🏷️ {text} | 📅 {date}
+        """);
+
+    private static final String ACTIVE_BUDGETS_HEADER = "📋 **Current Active Budgets:**\n\n";
+    private static final String RECENT_TRANSACTIONS_HEADER = "📝 **Recent Transactions:**\n\n";
+
+    private BudgetResponses() {
+    }
+
+    /**
+     * @return the validation error for a new budget, or {@code null} when the input is valid
+     */
+    static String validateBudget(String category, BigDecimal monthlyLimit, BigDecimal alertThreshold) {
+        if (category == null) {
+            return "❌ Category is required";
+        }
+        if (monthlyLimit == null || monthlyLimit.compareTo(BigDecimal.ZERO) <= 0) {
+            return "❌ Monthly limit must be greater than 0";
+        }
+        if (alertThreshold.compareTo(BigDecimal.ZERO) <= 0 ||
+            alertThreshold.compareTo(BigDecimal.valueOf(100)) > 0) {
+            return "❌ Alert threshold must be between 1 and 100";
+        }
+        return null;
+    }
+
+    static String budgetExists(String category, int month, int year, BigDecimal currentLimit) {
+        return BUDGET_EXISTS.render(category, month, year, currentLimit);
+    }
+
+    static String budgetCreated(String category, BigDecimal monthlyLimit, int month, int year,
+                                BigDecimal alertThreshold, String notes) {
+        return BUDGET_CREATED.render(category, monthlyLimit, month, year, alertThreshold,
+            notes != null ? notes : "None");
+    }
+
+    static String transactionAdded(TransactionType transactionType, BigDecimal amount, String description,
+                                   String category, LocalDate date, String type) {
+        return TRANSACTION_ADDED.render(emoji(transactionType), amount, description, category, date, type);
+    }
+
+    /**
+     * One line per saved item of a batch call, kept short so large batches stay cheap in tokens.
+     */
+    static String transactionLine(Transaction transaction) {
+        return TRANSACTION_LINE.render(emoji(transaction.getType()), transaction.getAmount(),
+            transaction.getCategory(), transaction.getDescription(), transaction.getDate());
+    }
+
+    static String transactionsAdded(int added, List<String> itemResults) {
+        StringBuilder response = new StringBuilder(TRANSACTIONS_ADDED.estimatedLength(1) + 64 * itemResults.size());
+        TRANSACTIONS_ADDED.appendTo(response, added == itemResults.size() ? "✅" : "⚠️", added, itemResults.size());
+        for (int i = 0; i < itemResults.size(); i++) {
+            response.append(i + 1).append(". ").append(itemResults.get(i)).append('\n');
+        }
+        return response.toString();
+    }
+
+    static String activeBudgets(List<Budget> budgets, Function<Budget, BigDecimal> spentFor) {
+        StringBuilder response = new StringBuilder(
+            ACTIVE_BUDGETS_HEADER.length() + ACTIVE_BUDGET.estimatedLength(budgets.size()));
+        response.append(ACTIVE_BUDGETS_HEADER);
+
+        for (Budget budget : budgets) {
+            BigDecimal spent = spentFor.apply(budget);
+
+            BigDecimal remaining = budget.getMonthlyLimit().subtract(spent);
+            BigDecimal percentUsed = spent.divide(budget.getMonthlyLimit(), 4, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100));
+
+            String status = percentUsed.compareTo(budget.getAlertThreshold()) >= 0 ? "⚠️" : "✅";
+
+            ACTIVE_BUDGET.appendTo(response, status, budget.getCategory(), budget.getMonthlyLimit(),
+                spent, percentUsed, remaining, budget.getBudgetMonth(), budget.getBudgetYear());
+
+            if (budget.getNotes() != null && !budget.getNotes().trim().isEmpty()) {
+                BUDGET_NOTES.appendTo(response, budget.getNotes());
+            }
+            response.append('\n');
+        }
+
+        return response.toString();
+    }
+
+    static String categorySpending(String category, int month, int year, BigDecimal spent, long transactionCount) {
+        return CATEGORY_SPENDING.render(category, month, year, spent, transactionCount);
+    }
+
+    static String monthlySummary(int month, int year, BudgetSummary summary) {
+        BigDecimal netAmount = summary.getNetAmount();
+        return MONTHLY_SUMMARY.render(month, year, summary.getTotalIncome(), summary.getTotalExpenses(), netAmount,
+            netAmount.compareTo(BigDecimal.ZERO) >= 0 ? "Positive ✅" : "Negative ⚠️");
+    }
+
+    static String recentTransactions(List<Transaction> transactions) {
+        StringBuilder response = new StringBuilder(
+            RECENT_TRANSACTIONS_HEADER.length() + RECENT_TRANSACTION.estimatedLength(transactions.size()));
+        response.append(RECENT_TRANSACTIONS_HEADER);
+
+        for (Transaction transaction : transactions) {
+            RECENT_TRANSACTION.appendTo(response, emoji(transaction.getType()), transaction.getAmount(),
+                transaction.getDescription(), transaction.getCategory(), transaction.getDate());
+        }
+
+        return response.toString();
+    }
+
+    private static String emoji(TransactionType type) {
+        return type == TransactionType.INCOME ? "💰" : "💸";
+    }
+}
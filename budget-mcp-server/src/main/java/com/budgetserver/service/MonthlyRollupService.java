@@ -0,0 +1,176 @@
+package com.budgetserver.service;
+
+import com.budgetserver.cache.SummaryCache;
+import com.budgetserver.entity.MonthlyRollup;
+import com.budgetserver.entity.Transaction;
+import com.budgetserver.entity.TransactionType;
+import com.budgetserver.repository.MonthlyRollupRepository;
+import com.budgetserver.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the {@code monthly_rollups} table in step with {@code transactions}.
+ */
+@Service
+@Slf4j
+public class MonthlyRollupService {
+
+    /**
+     * How often a writer that lost the race to create a rollup row goes back to updating it.
+     */
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String INSERT_ROLLUP = "INSERT INTO monthly_rollups " +
+            "(category, type, rollup_year, rollup_month, total_amount, transaction_count, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)";
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final SummaryCache summaryCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public MonthlyRollupService(MonthlyRollupRepository monthlyRollupRepository,
+                                TransactionRepository transactionRepository,
+                                SummaryCache summaryCache,
+                                JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate) {
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.transactionRepository = transactionRepository;
+        this.summaryCache = summaryCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Adds a freshly saved transaction to its rollup row. Must run inside the
+     * transaction that saved it so the raw row and the rollup commit together.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Transaction transaction) {
+        add(transaction.getCategory(), transaction.getType(), transaction.getDate().getYear(),
+                transaction.getDate().getMonthValue(), transaction.getAmount(), 1L);
+    }
+
+    /**
+     * Adds a batch of freshly saved transactions to their rollup rows, issuing one
+     * statement per (category, type, month) group instead of one per transaction.
+     * Must run inside the transaction that saved them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(Collection<Transaction> transactions) {
+        Map<RollupKey, MonthlyRollup> groups = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            RollupKey key = new RollupKey(transaction.getCategory(), transaction.getType(),
+                    transaction.getDate().getYear(), transaction.getDate().getMonthValue());
+            groups.merge(key, MonthlyRollup.builder()
+                            .category(key.category())
+                            .type(key.type())
+                            .rollupYear(key.year())
+                            .rollupMonth(key.month())
+                            .totalAmount(transaction.getAmount())
+                            .transactionCount(1L)
+                            .build(),
+                    (sum, next) -> {
+                        sum.setTotalAmount(sum.getTotalAmount().add(next.getTotalAmount()));
+                        sum.setTransactionCount(sum.getTransactionCount() + 1);
+                        return sum;
+                    });
+        }
+
+        for (MonthlyRollup group : groups.values()) {
+            add(group.getCategory(), group.getType(), group.getRollupYear(), group.getRollupMonth(),
+                    group.getTotalAmount(), group.getTransactionCount());
+        }
+    }
+
+    /**
+     * Drops every rollup row and regenerates them from the raw transactions.
+     *
+     * @return the number of rollup rows written
+     */
+    @Transactional
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+        monthlyRollupRepository.deleteAllInBatch();
+        int rows = monthlyRollupRepository.insertFromTransactions();
+        summaryCache.evictAll();
+        log.info("Rebuilt {} monthly rollups from transactions in {} ms", rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    /**
+     * Backfills the rollups when an existing database predates them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        if (monthlyRollupRepository.count() == 0 && transactionRepository.count() > 0) {
+            log.info("Monthly rollups are empty but transactions exist - rebuilding");
+            transactionTemplate.execute(status -> rebuild());
+        }
+    }
+
+    /**
+     * Adds to a rollup row, creating it when missing. Two first writers to the same row both
+     * find nothing to update, so the insert runs in a savepoint: the loser of the unique key
+     * rolls back only that, not the caller's transaction, and adds to the winner's row instead.
+     * The insert goes through JDBC on the transaction's own connection, as the JPA dialect
+     * offers no savepoints.
+     */
+    private void add(String category, TransactionType type, int year, int month, BigDecimal amount, long count) {
+        for (int attempt = 1; ; attempt++) {
+            if (monthlyRollupRepository.incrementBy(category, type, year, month, amount, count) > 0) {
+                return;
+            }
+            try {
+                insert(category, type, year, month, amount, count);
+                return;
+            } catch (DuplicateKeyException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Rollup {} {} {}-{} was created concurrently, updating it", category, type, year, month);
+            }
+        }
+    }
+
+    private void insert(String category, TransactionType type, int year, int month, BigDecimal amount, long count) {
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_ROLLUP)) {
+                insert.setString(1, category);
+                insert.setString(2, type.name());
+                insert.setInt(3, year);
+                insert.setInt(4, month);
+                insert.setBigDecimal(5, amount);
+                insert.setLong(6, count);
+                int rows = insert.executeUpdate();
+                connection.releaseSavepoint(savepoint);
+                return rows;
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                throw e;
+            }
+        });
+    }
+
+    private record RollupKey(String category, TransactionType type, int year, int month) {
+    }
+}
@@ -0,0 +1,299 @@
+package com.budgetserver.service;
+
+import com.budgetserver.cache.SummaryCache;
+import com.budgetserver.dto.BudgetSpending;
+import com.budgetserver.dto.BudgetStatus;
+import com.budgetserver.dto.BudgetSummary;
+import com.budgetserver.dto.Dashboard;
+import com.budgetserver.dto.PeriodTotals;
+import com.budgetserver.dto.TransactionItem;
+import com.budgetserver.dto.TransactionRequest;
+import com.budgetserver.entity.Budget;
+import com.budgetserver.entity.Transaction;
+import com.budgetserver.entity.TransactionType;
+import com.budgetserver.execution.ToolMetrics;
+import com.budgetserver.execution.ToolOutcome;
+import com.budgetserver.repository.reactive.ReactiveBudgetRepository;
+import com.budgetserver.repository.reactive.ReactiveMonthlyRollupRepository;
+import com.budgetserver.repository.reactive.ReactiveTransactionRepository;
+import com.budgetserver.service.TransactionInputs.BatchItem;
+import com.budgetserver.service.TransactionInputs.InvalidTransactionException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking implementation of the {@link BudgetMcpService} tools, used when
+ * {@code app.persistence.mode=r2dbc}. Tool names, parameters and response texts are identical;
+ * only the persistence path differs, so no thread is parked while the database works.
+ */
+@Service
+@ConditionalOnProperty(name = "app.persistence.mode", havingValue = "r2dbc")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveBudgetMcpService {
+
+    private static final TypeReference<List<TransactionRequest>> TRANSACTION_REQUESTS = new TypeReference<>() {
+    };
+
+    private final ReactiveBudgetRepository budgetRepository;
+    private final ReactiveTransactionRepository transactionRepository;
+    private final ReactiveMonthlyRollupRepository monthlyRollupRepository;
+    private final TransactionalOperator reactiveTransactionalOperator;
+    private final SummaryCache summaryCache;
+    private final ToolResponses toolResponses;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Dispatches an MCP tool call by name, converting the JSON arguments to the tool's parameter types.
+     * Arguments that can't be converted fail the returned {@code Mono} rather than this call.
+     */
+    public Mono<?> call(String toolName, Map<String, Object> arguments) {
+        return Mono.defer(() -> switch (toolName) {
+            case "createBudget" -> createBudget(
+                    argument(arguments, "category", String.class),
+                    argument(arguments, "monthlyLimit", BigDecimal.class),
+                    argument(arguments, "year", Integer.class),
+                    argument(arguments, "month", Integer.class),
+                    argument(arguments, "notes", String.class),
+                    argument(arguments, "alertThreshold", BigDecimal.class));
+            case "addTransaction" -> addTransaction(
+                    argument(arguments, "amount", BigDecimal.class),
+                    argument(arguments, "description", String.class),
+                    argument(arguments, "category", String.class),
+                    argument(arguments, "type", String.class),
+                    argument(arguments, "date", String.class));
+            case "addTransactions" -> addTransactions(
+                    objectMapper.convertValue(arguments.get("transactions"), TRANSACTION_REQUESTS));
+            case "getAllBudgets" -> getAllBudgets();
+            case "getSpendingSummary" -> getSpendingSummary(
+                    argument(arguments, "category", String.class),
+                    argument(arguments, "year", Integer.class),
+                    argument(arguments, "month", Integer.class));
+            case "getRecentTransactions" -> getRecentTransactions();
+            case "getSummary" -> getSummary(
+                    argument(arguments, "year", Integer.class),
+                    argument(arguments, "month", Integer.class));
+            case "getDashboard" -> getDashboard(
+                    argument(arguments, "year", Integer.class),
+                    argument(arguments, "month", Integer.class));
+            default -> Mono.error(new IllegalArgumentException("Unknown tool: " + toolName));
+        });
+    }
+
+    public Mono<String> createBudget(String category, BigDecimal monthlyLimit, Integer year, Integer month,
+                                     String notes, BigDecimal alertThreshold) {
+        int budgetYear = year != null ? year : LocalDate.now().getYear();
+        int budgetMonth = month != null ? month : LocalDate.now().getMonthValue();
+        BigDecimal threshold = alertThreshold != null ? alertThreshold : BigDecimal.valueOf(80);
+
+        return Mono.defer(() -> {
+                    String validationError = BudgetResponses.validateBudget(category, monthlyLimit, threshold);
+                    if (validationError != null) {
+                        return rejected(validationError);
+                    }
+
+                    Budget budget = Budget.builder()
+                            .category(category)
+                            .monthlyLimit(monthlyLimit)
+                            .budgetYear(budgetYear)
+                            .budgetMonth(budgetMonth)
+                            .notes(notes)
+                            .alertThreshold(threshold)
+                            .isActive(true)
+                            .build();
+
+                    return budgetRepository.findByCategoryAndBudgetYearAndBudgetMonthAndIsActive(
+                                    category, budgetYear, budgetMonth, true)
+                            .map(existing -> toolResponses.budgetExists(
+                                    category, budgetMonth, budgetYear, existing.getMonthlyLimit()))
+                            .switchIfEmpty(Mono.defer(() -> budgetRepository.save(budget)
+                                    .doOnNext(saved -> {
+                                        summaryCache.evictBudget(YearMonth.of(budgetYear, budgetMonth), category);
+                                        log.info("🤖 AI calls tool: createBudget - Created budget for {} with limit ${}",
+                                                category, monthlyLimit);
+                                    })
+                                    .map(toolResponses::budgetCreated)))
+                            .as(reactiveTransactionalOperator::transactional);
+                })
+                .onErrorResume(e -> failed("createBudget", e,
+                        () -> toolResponses.error("❌ Error creating budget: " + e.getMessage())));
+    }
+
+    public Mono<String> addTransaction(BigDecimal amount, String description, String category,
+                                       String type, String date) {
+        return Mono.defer(() -> {
+                    Transaction transaction = TransactionInputs.toTransaction(amount, description, category, type, date);
+                    TransactionType transactionType = transaction.getType();
+                    LocalDate transactionDate = transaction.getDate();
+
+                    return transactionRepository.save(transaction)
+                            .flatMap(saved -> monthlyRollupRepository.record(saved).thenReturn(saved))
+                            .as(reactiveTransactionalOperator::transactional)
+                            .doOnNext(saved -> {
+                                summaryCache.evictTransaction(YearMonth.from(transactionDate), category,
+                                        transactionType == TransactionType.EXPENSE);
+                                log.info("🤖 AI calls tool: addTransaction - Added {} transaction: {} ${} in {}",
+                                        type, description, amount, category);
+                            })
+                            .map(saved -> toolResponses.transactionAdded(saved, type));
+                })
+                .onErrorResume(InvalidTransactionException.class, e -> {
+                    log.warn("🤖 AI tool call rejected: addTransaction - {}", e.getMessage());
+                    return rejected(e.getMessage());
+                })
+                .onErrorResume(e -> failed("addTransaction", e,
+                        () -> toolResponses.error("❌ Error adding transaction: " + e.getMessage())));
+    }
+
+    public Mono<String> addTransactions(List<TransactionRequest> transactions) {
+        return Mono.defer(() -> {
+                    if (transactions == null || transactions.isEmpty()) {
+                        return rejected("❌ No transactions given");
+                    }
+                    if (transactions.size() > BudgetMcpService.MAX_BATCH_SIZE) {
+                        return rejected(
+                                "❌ Too many transactions: at most " + BudgetMcpService.MAX_BATCH_SIZE + " per call");
+                    }
+
+                    List<BatchItem> items = TransactionInputs.toTransactions(transactions);
+                    List<Transaction> valid = items.stream().filter(BatchItem::isValid).map(BatchItem::transaction).toList();
+
+                    Mono<Void> saveAll = valid.isEmpty() ? Mono.empty() : transactionRepository.saveAll(valid)
+                            .then(monthlyRollupRepository.recordAll(valid))
+                            .as(reactiveTransactionalOperator::transactional)
+                            .then(Mono.fromRunnable(() -> valid.forEach(saved -> summaryCache.evictTransaction(
+                                    YearMonth.from(saved.getDate()), saved.getCategory(),
+                                    saved.getType() == TransactionType.EXPENSE))));
+
+                    return saveAll
+                            .then(Mono.fromCallable(() -> {
+                                log.info("🤖 AI calls tool: addTransactions - Added {} of {} transactions",
+                                        valid.size(), transactions.size());
+                                return toolResponses.transactionsAdded(items);
+                            }));
+                })
+                .onErrorResume(e -> failed("addTransactions", e,
+                        () -> toolResponses.error("❌ Error adding transactions: " + e.getMessage())));
+    }
+
+    public Mono<String> getAllBudgets() {
+        log.info("🤖 AI calls tool: getAllBudgets - Retrieving all active budgets");
+        return budgetRepository.findAllActiveBudgets()
+                .collectList()
+                .flatMap(budgets -> budgets.isEmpty()
+                        ? Mono.just(toolResponses.activeBudgets(budgets, budget -> BigDecimal.ZERO))
+                        : monthlyRollupRepository.findSpendingForActiveBudgets()
+                                .collect(Collectors.toMap(BudgetSpending::getBudgetId, BudgetSpending::getSpent))
+                                .map(spentById -> toolResponses.activeBudgets(budgets,
+                                        budget -> spentById.getOrDefault(budget.getId(), BigDecimal.ZERO))))
+                .onErrorResume(e -> failed("getAllBudgets", e,
+                        () -> toolResponses.error("❌ Error retrieving budgets: " + e.getMessage())));
+    }
+
+    public Mono<String> getSpendingSummary(String category, Integer year, Integer month) {
+        int summaryYear = year != null ? year : LocalDate.now().getYear();
+        int summaryMonth = month != null ? month : LocalDate.now().getMonthValue();
+        log.info("🤖 AI calls tool: getSpendingSummary - Category: {}, Period: {}/{}",
+                category != null ? category : "All", summaryMonth, summaryYear);
+
+        return Mono.defer(() -> {
+                    YearMonth period = YearMonth.of(summaryYear, summaryMonth);
+                    if (category != null && !category.trim().isEmpty()) {
+                        return monthlyRollupRepository.findExpenseTotals(
+                                        category, period.getYear(), period.getMonthValue())
+                                .map(totals -> toolResponses.categorySpending(category, summaryMonth, summaryYear,
+                                        totals.getTotal(), totals.getTransactionCount()));
+                    }
+                    return monthlyRollupRepository.findPeriodTotals(period.getYear(), period.getMonthValue())
+                            .map(totals -> toolResponses.monthlySummary(summaryMonth, summaryYear, totals.toSummary()));
+                })
+                .onErrorResume(e -> failed("getSpendingSummary", e,
+                        () -> toolResponses.error("❌ Error getting spending summary: " + e.getMessage())));
+    }
+
+    public Mono<String> getRecentTransactions() {
+        log.info("🤖 AI calls tool: getRecentTransactions - Fetching last 10 transactions");
+        return transactionRepository.findTop10ByOrderByCreatedAtDesc()
+                .collectList()
+                .map(toolResponses::recentTransactions)
+                .onErrorResume(e -> failed("getRecentTransactions", e,
+                        () -> toolResponses.error("❌ Error getting recent transactions: " + e.getMessage())));
+    }
+
+    public Mono<BudgetSummary> getSummary(Integer year, Integer month) {
+        int summaryYear = year != null ? year : LocalDate.now().getYear();
+        int summaryMonth = month != null ? month : LocalDate.now().getMonthValue();
+        log.info("🤖 AI calls tool: getSummary - Getting structured budget summary for {}/{}", summaryMonth, summaryYear);
+
+        return Mono.defer(() -> monthlyRollupRepository.findPeriodTotals(summaryYear, summaryMonth))
+                .map(PeriodTotals::toSummary)
+                .doOnNext(summary -> log.info("🤖 AI tool result: getSummary - Income=${}, Expenses=${}, Net=${} for {}/{}",
+                        summary.getTotalIncome(), summary.getTotalExpenses(), summary.getNetAmount(),
+                        summaryMonth, summaryYear))
+                .onErrorResume(e -> failed("getSummary", e, BudgetSummary::empty));
+    }
+
+    public Mono<Dashboard> getDashboard(Integer year, Integer month) {
+        int dashboardYear = year != null ? year : LocalDate.now().getYear();
+        int dashboardMonth = month != null ? month : LocalDate.now().getMonthValue();
+        log.info("🤖 AI calls tool: getDashboard - Building dashboard for {}/{}", dashboardMonth, dashboardYear);
+
+        // One reactive transaction, so the three views come from the same connection and snapshot
+        return Mono.zip(
+                        monthlyRollupRepository.findPeriodTotals(dashboardYear, dashboardMonth).map(PeriodTotals::toSummary),
+                        budgetRepository.findActiveBudgetsFor(dashboardYear, dashboardMonth).collectList(),
+                        monthlyRollupRepository.findSpendingForActiveBudgetsFor(dashboardYear, dashboardMonth)
+                                .collect(Collectors.toMap(BudgetSpending::getBudgetId, BudgetSpending::getSpent)),
+                        transactionRepository.findTop10ByOrderByCreatedAtDesc().map(TransactionItem::of).collectList())
+                .as(reactiveTransactionalOperator::transactional)
+                .map(views -> new Dashboard(dashboardYear, dashboardMonth, views.getT1(),
+                        views.getT2().stream()
+                                .map(budget -> BudgetStatus.of(budget,
+                                        views.getT3().getOrDefault(budget.getId(), BigDecimal.ZERO)))
+                                .toList(),
+                        views.getT4()))
+                .onErrorResume(e -> failed("getDashboard", e, () -> Dashboard.empty(dashboardYear, dashboardMonth)));
+    }
+
+    /**
+     * Answers rejected input with an error response, counted as a validation error by
+     * {@link ToolMetrics#timed(String, Mono)}.
+     */
+    private Mono<String> rejected(String response) {
+        return Mono.deferContextual(context -> {
+            ToolOutcome.report(context, ToolOutcome.VALIDATION_ERROR);
+            return Mono.just(toolResponses.error(response));
+        });
+    }
+
+    /**
+     * Logs a failed call and answers it with its fallback, counted as an exception by
+     * {@link ToolMetrics#timed(String, Mono)}.
+     */
+    private static <T> Mono<T> failed(String toolName, Throwable e, Supplier<T> fallback) {
+        log.error("🤖 AI tool call failed: {} - Error: {}", toolName, e.getMessage(), e);
+        return Mono.deferContextual(context -> {
+            ToolOutcome.report(context, ToolOutcome.EXCEPTION);
+            return Mono.just(fallback.get());
+        });
+    }
+
+    private <T> T argument(Map<String, Object> arguments, String name, Class<T> type) {
+        Object value = arguments.get(name);
+        return value == null ? null : objectMapper.convertValue(value, type);
+    }
+}
@@ -0,0 +1,128 @@
+package com.budgetserver.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A tool response template, parsed once into literal segments and typed slots.
+ * <p>
+ * Slots are written {@code {text}}, {@code {number}}, {@code {money}} (two decimals),
+ * {@code {percent}} (one decimal) and {@code {date}} ({@code "Jun 05, 2025"}). Rendering appends the
+ * segments and values to the caller's {@link StringBuilder}, so a whole list renders into one buffer
+ * without {@link java.util.Formatter}'s per-call pattern parsing. Numbers and dates use the same
+ * output on every locale.
+ */
+final class ResponseTemplate {
+
+    private static final String[] MONTHS = {
+        "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
+    };
+
+    private enum Slot { TEXT, NUMBER, MONEY, PERCENT, DATE }
+
+    private final String[] literals;
+    private final Slot[] slots;
+    private final int estimatedLength;
+
+    private ResponseTemplate(String[] literals, Slot[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.estimatedLength = length + 12 * slots.length;
+    }
+
+    static ResponseTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        List<Slot> slots = new ArrayList<>();
+        int start = 0;
+        int open;
+        while ((open = template.indexOf('{', start)) >= 0) {
+            int close = template.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed slot at " + open + " in template: " + template);
+            }
+            literals.add(template.substring(start, open));
+            slots.add(slot(template.substring(open + 1, close)));
+            start = close + 1;
+        }
+        literals.add(template.substring(start));
+        return new ResponseTemplate(literals.toArray(String[]::new), slots.toArray(Slot[]::new));
+    }
+
+    /**
+     * A size hint for a buffer that will hold {@code count} renderings of this template.
+     */
+    int estimatedLength(int count) {
+        return estimatedLength * count;
+    }
+
+    String render(Object... values) {
+        return appendTo(new StringBuilder(estimatedLength), values).toString();
+    }
+
+    /**
+     * @param values one per slot, in order: {@code String} (any object for {@code {text}}),
+     *               {@code Number}, {@code BigDecimal}, {@code BigDecimal}, {@code LocalDate}
+     */
+    StringBuilder appendTo(StringBuilder out, Object... values) {
+        if (values.length != slots.length) {
+            throw new IllegalArgumentException("Expected " + slots.length + " values, got " + values.length);
+        }
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            Object value = values[i];
+            switch (slots[i]) {
+                case TEXT -> out.append(value);
+                case NUMBER -> appendNumber(out, (Number) value);
+                case MONEY -> appendDecimal(out, (BigDecimal) value, 2);
+                case PERCENT -> appendDecimal(out, (BigDecimal) value, 1);
+                case DATE -> appendDate(out, (LocalDate) value);
+            }
+        }
+        return out.append(literals[slots.length]);
+    }
+
+    private static void appendNumber(StringBuilder out, Number value) {
+        if (value instanceof Integer || value instanceof Long) {
+            out.append(value.longValue());
+        } else {
+            out.append(value);
+        }
+    }
+
+    /**
+     * Same digits as {@code %.Nf} on a {@code BigDecimal}: half-up rounding, no grouping, no exponent.
+     */
+    private static void appendDecimal(StringBuilder out, BigDecimal value, int scale) {
+        out.append(value.setScale(scale, RoundingMode.HALF_UP).toPlainString());
+    }
+
+    /**
+     * {@code MMM dd, yyyy} in English, without a {@link java.time.format.DateTimeFormatter} pass per row.
+     */
+    private static void appendDate(StringBuilder out, LocalDate date) {
+        int day = date.getDayOfMonth();
+        out.append(MONTHS[date.getMonthValue() - 1]).append(' ');
+        if (day < 10) {
+            out.append('0');
+        }
+        out.append(day).append(", ").append(date.getYear());
+    }
+
+    private static Slot slot(String name) {
+        return switch (name) {
+            case "text" -> Slot.TEXT;
+            case "number" -> Slot.NUMBER;
+            case "money" -> Slot.MONEY;
+            case "percent" -> Slot.PERCENT;
+            case "date" -> Slot.DATE;
+            default -> throw new IllegalArgumentException("Unknown slot {" + name + "}");
+        };
+    }
+}
@@ -0,0 +1,178 @@
+package com.budgetserver.service;
+
+import com.budgetserver.entity.Transaction;
+import com.budgetserver.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Parses bank-statement CSV rows into transactions. Stateless, so chunks can be parsed in parallel.
+ * <p>
+ * Columns are {@code date,description,amount,category[,type]}, or any order when the file starts
+ * with a header naming them. Dates are ISO ({@code 2025-06-15}); amounts may carry a currency sign
+ * and thousands separators. Without a type column the sign decides: negative amounts are expenses,
+ * positive ones income.
+ */
+final class StatementCsvParser {
+
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+    private static final int MAX_CATEGORY_LENGTH = 100;
+    private static final int MAX_AMOUNT_INTEGER_DIGITS = 8;
+    private static final Pattern AMOUNT_NOISE = Pattern.compile("[$,\\s]");
+
+    private final int dateColumn;
+    private final int descriptionColumn;
+    private final int amountColumn;
+    private final int categoryColumn;
+    private final int typeColumn;
+
+    private StatementCsvParser(int dateColumn, int descriptionColumn, int amountColumn,
+                               int categoryColumn, int typeColumn) {
+        this.dateColumn = dateColumn;
+        this.descriptionColumn = descriptionColumn;
+        this.amountColumn = amountColumn;
+        this.categoryColumn = categoryColumn;
+        this.typeColumn = typeColumn;
+    }
+
+    /**
+     * A parser for the first line of a file: column positions come from it when it is a header,
+     * otherwise the default order applies and {@link #isHeader} is false.
+     */
+    static StatementCsvParser forFirstLine(String firstLine) {
+        List<String> names = split(firstLine).stream()
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        if (!names.contains("date") || !names.contains("amount")) {
+            return new StatementCsvParser(0, 1, 2, 3, 4);
+        }
+        return new StatementCsvParser(names.indexOf("date"), names.indexOf("description"),
+                names.indexOf("amount"), names.indexOf("category"), names.indexOf("type"));
+    }
+
+    boolean isHeader(String line) {
+        List<String> fields = split(line);
+        return dateColumn < fields.size() && fields.get(dateColumn).trim().equalsIgnoreCase("date");
+    }
+
+    /**
+     * @return the parsed row, carrying either a transaction or the reason it was rejected
+     */
+    ParsedRow parse(String line, long lineNumber) {
+        List<String> fields = split(line);
+        String dateField = field(fields, dateColumn);
+        String description = field(fields, descriptionColumn);
+        String amountField = field(fields, amountColumn);
+        String category = field(fields, categoryColumn);
+        String typeField = field(fields, typeColumn);
+
+        if (dateField.isEmpty() || description.isEmpty() || amountField.isEmpty() || category.isEmpty()) {
+            return ParsedRow.rejected(lineNumber, "Missing date, description, amount or category");
+        }
+
+        LocalDate date;
+        BigDecimal amount;
+        try {
+            date = LocalDate.parse(dateField);
+        } catch (DateTimeParseException e) {
+            return ParsedRow.rejected(lineNumber, "Invalid date, expected YYYY-MM-DD");
+        }
+        try {
+            amount = new BigDecimal(AMOUNT_NOISE.matcher(amountField).replaceAll("")).setScale(2, RoundingMode.HALF_UP);
+        } catch (NumberFormatException e) {
+            return ParsedRow.rejected(lineNumber, "Invalid amount");
+        }
+
+        TransactionType type;
+        if (typeField.isEmpty()) {
+            type = amount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+        } else {
+            try {
+                type = TransactionType.valueOf(typeField.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return ParsedRow.rejected(lineNumber, "Invalid transaction type, use INCOME or EXPENSE");
+            }
+        }
+        amount = amount.abs();
+
+        if (amount.signum() == 0) {
+            return ParsedRow.rejected(lineNumber, "Amount must be greater than 0");
+        }
+        if (amount.precision() - amount.scale() > MAX_AMOUNT_INTEGER_DIGITS) {
+            // NUMERIC(10,2) would fail the whole chunk's insert
+            return ParsedRow.rejected(lineNumber, "Amount too large");
+        }
+        if (category.length() > MAX_CATEGORY_LENGTH) {
+            return ParsedRow.rejected(lineNumber, "Category is longer than " + MAX_CATEGORY_LENGTH + " characters");
+        }
+        if (description.length() > MAX_DESCRIPTION_LENGTH) {
+            description = description.substring(0, MAX_DESCRIPTION_LENGTH);
+        }
+
+        return ParsedRow.accepted(lineNumber, Transaction.builder()
+                .amount(amount)
+                .description(description)
+                .category(category)
+                .type(type)
+                .date(date)
+                .build());
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column).trim() : "";
+    }
+
+    /**
+     * Splits one CSV line, honouring double-quoted fields and doubled quotes inside them.
+     */
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    record ParsedRow(long lineNumber, Transaction transaction, String error) {
+
+        static ParsedRow accepted(long lineNumber, Transaction transaction) {
+            return new ParsedRow(lineNumber, transaction, null);
+        }
+
+        static ParsedRow rejected(long lineNumber, String error) {
+            return new ParsedRow(lineNumber, null, error);
+        }
+
+        boolean isAccepted() {
+            return transaction != null;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.budgetserver.service;
+
+import com.budgetserver.cache.SummaryCache;
+import com.budgetserver.dto.DatasetReport;
+import com.budgetserver.dto.DatasetSpec;
+import com.budgetserver.entity.Transaction;
+import com.budgetserver.entity.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Writes a reproducible budget dataset straight into the database, for load tests and benchmarks.
+ * <p>
+ * Transactions are spread uniformly over the spec's months. Each expense category has its own
+ * share of the rows and a log-normal amount distribution (many small grocery bills, few large rent
+ * payments); about one row in twenty is income. Rows are inserted with JDBC batches, one database
+ * transaction per chunk, with the monthly rollups updated in the same transaction. One seeded
+ * random stream drives everything, so a spec always yields the same rows.
+ * <p>
+ * Starting the server with {@code --app.synthetic-data.transactions=N} generates N rows on startup
+ * when the database has no transactions yet.
+ */
+@Service
+@Slf4j
+public class SyntheticDataGenerator {
+
+    private static final int CHUNK_SIZE = 5_000;
+    private static final double INCOME_SHARE = 0.05;
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("50000.00");
+    private static final String NOTES = "Synthetic dataset";
+
+    private record Profile(String category, double weight, double median, double sigma, List<String> descriptions) {
+
+        double mean() {
+            return median * Math.exp(sigma * sigma / 2);
+        }
+    }
+
+    private static final List<Profile> EXPENSES = List.of(
+            new Profile("Food", 0.30, 25, 0.6, List.of("Grocery store", "Restaurant", "Coffee shop", "Bakery")),
+            new Profile("Transport", 0.15, 15, 0.7, List.of("Fuel", "Train ticket", "Taxi", "Parking")),
+            new Profile("Shopping", 0.14, 40, 1.0, List.of("Clothing", "Electronics", "Online order", "Home goods")),
+            new Profile("Entertainment", 0.10, 35, 0.8, List.of("Cinema", "Concert", "Streaming", "Games")),
+            new Profile("Utilities", 0.06, 80, 0.4, List.of("Electricity", "Water", "Internet", "Phone")),
+            new Profile("Health", 0.06, 45, 0.9, List.of("Pharmacy", "Doctor visit", "Dentist", "Gym")),
+            new Profile("Travel", 0.05, 180, 0.9, List.of("Hotel", "Flight", "Car rental", "Tour")),
+            new Profile("Housing", 0.04, 900, 0.3, List.of("Rent", "Repairs", "Furniture", "Insurance")));
+
+    private static final List<Profile> INCOME = List.of(
+            new Profile("Salary", 0.8, 2500, 0.15, List.of("Monthly salary")),
+            new Profile("Freelance", 0.2, 400, 0.7, List.of("Client invoice", "Consulting")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MonthlyRollupService monthlyRollupService;
+    private final SummaryCache summaryCache;
+    private final int startupTransactions;
+    private final long startupSeed;
+
+    public SyntheticDataGenerator(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            MonthlyRollupService monthlyRollupService,
+            SummaryCache summaryCache,
+            @Value("${app.synthetic-data.transactions:0}") int startupTransactions,
+            @Value("${app.synthetic-data.seed:42}") long startupSeed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.monthlyRollupService = monthlyRollupService;
+        this.summaryCache = summaryCache;
+        this.startupTransactions = startupTransactions;
+        this.startupSeed = startupSeed;
+    }
+
+    public DatasetReport generate(DatasetSpec spec) {
+        if (spec.getTransactions() < 0 || spec.getMonths() <= 0) {
+            throw new IllegalArgumentException("A dataset needs a non-negative row count and at least one month");
+        }
+        long start = System.currentTimeMillis();
+        if (spec.isReplace()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM transactions");
+                jdbcTemplate.update("DELETE FROM monthly_rollups");
+                jdbcTemplate.update("DELETE FROM budgets");
+            });
+        }
+
+        SplittableRandom random = new SplittableRandom(spec.getSeed());
+        List<Transaction> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < spec.getTransactions(); i++) {
+            chunk.add(transaction(random, spec));
+            if (chunk.size() == CHUNK_SIZE) {
+                write(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk);
+        }
+
+        int budgets = spec.isBudgets() ? writeBudgets(random, spec) : 0;
+        summaryCache.evictAll();
+
+        DatasetReport report = DatasetReport.builder()
+                .seed(spec.getSeed())
+                .transactions(spec.getTransactions())
+                .budgets(budgets)
+                .durationMs(System.currentTimeMillis() - start)
+                .build();
+        log.info("🧪 Generated {} transactions and {} budgets (seed {}) in {} ms ({} rows/s)",
+                report.getTransactions(), report.getBudgets(), report.getSeed(), report.getDurationMs(),
+                report.getRowsPerSecond());
+        return report;
+    }
+
+    /**
+     * Seeds an empty database when the server is started with {@code app.synthetic-data.transactions}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void generateOnStartup() {
+        if (startupTransactions <= 0) {
+            return;
+        }
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("🧪 Skipping synthetic data: the database already holds {} transactions", existing);
+            return;
+        }
+        generate(DatasetSpec.builder().seed(startupSeed).transactions(startupTransactions).build());
+    }
+
+    private Transaction transaction(SplittableRandom random, DatasetSpec spec) {
+        boolean income = random.nextDouble() < INCOME_SHARE;
+        Profile profile = pick(random, income ? INCOME : EXPENSES);
+        YearMonth month = spec.getFirstMonth().plusMonths(random.nextInt(spec.getMonths()));
+        return Transaction.builder()
+                .amount(amount(random, profile))
+                .description(profile.descriptions().get(random.nextInt(profile.descriptions().size())))
+                .category(profile.category())
+                .type(income ? TransactionType.INCOME : TransactionType.EXPENSE)
+                .date(month.atDay(1 + random.nextInt(month.lengthOfMonth())))
+                .build();
+    }
+
+    private static Profile pick(SplittableRandom random, List<Profile> profiles) {
+        double point = random.nextDouble();
+        for (Profile profile : profiles) {
+            point -= profile.weight() / totalWeight(profiles);
+            if (point < 0) {
+                return profile;
+            }
+        }
+        return profiles.getLast();
+    }
+
+    private static double totalWeight(List<Profile> profiles) {
+        double total = 0;
+        for (Profile profile : profiles) {
+            total += profile.weight();
+        }
+        return total;
+    }
+
+    private static BigDecimal amount(SplittableRandom random, Profile profile) {
+        double value = profile.median() * Math.exp(profile.sigma() * random.nextGaussian());
+        BigDecimal amount = BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+        return amount.signum() > 0 ? amount.min(MAX_AMOUNT) : new BigDecimal("0.01");
+    }
+
+    private void write(List<Transaction> transactions) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("INSERT INTO transactions (amount, description, date, category, type, " +
+                            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    transactions, transactions.size(), (statement, transaction) -> {
+                        statement.setBigDecimal(1, transaction.getAmount());
+                        statement.setString(2, transaction.getDescription());
+                        statement.setDate(3, Date.valueOf(transaction.getDate()));
+                        statement.setString(4, transaction.getCategory());
+                        statement.setString(5, transaction.getType().name());
+                        statement.setTimestamp(6, now);
+                        statement.setTimestamp(7, now);
+                    });
+            monthlyRollupService.recordAll(transactions);
+        });
+    }
+
+    /**
+     * One budget per expense category and month, around that category's expected monthly spending,
+     * so some months end under budget and some over it.
+     */
+    private int writeBudgets(SplittableRandom random, DatasetSpec spec) {
+        double rowsPerMonth = (double) spec.getTransactions() / spec.getMonths() * (1 - INCOME_SHARE);
+        double totalWeight = totalWeight(EXPENSES);
+        List<Object[]> rows = new ArrayList<>(spec.getMonths() * EXPENSES.size());
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int m = 0; m < spec.getMonths(); m++) {
+            LocalDate month = spec.getFirstMonth().plusMonths(m).atDay(1);
+            for (Profile profile : EXPENSES) {
+                double expected = rowsPerMonth * profile.weight() / totalWeight * profile.mean();
+                BigDecimal limit = BigDecimal.valueOf(Math.max(10, expected * (0.8 + 0.5 * random.nextDouble())))
+                        .setScale(-1, RoundingMode.HALF_UP).setScale(2, RoundingMode.UNNECESSARY);
+                rows.add(new Object[]{profile.category(), limit, month.getYear(), month.getMonthValue(),
+                        NOTES, BigDecimal.valueOf(80), true, now, now});
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                "INSERT INTO budgets (category, monthly_limit, budget_year, budget_month, notes, alert_threshold, " +
+                        "is_active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows));
+        return rows.size();
+    }
+}
@@ -0,0 +1,136 @@
+package com.budgetserver.service;
+
+import com.budgetserver.dto.BudgetItem;
+import com.budgetserver.dto.BudgetStatus;
+import com.budgetserver.dto.BudgetSummary;
+import com.budgetserver.dto.SpendingSummary;
+import com.budgetserver.dto.TransactionBatchResult;
+import com.budgetserver.dto.TransactionItem;
+import com.budgetserver.execution.ToolOutcome;
+import com.budgetserver.entity.Budget;
+import com.budgetserver.entity.Transaction;
+import com.budgetserver.service.TransactionInputs.BatchItem;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Renders the results of the text-returning tools in the server-wide {@code app.tool-output.format}:
+ * {@code text} answers with the formatted {@link BudgetResponses} texts, {@code json} with the
+ * typed DTOs serialized as compact JSON, which costs fewer tokens and parses on direct MCP callers.
+ * Errors become {@code {"error": "..."}} in JSON mode.
+ */
+@Component
+class ToolResponses {
+
+    private static final String ERROR_PREFIX = "❌ ";
+
+    private final ObjectMapper objectMapper;
+    private final boolean json;
+
+    ToolResponses(ObjectMapper objectMapper, @Value("${app.tool-output.format:text}") String format) {
+        this.objectMapper = objectMapper;
+        this.json = switch (format.toLowerCase()) {
+            case "text" -> false;
+            case "json" -> true;
+            default -> throw new IllegalArgumentException(
+                    "app.tool-output.format must be 'text' or 'json', got: " + format);
+        };
+    }
+
+    /**
+     * Also reports the call as a {@link ToolOutcome#VALIDATION_ERROR}, unless it already failed with an exception.
+     *
+     * @param message an error response as written for text mode, e.g. {@code "❌ Amount must be greater than 0"}
+     */
+    String error(String message) {
+        ToolOutcome.report(ToolOutcome.VALIDATION_ERROR);
+        if (!json) {
+            return message;
+        }
+        return toJson(Map.of("error", stripErrorPrefix(message)));
+    }
+
+    String budgetCreated(Budget budget) {
+        return json ? toJson(BudgetItem.of(budget)) : BudgetResponses.budgetCreated(budget.getCategory(),
+                budget.getMonthlyLimit(), budget.getBudgetMonth(), budget.getBudgetYear(),
+                budget.getAlertThreshold(), budget.getNotes());
+    }
+
+    String budgetExists(String category, int month, int year, BigDecimal currentLimit) {
+        return error(BudgetResponses.budgetExists(category, month, year, currentLimit));
+    }
+
+    /**
+     * @param type the type as the caller wrote it, echoed back in text mode
+     */
+    String transactionAdded(Transaction transaction, String type) {
+        return json ? toJson(TransactionItem.of(transaction)) : BudgetResponses.transactionAdded(
+                transaction.getType(), transaction.getAmount(), transaction.getDescription(),
+                transaction.getCategory(), transaction.getDate(), type);
+    }
+
+    String transactionsAdded(List<BatchItem> items) {
+        int added = (int) items.stream().filter(BatchItem::isValid).count();
+        if (json) {
+            List<TransactionItem> transactions = new ArrayList<>(added);
+            List<String> errors = new ArrayList<>(items.size() - added);
+            for (int i = 0; i < items.size(); i++) {
+                BatchItem item = items.get(i);
+                if (item.isValid()) {
+                    transactions.add(TransactionItem.of(item.transaction()));
+                } else {
+                    errors.add((i + 1) + ": " + stripErrorPrefix(item.error()));
+                }
+            }
+            return toJson(new TransactionBatchResult(added, items.size() - added, transactions, errors));
+        }
+        List<String> results = items.stream()
+                .map(item -> item.isValid() ? BudgetResponses.transactionLine(item.transaction()) : item.error())
+                .toList();
+        return BudgetResponses.transactionsAdded(added, results);
+    }
+
+    String activeBudgets(List<Budget> budgets, Function<Budget, BigDecimal> spentFor) {
+        if (json) {
+            return toJson(budgets.stream().map(budget -> BudgetStatus.of(budget, spentFor.apply(budget))).toList());
+        }
+        return budgets.isEmpty() ? BudgetResponses.NO_ACTIVE_BUDGETS : BudgetResponses.activeBudgets(budgets, spentFor);
+    }
+
+    String categorySpending(String category, int month, int year, BigDecimal spent, long transactionCount) {
+        return json ? toJson(SpendingSummary.ofCategory(year, month, category, spent, transactionCount))
+                : BudgetResponses.categorySpending(category, month, year, spent, transactionCount);
+    }
+
+    String monthlySummary(int month, int year, BudgetSummary summary) {
+        return json ? toJson(SpendingSummary.ofMonth(year, month, summary))
+                : BudgetResponses.monthlySummary(month, year, summary);
+    }
+
+    String recentTransactions(List<Transaction> transactions) {
+        if (json) {
+            return toJson(transactions.stream().map(TransactionItem::of).toList());
+        }
+        return transactions.isEmpty() ? BudgetResponses.NO_TRANSACTIONS : BudgetResponses.recentTransactions(transactions);
+    }
+
+    private static String stripErrorPrefix(String message) {
+        return message.startsWith(ERROR_PREFIX) ? message.substring(ERROR_PREFIX.length()) : message;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize tool response " + value.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.budgetserver.service;
+
+import com.budgetserver.dto.TransactionRequest;
+import com.budgetserver.entity.Transaction;
+import com.budgetserver.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Validation and conversion of transaction tool arguments, shared by every tool that records
+ * transactions so single and batch calls accept and reject exactly the same input.
+ */
+final class TransactionInputs {
+
+    // Column limits of the transactions table; longer values would fail the insert
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+    private static final int MAX_CATEGORY_LENGTH = 100;
+    private static final int MAX_AMOUNT_INTEGER_DIGITS = 8;
+
+    private TransactionInputs() {
+    }
+
+    /**
+     * @throws InvalidTransactionException when the input is rejected, carrying the tool response;
+     *         missing and malformed arguments are rejected here rather than failing further down
+     */
+    static Transaction toTransaction(BigDecimal amount, String description, String category,
+                                     String type, String date) {
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new InvalidTransactionException("❌ Amount must be greater than 0");
+        }
+        if (amount.precision() - amount.scale() > MAX_AMOUNT_INTEGER_DIGITS) {
+            throw new InvalidTransactionException("❌ Amount too large");
+        }
+        if (description == null) {
+            throw new InvalidTransactionException("❌ Description is required");
+        }
+        if (description.length() > MAX_DESCRIPTION_LENGTH) {
+            throw new InvalidTransactionException(
+                "❌ Description is longer than " + MAX_DESCRIPTION_LENGTH + " characters");
+        }
+        if (category == null) {
+            throw new InvalidTransactionException("❌ Category is required");
+        }
+        if (category.length() > MAX_CATEGORY_LENGTH) {
+            throw new InvalidTransactionException("❌ Category is longer than " + MAX_CATEGORY_LENGTH + " characters");
+        }
+
+        LocalDate transactionDate;
+        try {
+            transactionDate = date != null
+                ? LocalDate.parse(date, DateTimeFormatter.ISO_LOCAL_DATE)
+                : LocalDate.now();
+        } catch (DateTimeParseException e) {
+            throw new InvalidTransactionException("❌ Invalid date: " + date + ". Use YYYY-MM-DD");
+        }
+
+        if (type == null) {
+            throw new InvalidTransactionException(BudgetResponses.INVALID_TRANSACTION_TYPE);
+        }
+        TransactionType transactionType;
+        try {
+            transactionType = TransactionType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTransactionException(BudgetResponses.INVALID_TRANSACTION_TYPE);
+        }
+
+        return Transaction.builder()
+            .amount(amount)
+            .description(description)
+            .category(category)
+            .type(transactionType)
+            .date(transactionDate)
+            .build();
+    }
+
+    /**
+     * Converts every item of a batch call. Rejected items keep their position and carry their response.
+     */
+    static List<BatchItem> toTransactions(List<TransactionRequest> requests) {
+        List<BatchItem> items = new ArrayList<>(requests.size());
+        for (TransactionRequest request : requests) {
+            try {
+                items.add(new BatchItem(toTransaction(request.getAmount(), request.getDescription(),
+                    request.getCategory(), request.getType(), request.getDate()), null));
+            } catch (InvalidTransactionException e) {
+                items.add(new BatchItem(null, e.getMessage()));
+            } catch (Exception e) {
+                items.add(new BatchItem(null, "❌ Error: " + e.getMessage()));
+            }
+        }
+        return items;
+    }
+
+    record BatchItem(Transaction transaction, String error) {
+
+        boolean isValid() {
+            return transaction != null;
+        }
+    }
+
+    static final class InvalidTransactionException extends RuntimeException {
+
+        InvalidTransactionException(String response) {
+            super(response);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.budgetserver.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the most recent spans in memory for {@code /actuator/mcp-traces}.
+ */
+@Component
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final int maxSpans;
+    private final Deque<Span> spans = new ArrayDeque<>();
+
+    public InMemorySpanExporter(@Value("${app.tracing.in-memory.max-spans:2000}") int maxSpans) {
+        this.maxSpans = maxSpans;
+    }
+
+    @Override
+    public synchronized void export(List<Span> finished) {
+        for (Span span : finished) {
+            if (spans.size() == maxSpans) {
+                spans.removeFirst();
+            }
+            spans.addLast(span);
+        }
+    }
+
+    /**
+     * Retained spans grouped by trace, most recent trace first.
+     */
+    public synchronized Map<String, List<Span>> traces(int limit) {
+        Map<String, List<Span>> traces = new LinkedHashMap<>();
+        spans.descendingIterator().forEachRemaining(span -> {
+            if (traces.containsKey(span.traceId()) || traces.size() < limit) {
+                traces.computeIfAbsent(span.traceId(), id -> new ArrayList<>()).addFirst(span);
+            }
+        });
+        return traces;
+    }
+
+    public synchronized List<Span> trace(String traceId) {
+        return spans.stream().filter(span -> span.traceId().equals(traceId)).toList();
+    }
+
+    public synchronized int size() {
+        return spans.size();
+    }
+}
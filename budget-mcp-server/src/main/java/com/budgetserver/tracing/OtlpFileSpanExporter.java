@@ -0,0 +1,91 @@
+package com.budgetserver.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends spans to {@code app.tracing.otlp-file} in the OTLP/JSON file format, one
+ * {@code ExportTraceServiceRequest} per line, so the OpenTelemetry Collector's {@code otlpjsonfile}
+ * receiver (or any OTLP/JSON tool) can load them.
+ */
+@Component
+@ConditionalOnProperty(name = "app.tracing.otlp-file")
+@Slf4j
+public class OtlpFileSpanExporter implements SpanExporter {
+
+    private static final int SPAN_KIND_SERVER = 2;
+    private static final int SPAN_KIND_CLIENT = 3;
+
+    private final Path file;
+    private final String serviceName;
+    private final ObjectMapper objectMapper;
+
+    public OtlpFileSpanExporter(
+            @Value("${app.tracing.otlp-file}") Path file,
+            @Value("${spring.application.name:budget-mcp-server}") String serviceName,
+            ObjectMapper objectMapper) {
+        this.file = file;
+        this.serviceName = serviceName;
+        this.objectMapper = objectMapper;
+        log.info("🔎 Exporting tool call traces to {}", file.toAbsolutePath());
+    }
+
+    @Override
+    public void export(List<Span> spans) {
+        try {
+            String line = objectMapper.writeValueAsString(otlp(serviceName, spans)) + System.lineSeparator();
+            synchronized (this) {
+                Files.writeString(file, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        } catch (IOException e) {
+            log.warn("🔎 Could not export {} spans to {}: {}", spans.size(), file, e.getMessage());
+        }
+    }
+
+    static Map<String, Object> otlp(String serviceName, List<Span> spans) {
+        List<Map<String, Object>> otlpSpans = new ArrayList<>(spans.size());
+        for (Span span : spans) {
+            otlpSpans.add(Map.of(
+                    "traceId", span.traceId(),
+                    "spanId", span.spanId(),
+                    "parentSpanId", span.parentSpanId() != null ? span.parentSpanId() : "",
+                    "name", span.name(),
+                    "kind", span.name().startsWith(ToolTrace.DB_SPAN_PREFIX) ? SPAN_KIND_CLIENT : SPAN_KIND_SERVER,
+                    "startTimeUnixNano", String.valueOf(span.startEpochNanos()),
+                    "endTimeUnixNano", String.valueOf(span.endEpochNanos()),
+                    "attributes", attributes(span.attributes())));
+        }
+        return Map.of("resourceSpans", List.of(Map.of(
+                "resource", Map.of("attributes", attributes(Map.of("service.name", serviceName))),
+                "scopeSpans", List.of(Map.of(
+                        "scope", Map.of("name", "com.budgetserver.tracing"),
+                        "spans", otlpSpans)))));
+    }
+
+    private static List<Map<String, Object>> attributes(Map<String, Object> attributes) {
+        return attributes.entrySet().stream()
+                .map(attribute -> Map.<String, Object>of("key", attribute.getKey(), "value", value(attribute.getValue())))
+                .toList();
+    }
+
+    private static Map<String, Object> value(Object value) {
+        return switch (value) {
+            case Boolean bool -> Map.of("boolValue", bool);
+            case Integer number -> Map.of("intValue", String.valueOf(number));
+            case Long number -> Map.of("intValue", String.valueOf(number));
+            case Number number -> Map.of("doubleValue", number.doubleValue());
+            default -> Map.of("stringValue", String.valueOf(value));
+        };
+    }
+}
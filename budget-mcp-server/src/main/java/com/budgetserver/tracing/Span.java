@@ -0,0 +1,14 @@
+package com.budgetserver.tracing;
+
+import java.util.Map;
+
+/**
+ * A finished span. Times are nanoseconds since the epoch, as in OTLP.
+ */
+public record Span(String traceId, String spanId, String parentSpanId, String name,
+                   long startEpochNanos, long endEpochNanos, Map<String, Object> attributes) {
+
+    public double durationMillis() {
+        return (endEpochNanos - startEpochNanos) / 1_000_000.0;
+    }
+}
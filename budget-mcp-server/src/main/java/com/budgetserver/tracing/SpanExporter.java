@@ -0,0 +1,11 @@
+package com.budgetserver.tracing;
+
+import java.util.List;
+
+/**
+ * Receives the spans of each traced tool call once it ends.
+ */
+public interface SpanExporter {
+
+    void export(List<Span> spans);
+}
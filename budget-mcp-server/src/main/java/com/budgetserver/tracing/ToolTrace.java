@@ -0,0 +1,115 @@
+package com.budgetserver.tracing;
+
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocationResult.State;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The spans of one tool call, collected on the thread running its body: the tool span, under the
+ * caller's span when the request carried a {@code traceparent}, and a child span per repository call.
+ */
+final class ToolTrace {
+
+    static final String DB_SPAN_PREFIX = "db ";
+
+    private static final ThreadLocal<ToolTrace> CURRENT = new ThreadLocal<>();
+
+    private final TraceParent parent;
+    private final String spanId = TraceParent.newSpanId();
+    private final String name;
+    private final long startEpochNanos;
+    private final long startNanos;
+    private final List<Span> spans = new ArrayList<>();
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+    private long dbNanos;
+    private long endNanos;
+
+    private ToolTrace(TraceParent parent, String name) {
+        this.parent = parent;
+        this.name = name;
+        Instant now = Instant.now();
+        this.startEpochNanos = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Starts tracing a tool call on the current thread; a null parent starts a new trace.
+     */
+    static ToolTrace begin(TraceParent parent, String name) {
+        ToolTrace trace = start(parent, name);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /**
+     * Starts tracing a tool call that is not tied to one thread, such as a reactive one. Its
+     * repository calls are not recorded.
+     */
+    static ToolTrace start(TraceParent parent, String name) {
+        return new ToolTrace(parent != null ? parent : new TraceParent(TraceParent.root().traceId(), null), name);
+    }
+
+    /**
+     * Records a repository call as a child of the tool span running on this thread, if any.
+     */
+    static void recordRepositoryCall(RepositoryMethodInvocation invocation) {
+        ToolTrace trace = CURRENT.get();
+        if (trace == null) {
+            return;
+        }
+        long durationNanos = invocation.getDuration(TimeUnit.NANOSECONDS);
+        long endNanos = System.nanoTime();
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("db.system", "h2");
+        attributes.put("code.function", invocation.getMethod().getName());
+        if (invocation.getResult().getState() != State.SUCCESS) {
+            attributes.put("error", true);
+        }
+        trace.dbNanos += durationNanos;
+        trace.spans.add(new Span(trace.parent.traceId(), TraceParent.newSpanId(), trace.spanId,
+                DB_SPAN_PREFIX + invocation.getRepositoryInterface().getSimpleName() + "." + invocation.getMethod().getName(),
+                trace.epochNanos(endNanos - durationNanos), trace.epochNanos(endNanos), attributes));
+    }
+
+    void attribute(String key, Object value) {
+        attributes.put(key, value);
+    }
+
+    /**
+     * Ends the tool span and detaches the trace from the current thread.
+     */
+    void end() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+        endNanos = System.nanoTime();
+        spans.addFirst(new Span(parent.traceId(), spanId, parent.spanId(), name,
+                startEpochNanos, epochNanos(endNanos), attributes));
+    }
+
+    List<Span> spans() {
+        return spans;
+    }
+
+    /**
+     * Stage timings handed back to the caller in the result {@code _meta}.
+     */
+    Map<String, Object> timings() {
+        Map<String, Object> timings = new LinkedHashMap<>();
+        timings.put("traceId", parent.traceId());
+        timings.put("toolMs", (endNanos - startNanos) / 1_000_000.0);
+        timings.put("dbMs", dbNanos / 1_000_000.0);
+        timings.put("dbCalls", spans.size() - 1);
+        return timings;
+    }
+
+    private long epochNanos(long nanoTime) {
+        return startEpochNanos + (nanoTime - startNanos);
+    }
+}
@@ -0,0 +1,94 @@
+package com.budgetserver.tracing;
+
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Traces tool calls. The caller's trace context is read from the {@code traceparent} entry of the
+ * request {@code _meta}; the tool's own and database time go back in the result {@code _meta}
+ * under {@value #TIMINGS_KEY}, and every span is handed to the {@link SpanExporter}s.
+ */
+@Component
+@Slf4j
+public class ToolTracer {
+
+    public static final String TIMINGS_KEY = "timings";
+
+    private final List<SpanExporter> exporters;
+
+    public ToolTracer(List<SpanExporter> exporters) {
+        this.exporters = exporters;
+    }
+
+    /**
+     * Runs a tool call on the current thread inside a {@code mcp.tools/call} span.
+     */
+    public CallToolResult trace(String toolName, Map<String, Object> requestMeta, Supplier<CallToolResult> call) {
+        TraceParent parent = requestMeta != null ? TraceParent.parse(requestMeta.get(TraceParent.KEY)) : null;
+        ToolTrace trace = ToolTrace.begin(parent, "mcp.tools/call " + toolName);
+        trace.attribute("mcp.tool.name", toolName);
+        CallToolResult result;
+        try {
+            result = call.get();
+            if (Boolean.TRUE.equals(result.isError())) {
+                trace.attribute("error", true);
+            }
+        } catch (RuntimeException e) {
+            trace.attribute("error", true);
+            throw e;
+        } finally {
+            trace.end();
+            export(trace.spans());
+        }
+        return withTimings(result, trace);
+    }
+
+    /**
+     * Traces a reactive tool call from subscription to result inside a {@code mcp.tools/call} span.
+     * Its body may run on any thread, so the span has no repository children.
+     */
+    public Mono<CallToolResult> trace(String toolName, Map<String, Object> requestMeta, Mono<CallToolResult> call) {
+        return Mono.defer(() -> {
+            TraceParent parent = requestMeta != null ? TraceParent.parse(requestMeta.get(TraceParent.KEY)) : null;
+            ToolTrace trace = ToolTrace.start(parent, "mcp.tools/call " + toolName);
+            trace.attribute("mcp.tool.name", toolName);
+            return call
+                    .map(result -> {
+                        if (Boolean.TRUE.equals(result.isError())) {
+                            trace.attribute("error", true);
+                        }
+                        trace.end();
+                        export(trace.spans());
+                        return withTimings(result, trace);
+                    })
+                    .doOnError(e -> {
+                        trace.attribute("error", true);
+                        trace.end();
+                        export(trace.spans());
+                    });
+        });
+    }
+
+    private static CallToolResult withTimings(CallToolResult result, ToolTrace trace) {
+        Map<String, Object> meta = new LinkedHashMap<>(result.meta() != null ? result.meta() : Map.of());
+        meta.put(TIMINGS_KEY, trace.timings());
+        return new CallToolResult(result.content(), result.isError(), result.structuredContent(), meta);
+    }
+
+    private void export(List<Span> spans) {
+        for (SpanExporter exporter : exporters) {
+            try {
+                exporter.export(spans);
+            } catch (RuntimeException e) {
+                log.warn("🔎 Span exporter {} failed: {}", exporter.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.budgetserver.tracing;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * A W3C {@code traceparent} value, as carried in the {@code _meta} of MCP tool-call requests.
+ */
+public record TraceParent(String traceId, String spanId) {
+
+    public static final String KEY = "traceparent";
+
+    private static final Pattern FORMAT = Pattern.compile("00-([0-9a-f]{32})-([0-9a-f]{16})-[0-9a-f]{2}");
+
+    /**
+     * @return the parsed value, or null when it is missing or malformed
+     */
+    public static TraceParent parse(Object value) {
+        if (!(value instanceof String text)) {
+            return null;
+        }
+        var matcher = FORMAT.matcher(text);
+        return matcher.matches() ? new TraceParent(matcher.group(1), matcher.group(2)) : null;
+    }
+
+    /**
+     * Starts a new trace.
+     */
+    public static TraceParent root() {
+        return new TraceParent(randomHex(16), newSpanId());
+    }
+
+    public static String newSpanId() {
+        return randomHex(8);
+    }
+
+    public String header() {
+        return "00-" + traceId + "-" + spanId + "-01";
+    }
+
+    private static String randomHex(int bytes) {
+        byte[] id = new byte[bytes];
+        ThreadLocalRandom.current().nextBytes(id);
+        return HexFormat.of().formatHex(id);
+    }
+}
@@ -0,0 +1,28 @@
+package com.budgetserver.tracing;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Adds a span per repository method call made while a tool call is traced, the same hook
+     * Spring Boot uses for its repository metrics.
+     */
+    @Bean
+    static BeanPostProcessor repositoryTracing() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactory) {
+                    repositoryFactory.addRepositoryFactoryCustomizer(
+                            factory -> factory.addInvocationListener(ToolTrace::recordRepositoryCall));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+-- Baseline schema: the tables Hibernate used to create through ddl-auto. Databases created
+-- that way are adopted at this version (baseline-on-migrate) and pick up everything after it.
+
+CREATE TABLE budgets (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    category        VARCHAR(100)   NOT NULL,
+    monthly_limit   NUMERIC(10, 2) NOT NULL,
+    budget_year     INTEGER        NOT NULL,
+    budget_month    INTEGER        NOT NULL,
+    notes           VARCHAR(500),
+    alert_threshold NUMERIC(5, 2),
+    is_active       BOOLEAN        NOT NULL,
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6)
+);
+
+CREATE TABLE transactions (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    amount      NUMERIC(10, 2) NOT NULL,
+    description VARCHAR(255)   NOT NULL,
+    date        DATE           NOT NULL,
+    category    VARCHAR(100)   NOT NULL,
+    type        VARCHAR(20)    NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
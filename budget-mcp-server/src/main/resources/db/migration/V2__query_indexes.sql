@@ -0,0 +1,17 @@
+-- Indexes backing the repository queries. Keep in sync with the @Table(indexes = ...) declarations.
+
+-- sumExpensesByCategoryAndDateBetween, findByCategoryAndDateBetween (category prefix),
+-- sumExpensesForActiveBudgets join
+CREATE INDEX idx_transactions_category_type_date ON transactions (category, type, date);
+
+-- sumByTypeAndDateBetween
+CREATE INDEX idx_transactions_type_date ON transactions (type, date);
+
+-- findTop10ByOrderByCreatedAtDesc
+CREATE INDEX idx_transactions_created_at ON transactions (created_at);
+
+-- findByCategoryAndBudgetYearAndBudgetMonthAndIsActive
+CREATE INDEX idx_budgets_category_period ON budgets (category, budget_year, budget_month, is_active);
+
+-- findAllActiveBudgets
+CREATE INDEX idx_budgets_active_category ON budgets (is_active, category);
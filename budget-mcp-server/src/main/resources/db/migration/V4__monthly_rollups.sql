@@ -0,0 +1,17 @@
+-- Per (category, type, month) totals kept in step with transactions by MonthlyRollupService.
+-- Databases that already hold transactions are backfilled from them at startup.
+
+CREATE TABLE monthly_rollups (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    category          VARCHAR(100)   NOT NULL,
+    type              VARCHAR(20)    NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    rollup_year       INTEGER        NOT NULL,
+    rollup_month      INTEGER        NOT NULL,
+    total_amount      NUMERIC(15, 2) NOT NULL,
+    transaction_count BIGINT         NOT NULL,
+    updated_at        TIMESTAMP(6),
+    CONSTRAINT uk_monthly_rollups_key UNIQUE (category, type, rollup_year, rollup_month)
+);
+
+-- sumByTypeAndPeriod
+CREATE INDEX idx_monthly_rollups_period_type ON monthly_rollups (rollup_year, rollup_month, type);
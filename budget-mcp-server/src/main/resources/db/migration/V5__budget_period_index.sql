@@ -0,0 +1,2 @@
+-- findActiveBudgetsFor, findSpendingForActiveBudgetsFor (the month's budgets for getDashboard)
+CREATE INDEX idx_budgets_period ON budgets (budget_year, budget_month, is_active);
@@ -1,10 +1,14 @@
 package com.budgetserver.actuator;
 
+import com.budgetserver.execution.ToolMetrics;
+import com.budgetserver.execution.ToolOutcome;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.ai.tool.ToolCallback;
 import org.springframework.ai.tool.ToolCallbackProvider;
@@ -35,6 +39,9 @@ class McpToolsEndpointTest {
     @Mock
     private ToolDefinition toolDefinition2;
 
+    @Spy
+    private ToolMetrics toolMetrics = new ToolMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private McpToolsEndpoint mcpToolsEndpoint;
 
@@ -84,6 +91,34 @@ class McpToolsEndpointTest {
         verify(toolCallback2, atLeast(1)).getToolDefinition();
     }
 
+    @Test
+    @DisplayName("Should report calls, error rate and latency percentiles per tool")
+    void getAllTools_AfterToolCalls_ShouldIncludeCallMetrics() {
+        // Given
+        setupMockToolsWithCallbacks();
+        when(toolCallbackProvider.getToolCallbacks()).thenReturn(new ToolCallback[]{toolCallback1, toolCallback2});
+        toolMetrics.record("createBudget", () -> "✅ Budget created");
+        toolMetrics.record("createBudget", () -> {
+            ToolOutcome.report(ToolOutcome.VALIDATION_ERROR);
+            return "❌ Monthly limit must be greater than 0";
+        });
+
+        // When
+        Map<String, Object> result = mcpToolsEndpoint.getAllTools();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> tools = (List<Map<String, Object>>) result.get("tools");
+        Map<String, Object> createBudget = tools.get(0);
+        assertThat(createBudget.get("calls")).isEqualTo(2L);
+        assertThat(createBudget.get("errorRate")).isEqualTo(0.5);
+        assertThat(createBudget.get("p50Ms")).isNotNull();
+        assertThat(createBudget.get("p99Ms")).isNotNull();
+        Map<String, Object> addTransaction = tools.get(1);
+        assertThat(addTransaction.get("calls")).isEqualTo(0L);
+        assertThat(addTransaction.get("p99Ms")).isNull();
+    }
+
     @Test
     @DisplayName("Should handle empty tools array")
     void getAllTools_WithNoTools_ShouldReturnEmptyToolsList() {
@@ -0,0 +1,72 @@
+package com.budgetserver.actuator;
+
+import com.budgetserver.repository.MonthlyRollupRepository;
+import com.budgetserver.service.MonthlyRollupService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Monthly Rollup Endpoint Tests")
+class MonthlyRollupEndpointTest {
+
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+
+    @Mock
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @InjectMocks
+    private MonthlyRollupEndpoint monthlyRollupEndpoint;
+
+    @Test
+    @DisplayName("Should report the number of rollup rows")
+    void status_ShouldReturnRollupCount() {
+        // Given
+        when(monthlyRollupRepository.count()).thenReturn(42L);
+
+        // When
+        Map<String, Object> result = monthlyRollupEndpoint.status();
+
+        // Then
+        assertThat(result.get("rollups")).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("Should rebuild rollups and report the rows written")
+    void rebuild_ShouldReturnRebuiltStatus() {
+        // Given
+        when(monthlyRollupService.rebuild()).thenReturn(12);
+
+        // When
+        Map<String, Object> result = monthlyRollupEndpoint.rebuild();
+
+        // Then
+        assertThat(result.get("status")).isEqualTo("rebuilt");
+        assertThat(result.get("rollups")).isEqualTo(12);
+        assertThat(result).containsKey("durationMs");
+        verify(monthlyRollupService).rebuild();
+    }
+
+    @Test
+    @DisplayName("Should handle rebuild failure gracefully")
+    void rebuild_WithException_ShouldReturnErrorStatus() {
+        // Given
+        when(monthlyRollupService.rebuild()).thenThrow(new RuntimeException("Database error"));
+
+        // When
+        Map<String, Object> result = monthlyRollupEndpoint.rebuild();
+
+        // Then
+        assertThat(result.get("status")).isEqualTo("error");
+        assertThat(result.get("error")).isEqualTo("Database error");
+    }
+}
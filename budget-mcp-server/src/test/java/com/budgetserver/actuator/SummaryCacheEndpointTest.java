@@ -0,0 +1,43 @@
+package com.budgetserver.actuator;
+
+import com.budgetserver.cache.SummaryCache;
+import com.budgetserver.dto.BudgetSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Summary Cache Endpoint Tests")
+class SummaryCacheEndpointTest {
+
+    @Test
+    @DisplayName("Should expose hit, miss and eviction counters for every cache")
+    void stats_ShouldReturnCountersPerCache() {
+        // Given
+        SummaryCache summaryCache = new SummaryCache(1);
+        summaryCache.getSummary(YearMonth.of(2025, 6), BudgetSummary::empty); // miss
+        summaryCache.getSummary(YearMonth.of(2025, 6), BudgetSummary::empty); // hit
+        summaryCache.getSummary(YearMonth.of(2025, 7), BudgetSummary::empty); // miss + eviction
+        SummaryCacheEndpoint endpoint = new SummaryCacheEndpoint(summaryCache);
+
+        // When
+        Map<String, Object> result = endpoint.stats();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> caches = (List<Map<String, Object>>) result.get("caches");
+        assertThat(caches).extracting(cache -> cache.get("name"))
+                .containsExactly("summaries", "budgetSpending");
+
+        Map<String, Object> summaries = caches.get(0);
+        assertThat(summaries.get("hits")).isEqualTo(1L);
+        assertThat(summaries.get("misses")).isEqualTo(2L);
+        assertThat(summaries.get("evictions")).isEqualTo(1L);
+        assertThat(summaries.get("size")).isEqualTo(1);
+        assertThat(summaries.get("maxEntries")).isEqualTo(1);
+    }
+}
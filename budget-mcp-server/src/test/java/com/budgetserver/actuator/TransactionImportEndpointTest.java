@@ -0,0 +1,138 @@
+package com.budgetserver.actuator;
+
+import com.budgetserver.dto.ImportReport;
+import com.budgetserver.service.TransactionImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Transaction Import Endpoint Tests")
+class TransactionImportEndpointTest {
+
+    @Mock
+    private TransactionImportService transactionImportService;
+
+    private TransactionImportEndpoint transactionImportEndpoint;
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        transactionImportEndpoint = new TransactionImportEndpoint(transactionImportService, tempDir.toString());
+    }
+
+    @Test
+    @DisplayName("Should import the file and keep the report for status reads")
+    void importFile_ShouldReturnReport() throws IOException {
+        // Given
+        Path file = Files.writeString(tempDir.resolve("statement.csv"), "2025-06-01,Salary,3000.00,Salary,INCOME\n");
+        ImportReport report = ImportReport.builder()
+                .source(file.toString()).rowsRead(1).imported(1).chunks(1).errors(List.of()).build();
+        when(transactionImportService.importFile(file)).thenReturn(report);
+
+        // When
+        Map<String, Object> result = transactionImportEndpoint.importFile(file.toString());
+        Map<String, Object> status = transactionImportEndpoint.status();
+
+        // Then
+        assertThat(result.get("status")).isEqualTo("imported");
+        assertThat(result.get("report")).isEqualTo(report);
+        assertThat(status.get("lastImport")).isEqualTo(report);
+        assertThat(status.get("running")).isEqualTo(false);
+    }
+
+    @Test
+    @DisplayName("Should report a missing file without calling the importer")
+    void importFile_MissingFile_ShouldReturnError() throws IOException {
+        // When
+        Map<String, Object> result = transactionImportEndpoint.importFile(tempDir.resolve("missing.csv").toString());
+
+        // Then
+        assertThat(result.get("status")).isEqualTo("error");
+        assertThat((String) result.get("error")).startsWith("File not found or not readable");
+        verify(transactionImportService, never()).importFile(any());
+    }
+
+    @Test
+    @DisplayName("Should resolve a relative path against the import directory")
+    void importFile_RelativePath_ShouldReadFromImportDirectory() throws IOException {
+        // Given
+        Path file = Files.writeString(tempDir.resolve("statement.csv"), "");
+        ImportReport report = ImportReport.builder().source(file.toString()).errors(List.of()).build();
+        when(transactionImportService.importFile(file)).thenReturn(report);
+
+        // When
+        Map<String, Object> result = transactionImportEndpoint.importFile("statement.csv");
+
+        // Then
+        assertThat(result.get("status")).isEqualTo("imported");
+    }
+
+    @Test
+    @DisplayName("Should refuse files outside the import directory")
+    void importFile_OutsideImportDirectory_ShouldReturnError() throws IOException {
+        // Given
+        Path importDirectory = Files.createDirectory(tempDir.resolve("imports"));
+        Path outside = Files.writeString(tempDir.resolve("secret.csv"), "");
+        transactionImportEndpoint = new TransactionImportEndpoint(transactionImportService, importDirectory.toString());
+
+        // When
+        Map<String, Object> absolute = transactionImportEndpoint.importFile(outside.toString());
+        Map<String, Object> relative = transactionImportEndpoint.importFile("../secret.csv");
+
+        // Then
+        assertThat(List.of(absolute, relative)).allSatisfy(result -> {
+            assertThat(result.get("status")).isEqualTo("error");
+            assertThat((String) result.get("error")).startsWith("Only files in the import directory can be imported");
+        });
+        verify(transactionImportService, never()).importFile(any());
+    }
+
+    @Test
+    @DisplayName("Should refuse a symbolic link that leads out of the import directory")
+    void importFile_SymlinkOutOfImportDirectory_ShouldReturnError() throws IOException {
+        // Given
+        Path importDirectory = Files.createDirectory(tempDir.resolve("imports"));
+        Path outside = Files.writeString(tempDir.resolve("secret.csv"), "");
+        Files.createSymbolicLink(importDirectory.resolve("statement.csv"), outside);
+        transactionImportEndpoint = new TransactionImportEndpoint(transactionImportService, importDirectory.toString());
+
+        // When
+        Map<String, Object> result = transactionImportEndpoint.importFile("statement.csv");
+
+        // Then
+        assertThat(result.get("status")).isEqualTo("error");
+        assertThat((String) result.get("error")).startsWith("Only files in the import directory can be imported");
+        verify(transactionImportService, never()).importFile(any());
+    }
+
+    @Test
+    @DisplayName("Should handle import failure gracefully")
+    void importFile_WithException_ShouldReturnErrorStatus() throws IOException {
+        // Given
+        Path file = Files.writeString(tempDir.resolve("statement.csv"), "");
+        when(transactionImportService.importFile(file)).thenThrow(new IllegalStateException("An import is already running"));
+
+        // When
+        Map<String, Object> result = transactionImportEndpoint.importFile(file.toString());
+
+        // Then
+        assertThat(result.get("status")).isEqualTo("error");
+        assertThat(result.get("error")).isEqualTo("An import is already running");
+    }
+}
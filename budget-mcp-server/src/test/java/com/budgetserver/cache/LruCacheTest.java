@@ -0,0 +1,140 @@
+package com.budgetserver.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LRU Cache Tests")
+class LruCacheTest {
+
+    @Test
+    @DisplayName("Should count hits and misses")
+    void getIfPresent_ShouldCountHitsAndMisses() {
+        // Given
+        LruCache<String, Integer> cache = new LruCache<>("test", 10);
+        cache.putIfCurrent("a", 1, cache.generation());
+
+        // When
+        Integer hit = cache.getIfPresent("a");
+        Integer miss = cache.getIfPresent("b");
+
+        // Then
+        assertThat(hit).isEqualTo(1);
+        assertThat(miss).isNull();
+        Map<String, Object> stats = cache.stats();
+        assertThat(stats.get("hits")).isEqualTo(1L);
+        assertThat(stats.get("misses")).isEqualTo(1L);
+        assertThat(stats.get("hitRate")).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry when full")
+    void putIfCurrent_WhenFull_ShouldEvictLeastRecentlyUsed() {
+        // Given
+        LruCache<String, Integer> cache = new LruCache<>("test", 2);
+        cache.putIfCurrent("a", 1, cache.generation());
+        cache.putIfCurrent("b", 2, cache.generation());
+        cache.getIfPresent("a"); // "b" is now the eldest
+
+        // When
+        cache.putIfCurrent("c", 3, cache.generation());
+
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getIfPresent("b")).isNull();
+        assertThat(cache.getIfPresent("a")).isEqualTo(1);
+        assertThat(cache.getIfPresent("c")).isEqualTo(3);
+        assertThat(cache.stats().get("evictions")).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should drop values loaded before an invalidation")
+    void putIfCurrent_AfterInvalidation_ShouldNotStoreStaleValue() {
+        // Given
+        LruCache<String, Integer> cache = new LruCache<>("test", 10);
+        long loadGeneration = cache.generation();
+
+        // When - a write invalidates while the load is in flight
+        cache.invalidate("a");
+        cache.putIfCurrent("a", 1, loadGeneration);
+
+        // Then
+        assertThat(cache.getIfPresent("a")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep values loaded while other keys were invalidated")
+    void putIfCurrent_AfterOtherKeyInvalidation_ShouldStoreValue() {
+        // Given
+        LruCache<String, Integer> cache = new LruCache<>("test", 10);
+        long loadGeneration = cache.generation();
+
+        // When - a write to another key lands while the load is in flight
+        cache.invalidate("b");
+        cache.putIfCurrent("a", 1, loadGeneration);
+
+        // Then
+        assertThat(cache.getIfPresent("a")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop every value loaded before a full invalidation")
+    void putIfCurrent_AfterInvalidateAll_ShouldNotStoreStaleValue() {
+        // Given
+        LruCache<String, Integer> cache = new LruCache<>("test", 10);
+        long loadGeneration = cache.generation();
+
+        // When
+        cache.invalidateAll();
+        cache.putIfCurrent("a", 1, loadGeneration);
+        cache.putIfCurrent("b", 2, cache.generation());
+
+        // Then
+        assertThat(cache.getIfPresent("a")).isNull();
+        assertThat(cache.getIfPresent("b")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should still drop stale loads once the key's invalidation is no longer tracked")
+    void putIfCurrent_AfterForgottenInvalidation_ShouldNotStoreStaleValue() {
+        // Given
+        LruCache<String, Integer> cache = new LruCache<>("test", 2);
+        long loadGeneration = cache.generation();
+
+        // When - "a" is invalidated, then pushed out of the bounded invalidation record
+        cache.invalidate("a");
+        cache.invalidate("b");
+        cache.invalidate("c");
+        cache.putIfCurrent("a", 1, loadGeneration);
+
+        // Then
+        assertThat(cache.getIfPresent("a")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should only remove the invalidated key")
+    void invalidate_ShouldKeepOtherKeys() {
+        // Given
+        LruCache<String, Integer> cache = new LruCache<>("test", 10);
+        cache.putIfCurrent("a", 1, cache.generation());
+        cache.putIfCurrent("b", 2, cache.generation());
+
+        // When
+        cache.invalidate("a");
+
+        // Then
+        assertThat(cache.getIfPresent("a")).isNull();
+        assertThat(cache.getIfPresent("b")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive size bound")
+    void constructor_WithZeroMaxEntries_ShouldThrow() {
+        assertThatThrownBy(() -> new LruCache<String, Integer>("test", 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,159 @@
+package com.budgetserver.cache;
+
+import com.budgetserver.cache.SummaryCache.CategoryPeriod;
+import com.budgetserver.dto.BudgetSpending;
+import com.budgetserver.dto.BudgetSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Summary Cache Tests")
+class SummaryCacheTest {
+
+    private static final YearMonth JUNE = YearMonth.of(2025, 6);
+
+    private SummaryCache summaryCache;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        summaryCache = new SummaryCache(16);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should load a summary once and serve it from the cache afterwards")
+    void getSummary_CalledTwice_ShouldLoadOnce() {
+        // When
+        BudgetSummary first = summaryCache.getSummary(JUNE, this::loadSummary);
+        BudgetSummary second = summaryCache.getSummary(JUNE, this::loadSummary);
+
+        // Then
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("Should reload a summary after a transaction in that month")
+    void evictTransaction_ShouldOnlyEvictAffectedMonth() {
+        // Given
+        summaryCache.getSummary(JUNE, this::loadSummary);
+        summaryCache.getSummary(JUNE.plusMonths(1), this::loadSummary);
+
+        // When
+        summaryCache.evictTransaction(JUNE, "Food", true);
+        summaryCache.getSummary(JUNE, this::loadSummary);
+        summaryCache.getSummary(JUNE.plusMonths(1), this::loadSummary);
+
+        // Then - only June was reloaded
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should cache a summary loaded while another month was written")
+    void getSummary_WithWriteToOtherMonthDuringLoad_ShouldCache() {
+        // Given - July is written while June's summary is being read
+        summaryCache.getSummary(JUNE, () -> {
+            summaryCache.evictTransaction(JUNE.plusMonths(1), "Food", true);
+            return loadSummary();
+        });
+
+        // When
+        summaryCache.getSummary(JUNE, this::loadSummary);
+
+        // Then
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should serve budget spending from the cache only when every key is present")
+    void getBudgetSpending_WithPartialHit_ShouldReloadOnce() {
+        // Given
+        CategoryPeriod food = new CategoryPeriod("Food", JUNE);
+        CategoryPeriod travel = new CategoryPeriod("Travel", JUNE);
+        summaryCache.getBudgetSpending(List.of(food), () -> loadSpending().subList(0, 1));
+
+        // When
+        Map<CategoryPeriod, BigDecimal> partial = summaryCache.getBudgetSpending(List.of(food, travel), this::loadSpending);
+        Map<CategoryPeriod, BigDecimal> cached = summaryCache.getBudgetSpending(List.of(food, travel), this::loadSpending);
+
+        // Then
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(partial.get(food)).isEqualByComparingTo(BigDecimal.valueOf(120.00));
+        assertThat(cached.get(travel)).isEqualByComparingTo(BigDecimal.valueOf(80.00));
+    }
+
+    @Test
+    @DisplayName("Should keep budget spending cached for income transactions")
+    void evictTransaction_WithIncome_ShouldKeepBudgetSpending() {
+        // Given
+        CategoryPeriod food = new CategoryPeriod("Food", JUNE);
+        summaryCache.getBudgetSpending(List.of(food), this::loadSpending);
+
+        // When
+        summaryCache.evictTransaction(JUNE, "Food", false);
+        summaryCache.getBudgetSpending(List.of(food), this::loadSpending);
+
+        // Then
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict budget spending when a budget is created")
+    void evictBudget_ShouldEvictBudgetKey() {
+        // Given
+        CategoryPeriod food = new CategoryPeriod("Food", JUNE);
+        summaryCache.getBudgetSpending(List.of(food), this::loadSpending);
+
+        // When
+        summaryCache.evictBudget(JUNE, "Food");
+        summaryCache.getBudgetSpending(List.of(food), this::loadSpending);
+
+        // Then
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should evict again when the writing transaction completes")
+    void evictTransaction_InsideTransaction_ShouldEvictOnCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Given - a value cached after the write but before the commit
+            summaryCache.evictTransaction(JUNE, "Food", true);
+            summaryCache.getSummary(JUNE, this::loadSummary);
+
+            // When
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            summaryCache.getSummary(JUNE, this::loadSummary);
+
+            // Then
+            assertThat(loads.get()).isEqualTo(2);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private BudgetSummary loadSummary() {
+        loads.incrementAndGet();
+        return new BudgetSummary(BigDecimal.valueOf(3000), BigDecimal.valueOf(1000), BigDecimal.valueOf(2000));
+    }
+
+    private List<BudgetSpending> loadSpending() {
+        loads.incrementAndGet();
+        return List.of(
+                new BudgetSpending(1L, "Food", 2025, 6, BigDecimal.valueOf(120.00)),
+                new BudgetSpending(2L, "Travel", 2025, 6, BigDecimal.valueOf(80.00)));
+    }
+}
@@ -0,0 +1,226 @@
+package com.budgetserver.execution;
+
+import com.budgetserver.tracing.InMemorySpanExporter;
+import com.budgetserver.tracing.ToolTracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Tool Executor Tests")
+class ToolExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final InMemorySpanExporter spanExporter = new InMemorySpanExporter(100);
+
+    private final ToolTracer toolTracer = new ToolTracer(List.of(spanExporter));
+
+    private final McpAsyncServerExchange exchange = mock(McpAsyncServerExchange.class);
+
+    private final CountDownLatch releaseSlowTool = new CountDownLatch(1);
+
+    private ToolExecutor toolExecutor;
+
+    @AfterEach
+    void tearDown() {
+        releaseSlowTool.countDown();
+        if (toolExecutor != null) {
+            toolExecutor.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not delay other sessions while one tool call is slow")
+    void slowToolCall_ShouldNotDelayUnrelatedCalls() throws InterruptedException {
+        // Given
+        toolExecutor = new ToolExecutor("platform", 4, 16, meterRegistry, toolTracer);
+        AsyncToolSpecification slowTool = toolExecutor.toAsyncToolSpecification(slowTool());
+        AsyncToolSpecification fastTool = toolExecutor.toAsyncToolSpecification(fastTool());
+        CountDownLatch slowDone = new CountDownLatch(1);
+
+        // When - the slow call is subscribed from this thread, standing in for an event loop
+        long subscribeStart = System.nanoTime();
+        slowTool.callHandler().apply(exchange, request("slowTool"))
+                .subscribe(result -> slowDone.countDown());
+        long subscribeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - subscribeStart);
+
+        long fastStart = System.nanoTime();
+        CallToolResult fastResult = fastTool.callHandler().apply(exchange, request("fastTool"))
+                .block(Duration.ofSeconds(2));
+        long fastMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - fastStart);
+
+        // Then
+        assertThat(subscribeMillis).isLessThan(200);
+        assertThat(fastResult).isNotNull();
+        assertThat(text(fastResult)).contains("fast");
+        assertThat(fastMillis).isLessThan(1000);
+        assertThat(slowDone.getCount()).isEqualTo(1);
+        awaitActive(1);  // The fast call's worker may still be finishing after its result is delivered
+    }
+
+    @Test
+    @DisplayName("Should run tool bodies on the dedicated pool")
+    void execute_ShouldRunOnToolThreads() {
+        // Given
+        toolExecutor = new ToolExecutor("platform", 2, 16, meterRegistry, toolTracer);
+
+        // When
+        String threadName = toolExecutor.execute(() -> Thread.currentThread().getName())
+                .block(Duration.ofSeconds(2));
+
+        // Then
+        assertThat(threadName).startsWith("mcp-tool-");
+    }
+
+    @Test
+    @DisplayName("Should run tool bodies on virtual threads when configured")
+    void execute_WithVirtualThreads_ShouldRunOnVirtualThread() {
+        // Given
+        toolExecutor = new ToolExecutor("virtual", 2, 16, meterRegistry, toolTracer);
+
+        // When
+        Boolean virtual = toolExecutor.execute(() -> Thread.currentThread().isVirtual())
+                .block(Duration.ofSeconds(2));
+
+        // Then
+        assertThat(virtual).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should answer with a busy error when the pool and queue are full")
+    void toolCall_WhenSaturated_ShouldReturnBusyError() throws InterruptedException {
+        // Given - one worker, no queue
+        toolExecutor = new ToolExecutor("platform", 1, 0, meterRegistry, toolTracer);
+        AsyncToolSpecification slowTool = toolExecutor.toAsyncToolSpecification(slowTool());
+        AsyncToolSpecification fastTool = toolExecutor.toAsyncToolSpecification(fastTool());
+        slowTool.callHandler().apply(exchange, request("slowTool")).subscribe();
+        awaitActive(1);
+
+        // When
+        CallToolResult result = fastTool.callHandler().apply(exchange, request("fastTool"))
+                .block(Duration.ofSeconds(2));
+
+        // Then
+        assertThat(result).isNotNull();
+        assertThat(result.isError()).isTrue();
+        assertThat(text(result)).contains("❌ Server is busy");
+    }
+
+    @Test
+    @DisplayName("Should publish active and queued task gauges")
+    void metrics_ShouldExposeActiveAndQueuedTasks() throws InterruptedException {
+        // Given - one worker, so the second slow call has to wait in the queue
+        toolExecutor = new ToolExecutor("platform", 1, 8, meterRegistry, toolTracer);
+        AsyncToolSpecification slowTool = toolExecutor.toAsyncToolSpecification(slowTool());
+
+        // When
+        slowTool.callHandler().apply(exchange, request("slowTool")).subscribe();
+        slowTool.callHandler().apply(exchange, request("slowTool")).subscribe();
+        awaitActive(1);
+
+        // Then
+        assertThat(meterRegistry.get("executor.active").tag("name", ToolExecutor.METRICS_NAME).gauge().value())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("executor.queued").tag("name", ToolExecutor.METRICS_NAME).gauge().value())
+                .isEqualTo(1.0);
+        assertThat(toolExecutor.queueDepth()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should trace tool bodies on the pool thread and return their timings")
+    void toolCall_ShouldBeTracedOnToolThread() {
+        // Given
+        toolExecutor = new ToolExecutor("platform", 2, 16, meterRegistry, toolTracer);
+        AsyncToolSpecification fastTool = toolExecutor.toAsyncToolSpecification(fastTool());
+        String traceparent = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+        // When
+        CallToolResult result = fastTool.callHandler()
+                .apply(exchange, new CallToolRequest("fastTool", Map.of(), Map.of("traceparent", traceparent)))
+                .block(Duration.ofSeconds(2));
+
+        // Then
+        assertThat(result).isNotNull();
+        assertThat(result.meta()).containsKey(ToolTracer.TIMINGS_KEY);
+        assertThat(spanExporter.trace("4bf92f3577b34da6a3ce929d0e0e4736"))
+                .singleElement()
+                .satisfies(span -> {
+                    assertThat(span.name()).isEqualTo("mcp.tools/call fastTool");
+                    assertThat(span.parentSpanId()).isEqualTo("00f067aa0ba902b7");
+                });
+    }
+
+    @Test
+    @DisplayName("Should reject unknown thread modes")
+    void constructor_WithUnknownThreadMode_ShouldThrow() {
+        assertThatThrownBy(() -> new ToolExecutor("carrier-pigeon", 2, 16, meterRegistry, toolTracer))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void awaitActive(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (toolExecutor.activeCount() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(toolExecutor.activeCount()).isEqualTo(expected);
+    }
+
+    private ToolCallback slowTool() {
+        return new StubToolCallback("slowTool", () -> {
+            try {
+                releaseSlowTool.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "\"slow\"";
+        });
+    }
+
+    private ToolCallback fastTool() {
+        return new StubToolCallback("fastTool", () -> "\"fast\"");
+    }
+
+    private static CallToolRequest request(String toolName) {
+        return new CallToolRequest(toolName, Map.of());
+    }
+
+    private static String text(CallToolResult result) {
+        return ((TextContent) result.content().get(0)).text();
+    }
+
+    private record StubToolCallback(String name, Supplier<String> body) implements ToolCallback {
+
+        @Override
+        public ToolDefinition getToolDefinition() {
+            return ToolDefinition.builder()
+                    .name(name)
+                    .description(name)
+                    .inputSchema("{\"type\":\"object\",\"properties\":{}}")
+                    .build();
+        }
+
+        @Override
+        public String call(String toolInput) {
+            return body.get();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.budgetserver.execution;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.DefaultToolDefinition;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tool Metrics Tests")
+class ToolMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ToolMetrics toolMetrics = new ToolMetrics(meterRegistry);
+
+    @Test
+    @DisplayName("Should tag each call with the outcome its tool reported")
+    void timed_ShouldTagCallsByOutcome() {
+        // Given
+        ToolCallback tool = toolMetrics.timed(tool("addTransaction", input -> switch (input) {
+            case "invalid" -> {
+                ToolOutcome.report(ToolOutcome.VALIDATION_ERROR);
+                yield "❌ Amount must be greater than 0";
+            }
+            case "caught" -> {
+                ToolOutcome.report(ToolOutcome.EXCEPTION);
+                ToolOutcome.report(ToolOutcome.VALIDATION_ERROR);
+                yield "❌ Error adding transaction: connection lost";
+            }
+            case "thrown" -> throw new IllegalStateException("boom");
+            default -> "✅ Added";
+        }));
+
+        // When
+        tool.call("valid");
+        tool.call("valid");
+        tool.call("invalid");
+        tool.call("caught");
+        assertThatThrownBy(() -> tool.call("thrown")).isInstanceOf(IllegalStateException.class);
+
+        // Then
+        assertThat(count("addTransaction", "success")).isEqualTo(2);
+        assertThat(count("addTransaction", "validation_error")).isEqualTo(1);
+        assertThat(count("addTransaction", "exception")).isEqualTo(2);
+        Map<String, Object> stats = toolMetrics.stats("addTransaction");
+        assertThat(stats.get("calls")).isEqualTo(5L);
+        assertThat(stats.get("errorRate")).isEqualTo(0.6);
+        assertThat(stats.get("outcomes")).isEqualTo(Map.of("success", 2L, "validation_error", 1L, "exception", 2L));
+    }
+
+    @Test
+    @DisplayName("Should tag reactive calls with the outcome reported through their context")
+    void timedMono_ShouldTagCallsByOutcome() {
+        // Given
+        Mono<String> invalid = Mono.deferContextual(context -> {
+            ToolOutcome.report(context, ToolOutcome.VALIDATION_ERROR);
+            return Mono.just("❌ Amount must be greater than 0");
+        }).subscribeOn(Schedulers.parallel());
+
+        // When
+        toolMetrics.timed("addTransaction", Mono.just("✅ Added")).block();
+        toolMetrics.timed("addTransaction", invalid).block();
+        assertThatThrownBy(() -> toolMetrics.timed("addTransaction", Mono.error(new IllegalStateException("boom"))).block())
+                .isInstanceOf(IllegalStateException.class);
+
+        // Then
+        assertThat(toolMetrics.stats("addTransaction").get("outcomes"))
+                .isEqualTo(Map.of("success", 1L, "validation_error", 1L, "exception", 1L));
+    }
+
+    @Test
+    @DisplayName("Should ignore outcome reports made outside a timed call")
+    void report_OutsideTimedCall_ShouldDoNothing() {
+        // When
+        ToolOutcome.report(ToolOutcome.EXCEPTION);
+        toolMetrics.record("getSummary", () -> "ok");
+
+        // Then
+        assertThat(count("getSummary", "success")).isEqualTo(1);
+        assertThat(count("getSummary", "exception")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should report p50 and p99 across outcomes")
+    void stats_ShouldReportPercentilesAcrossOutcomes() {
+        // Given - 98 fast successes, one slow validation error and one very slow exception
+        for (int i = 0; i < 98; i++) {
+            toolMetrics.record("getAllBudgets", ToolOutcome.SUCCESS, Duration.ofMillis(10).toNanos());
+        }
+        toolMetrics.record("getAllBudgets", ToolOutcome.VALIDATION_ERROR, Duration.ofMillis(200).toNanos());
+        toolMetrics.record("getAllBudgets", ToolOutcome.EXCEPTION, Duration.ofMillis(2_000).toNanos());
+
+        // When
+        Map<String, Object> stats = toolMetrics.stats("getAllBudgets");
+
+        // Then - Percentiles are approximate, so only the ranges are checked
+        assertThat((double) stats.get("p50Ms")).isBetween(5.0, 12.0);
+        assertThat((double) stats.get("p99Ms")).isBetween(150.0, 250.0);
+        assertThat(stats.get("errorRate")).isEqualTo(0.02);
+    }
+
+    @Test
+    @DisplayName("Should report no percentiles for a tool that was never called")
+    void stats_WithoutCalls_ShouldReportZeroCalls() {
+        // When
+        Map<String, Object> stats = toolMetrics.stats("getDashboard");
+
+        // Then
+        assertThat(stats.get("calls")).isEqualTo(0L);
+        assertThat(stats.get("errorRate")).isEqualTo(0.0);
+        assertThat(stats.get("p50Ms")).isNull();
+        assertThat(stats.get("p99Ms")).isNull();
+    }
+
+    private long count(String tool, String outcome) {
+        Timer timer = meterRegistry.find(ToolMetrics.TIMER_NAME).tags("tool", tool, "outcome", outcome).timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    private static ToolCallback tool(String name, Function<String, String> body) {
+        ToolDefinition definition = DefaultToolDefinition.builder()
+                .name(name)
+                .description(name)
+                .inputSchema("{}")
+                .build();
+        return new ToolCallback() {
+            @Override
+            public ToolDefinition getToolDefinition() {
+                return definition;
+            }
+
+            @Override
+            public String call(String toolInput) {
+                return body.apply(toolInput);
+            }
+        };
+    }
+}
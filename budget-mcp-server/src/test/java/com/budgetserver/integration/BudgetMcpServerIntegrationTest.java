@@ -1,19 +1,46 @@
 package com.budgetserver.integration;
 
+import com.budgetserver.entity.TransactionType;
+import com.budgetserver.execution.ToolMetrics;
 import com.budgetserver.repository.BudgetRepository;
+import com.budgetserver.repository.MonthlyRollupRepository;
 import com.budgetserver.repository.TransactionRepository;
 import com.budgetserver.service.BudgetMcpService;
+import com.budgetserver.service.MonthlyRollupService;
+import com.budgetserver.tracing.InMemorySpanExporter;
+import com.budgetserver.tracing.Span;
+import com.budgetserver.tracing.ToolTracer;
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -30,10 +57,32 @@ class BudgetMcpServerIntegrationTest {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Autowired
+    private MonthlyRollupService monthlyRollupService;
+
+    @Autowired
+    private ToolCallbackProvider budgetTools;
+
+    @Autowired
+    private List<AsyncToolSpecification> budgetToolSpecifications;
+
+    @Autowired
+    private ToolMetrics toolMetrics;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
         budgetRepository.deleteAll();
         transactionRepository.deleteAll();
+        monthlyRollupRepository.deleteAll();
     }
 
     @Test
@@ -126,4 +175,291 @@ class BudgetMcpServerIntegrationTest {
         assertThat(summary.getTotalExpenses()).isEqualByComparingTo(BigDecimal.valueOf(300.00));
         assertThat(summary.getNetAmount()).isEqualByComparingTo(BigDecimal.valueOf(1700.00));
     }
+
+    @Test
+    @DisplayName("Should keep monthly rollups consistent with raw transactions")
+    void addTransaction_ShouldMaintainRollupsThatMatchRebuild() {
+        // Given - Transactions across categories, types and months
+        budgetMcpService.addTransaction(
+                BigDecimal.valueOf(3000.00), "Salary", "Income", "INCOME", "2025-06-01");
+        budgetMcpService.addTransaction(
+                BigDecimal.valueOf(40.00), "Groceries", "Food", "EXPENSE", "2025-06-05");
+        budgetMcpService.addTransaction(
+                BigDecimal.valueOf(60.00), "Restaurant", "Food", "EXPENSE", "2025-06-25");
+        budgetMcpService.addTransaction(
+                BigDecimal.valueOf(15.00), "Snacks", "Food", "EXPENSE", "2025-07-02");
+
+        // Then - Rollups are maintained on write
+        var juneFood = monthlyRollupRepository.findByCategoryAndTypeAndRollupYearAndRollupMonth(
+                "Food", TransactionType.EXPENSE, 2025, 6).orElseThrow();
+        assertThat(juneFood.getTotalAmount()).isEqualByComparingTo(BigDecimal.valueOf(100.00));
+        assertThat(juneFood.getTransactionCount()).isEqualTo(2L);
+        assertThat(monthlyRollupRepository.count()).isEqualTo(3);
+
+        String categorySummary = budgetMcpService.getSpendingSummary("Food", 2025, 6);
+        assertThat(categorySummary).contains("$100.00");
+        assertThat(categorySummary).contains("Number of Transactions: 2");
+
+        // When - Rollups are regenerated from raw transactions
+        int rebuilt = monthlyRollupService.rebuild();
+
+        // Then - The rebuilt rollups agree with the incrementally maintained ones
+        assertThat(rebuilt).isEqualTo(3);
+        var summary = budgetMcpService.getSummary(2025, 6);
+        assertThat(summary.getTotalIncome()).isEqualByComparingTo(BigDecimal.valueOf(3000.00));
+        assertThat(summary.getTotalExpenses()).isEqualByComparingTo(BigDecimal.valueOf(100.00));
+        assertThat(budgetMcpService.getSummary(2025, 7).getTotalExpenses())
+                .isEqualByComparingTo(BigDecimal.valueOf(15.00));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Should count every transaction when writers race to create the same rollup row")
+    void addTransaction_ConcurrentFirstWrites_ShouldAllBeCounted() throws Exception {
+        // Given - each round, several writers add the first transactions of a new category at once
+        int writers = 8;
+        int rounds = 10;
+        List<String> results = new CopyOnWriteArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(writers)) {
+            for (int round = 0; round < rounds; round++) {
+                String category = "Race " + round;
+                CyclicBarrier start = new CyclicBarrier(writers);
+                List<Future<?>> running = new ArrayList<>();
+                for (int writer = 0; writer < writers; writer++) {
+                    running.add(executor.submit(() -> {
+                        start.await();
+                        return results.add(budgetMcpService.addTransaction(
+                                BigDecimal.ONE, "Race", category, "EXPENSE", "2025-06-15"));
+                    }));
+                }
+                for (Future<?> writer : running) {
+                    writer.get();
+                }
+            }
+
+            // Then
+            assertThat(results).hasSize(writers * rounds).allMatch(result -> result.contains("Transaction added successfully!"));
+            for (int round = 0; round < rounds; round++) {
+                var rollup = monthlyRollupRepository.findByCategoryAndTypeAndRollupYearAndRollupMonth(
+                        "Race " + round, TransactionType.EXPENSE, 2025, 6).orElseThrow();
+                assertThat(rollup.getTransactionCount()).isEqualTo(writers);
+                assertThat(rollup.getTotalAmount()).isEqualByComparingTo(BigDecimal.valueOf(writers));
+            }
+        } finally {
+            transactionRepository.deleteAll();
+            monthlyRollupRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @DisplayName("Should refresh cached summaries and budget status after writes")
+    void cachedViews_AfterWrites_ShouldReflectNewData() {
+        // Given - Cache June's summary and budget status
+        budgetMcpService.createBudget("Food", BigDecimal.valueOf(200.00), 2025, 6, null, null);
+        budgetMcpService.addTransaction(
+                BigDecimal.valueOf(1000.00), "Salary", "Income", "INCOME", "2025-06-01");
+        assertThat(budgetMcpService.getSummary(2025, 6).getTotalIncome())
+                .isEqualByComparingTo(BigDecimal.valueOf(1000.00));
+        assertThat(budgetMcpService.getAllBudgets()).contains("Spent: $0.00");
+
+        // When - Add an expense in the same month
+        budgetMcpService.addTransaction(
+                BigDecimal.valueOf(50.00), "Groceries", "Food", "EXPENSE", "2025-06-10");
+
+        // Then - Both cached views are recomputed
+        assertThat(budgetMcpService.getSummary(2025, 6).getTotalExpenses())
+                .isEqualByComparingTo(BigDecimal.valueOf(50.00));
+        assertThat(budgetMcpService.getAllBudgets()).contains("Spent: $50.00");
+    }
+
+    @Test
+    @DisplayName("Should register every budget tool as an async MCP tool on the tool pool")
+    void toolSpecifications_ShouldCoverAllToolsAndExecute() {
+        // Given
+        List<String> toolNames = Arrays.stream(budgetTools.getToolCallbacks())
+                .map(callback -> callback.getToolDefinition().name())
+                .toList();
+        AsyncToolSpecification getSummary = budgetToolSpecifications.stream()
+                .filter(spec -> spec.tool().name().equals("getSummary"))
+                .findFirst()
+                .orElseThrow();
+
+        // When
+        CallToolResult result = getSummary.callHandler()
+                .apply(mock(McpAsyncServerExchange.class),
+                        new CallToolRequest("getSummary", Map.of("year", 2025, "month", 6)))
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(budgetToolSpecifications)
+                .extracting(spec -> spec.tool().name())
+                .containsExactlyInAnyOrderElementsOf(toolNames);
+        assertThat(result).isNotNull();
+        assertThat(result.isError()).isNotEqualTo(Boolean.TRUE);
+    }
+
+    @Test
+    @DisplayName("Should time MCP tool calls by tool and outcome")
+    void toolSpecifications_ShouldRecordCallMetrics() {
+        // Given
+        long summaryCalls = (long) toolMetrics.stats("getSummary").get("calls");
+        @SuppressWarnings("unchecked")
+        long rejectedAdds = ((Map<String, Long>) toolMetrics.stats("addTransaction").get("outcomes"))
+                .get("validation_error");
+
+        // When
+        callTool("getSummary", Map.of("year", 2025, "month", 6));
+        callTool("addTransaction", Map.of("amount", 0, "description", "Nothing", "category", "Food", "type", "EXPENSE"));
+
+        // Then
+        Map<String, Object> summaryStats = toolMetrics.stats("getSummary");
+        assertThat(summaryStats.get("calls")).isEqualTo(summaryCalls + 1);
+        assertThat(summaryStats.get("p99Ms")).isNotNull();
+        @SuppressWarnings("unchecked")
+        Map<String, Long> addOutcomes = (Map<String, Long>) toolMetrics.stats("addTransaction").get("outcomes");
+        assertThat(addOutcomes.get("validation_error")).isEqualTo(rejectedAdds + 1);
+        assertThat((double) toolMetrics.stats("addTransaction").get("errorRate")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should count missing and malformed arguments as validation errors, not exceptions")
+    void toolSpecifications_WithBadArguments_ShouldRecordValidationErrors() {
+        // Given
+        @SuppressWarnings("unchecked")
+        Map<String, Long> before = (Map<String, Long>) toolMetrics.stats("addTransaction").get("outcomes");
+
+        // When
+        CallToolResult badDate = callTool("addTransaction", Map.of("amount", 5, "description", "Lunch",
+                "category", "Food", "type", "EXPENSE", "date", "June 15th"));
+        CallToolResult noAmount = callTool("addTransaction", Map.of("description", "Lunch",
+                "category", "Food", "type", "EXPENSE"));
+
+        // Then
+        assertThat(((TextContent) badDate.content().getFirst()).text()).startsWith("❌ Invalid date");
+        assertThat(((TextContent) noAmount.content().getFirst()).text()).startsWith("❌ Amount");
+        @SuppressWarnings("unchecked")
+        Map<String, Long> after = (Map<String, Long>) toolMetrics.stats("addTransaction").get("outcomes");
+        assertThat(after.get("validation_error")).isEqualTo(before.get("validation_error") + 2);
+        assertThat(after.get("exception")).isEqualTo(before.get("exception"));
+    }
+
+    @Test
+    @DisplayName("Should trace tool calls with a span per repository call under the caller's span")
+    void toolSpecifications_ShouldTraceRepositoryCalls() {
+        // Given
+        String traceId = "0af7651916cd43dd8448eb211c80319c";
+        Map<String, Object> meta = Map.of("traceparent", "00-" + traceId + "-b7ad6b7169203331-01");
+
+        // When
+        CallToolResult result = budgetToolSpecifications.stream()
+                .filter(spec -> spec.tool().name().equals("getRecentTransactions"))
+                .findFirst()
+                .orElseThrow()
+                .callHandler()
+                .apply(mock(McpAsyncServerExchange.class), new CallToolRequest("getRecentTransactions", Map.of(), meta))
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        List<Span> spans = spanExporter.trace(traceId);
+        Span toolSpan = spans.getFirst();
+        assertThat(toolSpan.name()).isEqualTo("mcp.tools/call getRecentTransactions");
+        assertThat(toolSpan.parentSpanId()).isEqualTo("b7ad6b7169203331");
+        assertThat(spans).anySatisfy(span -> {
+            assertThat(span.name()).isEqualTo("db TransactionRepository.findTop10ByOrderByCreatedAtDesc");
+            assertThat(span.parentSpanId()).isEqualTo(toolSpan.spanId());
+        });
+        @SuppressWarnings("unchecked")
+        Map<String, Object> timings = (Map<String, Object>) result.meta().get(ToolTracer.TIMINGS_KEY);
+        assertThat((int) timings.get("dbCalls")).isPositive();
+        assertThat((double) timings.get("dbMs")).isLessThanOrEqualTo((double) timings.get("toolMs"));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Should answer with an empty dashboard when a query fails inside its snapshot")
+    void getDashboardTool_WhenQueryFails_ShouldReturnEmptyDashboard() {
+        // Given - the rollup table disappears, so the first dashboard query fails in the database
+        @SuppressWarnings("unchecked")
+        long exceptions = ((Map<String, Long>) toolMetrics.stats("getDashboard").get("outcomes")).get("exception");
+        jdbcTemplate.execute("ALTER TABLE monthly_rollups RENAME TO monthly_rollups_hidden");
+        CallToolResult result;
+        try {
+            // When
+            result = callTool("getDashboard", Map.of("year", 2025, "month", 6));
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE monthly_rollups_hidden RENAME TO monthly_rollups");
+        }
+
+        // Then - the rollback-only snapshot does not surface as a tool error
+        assertThat(result.isError()).isNotEqualTo(Boolean.TRUE);
+        assertThat(((TextContent) result.content().getFirst()).text())
+                .contains("\"month\":6")
+                .contains("\"budgets\":[]");
+        @SuppressWarnings("unchecked")
+        Map<String, Long> outcomes = (Map<String, Long>) toolMetrics.stats("getDashboard").get("outcomes");
+        assertThat(outcomes.get("exception")).isEqualTo(exceptions + 1);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Should answer with an error and save nothing when a batch write fails")
+    void addTransactionsTool_WhenWriteFails_ShouldRollBackAndReportError() {
+        // Given - the rollup table disappears, so recording the batch fails after the insert
+        jdbcTemplate.execute("ALTER TABLE monthly_rollups RENAME TO monthly_rollups_hidden");
+        CallToolResult result;
+        try {
+            // When
+            result = callTool("addTransactions", Map.of("transactions", List.of(Map.of(
+                    "amount", 12.5, "description", "Coffee beans", "category", "Food", "type", "EXPENSE"))));
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE monthly_rollups_hidden RENAME TO monthly_rollups");
+        }
+
+        // Then - the failure is the tool's answer, not an UnexpectedRollbackException
+        assertThat(((TextContent) result.content().getFirst()).text()).startsWith("❌ Error adding transactions");
+        assertThat(transactionRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should add a batch of transactions from the tool's JSON arguments")
+    void addTransactionsTool_ShouldAcceptJsonArrayOfTransactions() {
+        // Given
+        ToolCallback addTransactions = Arrays.stream(budgetTools.getToolCallbacks())
+                .filter(callback -> callback.getToolDefinition().name().equals("addTransactions"))
+                .findFirst()
+                .orElseThrow();
+        String arguments = """
+                {"transactions": [
+                  {"amount": 12.50, "description": "Coffee beans", "category": "Food", "type": "EXPENSE", "date": "2025-06-02"},
+                  {"amount": 30.00, "description": "Taxi", "category": "Transport", "type": "EXPENSE", "date": "2025-06-02"},
+                  {"amount": 0, "description": "Free sample", "category": "Food", "type": "EXPENSE"}
+                ]}
+                """;
+
+        // When
+        String result = addTransactions.call(arguments);
+
+        // Then
+        assertThat(addTransactions.getToolDefinition().inputSchema())
+                .contains("\"transactions\"")
+                .contains("\"description\"");
+        assertThat(result)
+                .contains("Added 2 of 3 transactions")
+                .contains("3. ❌ Amount must be greater than 0");
+        assertThat(transactionRepository.findAll()).hasSize(2);
+        assertThat(monthlyRollupRepository
+                .findByCategoryAndTypeAndRollupYearAndRollupMonth("Food", TransactionType.EXPENSE, 2025, 6)
+                .orElseThrow()
+                .getTotalAmount()).isEqualByComparingTo("12.50");
+    }
+
+    private CallToolResult callTool(String toolName, Map<String, Object> arguments) {
+        AsyncToolSpecification tool = budgetToolSpecifications.stream()
+                .filter(spec -> spec.tool().name().equals(toolName))
+                .findFirst()
+                .orElseThrow();
+        return tool.callHandler()
+                .apply(mock(McpAsyncServerExchange.class), new CallToolRequest(toolName, arguments))
+                .block(Duration.ofSeconds(5));
+    }
 }
@@ -0,0 +1,105 @@
+package com.budgetserver.integration;
+
+import com.budgetserver.dto.BudgetStatus;
+import com.budgetserver.dto.SpendingSummary;
+import com.budgetserver.dto.TransactionItem;
+import com.budgetserver.repository.BudgetRepository;
+import com.budgetserver.repository.MonthlyRollupRepository;
+import com.budgetserver.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest(properties = "app.tool-output.format=json")
+@ActiveProfiles("test")
+@DisplayName("JSON Tool Output Integration Tests")
+class JsonToolOutputIntegrationTest {
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private List<AsyncToolSpecification> budgetToolSpecifications;
+
+    @BeforeEach
+    void setUp() {
+        budgetRepository.deleteAll();
+        transactionRepository.deleteAll();
+        monthlyRollupRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should answer MCP tool calls with compact JSON that parses into the typed results")
+    void toolCalls_InJsonMode_ShouldReturnParsableJson() throws Exception {
+        // Given
+        call("createBudget", Map.of("category", "Food", "monthlyLimit", 500, "year", 2025, "month", 6));
+        String added = call("addTransaction", Map.of(
+                "amount", 120.25, "description", "Groceries", "category", "Food", "type", "EXPENSE", "date", "2025-06-03"));
+
+        // When
+        BudgetStatus[] budgets = objectMapper.readValue(call("getAllBudgets", Map.of()), BudgetStatus[].class);
+        SpendingSummary spending = objectMapper.readValue(
+                call("getSpendingSummary", Map.of("category", "Food", "year", 2025, "month", 6)), SpendingSummary.class);
+        TransactionItem[] recent = objectMapper.readValue(call("getRecentTransactions", Map.of()), TransactionItem[].class);
+
+        // Then
+        assertThat(objectMapper.readValue(added, TransactionItem.class).getDescription()).isEqualTo("Groceries");
+        assertThat(budgets).singleElement().satisfies(status -> {
+            assertThat(status.getCategory()).isEqualTo("Food");
+            assertThat(status.getSpent()).isEqualByComparingTo("120.25");
+            assertThat(status.getRemaining()).isEqualByComparingTo("379.75");
+        });
+        assertThat(spending.getTotalExpenses()).isEqualByComparingTo("120.25");
+        assertThat(spending.getTransactionCount()).isEqualTo(1L);
+        assertThat(recent).singleElement().satisfies(item -> assertThat(item.getDate()).isEqualTo("2025-06-03"));
+    }
+
+    @Test
+    @DisplayName("Should report rejected input as a JSON error object")
+    void invalidInput_InJsonMode_ShouldReturnErrorObject() {
+        // When
+        String result = call("addTransaction", Map.of(
+                "amount", 0, "description", "Nothing", "category", "Food", "type", "EXPENSE"));
+
+        // Then
+        assertThat(result).isEqualTo("{\"error\":\"Amount must be greater than 0\"}");
+        assertThat(transactionRepository.count()).isZero();
+    }
+
+    private String call(String toolName, Map<String, Object> arguments) {
+        AsyncToolSpecification tool = budgetToolSpecifications.stream()
+                .filter(spec -> spec.tool().name().equals(toolName))
+                .findFirst()
+                .orElseThrow();
+        CallToolResult result = tool.callHandler()
+                .apply(mock(McpAsyncServerExchange.class), new CallToolRequest(toolName, arguments))
+                .block(Duration.ofSeconds(5));
+        assertThat(result).isNotNull();
+        return ((TextContent) result.content().getFirst()).text();
+    }
+}
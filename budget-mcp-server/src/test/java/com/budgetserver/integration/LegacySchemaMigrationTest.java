@@ -0,0 +1,95 @@
+package com.budgetserver.integration;
+
+import com.budgetserver.dto.BudgetSummary;
+import com.budgetserver.entity.Transaction;
+import com.budgetserver.repository.MonthlyRollupRepository;
+import com.budgetserver.repository.TransactionRepository;
+import com.budgetserver.service.BudgetMcpService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Flyway Migration Tests - database created by ddl-auto")
+class LegacySchemaMigrationTest {
+
+    private static final String URL = "jdbc:h2:mem:legacydb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    @Autowired
+    private BudgetMcpService budgetMcpService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the old schema and its data before the application, and so Flyway, first sees the database.
+     */
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("RUNSCRIPT FROM 'classpath:db/legacy/ddl-auto-schema.sql'");
+        }
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    @DisplayName("Should adopt the old tables at V1 and apply every later migration")
+    void migrate_ShouldBaselineAndApplyLaterVersions() {
+        // When - the application has started on the old database
+        List<Map<String, Object>> history = jdbcTemplate.queryForList(
+                "SELECT \"version\", \"type\", \"success\" FROM \"flyway_schema_history\" " +
+                        "WHERE \"version\" IS NOT NULL ORDER BY \"installed_rank\"");
+
+        // Then
+        assertThat(history).extracting(row -> row.get("version")).containsExactly("1", "2", "3", "4", "5");
+        assertThat(history.getFirst().get("type")).isEqualTo("BASELINE");
+        assertThat(history).allMatch(row -> Boolean.TRUE.equals(row.get("success")));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = 'IDX_MONTHLY_ROLLUPS_PERIOD_TYPE'",
+                Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should rebuild the rollups from the existing transactions and keep serving the tools")
+    void migratedDatabase_ShouldServeExistingAndNewData() {
+        // Then - the rollups were backfilled at startup
+        assertThat(monthlyRollupRepository.count()).isEqualTo(2);
+        BudgetSummary summary = budgetMcpService.getSummary(2025, 6);
+        assertThat(summary.getTotalIncome()).isEqualByComparingTo("3000.00");
+        assertThat(summary.getTotalExpenses()).isEqualByComparingTo("65.50");
+
+        // When - a new transaction takes its id from the sequence
+        budgetMcpService.addTransaction(BigDecimal.valueOf(4.50), "Coffee", "Food", "EXPENSE", "2025-06-12");
+
+        // Then
+        Transaction coffee = transactionRepository.findAll().stream()
+                .filter(transaction -> transaction.getDescription().equals("Coffee"))
+                .findFirst().orElseThrow();
+        assertThat(coffee.getId()).isGreaterThan(3L);
+        assertThat(budgetMcpService.getSummary(2025, 6).getTotalExpenses()).isEqualByComparingTo("70.00");
+        assertThat(budgetMcpService.getAllBudgets()).contains("Spent: $70.00");
+    }
+}
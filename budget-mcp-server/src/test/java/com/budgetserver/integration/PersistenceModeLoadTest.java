@@ -0,0 +1,166 @@
+package com.budgetserver.integration;
+
+import com.budgetserver.execution.ToolExecutor;
+import com.budgetserver.execution.ToolMetrics;
+import com.budgetserver.repository.BudgetRepository;
+import com.budgetserver.repository.MonthlyRollupRepository;
+import com.budgetserver.repository.TransactionRepository;
+import com.budgetserver.service.ReactiveBudgetMcpService;
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares the blocking JPA tools (on the {@link ToolExecutor} pool) with the R2DBC tools under
+ * the same concurrent session load, against the same database. Each session makes a short,
+ * read-heavy conversation's worth of tool calls. Reports per-mode p99 tool latency and completed
+ * sessions per second per core; only correctness is asserted, the numbers are for comparison.
+ * <p>
+ * Run with {@code mvn test -Dtest=PersistenceModeLoadTest -DloadTest=true}
+ * (tune with {@code -DloadTest.sessions=} and {@code -DloadTest.concurrency=}).
+ */
+@SpringBootTest(properties = "app.persistence.mode=r2dbc")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "loadTest", matches = "true")
+@DisplayName("Persistence Mode Load Test - JPA vs R2DBC")
+class PersistenceModeLoadTest {
+
+    private static final int SESSIONS = Integer.getInteger("loadTest.sessions", 2_000);
+    private static final int CONCURRENCY = Integer.getInteger("loadTest.concurrency", 256);
+
+    private static final List<CallToolRequest> SESSION_CALLS = List.of(
+            new CallToolRequest("getSummary", Map.of("year", 2025, "month", 6)),
+            new CallToolRequest("getAllBudgets", Map.of()),
+            new CallToolRequest("getSpendingSummary", Map.of("category", "Food", "year", 2025, "month", 6)),
+            new CallToolRequest("getRecentTransactions", Map.of()));
+
+    @Autowired
+    private ToolCallbackProvider budgetTools;
+
+    @Autowired
+    private ToolExecutor toolExecutor;
+
+    @Autowired
+    private ToolMetrics toolMetrics;
+
+    @Autowired
+    private List<AsyncToolSpecification> reactiveBudgetToolSpecifications;
+
+    @Autowired
+    private ReactiveBudgetMcpService reactiveBudgetMcpService;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Test
+    @DisplayName("Should report p99 latency and sessions per core for both persistence modes")
+    void compareModes() {
+        // Given
+        budgetRepository.deleteAll();
+        transactionRepository.deleteAll();
+        monthlyRollupRepository.deleteAll();
+        for (String category : List.of("Food", "Transport", "Entertainment", "Utilities")) {
+            reactiveBudgetMcpService.createBudget(category, BigDecimal.valueOf(500), 2025, 6, null, null).block();
+            for (int day = 1; day <= 25; day++) {
+                reactiveBudgetMcpService.addTransaction(BigDecimal.valueOf(day), "Load " + day, category,
+                        "EXPENSE", String.format("2025-06-%02d", day)).block();
+            }
+        }
+        // Built like the jpa mode's budgetToolSpecifications bean, so both modes are timed and traced alike
+        Map<String, AsyncToolSpecification> jpa = Arrays.stream(budgetTools.getToolCallbacks())
+                .map(toolMetrics::timed)
+                .map(toolExecutor::toAsyncToolSpecification)
+                .collect(Collectors.toMap(spec -> spec.tool().name(), Function.identity()));
+        Map<String, AsyncToolSpecification> r2dbc = reactiveBudgetToolSpecifications.stream()
+                .collect(Collectors.toMap(spec -> spec.tool().name(), Function.identity()));
+
+        // Warm up both paths before measuring
+        run(jpa, SESSIONS / 4);
+        run(r2dbc, SESSIONS / 4);
+
+        // When
+        Result jpaResult = run(jpa, SESSIONS);
+        Result r2dbcResult = run(r2dbc, SESSIONS);
+
+        // Then
+        System.out.printf("%n⚡ Persistence mode load test: %d sessions x %d calls, concurrency %d, %d cores%n",
+                SESSIONS, SESSION_CALLS.size(), CONCURRENCY, Runtime.getRuntime().availableProcessors());
+        jpaResult.print("jpa");
+        r2dbcResult.print("r2dbc");
+
+        assertThat(jpaResult.errors()).isZero();
+        assertThat(r2dbcResult.errors()).isZero();
+    }
+
+    private Result run(Map<String, AsyncToolSpecification> specs, int sessions) {
+        McpAsyncServerExchange exchange = mock(McpAsyncServerExchange.class);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<CallToolResult> errors = new ConcurrentLinkedQueue<>();
+
+        long start = System.nanoTime();
+        Flux.range(0, sessions)
+                .flatMap(session -> Flux.fromIterable(SESSION_CALLS)
+                        .concatMap(request -> Mono.defer(() -> {
+                            long callStart = System.nanoTime();
+                            return specs.get(request.name()).callHandler().apply(exchange, request)
+                                    .doOnNext(result -> {
+                                        latencies.add(System.nanoTime() - callStart);
+                                        if (Boolean.TRUE.equals(result.isError())) {
+                                            errors.add(result);
+                                        }
+                                    });
+                        })), CONCURRENCY)
+                .blockLast(Duration.ofMinutes(5));
+        long elapsed = System.nanoTime() - start;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Result(sessions, elapsed, sorted, errors.size());
+    }
+
+    private record Result(int sessions, long elapsedNanos, long[] sortedLatencies, int errors) {
+
+        double p99Millis() {
+            if (sortedLatencies.length == 0) return 0;
+            int index = (int) Math.ceil(sortedLatencies.length * 0.99) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+
+        double sessionsPerSecondPerCore() {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            return sessions / seconds / Runtime.getRuntime().availableProcessors();
+        }
+
+        void print(String mode) {
+            System.out.printf("  %-6s p99=%.2f ms, %.1f sessions/s/core, %d errors%n",
+                    mode, p99Millis(), sessionsPerSecondPerCore(), errors);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.budgetserver.integration;
+
+import com.budgetserver.dto.BudgetSummary;
+import com.budgetserver.dto.Dashboard;
+import com.budgetserver.dto.TransactionRequest;
+import com.budgetserver.entity.Budget;
+import com.budgetserver.entity.MonthlyRollup;
+import com.budgetserver.entity.TransactionType;
+import com.budgetserver.execution.ToolMetrics;
+import com.budgetserver.repository.BudgetRepository;
+import com.budgetserver.repository.MonthlyRollupRepository;
+import com.budgetserver.repository.TransactionRepository;
+import com.budgetserver.service.BudgetMcpService;
+import com.budgetserver.service.ReactiveBudgetMcpService;
+import com.budgetserver.tracing.ToolTracer;
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest(properties = "app.persistence.mode=r2dbc")
+@ActiveProfiles("test")
+@DisplayName("Budget MCP Server Integration Tests - R2DBC mode")
+class ReactiveBudgetMcpServerIntegrationTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Autowired
+    private ReactiveBudgetMcpService reactiveBudgetMcpService;
+
+    @Autowired
+    private BudgetMcpService budgetMcpService;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Autowired
+    private ToolCallbackProvider budgetTools;
+
+    @Autowired
+    private List<AsyncToolSpecification> reactiveBudgetToolSpecifications;
+
+    @Autowired
+    private ToolMetrics toolMetrics;
+
+    @BeforeEach
+    void setUp() {
+        // Reactive writes commit on their own connections, so the tests clean up instead of rolling back
+        budgetRepository.deleteAll();
+        transactionRepository.deleteAll();
+        monthlyRollupRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should create budget and track spending end-to-end")
+    void createBudgetAndTrackSpending_EndToEnd_ShouldWorkCorrectly() {
+        // Given
+        String created = reactiveBudgetMcpService.createBudget(
+                "Food", BigDecimal.valueOf(500.00), 2025, 6, "Monthly food budget", BigDecimal.valueOf(80.0))
+                .block(TIMEOUT);
+
+        // When
+        String expense = reactiveBudgetMcpService.addTransaction(
+                BigDecimal.valueOf(50.00), "Grocery shopping", "Food", "EXPENSE", "2025-06-15").block(TIMEOUT);
+        reactiveBudgetMcpService.addTransaction(
+                BigDecimal.valueOf(25.00), "Restaurant", "Food", "EXPENSE", "2025-06-20").block(TIMEOUT);
+        String budgets = reactiveBudgetMcpService.getAllBudgets().block(TIMEOUT);
+
+        // Then
+        assertThat(created).contains("✅ Budget created successfully!");
+        assertThat(expense).contains("💸 Transaction added successfully!");
+        assertThat(budgetRepository.findAll()).hasSize(1);
+        assertThat(transactionRepository.findAll()).hasSize(2);
+        assertThat(budgets)
+                .contains("**Food**")
+                .contains("💸 Spent: $75.00 (15.0%)")
+                .contains("💵 Remaining: $425.00");
+    }
+
+    @Test
+    @DisplayName("Should produce the same responses as the JPA implementation")
+    void responses_ShouldMatchJpaImplementation() {
+        // Given
+        reactiveBudgetMcpService.createBudget(
+                "Food", BigDecimal.valueOf(400.00), 2025, 6, null, null).block(TIMEOUT);
+        reactiveBudgetMcpService.addTransaction(
+                BigDecimal.valueOf(3000.00), "Salary", "Salary", "INCOME", "2025-06-01").block(TIMEOUT);
+        reactiveBudgetMcpService.addTransaction(
+                BigDecimal.valueOf(120.00), "Groceries", "Food", "EXPENSE", "2025-06-10").block(TIMEOUT);
+
+        // When / Then
+        assertThat(reactiveBudgetMcpService.getSpendingSummary(null, 2025, 6).block(TIMEOUT))
+                .isEqualTo(budgetMcpService.getSpendingSummary(null, 2025, 6));
+        assertThat(reactiveBudgetMcpService.getSpendingSummary("Food", 2025, 6).block(TIMEOUT))
+                .isEqualTo(budgetMcpService.getSpendingSummary("Food", 2025, 6));
+        assertThat(reactiveBudgetMcpService.getAllBudgets().block(TIMEOUT))
+                .isEqualTo(budgetMcpService.getAllBudgets());
+        assertThat(reactiveBudgetMcpService.getRecentTransactions().block(TIMEOUT))
+                .isEqualTo(budgetMcpService.getRecentTransactions());
+
+        BudgetSummary summary = reactiveBudgetMcpService.getSummary(2025, 6).block(TIMEOUT);
+        assertThat(summary.getTotalIncome()).isEqualByComparingTo("3000.00");
+        assertThat(summary.getTotalExpenses()).isEqualByComparingTo("120.00");
+        assertThat(summary.getNetAmount()).isEqualByComparingTo("2880.00");
+    }
+
+    @Test
+    @DisplayName("Should maintain monthly rollups in the same transaction as the insert")
+    void addTransaction_ShouldMaintainRollups() {
+        // When
+        reactiveBudgetMcpService.addTransaction(
+                BigDecimal.valueOf(40.00), "Lunch", "Food", "EXPENSE", "2025-06-03").block(TIMEOUT);
+        reactiveBudgetMcpService.addTransaction(
+                BigDecimal.valueOf(60.00), "Dinner", "Food", "EXPENSE", "2025-06-04").block(TIMEOUT);
+
+        // Then
+        MonthlyRollup rollup = monthlyRollupRepository
+                .findByCategoryAndTypeAndRollupYearAndRollupMonth("Food", TransactionType.EXPENSE, 2025, 6)
+                .orElseThrow();
+        assertThat(rollup.getTotalAmount()).isEqualByComparingTo("100.00");
+        assertThat(rollup.getTransactionCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject duplicate budgets and invalid input like the JPA tools")
+    void validation_ShouldMatchJpaImplementation() {
+        // Given
+        reactiveBudgetMcpService.createBudget(
+                "Food", BigDecimal.valueOf(500.00), 2025, 6, null, null).block(TIMEOUT);
+
+        // When
+        String duplicate = reactiveBudgetMcpService.createBudget(
+                "Food", BigDecimal.valueOf(600.00), 2025, 6, null, null).block(TIMEOUT);
+        String invalidType = reactiveBudgetMcpService.addTransaction(
+                BigDecimal.valueOf(10.00), "Test", "Food", "REFUND", null).block(TIMEOUT);
+        String invalidAmount = reactiveBudgetMcpService.addTransaction(
+                BigDecimal.ZERO, "Test", "Food", "EXPENSE", null).block(TIMEOUT);
+
+        // Then
+        assertThat(duplicate).contains("❌ Budget for Food already exists");
+        assertThat(invalidType).isEqualTo(budgetMcpService.addTransaction(
+                BigDecimal.valueOf(10.00), "Test", "Food", "REFUND", null));
+        assertThat(invalidAmount).isEqualTo("❌ Amount must be greater than 0");
+        assertThat(budgetRepository.findAll()).hasSize(1);
+        assertThat(transactionRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should add a batch of transactions like the JPA tool")
+    void addTransactions_ShouldMatchJpaImplementation() {
+        // Given
+        List<TransactionRequest> requests = List.of(
+                new TransactionRequest(BigDecimal.valueOf(12.50), "Coffee beans", "Food", "EXPENSE", "2025-06-02"),
+                new TransactionRequest(BigDecimal.valueOf(-1), "Oops", "Food", "EXPENSE", "2025-06-02"),
+                new TransactionRequest(BigDecimal.valueOf(7.50), "Tea", "Food", "EXPENSE", "2025-06-03"));
+
+        // When
+        String result = reactiveBudgetMcpService.addTransactions(requests).block(TIMEOUT);
+
+        // Then
+        assertThat(result)
+                .startsWith("⚠️ Added 2 of 3 transactions")
+                .contains("2. ❌ Amount must be greater than 0");
+        assertThat(transactionRepository.findAll()).hasSize(2);
+        MonthlyRollup rollup = monthlyRollupRepository
+                .findByCategoryAndTypeAndRollupYearAndRollupMonth("Food", TransactionType.EXPENSE, 2025, 6)
+                .orElseThrow();
+        assertThat(rollup.getTransactionCount()).isEqualTo(2);
+        assertThat(rollup.getTotalAmount()).isEqualByComparingTo("20.00");
+    }
+
+    @Test
+    @DisplayName("Should write nothing when every batch item is rejected")
+    void addTransactions_WithOnlyInvalidItems_ShouldNotWrite() {
+        // When
+        String result = reactiveBudgetMcpService.addTransactions(List.of(
+                new TransactionRequest(BigDecimal.valueOf(-1), "Oops", "Food", "EXPENSE", "2025-06-02"))).block(TIMEOUT);
+
+        // Then
+        assertThat(result).startsWith("⚠️ Added 0 of 1 transactions");
+        assertThat(transactionRepository.findAll()).isEmpty();
+        assertThat(monthlyRollupRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should build the same dashboard as the JPA tool")
+    void getDashboard_ShouldMatchJpaImplementation() {
+        // Given
+        reactiveBudgetMcpService.createBudget("Food", BigDecimal.valueOf(400.00), 2025, 6, null, null).block(TIMEOUT);
+        reactiveBudgetMcpService.createBudget("Food", BigDecimal.valueOf(300.00), 2025, 5, null, null).block(TIMEOUT);
+        reactiveBudgetMcpService.addTransaction(
+                BigDecimal.valueOf(3000.00), "Salary", "Salary", "INCOME", "2025-06-01").block(TIMEOUT);
+        reactiveBudgetMcpService.addTransaction(
+                BigDecimal.valueOf(350.00), "Groceries", "Food", "EXPENSE", "2025-06-10").block(TIMEOUT);
+
+        // When
+        Dashboard reactive = reactiveBudgetMcpService.getDashboard(2025, 6).block(TIMEOUT);
+        Dashboard jpa = budgetMcpService.getDashboard(2025, 6);
+
+        // Then
+        assertThat(reactive).isEqualTo(jpa);
+        assertThat(jpa.getSummary().getNetAmount()).isEqualByComparingTo("2650.00");
+        assertThat(jpa.getBudgets()).singleElement().satisfies(status -> {
+            assertThat(status.getMonth()).isEqualTo(6);
+            assertThat(status.isAlert()).isTrue();
+        });
+        assertThat(jpa.getRecentTransactions()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should serve every tool through the reactive specifications")
+    void reactiveToolSpecifications_ShouldCoverAllTools() {
+        // Given
+        List<String> toolNames = Arrays.stream(budgetTools.getToolCallbacks())
+                .map(callback -> callback.getToolDefinition().name())
+                .toList();
+        reactiveBudgetMcpService.addTransaction(
+                BigDecimal.valueOf(3000.00), "Salary", "Salary", "INCOME", "2025-06-01").block(TIMEOUT);
+
+        // When
+        AsyncToolSpecification getSummary = reactiveBudgetToolSpecifications.stream()
+                .filter(spec -> spec.tool().name().equals("getSummary"))
+                .findFirst()
+                .orElseThrow();
+        CallToolResult result = getSummary.callHandler()
+                .apply(mock(McpAsyncServerExchange.class),
+                        new CallToolRequest("getSummary", Map.of("year", 2025, "month", 6)))
+                .block(TIMEOUT);
+
+        // Then
+        assertThat(reactiveBudgetToolSpecifications)
+                .extracting(spec -> spec.tool().name())
+                .containsExactlyInAnyOrderElementsOf(toolNames);
+        assertThat(result.isError()).isNotEqualTo(Boolean.TRUE);
+        assertThat(((TextContent) result.content().get(0)).text())
+                .contains("\"totalIncome\":3000");
+    }
+
+    @Test
+    @DisplayName("Should time and trace reactive tool calls like the JPA ones")
+    void reactiveToolSpecifications_ShouldRecordMetricsAndTimings() {
+        // Given
+        String traceId = "0af7651916cd43dd8448eb211c80319c";
+        @SuppressWarnings("unchecked")
+        Map<String, Long> before = (Map<String, Long>) toolMetrics.stats("addTransaction").get("outcomes");
+
+        // When
+        CallToolResult added = callTool("addTransaction", Map.of("amount", 5, "description", "Lunch",
+                        "category", "Food", "type", "EXPENSE", "date", "2025-06-03"),
+                Map.of("traceparent", "00-" + traceId + "-b7ad6b7169203331-01"));
+        callTool("addTransaction", Map.of("amount", 0, "description", "Nothing", "category", "Food", "type", "EXPENSE"),
+                null);
+        CallToolResult unreadable = callTool("addTransaction", Map.of("amount", "lots", "description", "Lunch",
+                "category", "Food", "type", "EXPENSE"), null);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        Map<String, Long> after = (Map<String, Long>) toolMetrics.stats("addTransaction").get("outcomes");
+        assertThat(after.get("success")).isEqualTo(before.get("success") + 1);
+        assertThat(after.get("validation_error")).isEqualTo(before.get("validation_error") + 1);
+        assertThat(after.get("exception")).isEqualTo(before.get("exception") + 1);
+        assertThat(unreadable.isError()).isTrue();
+        @SuppressWarnings("unchecked")
+        Map<String, Object> timings = (Map<String, Object>) added.meta().get(ToolTracer.TIMINGS_KEY);
+        assertThat(timings).containsEntry("traceId", traceId).containsKey("toolMs");
+    }
+
+    private CallToolResult callTool(String toolName, Map<String, Object> arguments, Map<String, Object> meta) {
+        AsyncToolSpecification tool = reactiveBudgetToolSpecifications.stream()
+                .filter(spec -> spec.tool().name().equals(toolName))
+                .findFirst()
+                .orElseThrow();
+        return tool.callHandler()
+                .apply(mock(McpAsyncServerExchange.class), new CallToolRequest(toolName, arguments, meta))
+                .block(TIMEOUT);
+    }
+}
@@ -0,0 +1,130 @@
+package com.budgetserver.integration;
+
+import com.budgetserver.dto.DatasetReport;
+import com.budgetserver.dto.DatasetSpec;
+import com.budgetserver.repository.BudgetRepository;
+import com.budgetserver.repository.MonthlyRollupRepository;
+import com.budgetserver.repository.TransactionRepository;
+import com.budgetserver.service.BudgetMcpService;
+import com.budgetserver.service.MonthlyRollupService;
+import com.budgetserver.service.SyntheticDataGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Synthetic Data Generator Integration Tests")
+class SyntheticDataGeneratorTest {
+
+    private static final DatasetSpec SPEC = DatasetSpec.builder()
+            .seed(7)
+            .transactions(12_000)
+            .firstMonth(YearMonth.of(2025, 1))
+            .months(6)
+            .build();
+
+    @Autowired
+    private SyntheticDataGenerator syntheticDataGenerator;
+
+    @Autowired
+    private MonthlyRollupService monthlyRollupService;
+
+    @Autowired
+    private BudgetMcpService budgetMcpService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // The generator commits chunk by chunk, so the tests clean up instead of rolling back
+        budgetRepository.deleteAll();
+        transactionRepository.deleteAll();
+        monthlyRollupRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should write the requested rows and a budget per expense category and month")
+    void generate_ShouldWriteRowsAndBudgets() {
+        // When
+        DatasetReport report = syntheticDataGenerator.generate(SPEC);
+
+        // Then
+        assertThat(report.getTransactions()).isEqualTo(12_000);
+        assertThat(report.getBudgets()).isEqualTo(6 * 8);
+        assertThat(transactionRepository.count()).isEqualTo(12_000);
+        assertThat(budgetRepository.count()).isEqualTo(6 * 8);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE date < DATE '2025-01-01' OR date > DATE '2025-06-30'",
+                Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE type = 'INCOME'", Long.class)).isBetween(450L, 750L);
+    }
+
+    @Test
+    @DisplayName("Should produce the same rows for the same seed and different rows for another seed")
+    void generate_SameSeed_ShouldBeReproducible() {
+        // Given
+        syntheticDataGenerator.generate(SPEC);
+        List<String> first = fingerprint();
+
+        // When
+        syntheticDataGenerator.generate(SPEC.toBuilder().replace(true).build());
+        List<String> second = fingerprint();
+        syntheticDataGenerator.generate(SPEC.toBuilder().seed(8).replace(true).build());
+        List<String> other = fingerprint();
+
+        // Then
+        assertThat(second).isEqualTo(first);
+        assertThat(other).isNotEqualTo(first);
+        assertThat(transactionRepository.count()).isEqualTo(12_000);
+    }
+
+    @Test
+    @DisplayName("Should leave the monthly rollups identical to a full rebuild")
+    void generate_RollupsShouldMatchRebuild() {
+        // When
+        syntheticDataGenerator.generate(SPEC);
+        List<String> generated = rollups();
+        monthlyRollupService.rebuild();
+
+        // Then
+        assertThat(generated).isNotEmpty().containsExactlyInAnyOrderElementsOf(rollups());
+        assertThat(budgetMcpService.getSummary(2025, 3).getTotalExpenses()).isPositive();
+    }
+
+    private List<String> fingerprint() {
+        return jdbcTemplate.query("""
+                        SELECT category, type, date, SUM(amount) AS total, COUNT(*) AS rows_on_day FROM transactions
+                        GROUP BY category, type, date ORDER BY category, type, date
+                        """,
+                (rs, rowNum) -> rs.getString("category") + "/" + rs.getString("type") + "/" + rs.getDate("date")
+                        + "=" + rs.getBigDecimal("total").toPlainString() + "x" + rs.getLong("rows_on_day"));
+    }
+
+    private List<String> rollups() {
+        return monthlyRollupRepository.findAll().stream()
+                .map(r -> r.getCategory() + "/" + r.getType() + "/" + r.getRollupYear() + "-" + r.getRollupMonth()
+                        + "=" + r.getTotalAmount().stripTrailingZeros().toPlainString() + "x" + r.getTransactionCount())
+                .toList();
+    }
+}
@@ -0,0 +1,86 @@
+package com.budgetserver.integration;
+
+import com.budgetserver.dto.ImportReport;
+import com.budgetserver.repository.MonthlyRollupRepository;
+import com.budgetserver.repository.TransactionRepository;
+import com.budgetserver.service.TransactionImportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Imports a generated bank statement (a million rows by default) and prints the throughput.
+ * Only the row counts are asserted.
+ * <p>
+ * Run with {@code mvn test -Dtest=TransactionImportBenchmarkTest -Dbenchmark=true}
+ * (tune with {@code -Dbenchmark.rows=}).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Transaction Import Benchmark")
+class TransactionImportBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final List<String> CATEGORIES =
+            List.of("Food", "Transport", "Entertainment", "Utilities", "Housing", "Health", "Shopping", "Travel");
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @DisplayName("Should import a large statement and report rows per second")
+    void importLargeStatement() throws IOException {
+        // Given
+        transactionRepository.deleteAllInBatch();
+        monthlyRollupRepository.deleteAllInBatch();
+        Path statement = tempDir.resolve("statement.csv");
+        Random random = new Random(42);
+        LocalDate firstDay = LocalDate.of(2024, 1, 1);
+        try (BufferedWriter writer = Files.newBufferedWriter(statement)) {
+            writer.write("date,description,amount,category\n");
+            for (int i = 0; i < ROWS; i++) {
+                boolean income = random.nextInt(20) == 0;
+                writer.write(firstDay.plusDays(random.nextInt(730)) + ",Statement line " + i + ","
+                        + (income ? "" : "-") + (1 + random.nextInt(50_000)) / 100.0 + ","
+                        + (income ? "Salary" : CATEGORIES.get(random.nextInt(CATEGORIES.size()))) + "\n");
+            }
+        }
+
+        // When
+        ImportReport report = transactionImportService.importFile(statement);
+
+        // Then
+        System.out.printf("%n📥 Transaction import benchmark: %d rows in %d ms (%d rows/s, %d chunks)%n",
+                report.getImported(), report.getDurationMs(), report.getRowsPerSecond(), report.getChunks());
+
+        assertThat(report.getImported()).isEqualTo(ROWS);
+        assertThat(transactionRepository.count()).isEqualTo(ROWS);
+
+        transactionRepository.deleteAllInBatch();
+        monthlyRollupRepository.deleteAllInBatch();
+    }
+}
@@ -0,0 +1,147 @@
+package com.budgetserver.integration;
+
+import com.budgetserver.dto.ImportReport;
+import com.budgetserver.entity.MonthlyRollup;
+import com.budgetserver.entity.Transaction;
+import com.budgetserver.entity.TransactionType;
+import com.budgetserver.repository.BudgetRepository;
+import com.budgetserver.repository.MonthlyRollupRepository;
+import com.budgetserver.repository.TransactionRepository;
+import com.budgetserver.service.BudgetMcpService;
+import com.budgetserver.service.MonthlyRollupService;
+import com.budgetserver.service.TransactionImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.transaction-import.chunk-size=3")
+@ActiveProfiles("test")
+@DisplayName("Transaction Import Integration Tests")
+class TransactionImportIntegrationTest {
+
+    private static final String STATEMENT = """
+            date,description,amount,category,type
+            2025-06-01,Salary,3000.00,Salary,INCOME
+            2025-06-02,Groceries,-82.40,Food,
+            2025-06-03,Bus ticket,2.50,Transport,EXPENSE
+            2025-06-04,Lunch,oops,Food,EXPENSE
+            2025-06-05,Dinner,31.10,Food,EXPENSE
+
+            2025-07-01,Groceries,40.00,Food,EXPENSE
+            2025-07-02,Cinema,12.00,Entertainment,REFUND
+            """;
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private MonthlyRollupService monthlyRollupService;
+
+    @Autowired
+    private BudgetMcpService budgetMcpService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // Imports commit chunk by chunk, so the tests clean up instead of rolling back
+        budgetRepository.deleteAll();
+        transactionRepository.deleteAll();
+        monthlyRollupRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should import valid rows across chunks and report rejected ones")
+    void importCsv_ShouldImportValidRowsAndReportErrors() throws IOException {
+        // When
+        ImportReport report = transactionImportService.importCsv(new StringReader(STATEMENT), "statement.csv");
+
+        // Then
+        assertThat(report.getRowsRead()).isEqualTo(7);
+        assertThat(report.getImported()).isEqualTo(5);
+        assertThat(report.getRejected()).isEqualTo(2);
+        assertThat(report.getChunks()).isEqualTo(3);
+        assertThat(report.getErrors()).containsExactly(
+                "line 5: Invalid amount",
+                "line 9: Invalid transaction type, use INCOME or EXPENSE");
+        assertThat(transactionRepository.count()).isEqualTo(5);
+        assertThat(transactionImportService.isRunning()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should leave the monthly rollups identical to a full rebuild")
+    void importCsv_RollupsShouldMatchRebuild() throws IOException {
+        // Given
+        budgetMcpService.addTransaction(BigDecimal.valueOf(10.00), "Snack", "Food", "EXPENSE", "2025-06-10");
+
+        // When
+        transactionImportService.importCsv(new StringReader(STATEMENT), "statement.csv");
+        List<String> imported = rollups();
+        monthlyRollupService.rebuild();
+
+        // Then
+        assertThat(imported).containsExactlyInAnyOrderElementsOf(rollups());
+        MonthlyRollup food = monthlyRollupRepository
+                .findByCategoryAndTypeAndRollupYearAndRollupMonth("Food", TransactionType.EXPENSE, 2025, 6)
+                .orElseThrow();
+        assertThat(food.getTotalAmount()).isEqualByComparingTo("123.50");
+        assertThat(food.getTransactionCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should refresh cached summaries after an import")
+    void importCsv_ShouldEvictCachedSummaries() throws IOException {
+        // Given
+        assertThat(budgetMcpService.getSummary(2025, 6).getTotalIncome()).isEqualByComparingTo("0");
+
+        // When
+        transactionImportService.importCsv(new StringReader(STATEMENT), "statement.csv");
+
+        // Then
+        assertThat(budgetMcpService.getSummary(2025, 6).getTotalIncome()).isEqualByComparingTo("3000.00");
+    }
+
+    @Test
+    @DisplayName("Should keep sequence ids unique alongside plain SQL inserts")
+    void sequenceIds_ShouldNotCollideWithSqlInserts() throws IOException {
+        // Given - A Hibernate-allocated block is in use
+        budgetMcpService.addTransaction(BigDecimal.valueOf(10.00), "Snack", "Food", "EXPENSE", "2025-06-10");
+
+        // When - Rows arrive through the column default, then through Hibernate again
+        jdbcTemplate.update("INSERT INTO transactions (amount, description, date, category, type) " +
+                "VALUES (5.00, 'Direct', DATE '2025-06-11', 'Food', 'EXPENSE')");
+        transactionImportService.importCsv(new StringReader(STATEMENT), "statement.csv");
+
+        // Then
+        List<Long> ids = transactionRepository.findAll().stream().map(Transaction::getId).toList();
+        assertThat(ids).hasSize(7).doesNotHaveDuplicates();
+    }
+
+    private List<String> rollups() {
+        return monthlyRollupRepository.findAll().stream()
+                .map(r -> r.getCategory() + "/" + r.getType() + "/" + r.getRollupYear() + "-" + r.getRollupMonth()
+                        + "=" + r.getTotalAmount().stripTrailingZeros().toPlainString() + "x" + r.getTransactionCount())
+                .toList();
+    }
+}
@@ -152,6 +152,27 @@ class BudgetRepositoryTest {
         assertThat(activeBudgets).isEmpty();
     }
 
+    @Test
+    @DisplayName("Should find only the active budgets of the given month")
+    void findActiveBudgetsFor_ShouldReturnOnlyThatMonth() {
+        // Given
+        entityManager.persist(testBudget);
+        entityManager.persist(Budget.builder().category("Food").monthlyLimit(BigDecimal.valueOf(400.00))
+                .budgetYear(2025).budgetMonth(5).alertThreshold(BigDecimal.valueOf(80.0)).isActive(true).build());
+        entityManager.persist(Budget.builder().category("Fun").monthlyLimit(BigDecimal.valueOf(100.00))
+                .budgetYear(2025).budgetMonth(6).alertThreshold(BigDecimal.valueOf(80.0)).isActive(false).build());
+        entityManager.flush();
+
+        // When
+        List<Budget> june = budgetRepository.findActiveBudgetsFor(2025, 6);
+
+        // Then
+        assertThat(june).singleElement().satisfies(budget -> {
+            assertThat(budget.getCategory()).isEqualTo("Food");
+            assertThat(budget.getBudgetMonth()).isEqualTo(6);
+        });
+    }
+
     @Test
     @DisplayName("Should handle budget with null notes")
     void saveBudget_WithNullNotes_ShouldSaveSuccessfully() {
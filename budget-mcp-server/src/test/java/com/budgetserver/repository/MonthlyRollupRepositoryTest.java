@@ -0,0 +1,297 @@
+package com.budgetserver.repository;
+
+import com.budgetserver.dto.BudgetSpending;
+import com.budgetserver.dto.PeriodTotals;
+import com.budgetserver.dto.SpendingTotals;
+import com.budgetserver.entity.Budget;
+import com.budgetserver.entity.MonthlyRollup;
+import com.budgetserver.entity.Transaction;
+import com.budgetserver.entity.TransactionType;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DisplayName("Monthly Rollup Repository Tests")
+class MonthlyRollupRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @MockitoBean
+    private ToolCallbackProvider toolCallbackProvider;
+
+    @Test
+    @DisplayName("Should increment an existing rollup row")
+    void increment_WithExistingRollup_ShouldAddAmountAndCount() {
+        // Given
+        persistRollup("Food", TransactionType.EXPENSE, 2025, 6, BigDecimal.valueOf(45.50), 1L);
+
+        // When
+        int updated = monthlyRollupRepository.increment(
+                "Food", TransactionType.EXPENSE, 2025, 6, BigDecimal.valueOf(20.00));
+        entityManager.clear();
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        MonthlyRollup rollup = monthlyRollupRepository.findByCategoryAndTypeAndRollupYearAndRollupMonth(
+                "Food", TransactionType.EXPENSE, 2025, 6).orElseThrow();
+        assertThat(rollup.getTotalAmount()).isEqualByComparingTo(BigDecimal.valueOf(65.50));
+        assertThat(rollup.getTransactionCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should report no update when the rollup row does not exist")
+    void increment_WithMissingRollup_ShouldUpdateNothing() {
+        // When
+        int updated = monthlyRollupRepository.increment(
+                "Food", TransactionType.EXPENSE, 2025, 6, BigDecimal.valueOf(20.00));
+
+        // Then
+        assertThat(updated).isZero();
+        assertThat(monthlyRollupRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should sum rollups by type and period")
+    void sumByTypeAndPeriod_ShouldOnlyIncludeMatchingTypeAndPeriod() {
+        // Given
+        persistRollup("Food", TransactionType.EXPENSE, 2025, 6, BigDecimal.valueOf(100.00), 3L);
+        persistRollup("Transportation", TransactionType.EXPENSE, 2025, 6, BigDecimal.valueOf(50.00), 2L);
+        persistRollup("Salary", TransactionType.INCOME, 2025, 6, BigDecimal.valueOf(3000.00), 1L);
+        persistRollup("Food", TransactionType.EXPENSE, 2025, 7, BigDecimal.valueOf(999.00), 9L);
+
+        // When
+        BigDecimal expenses = monthlyRollupRepository.sumByTypeAndPeriod(TransactionType.EXPENSE, 2025, 6);
+        BigDecimal income = monthlyRollupRepository.sumByTypeAndPeriod(TransactionType.INCOME, 2025, 6);
+        BigDecimal empty = monthlyRollupRepository.sumByTypeAndPeriod(TransactionType.INCOME, 2024, 1);
+
+        // Then
+        assertThat(expenses).isEqualByComparingTo(BigDecimal.valueOf(150.00));
+        assertThat(income).isEqualByComparingTo(BigDecimal.valueOf(3000.00));
+        assertThat(empty).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should return income and expense totals for a period from one statement")
+    void findPeriodTotals_ShouldMatchPerTypeSumsInSingleStatement() {
+        // Given
+        persistRollup("Food", TransactionType.EXPENSE, 2025, 6, BigDecimal.valueOf(100.00), 3L);
+        persistRollup("Transportation", TransactionType.EXPENSE, 2025, 6, BigDecimal.valueOf(50.00), 2L);
+        persistRollup("Salary", TransactionType.INCOME, 2025, 6, BigDecimal.valueOf(3000.00), 1L);
+        persistRollup("Food", TransactionType.EXPENSE, 2025, 7, BigDecimal.valueOf(999.00), 9L);
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        // When
+        statistics.clear();
+        PeriodTotals totals = monthlyRollupRepository.findPeriodTotals(2025, 6);
+        long statements = statistics.getPrepareStatementCount();
+
+        // Then
+        assertThat(statements).isEqualTo(1);
+        assertThat(totals.getTotalIncome())
+                .isEqualByComparingTo(monthlyRollupRepository.sumByTypeAndPeriod(TransactionType.INCOME, 2025, 6));
+        assertThat(totals.getTotalExpenses())
+                .isEqualByComparingTo(monthlyRollupRepository.sumByTypeAndPeriod(TransactionType.EXPENSE, 2025, 6));
+        assertThat(totals.getIncomeCount()).isEqualTo(1L);
+        assertThat(totals.getExpenseCount()).isEqualTo(5L);
+        assertThat(totals.toSummary().getNetAmount()).isEqualByComparingTo(BigDecimal.valueOf(2850.00));
+    }
+
+    @Test
+    @DisplayName("Should return zero totals for a period without rollups")
+    void findPeriodTotals_WithoutRollups_ShouldReturnZero() {
+        // When
+        PeriodTotals totals = monthlyRollupRepository.findPeriodTotals(2024, 1);
+
+        // Then
+        assertThat(totals.getTotalIncome()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(totals.getTotalExpenses()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(totals.getIncomeCount()).isZero();
+        assertThat(totals.getExpenseCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should return expense total and count for a category in one projection")
+    void findExpenseTotals_ShouldReturnExpenseTotalAndCount() {
+        // Given
+        persistRollup("Food", TransactionType.EXPENSE, 2025, 6, BigDecimal.valueOf(150.00), 3L);
+        persistRollup("Food", TransactionType.INCOME, 2025, 6, BigDecimal.valueOf(40.00), 1L);
+        persistRollup("Food", TransactionType.EXPENSE, 2025, 7, BigDecimal.valueOf(99.00), 2L);
+
+        // When
+        SpendingTotals totals = monthlyRollupRepository.findExpenseTotals("Food", 2025, 6);
+
+        // Then
+        assertThat(totals.getTotal()).isEqualByComparingTo(BigDecimal.valueOf(150.00));
+        assertThat(totals.getTransactionCount()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Should return zero totals for a category without expenses")
+    void findExpenseTotals_WithoutRollup_ShouldReturnZero() {
+        // When
+        SpendingTotals totals = monthlyRollupRepository.findExpenseTotals("Travel", 2025, 6);
+
+        // Then
+        assertThat(totals.getTotal()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(totals.getTransactionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should match active budgets to their expense rollups")
+    void findSpendingForActiveBudgets_ShouldMatchEachBudgetPeriod() {
+        // Given
+        Budget juneFood = persistBudget("Food", 2025, 6, true);
+        Budget juneTransport = persistBudget("Transportation", 2025, 6, true);
+        persistBudget("Entertainment", 2025, 6, false);
+        persistRollup("Food", TransactionType.EXPENSE, 2025, 6, BigDecimal.valueOf(45.50), 1L);
+        persistRollup("Food", TransactionType.INCOME, 2025, 6, BigDecimal.valueOf(10.00), 1L);
+        persistRollup("Food", TransactionType.EXPENSE, 2025, 7, BigDecimal.valueOf(20.00), 1L);
+
+        // When
+        List<BudgetSpending> spending = monthlyRollupRepository.findSpendingForActiveBudgets();
+
+        // Then
+        assertThat(spending).hasSize(2);
+        assertThat(spentFor(spending, juneFood)).isEqualByComparingTo(BigDecimal.valueOf(45.50));
+        assertThat(spentFor(spending, juneTransport)).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should limit budget spending to the budgets of the given month")
+    void findSpendingForActiveBudgetsFor_ShouldOnlyIncludeThatMonth() {
+        // Given
+        Budget juneFood = persistBudget("Food", 2025, 6, true);
+        persistBudget("Food", 2025, 7, true);
+        persistBudget("Entertainment", 2025, 6, false);
+        persistRollup("Food", TransactionType.EXPENSE, 2025, 6, BigDecimal.valueOf(45.50), 1L);
+        persistRollup("Food", TransactionType.EXPENSE, 2025, 7, BigDecimal.valueOf(20.00), 1L);
+
+        // When
+        List<BudgetSpending> spending = monthlyRollupRepository.findSpendingForActiveBudgetsFor(2025, 6);
+
+        // Then
+        assertThat(spending).singleElement().satisfies(budget -> {
+            assertThat(budget.getBudgetId()).isEqualTo(juneFood.getId());
+            assertThat(budget.getSpent()).isEqualByComparingTo(BigDecimal.valueOf(45.50));
+        });
+    }
+
+    @Test
+    @DisplayName("Should keep a constant statement count as the number of budgets grows")
+    void findSpendingForActiveBudgets_WithGrowingBudgetCount_ShouldIssueSingleStatement() {
+        // Given
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        for (int i = 0; i < 3; i++) {
+            persistBudget("Category " + i, 2025, 6, true);
+        }
+        entityManager.flush();
+
+        // When
+        statistics.clear();
+        List<BudgetSpending> fewBudgets = monthlyRollupRepository.findSpendingForActiveBudgets();
+        long statementsForFewBudgets = statistics.getPrepareStatementCount();
+
+        for (int i = 3; i < 50; i++) {
+            persistBudget("Category " + i, 2025, 6, true);
+        }
+        entityManager.flush();
+
+        statistics.clear();
+        List<BudgetSpending> manyBudgets = monthlyRollupRepository.findSpendingForActiveBudgets();
+        long statementsForManyBudgets = statistics.getPrepareStatementCount();
+
+        // Then
+        assertThat(fewBudgets).hasSize(3);
+        assertThat(manyBudgets).hasSize(50);
+        assertThat(statementsForFewBudgets).isEqualTo(1);
+        assertThat(statementsForManyBudgets).isEqualTo(statementsForFewBudgets);
+    }
+
+    @Test
+    @DisplayName("Should regenerate rollups from raw transactions")
+    void insertFromTransactions_ShouldGroupByCategoryTypeAndMonth() {
+        // Given
+        persistTransaction("Food", TransactionType.EXPENSE, LocalDate.of(2025, 6, 2), 45.50);
+        persistTransaction("Food", TransactionType.EXPENSE, LocalDate.of(2025, 6, 28), 20.00);
+        persistTransaction("Food", TransactionType.EXPENSE, LocalDate.of(2025, 7, 1), 12.00);
+        persistTransaction("Salary", TransactionType.INCOME, LocalDate.of(2025, 6, 1), 3000.00);
+        entityManager.flush();
+
+        // When
+        int rows = monthlyRollupRepository.insertFromTransactions();
+        entityManager.clear();
+
+        // Then
+        assertThat(rows).isEqualTo(3);
+        Optional<MonthlyRollup> juneFood = monthlyRollupRepository.findByCategoryAndTypeAndRollupYearAndRollupMonth(
+                "Food", TransactionType.EXPENSE, 2025, 6);
+        assertThat(juneFood).isPresent();
+        assertThat(juneFood.get().getTotalAmount()).isEqualByComparingTo(BigDecimal.valueOf(65.50));
+        assertThat(juneFood.get().getTransactionCount()).isEqualTo(2L);
+        assertThat(monthlyRollupRepository.sumByTypeAndPeriod(TransactionType.INCOME, 2025, 6))
+                .isEqualByComparingTo(BigDecimal.valueOf(3000.00));
+    }
+
+    private void persistRollup(String category, TransactionType type, int year, int month,
+                               BigDecimal total, long count) {
+        entityManager.persistAndFlush(MonthlyRollup.builder()
+                .category(category)
+                .type(type)
+                .rollupYear(year)
+                .rollupMonth(month)
+                .totalAmount(total)
+                .transactionCount(count)
+                .build());
+    }
+
+    private Budget persistBudget(String category, int year, int month, boolean active) {
+        return entityManager.persist(Budget.builder()
+                .category(category)
+                .monthlyLimit(BigDecimal.valueOf(500.00))
+                .budgetYear(year)
+                .budgetMonth(month)
+                .isActive(active)
+                .build());
+    }
+
+    private void persistTransaction(String category, TransactionType type, LocalDate date, double amount) {
+        entityManager.persist(Transaction.builder()
+                .amount(BigDecimal.valueOf(amount))
+                .description(category + " " + date)
+                .category(category)
+                .type(type)
+                .date(date)
+                .build());
+    }
+
+    private BigDecimal spentFor(List<BudgetSpending> spending, Budget budget) {
+        return spending.stream()
+                .filter(s -> s.getBudgetId().equals(budget.getId()))
+                .map(BudgetSpending::getSpent)
+                .findFirst()
+                .orElseThrow();
+    }
+}
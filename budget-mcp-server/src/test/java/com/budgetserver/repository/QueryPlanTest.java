@@ -0,0 +1,241 @@
+package com.budgetserver.repository;
+
+import com.budgetserver.entity.TransactionType;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loads a synthetic dataset into the Flyway-managed schema, captures the SQL Hibernate
+ * generates for each repository query and checks its H2 EXPLAIN plan: the filtered
+ * table must be read through the expected index, never through a full table scan.
+ * <p>
+ * The dataset is committed once per class (H2's ANALYZE commits anyway) and removed afterwards.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.budgetserver.repository.QueryPlanTest$CapturingStatementInspector")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Repository Query Plan Tests")
+class QueryPlanTest {
+
+    private static final int TRANSACTIONS = 50_000;
+    private static final int CATEGORIES = 40;
+    private static final int YEARS = 5;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @MockitoBean
+    private ToolCallbackProvider toolCallbackProvider;
+
+    private final LocalDate startDate = LocalDate.of(2024, 6, 1);
+    private final LocalDate endDate = LocalDate.of(2024, 6, 30);
+
+    @BeforeAll
+    void loadDataset() {
+        List<Object[]> transactions = new ArrayList<>(TRANSACTIONS);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            LocalDate date = LocalDate.of(2021, 1, 1).plusDays(i % (365 * YEARS));
+            transactions.add(new Object[]{
+                    10 + (i % 500), "Synthetic " + i, Date.valueOf(date), "Category " + (i % CATEGORIES),
+                    i % 10 == 0 ? "INCOME" : "EXPENSE", Timestamp.valueOf(now.minusSeconds(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO transactions (amount, description, date, category, type, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", transactions);
+
+        List<Object[]> budgets = new ArrayList<>();
+        for (int year = 2021; year < 2021 + YEARS; year++) {
+            for (int month = 1; month <= 12; month++) {
+                for (int category = 0; category < CATEGORIES; category++) {
+                    budgets.add(new Object[]{"Category " + category, 1000, year, month, month % 4 != 0});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO budgets (category, monthly_limit, budget_year, budget_month, is_active) "
+                + "VALUES (?, ?, ?, ?, ?)", budgets);
+
+        jdbcTemplate.update("INSERT INTO monthly_rollups "
+                + "(category, type, rollup_year, rollup_month, total_amount, transaction_count, updated_at) "
+                + "SELECT category, type, YEAR(date), MONTH(date), SUM(amount), COUNT(*), CURRENT_TIMESTAMP "
+                + "FROM transactions GROUP BY category, type, YEAR(date), MONTH(date)");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    void dropDataset() {
+        jdbcTemplate.execute("DELETE FROM monthly_rollups");
+        jdbcTemplate.execute("DELETE FROM budgets");
+        jdbcTemplate.execute("DELETE FROM transactions");
+    }
+
+    @BeforeEach
+    void setUp() {
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    @DisplayName("Category expense totals should use the category/type/date index")
+    void sumExpensesByCategoryAndDateBetween_ShouldUseIndex() {
+        transactionRepository.sumExpensesByCategoryAndDateBetween("Category 3", startDate, endDate);
+
+        assertIndexUsed("TRANSACTIONS", "IDX_TRANSACTIONS_CATEGORY_TYPE_DATE",
+                "Category 3", startDate, endDate);
+    }
+
+    @Test
+    @DisplayName("Category transaction lookups should use the category/type/date index")
+    void findByCategoryAndDateBetween_ShouldUseIndex() {
+        transactionRepository.findByCategoryAndDateBetween("Category 3", startDate, endDate);
+
+        assertIndexUsed("TRANSACTIONS", "IDX_TRANSACTIONS_CATEGORY_TYPE_DATE",
+                "Category 3", startDate, endDate);
+    }
+
+    @Test
+    @DisplayName("Totals by type should use the type/date index")
+    void sumByTypeAndDateBetween_ShouldUseIndex() {
+        transactionRepository.sumByTypeAndDateBetween(TransactionType.EXPENSE, startDate, endDate);
+
+        assertIndexUsed("TRANSACTIONS", "IDX_TRANSACTIONS_TYPE_DATE", "EXPENSE", startDate, endDate);
+    }
+
+    @Test
+    @DisplayName("Recent transactions should be read from the created_at index")
+    void findTop10ByOrderByCreatedAtDesc_ShouldUseIndex() {
+        transactionRepository.findTop10ByOrderByCreatedAtDesc();
+
+        assertIndexUsed("TRANSACTIONS", "IDX_TRANSACTIONS_CREATED_AT", 10);
+    }
+
+    @Test
+    @DisplayName("Active budget lookup should use the category/period index")
+    void findActiveBudget_ShouldUseIndex() {
+        budgetRepository.findByCategoryAndBudgetYearAndBudgetMonthAndIsActive("Category 3", 2024, 6, true);
+
+        assertIndexUsed("BUDGETS", "IDX_BUDGETS_CATEGORY_PERIOD", "Category 3", 2024, 6, true);
+    }
+
+    @Test
+    @DisplayName("Monthly rollup totals should use the period index")
+    void sumByTypeAndPeriod_ShouldUseIndex() {
+        monthlyRollupRepository.sumByTypeAndPeriod(TransactionType.INCOME, 2024, 6);
+
+        assertIndexUsed("MONTHLY_ROLLUPS", "IDX_MONTHLY_ROLLUPS_PERIOD_TYPE", "INCOME", 2024, 6);
+    }
+
+    @Test
+    @DisplayName("Conditional-aggregation period totals should use the period index")
+    void findPeriodTotals_ShouldUseIndex() {
+        monthlyRollupRepository.findPeriodTotals(2024, 6);
+
+        assertIndexUsed("MONTHLY_ROLLUPS", "IDX_MONTHLY_ROLLUPS_PERIOD_TYPE", 2024, 6);
+    }
+
+    @Test
+    @DisplayName("Monthly rollup lookup should use the unique key index")
+    void findRollup_ShouldUseIndex() {
+        monthlyRollupRepository.findByCategoryAndTypeAndRollupYearAndRollupMonth(
+                "Category 3", TransactionType.EXPENSE, 2024, 6);
+
+        assertIndexUsed("MONTHLY_ROLLUPS", "UK_MONTHLY_ROLLUPS_KEY", "Category 3", "EXPENSE", 2024, 6);
+    }
+
+    @Test
+    @DisplayName("Category expense totals from rollups should use the unique key index")
+    void findExpenseTotals_ShouldUseIndex() {
+        monthlyRollupRepository.findExpenseTotals("Category 3", 2024, 6);
+
+        assertIndexUsed("MONTHLY_ROLLUPS", "UK_MONTHLY_ROLLUPS_KEY", "Category 3", 2024, 6);
+    }
+
+    @Test
+    @DisplayName("Budget spending from rollups should probe rollups through the unique key index")
+    void findSpendingForActiveBudgets_ShouldUseIndex() {
+        monthlyRollupRepository.findSpendingForActiveBudgets();
+
+        assertIndexUsed("MONTHLY_ROLLUPS", "UK_MONTHLY_ROLLUPS_KEY");
+    }
+
+    @Test
+    @DisplayName("A month's active budgets should be read through the period index")
+    void findActiveBudgetsFor_ShouldUseIndex() {
+        budgetRepository.findActiveBudgetsFor(2024, 6);
+
+        assertIndexUsed("BUDGETS", "IDX_BUDGETS_PERIOD", 2024, 6);
+    }
+
+    @Test
+    @DisplayName("A month's budget spending should read budgets through the period index")
+    void findSpendingForActiveBudgetsFor_ShouldUseIndex() {
+        monthlyRollupRepository.findSpendingForActiveBudgetsFor(2024, 6);
+
+        assertIndexUsed("BUDGETS", "IDX_BUDGETS_PERIOD", 2024, 6);
+    }
+
+    /**
+     * Runs EXPLAIN on the last statement Hibernate prepared, binding the query arguments
+     * in order, and asserts that the given table is read through the expected index.
+     *
+     * @return the plan, for further checks
+     */
+    private String assertIndexUsed(String table, String index, Object... parameters) {
+        List<String> statements = CapturingStatementInspector.STATEMENTS;
+        assertThat(statements).as("captured SQL").isNotEmpty();
+        String sql = statements.get(statements.size() - 1);
+
+        String plan = jdbcTemplate.query("EXPLAIN " + sql, ps -> {
+            for (int i = 0; i < parameters.length; i++) {
+                Object parameter = parameters[i];
+                ps.setObject(i + 1, parameter instanceof LocalDate date ? Date.valueOf(date) : parameter);
+            }
+        }, rs -> rs.next() ? rs.getString(1) : "");
+
+        assertThat(plan)
+                .as("plan for %s", sql)
+                .containsIgnoringCase("PUBLIC." + index)
+                .doesNotContainIgnoringCase("PUBLIC." + table + ".tableScan");
+        return plan;
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
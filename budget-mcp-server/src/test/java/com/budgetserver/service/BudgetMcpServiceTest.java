@@ -1,21 +1,32 @@
 package com.budgetserver.service;
 
+import com.budgetserver.cache.SummaryCache;
+import com.budgetserver.dto.BudgetSpending;
 import com.budgetserver.dto.BudgetSummary;
+import com.budgetserver.dto.Dashboard;
+import com.budgetserver.dto.PeriodTotals;
+import com.budgetserver.dto.SpendingTotals;
+import com.budgetserver.dto.TransactionRequest;
 import com.budgetserver.entity.Budget;
 import com.budgetserver.entity.Transaction;
 import com.budgetserver.entity.TransactionType;
 import com.budgetserver.repository.BudgetRepository;
+import com.budgetserver.repository.MonthlyRollupRepository;
 import com.budgetserver.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -35,6 +46,21 @@ class BudgetMcpServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private SummaryCache summaryCache = new SummaryCache(16);
+
+    @Spy
+    private ToolResponses toolResponses = new ToolResponses(new ObjectMapper(), "text");
+
     @InjectMocks
     private BudgetMcpService budgetMcpService;
 
@@ -159,6 +185,17 @@ class BudgetMcpServiceTest {
         verify(budgetRepository, never()).save(any(Budget.class));
     }
 
+    @Test
+    @DisplayName("Should reject a budget with a missing category or limit")
+    void createBudget_WithMissingInput_ShouldReturnErrorMessage() {
+        // When / Then
+        assertThat(budgetMcpService.createBudget("Food", null, 2025, 6, null, null))
+                .isEqualTo("❌ Monthly limit must be greater than 0");
+        assertThat(budgetMcpService.createBudget(null, BigDecimal.valueOf(500), 2025, 6, null, null))
+                .isEqualTo("❌ Category is required");
+        verifyNoInteractions(budgetRepository);
+    }
+
     @Test
     @DisplayName("Should add transaction successfully with valid parameters")
     void addTransaction_WithValidParameters_ShouldReturnSuccessMessage() {
@@ -179,6 +216,8 @@ class BudgetMcpServiceTest {
         assertThat(result).contains("$45.50");
         assertThat(result).contains("Grocery shopping");
         verify(transactionRepository).save(any(Transaction.class));
+        verify(monthlyRollupService).record(argThat(transaction ->
+                transaction.getDate().equals(LocalDate.of(2025, 6, 8))));
     }
 
     @Test
@@ -209,6 +248,7 @@ class BudgetMcpServiceTest {
         // Then
         assertThat(result).contains("❌ Amount must be greater than 0");
         verify(transactionRepository, never()).save(any(Transaction.class));
+        verifyNoInteractions(monthlyRollupService);
     }
 
     @Test
@@ -223,6 +263,98 @@ class BudgetMcpServiceTest {
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
+    @Test
+    @DisplayName("Should reject missing arguments and malformed dates instead of failing on them")
+    void addTransaction_WithMissingOrMalformedInput_ShouldReturnErrorMessage() {
+        // When / Then
+        assertThat(budgetMcpService.addTransaction(null, "Test", "Food", "EXPENSE", null))
+                .isEqualTo("❌ Amount must be greater than 0");
+        assertThat(budgetMcpService.addTransaction(BigDecimal.TEN, "Test", null, "EXPENSE", null))
+                .isEqualTo("❌ Category is required");
+        assertThat(budgetMcpService.addTransaction(BigDecimal.TEN, "Test", "Food", null, null))
+                .isEqualTo("❌ Invalid transaction type. Use INCOME or EXPENSE");
+        assertThat(budgetMcpService.addTransaction(BigDecimal.TEN, "Test", "Food", "EXPENSE", "15/06/2025"))
+                .isEqualTo("❌ Invalid date: 15/06/2025. Use YYYY-MM-DD");
+        verifyNoInteractions(transactionRepository, monthlyRollupService);
+    }
+
+    @Test
+    @DisplayName("Should add a batch of transactions with one batched save and rollup update")
+    void addTransactions_WithValidItems_ShouldSaveAllAtOnce() {
+        // Given
+        List<TransactionRequest> requests = List.of(
+                new TransactionRequest(BigDecimal.valueOf(45.50), "Groceries", "Food", "EXPENSE", "2025-06-08"),
+                new TransactionRequest(BigDecimal.valueOf(3000), "Salary", "Salary", "income", "2025-06-01"));
+
+        // When
+        String result = budgetMcpService.addTransactions(requests);
+
+        // Then
+        assertThat(result)
+                .startsWith("✅ Added 2 of 2 transactions")
+                .contains("1. 💸 $45.50 Food - Groceries (Jun 08, 2025)")
+                .contains("2. 💰 $3000.00 Salary - Salary (Jun 01, 2025)");
+        verify(transactionRepository).saveAllAndFlush(argThat(saved -> ((List<Transaction>) saved).size() == 2));
+        verify(monthlyRollupService).recordAll(argThat(recorded -> recorded.size() == 2));
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    @DisplayName("Should skip invalid batch items with the same messages as addTransaction")
+    void addTransactions_WithInvalidItems_ShouldReportThemByPosition() {
+        // Given
+        List<TransactionRequest> requests = List.of(
+                new TransactionRequest(BigDecimal.valueOf(-5), "Refund", "Food", "EXPENSE", null),
+                new TransactionRequest(BigDecimal.valueOf(12), "Cinema", "Fun", "EXPENSE", "2025-06-03"),
+                new TransactionRequest(BigDecimal.valueOf(7), "Coffee", "Food", "GIFT", null));
+
+        // When
+        String result = budgetMcpService.addTransactions(requests);
+
+        // Then
+        assertThat(result)
+                .startsWith("⚠️ Added 1 of 3 transactions")
+                .contains("1. " + budgetMcpService.addTransaction(BigDecimal.valueOf(-5), "Refund", "Food", "EXPENSE", null))
+                .contains("2. 💸 $12.00 Fun - Cinema")
+                .contains("3. " + budgetMcpService.addTransaction(BigDecimal.valueOf(7), "Coffee", "Food", "GIFT", null));
+        verify(transactionRepository).saveAllAndFlush(argThat(saved -> ((List<Transaction>) saved).size() == 1));
+    }
+
+    @Test
+    @DisplayName("Should reject batch items that do not fit the transaction columns")
+    void addTransactions_WithOverlongItems_ShouldReportThemByPosition() {
+        // Given
+        List<TransactionRequest> requests = List.of(
+                new TransactionRequest(BigDecimal.valueOf(12), "Cinema", "Fun", "EXPENSE", "2025-06-03"),
+                new TransactionRequest(BigDecimal.valueOf(7), "x".repeat(256), "Food", "EXPENSE", null),
+                new TransactionRequest(BigDecimal.valueOf(7), "Coffee", "c".repeat(101), "EXPENSE", null),
+                new TransactionRequest(new BigDecimal("1000000000.00"), "Lottery", "Luck", "INCOME", null));
+
+        // When
+        String result = budgetMcpService.addTransactions(requests);
+
+        // Then
+        assertThat(result)
+                .startsWith("⚠️ Added 1 of 4 transactions")
+                .contains("2. ❌ Description is longer than 255 characters")
+                .contains("3. ❌ Category is longer than 100 characters")
+                .contains("4. ❌ Amount too large");
+        verify(transactionRepository).saveAllAndFlush(argThat(saved -> ((List<Transaction>) saved).size() == 1));
+    }
+
+    @Test
+    @DisplayName("Should reject empty and oversized batches without writing")
+    void addTransactions_WithEmptyOrOversizedBatch_ShouldReturnErrorMessage() {
+        // Given
+        List<TransactionRequest> tooMany = Collections.nCopies(BudgetMcpService.MAX_BATCH_SIZE + 1,
+                new TransactionRequest(BigDecimal.ONE, "Gum", "Food", "EXPENSE", null));
+
+        // When / Then
+        assertThat(budgetMcpService.addTransactions(List.of())).isEqualTo("❌ No transactions given");
+        assertThat(budgetMcpService.addTransactions(tooMany)).startsWith("❌ Too many transactions");
+        verifyNoInteractions(transactionRepository, monthlyRollupService);
+    }
+
     @Test
     @DisplayName("Should get all budgets with spending status")
     void getAllBudgets_WithActiveBudgets_ShouldReturnFormattedBudgets() {
@@ -231,8 +363,8 @@ class BudgetMcpServiceTest {
         BigDecimal spent = BigDecimal.valueOf(200.00);
 
         when(budgetRepository.findAllActiveBudgets()).thenReturn(budgets);
-        when(transactionRepository.sumExpensesByCategoryAndDateBetween(
-                anyString(), any(LocalDate.class), any(LocalDate.class))).thenReturn(spent);
+        when(monthlyRollupRepository.findSpendingForActiveBudgets()).thenReturn(
+                List.of(new BudgetSpending(1L, "Food", 2025, 6, spent)));
 
         // When
         String result = budgetMcpService.getAllBudgets();
@@ -243,6 +375,23 @@ class BudgetMcpServiceTest {
         assertThat(result).contains("$500.00");
         assertThat(result).contains("$200.00");
         assertThat(result).contains("40.0%");
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName("Should report zero spending for budgets without expenses")
+    void getAllBudgets_WithBudgetMissingFromSpending_ShouldReportZeroSpent() {
+        // Given
+        when(budgetRepository.findAllActiveBudgets()).thenReturn(List.of(testBudget));
+        when(monthlyRollupRepository.findSpendingForActiveBudgets()).thenReturn(Collections.emptyList());
+
+        // When
+        String result = budgetMcpService.getAllBudgets();
+
+        // Then
+        assertThat(result).contains("**Food**");
+        assertThat(result).contains("$0.00 (0.0%)");
+        assertThat(result).contains("Remaining: $500.00");
     }
 
     @Test
@@ -265,13 +414,8 @@ class BudgetMcpServiceTest {
         String category = "Food";
         Integer year = 2025;
         Integer month = 6;
-        BigDecimal spent = BigDecimal.valueOf(150.00);
-        List<Transaction> transactions = Arrays.asList(testTransaction);
-
-        when(transactionRepository.sumExpensesByCategoryAndDateBetween(
-                anyString(), any(LocalDate.class), any(LocalDate.class))).thenReturn(spent);
-        when(transactionRepository.findByCategoryAndDateBetween(
-                anyString(), any(LocalDate.class), any(LocalDate.class))).thenReturn(transactions);
+        when(monthlyRollupRepository.findExpenseTotals(category, year, month))
+                .thenReturn(new SpendingTotals(BigDecimal.valueOf(150.00), 3L));
 
         // When
         String result = budgetMcpService.getSpendingSummary(category, year, month);
@@ -279,7 +423,34 @@ class BudgetMcpServiceTest {
         // Then
         assertThat(result).contains("💳 **Food Spending for 6/2025:**");
         assertThat(result).contains("$150.00");
-        assertThat(result).contains("1");
+        assertThat(result).contains("Number of Transactions: 3");
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName("Should report zero spending for category without rollup")
+    void getSpendingSummary_WithCategoryWithoutRollup_ShouldReturnZero() {
+        // Given
+        when(monthlyRollupRepository.findExpenseTotals("Travel", 2025, 6))
+                .thenReturn(new SpendingTotals(BigDecimal.ZERO, 0L));
+
+        // When
+        String result = budgetMcpService.getSpendingSummary("Travel", 2025, 6);
+
+        // Then
+        assertThat(result).contains("$0.00");
+        assertThat(result).contains("Number of Transactions: 0");
+    }
+
+    @Test
+    @DisplayName("Should reject invalid month in spending summary")
+    void getSpendingSummary_WithInvalidMonth_ShouldReturnErrorMessage() {
+        // When
+        String result = budgetMcpService.getSpendingSummary(null, 2025, 13);
+
+        // Then
+        assertThat(result).contains("❌ Error getting spending summary");
+        verifyNoInteractions(monthlyRollupRepository);
     }
 
     @Test
@@ -291,12 +462,8 @@ class BudgetMcpServiceTest {
         BigDecimal totalIncome = BigDecimal.valueOf(3000.00);
         BigDecimal totalExpenses = BigDecimal.valueOf(1500.00);
 
-        when(transactionRepository.sumByTypeAndDateBetween(
-                eq(TransactionType.INCOME), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(totalIncome);
-        when(transactionRepository.sumByTypeAndDateBetween(
-                eq(TransactionType.EXPENSE), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(totalExpenses);
+        when(monthlyRollupRepository.findPeriodTotals(year, month))
+                .thenReturn(new PeriodTotals(totalIncome, totalExpenses, 1L, 12L));
 
         // When
         String result = budgetMcpService.getSpendingSummary(null, year, month);
@@ -347,12 +514,8 @@ class BudgetMcpServiceTest {
         BigDecimal totalIncome = BigDecimal.valueOf(3000.00);
         BigDecimal totalExpenses = BigDecimal.valueOf(1500.00);
 
-        when(transactionRepository.sumByTypeAndDateBetween(
-                eq(TransactionType.INCOME), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(totalIncome);
-        when(transactionRepository.sumByTypeAndDateBetween(
-                eq(TransactionType.EXPENSE), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(totalExpenses);
+        when(monthlyRollupRepository.findPeriodTotals(year, month))
+                .thenReturn(new PeriodTotals(totalIncome, totalExpenses, 1L, 12L));
 
         // When
         BudgetSummary result = budgetMcpService.getSummary(year, month);
@@ -364,12 +527,53 @@ class BudgetMcpServiceTest {
     }
 
     @Test
-    @DisplayName("Should handle null values in summary calculation")
-    void getSummary_WithNullValues_ShouldReturnZeroValues() {
+    @DisplayName("Should build the dashboard from totals, the month's budgets and recent transactions")
+    void getDashboard_ShouldCombineAllViews() {
+        // Given
+        when(monthlyRollupRepository.findPeriodTotals(2025, 6))
+                .thenReturn(new PeriodTotals(BigDecimal.valueOf(3000), BigDecimal.valueOf(450), 1L, 4L));
+        when(budgetRepository.findActiveBudgetsFor(2025, 6)).thenReturn(List.of(testBudget));
+        when(monthlyRollupRepository.findSpendingForActiveBudgetsFor(2025, 6)).thenReturn(List.of(
+                new BudgetSpending(1L, "Food", 2025, 6, BigDecimal.valueOf(450))));
+        when(transactionRepository.findTop10ByOrderByCreatedAtDesc()).thenReturn(List.of(testTransaction));
+
+        // When
+        Dashboard result = budgetMcpService.getDashboard(2025, 6);
+
+        // Then
+        assertThat(result.getSummary().getNetAmount()).isEqualByComparingTo("2550");
+        assertThat(result.getBudgets()).singleElement().satisfies(status -> {
+            assertThat(status.getCategory()).isEqualTo("Food");
+            assertThat(status.getRemaining()).isEqualByComparingTo("50");
+            assertThat(status.getPercentUsed()).isEqualByComparingTo("90.0");
+            assertThat(status.isAlert()).isTrue();
+        });
+        assertThat(result.getRecentTransactions()).singleElement()
+                .satisfies(item -> assertThat(item.getAmount()).isEqualByComparingTo("45.50"));
+        verify(summaryCache, never()).getSummary(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return an empty dashboard when a read fails")
+    void getDashboard_WithException_ShouldReturnEmptyDashboard() {
+        // Given
+        when(monthlyRollupRepository.findPeriodTotals(2025, 6)).thenThrow(new RuntimeException("Database error"));
+
+        // When
+        Dashboard result = budgetMcpService.getDashboard(2025, 6);
+
+        // Then
+        assertThat(result.getMonth()).isEqualTo(6);
+        assertThat(result.getSummary().getTotalIncome()).isEqualByComparingTo("0");
+        assertThat(result.getBudgets()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return zero values for a month without transactions")
+    void getSummary_WithNoTransactions_ShouldReturnZeroValues() {
         // Given
-        when(transactionRepository.sumByTypeAndDateBetween(
-                any(TransactionType.class), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(null);
+        when(monthlyRollupRepository.findPeriodTotals(2025, 6))
+                .thenReturn(new PeriodTotals(BigDecimal.ZERO, BigDecimal.ZERO, 0L, 0L));
 
         // When
         BudgetSummary result = budgetMcpService.getSummary(2025, 6);
@@ -385,19 +589,61 @@ class BudgetMcpServiceTest {
     void getSummary_WithNullYearAndMonth_ShouldUseCurrentDate() {
         // Given
         LocalDate now = LocalDate.now();
-        when(transactionRepository.sumByTypeAndDateBetween(
-                any(TransactionType.class), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(BigDecimal.valueOf(1000));
+        when(monthlyRollupRepository.findPeriodTotals(anyInt(), anyInt()))
+                .thenReturn(new PeriodTotals(BigDecimal.valueOf(1000), BigDecimal.valueOf(1000), 1L, 1L));
 
         // When
         BudgetSummary result = budgetMcpService.getSummary(null, null);
 
         // Then
         assertThat(result).isNotNull();
-        verify(transactionRepository, times(2)).sumByTypeAndDateBetween(
-                any(TransactionType.class), 
-                eq(LocalDate.of(now.getYear(), now.getMonth(), 1)),
-                any(LocalDate.class));
+        verify(monthlyRollupRepository).findPeriodTotals(now.getYear(), now.getMonthValue());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated summary requests from the cache")
+    void getSummary_CalledTwice_ShouldQueryRollupsOnce() {
+        // Given
+        when(monthlyRollupRepository.findPeriodTotals(2025, 6))
+                .thenReturn(new PeriodTotals(BigDecimal.valueOf(3000.00), BigDecimal.valueOf(1500.00), 1L, 12L));
+
+        // When
+        BudgetSummary first = budgetMcpService.getSummary(2025, 6);
+        String overall = budgetMcpService.getSpendingSummary(null, 2025, 6);
+        BudgetSummary second = budgetMcpService.getSummary(2025, 6);
+
+        // Then
+        assertThat(second).isEqualTo(first);
+        assertThat(overall).contains("$3000.00");
+        verify(monthlyRollupRepository, times(1)).findPeriodTotals(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should evict the cached summary for the transaction's month")
+    void addTransaction_ShouldEvictAffectedSummaryAndBudgetKeys() {
+        // Given
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+
+        // When
+        budgetMcpService.addTransaction(BigDecimal.valueOf(20), "Lunch", "Food", "EXPENSE", "2025-06-08");
+
+        // Then
+        verify(summaryCache).evictTransaction(YearMonth.of(2025, 6), "Food", true);
+    }
+
+    @Test
+    @DisplayName("Should evict the cached budget status when a budget is created")
+    void createBudget_ShouldEvictBudgetKey() {
+        // Given
+        when(budgetRepository.findByCategoryAndBudgetYearAndBudgetMonthAndIsActive(
+                "Food", 2025, 6, true)).thenReturn(Optional.empty());
+        when(budgetRepository.save(any(Budget.class))).thenReturn(testBudget);
+
+        // When
+        budgetMcpService.createBudget("Food", BigDecimal.valueOf(500), 2025, 6, null, null);
+
+        // Then
+        verify(summaryCache).evictBudget(YearMonth.of(2025, 6), "Food");
     }
 
     @Test
@@ -420,8 +666,7 @@ class BudgetMcpServiceTest {
     @DisplayName("Should handle exceptions gracefully in getSummary")
     void getSummary_WithException_ShouldReturnEmptySummary() {
         // Given
-        when(transactionRepository.sumByTypeAndDateBetween(
-                any(TransactionType.class), any(LocalDate.class), any(LocalDate.class)))
+        when(monthlyRollupRepository.findPeriodTotals(anyInt(), anyInt()))
                 .thenThrow(new RuntimeException("Database error"));
 
         // When
@@ -0,0 +1,69 @@
+package com.budgetserver.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Response Template Tests")
+class ResponseTemplateTest {
+
+    @Test
+    @DisplayName("Should render every slot type between the literal segments")
+    void render_ShouldFormatEachSlotType() {
+        // Given
+        ResponseTemplate template = ResponseTemplate.compile(
+                "{text}: ${money} ({percent}%) x{number} on {date}");
+
+        // When
+        String result = template.render("Food", new BigDecimal("12.5"), new BigDecimal("33.333"), 3,
+                LocalDate.of(2025, 6, 5));
+
+        // Then
+        assertThat(result).isEqualTo("Food: $12.50 (33.3%) x3 on Jun 05, 2025");
+    }
+
+    @Test
+    @DisplayName("Should round money half-up without grouping or exponent, like %.2f")
+    void render_Money_ShouldMatchStringFormat() {
+        ResponseTemplate template = ResponseTemplate.compile("{money}");
+
+        for (String amount : new String[]{"0.005", "-3.456", "1E+3", "999999.995", "45.5"}) {
+            BigDecimal value = new BigDecimal(amount);
+            assertThat(template.render(value)).isEqualTo(String.format(Locale.ROOT, "%.2f", value));
+        }
+    }
+
+    @Test
+    @DisplayName("Should append into the caller's buffer")
+    void appendTo_ShouldAppendToExistingBuffer() {
+        // Given
+        ResponseTemplate line = ResponseTemplate.compile("{number}. {text}\n");
+        StringBuilder buffer = new StringBuilder("Header\n");
+
+        // When
+        line.appendTo(buffer, 1, "first");
+        line.appendTo(buffer, 2, "second");
+
+        // Then
+        assertThat(buffer.toString()).isEqualTo("Header\n1. first\n2. second\n");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown slots when compiling and wrong value counts when rendering")
+    void invalidUse_ShouldThrow() {
+        assertThatThrownBy(() -> ResponseTemplate.compile("{amount}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("{amount}");
+        assertThatThrownBy(() -> ResponseTemplate.compile("{text"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ResponseTemplate.compile("{text} {text}").render("only one"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Expected 2 values");
+    }
+}
@@ -0,0 +1,102 @@
+package com.budgetserver.service;
+
+import com.budgetserver.entity.TransactionType;
+import com.budgetserver.service.StatementCsvParser.ParsedRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Statement CSV Parser Tests")
+class StatementCsvParserTest {
+
+    private final StatementCsvParser defaultParser =
+            StatementCsvParser.forFirstLine("2025-06-01,Salary,3000.00,Salary,INCOME");
+
+    @Test
+    @DisplayName("Should parse a row in the default column order")
+    void parse_DefaultColumns_ShouldReturnTransaction() {
+        // When
+        ParsedRow row = defaultParser.parse("2025-06-15,Grocery shopping,45.50,Food,EXPENSE", 7);
+
+        // Then
+        assertThat(row.isAccepted()).isTrue();
+        assertThat(row.lineNumber()).isEqualTo(7);
+        assertThat(row.transaction().getDate()).isEqualTo(LocalDate.of(2025, 6, 15));
+        assertThat(row.transaction().getDescription()).isEqualTo("Grocery shopping");
+        assertThat(row.transaction().getAmount()).isEqualByComparingTo("45.50");
+        assertThat(row.transaction().getCategory()).isEqualTo("Food");
+        assertThat(row.transaction().getType()).isEqualTo(TransactionType.EXPENSE);
+    }
+
+    @Test
+    @DisplayName("Should map columns from a header in any order")
+    void forFirstLine_WithHeader_ShouldUseHeaderColumns() {
+        // Given
+        String header = "Category,Amount,Date,Description";
+        StatementCsvParser parser = StatementCsvParser.forFirstLine(header);
+
+        // When
+        ParsedRow row = parser.parse("Transport,-12.00,2025-06-03,Bus ticket", 2);
+
+        // Then
+        assertThat(parser.isHeader(header)).isTrue();
+        assertThat(defaultParser.isHeader("2025-06-01,Salary,3000.00,Salary,INCOME")).isFalse();
+        assertThat(row.transaction().getCategory()).isEqualTo("Transport");
+        assertThat(row.transaction().getDescription()).isEqualTo("Bus ticket");
+    }
+
+    @Test
+    @DisplayName("Should derive the type from the amount sign when there is no type column")
+    void parse_WithoutType_ShouldUseAmountSign() {
+        // When
+        ParsedRow expense = defaultParser.parse("2025-06-03,Bus ticket,-12.00,Transport", 2);
+        ParsedRow income = defaultParser.parse("2025-06-01,Refund,12.00,Transport", 3);
+
+        // Then
+        assertThat(expense.transaction().getType()).isEqualTo(TransactionType.EXPENSE);
+        assertThat(expense.transaction().getAmount()).isEqualByComparingTo("12.00");
+        assertThat(income.transaction().getType()).isEqualTo(TransactionType.INCOME);
+    }
+
+    @Test
+    @DisplayName("Should handle quoted fields, currency signs and thousands separators")
+    void parse_QuotedFields_ShouldUnquote() {
+        // When
+        ParsedRow row = defaultParser.parse("2025-06-20,\"Rent, June \"\"flat\"\"\",\"$1,250.00\",Housing,EXPENSE", 4);
+
+        // Then
+        assertThat(row.transaction().getDescription()).isEqualTo("Rent, June \"flat\"");
+        assertThat(row.transaction().getAmount()).isEqualByComparingTo("1250.00");
+    }
+
+    @Test
+    @DisplayName("Should reject invalid rows with a reason")
+    void parse_InvalidRows_ShouldBeRejected() {
+        assertThat(defaultParser.parse("15/06/2025,Lunch,10.00,Food,EXPENSE", 2).error())
+                .isEqualTo("Invalid date, expected YYYY-MM-DD");
+        assertThat(defaultParser.parse("2025-06-15,Lunch,ten,Food,EXPENSE", 3).error())
+                .isEqualTo("Invalid amount");
+        assertThat(defaultParser.parse("2025-06-15,Lunch,10.00,Food,REFUND", 4).error())
+                .isEqualTo("Invalid transaction type, use INCOME or EXPENSE");
+        assertThat(defaultParser.parse("2025-06-15,Lunch,0.00,Food,EXPENSE", 5).error())
+                .isEqualTo("Amount must be greater than 0");
+        assertThat(defaultParser.parse("2025-06-15,Lunch,10.00", 6).error())
+                .isEqualTo("Missing date, description, amount or category");
+    }
+
+    @Test
+    @DisplayName("Should reject amounts that do not fit NUMERIC(10,2)")
+    void parse_AmountTooLarge_ShouldBeRejected() {
+        // When
+        ParsedRow tooLarge = defaultParser.parse("2025-06-15,Lottery,\"$1,000,000,000.00\",Luck,INCOME", 2);
+        ParsedRow largest = defaultParser.parse("2025-06-15,Bonus,99999999.99,Salary,INCOME", 3);
+
+        // Then
+        assertThat(tooLarge.isAccepted()).isFalse();
+        assertThat(tooLarge.error()).isEqualTo("Amount too large");
+        assertThat(largest.isAccepted()).isTrue();
+    }
+}
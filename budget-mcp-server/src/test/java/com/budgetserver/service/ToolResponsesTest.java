@@ -0,0 +1,210 @@
+package com.budgetserver.service;
+
+import com.budgetserver.dto.BudgetSummary;
+import com.budgetserver.dto.TransactionRequest;
+import com.budgetserver.entity.Budget;
+import com.budgetserver.entity.Transaction;
+import com.budgetserver.entity.TransactionType;
+import com.budgetserver.execution.PlainTextResultConverter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.ai.tool.execution.DefaultToolCallResultConverter;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tool Responses Tests")
+class ToolResponsesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ToolResponses text = new ToolResponses(objectMapper, "text");
+    private final ToolResponses json = new ToolResponses(objectMapper, "json");
+
+    private List<Budget> budgets;
+    private List<Transaction> transactions;
+
+    @BeforeEach
+    void setUp() {
+        List<String> categories = List.of("Food", "Transport", "Entertainment", "Utilities", "Shopping");
+        budgets = IntStream.range(0, categories.size())
+                .mapToObj(i -> Budget.builder()
+                        .id((long) i + 1)
+                        .category(categories.get(i))
+                        .monthlyLimit(BigDecimal.valueOf(200 + 100L * i))
+                        .budgetYear(2025)
+                        .budgetMonth(6)
+                        .alertThreshold(BigDecimal.valueOf(80))
+                        .notes(i == 0 ? "Groceries and eating out" : null)
+                        .isActive(true)
+                        .build())
+                .toList();
+        transactions = IntStream.range(0, 10)
+                .mapToObj(i -> Transaction.builder()
+                        .id((long) i + 1)
+                        .amount(new BigDecimal("12.50").add(BigDecimal.valueOf(7L * i)))
+                        .description("Purchase " + (i + 1))
+                        .category(categories.get(i % categories.size()))
+                        .type(i == 9 ? TransactionType.INCOME : TransactionType.EXPENSE)
+                        .date(LocalDate.of(2025, 6, 1 + i))
+                        .build())
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Should render budget statuses as a compact JSON array in JSON mode")
+    void activeBudgets_InJsonMode_ShouldReturnBudgetStatuses() throws Exception {
+        // When
+        String result = json.activeBudgets(budgets, budget -> BigDecimal.valueOf(180));
+
+        // Then
+        JsonNode statuses = objectMapper.readTree(result);
+        assertThat(result).doesNotContain("\n").doesNotContain("💰");
+        assertThat(statuses).hasSize(5);
+        assertThat(statuses.get(0).get("category").asText()).isEqualTo("Food");
+        assertThat(statuses.get(0).get("percentUsed").decimalValue()).isEqualByComparingTo("90.0");
+        assertThat(statuses.get(0).get("alert").asBoolean()).isTrue();
+        assertThat(statuses.get(0).get("notes").asText()).isEqualTo("Groceries and eating out");
+        assertThat(statuses.get(1).has("notes")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should render empty lists as empty JSON arrays and as hints in text mode")
+    void emptyResults_ShouldDependOnFormat() {
+        assertThat(json.activeBudgets(List.of(), budget -> BigDecimal.ZERO)).isEqualTo("[]");
+        assertThat(json.recentTransactions(List.of())).isEqualTo("[]");
+        assertThat(text.activeBudgets(List.of(), budget -> BigDecimal.ZERO)).isEqualTo(BudgetResponses.NO_ACTIVE_BUDGETS);
+        assertThat(text.recentTransactions(List.of())).isEqualTo(BudgetResponses.NO_TRANSACTIONS);
+    }
+
+    @Test
+    @DisplayName("Should omit the fields that don't apply to a category or monthly summary")
+    void spendingSummaries_InJsonMode_ShouldOmitUnusedFields() {
+        assertThat(json.categorySpending("Food", 6, 2025, new BigDecimal("45.50"), 3))
+                .isEqualTo("{\"year\":2025,\"month\":6,\"category\":\"Food\",\"totalExpenses\":45.50,\"transactionCount\":3}");
+        assertThat(json.monthlySummary(6, 2025, new BudgetSummary(
+                new BigDecimal("3000.00"), new BigDecimal("45.50"), new BigDecimal("2954.50"))))
+                .isEqualTo("{\"year\":2025,\"month\":6,\"totalIncome\":3000.00,\"totalExpenses\":45.50,\"netAmount\":2954.50}");
+    }
+
+    @Test
+    @DisplayName("Should report errors as an error object in JSON mode and unchanged in text mode")
+    void error_ShouldDependOnFormat() {
+        assertThat(json.error("❌ Amount must be greater than 0")).isEqualTo("{\"error\":\"Amount must be greater than 0\"}");
+        assertThat(text.error("❌ Amount must be greater than 0")).isEqualTo("❌ Amount must be greater than 0");
+    }
+
+    @Test
+    @DisplayName("Should report a batch with its saved transactions and positioned errors in JSON mode")
+    void transactionsAdded_InJsonMode_ShouldListTransactionsAndErrors() throws Exception {
+        // Given
+        List<TransactionInputs.BatchItem> items = TransactionInputs.toTransactions(List.of(
+                new TransactionRequest(new BigDecimal("12.50"), "Coffee", "Food", "EXPENSE", "2025-06-02"),
+                new TransactionRequest(BigDecimal.ZERO, "Free sample", "Food", "EXPENSE", null)));
+
+        // When
+        JsonNode result = objectMapper.readTree(json.transactionsAdded(items));
+
+        // Then
+        assertThat(result.get("added").asInt()).isEqualTo(1);
+        assertThat(result.get("rejected").asInt()).isEqualTo(1);
+        assertThat(result.get("transactions").get(0).get("date").asText()).isEqualTo("2025-06-02");
+        assertThat(result.get("errors").get(0).asText()).isEqualTo("2: Amount must be greater than 0");
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown output format")
+    void constructor_WithUnknownFormat_ShouldThrow() {
+        assertThatThrownBy(() -> new ToolResponses(objectMapper, "yaml"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("app.tool-output.format");
+    }
+
+    @Test
+    @DisplayName("Should cost fewer tokens in JSON mode, per tool and overall")
+    void jsonMode_ShouldReduceTokensPerTool() {
+        // Given
+        Map<String, List<String>> responses = responsesPerTool();
+
+        // When / Then
+        TokenCountEstimator tokens = new JTokkitTokenCountEstimator();
+        DefaultToolCallResultConverter quoting = new DefaultToolCallResultConverter();
+        PlainTextResultConverter plain = new PlainTextResultConverter();
+        int[] totals = new int[2];
+        responses.forEach((tool, outputs) -> {
+            int quotedTokens = tokens.estimate(quoting.convert(outputs.get(0), String.class));
+            int jsonTokens = tokens.estimate(plain.convert(outputs.get(1), String.class));
+            totals[0] += quotedTokens;
+            totals[1] += jsonTokens;
+
+            // Lists of transactions repeat their keys on every row, so they only break even
+            assertThat(jsonTokens).as("%s tokens", tool).isLessThanOrEqualTo(quotedTokens * 105 / 100);
+        });
+        assertThat(totals[1]).isLessThan(totals[0] * 80 / 100);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Report tokens and bytes per tool in text and JSON mode")
+    void jsonMode_ReportBytesAndTokensPerTool() {
+        TokenCountEstimator tokens = new JTokkitTokenCountEstimator();
+        DefaultToolCallResultConverter quoting = new DefaultToolCallResultConverter();
+        PlainTextResultConverter plain = new PlainTextResultConverter();
+        System.out.printf("%n🧾 Tool output size (cl100k tokens / UTF-8 bytes)%n");
+        System.out.printf("%-30s %16s %16s %16s %8s%n", "tool", "text (quoted)", "text", "json", "saved");
+        responsesPerTool().forEach((tool, outputs) -> {
+            String quotedText = quoting.convert(outputs.get(0), String.class);
+            String plainText = plain.convert(outputs.get(0), String.class);
+            String compact = plain.convert(outputs.get(1), String.class);
+            int quotedTokens = tokens.estimate(quotedText);
+            int jsonTokens = tokens.estimate(compact);
+            System.out.printf("%-30s %7d / %6d %7d / %6d %7d / %6d %7.0f%%%n", tool,
+                    quotedTokens, bytes(quotedText), tokens.estimate(plainText), bytes(plainText),
+                    jsonTokens, bytes(compact), 100.0 * (quotedTokens - jsonTokens) / quotedTokens);
+        });
+    }
+
+    /**
+     * Each text-returning tool's response in text mode, then in JSON mode.
+     */
+    private Map<String, List<String>> responsesPerTool() {
+        Budget budget = budgets.getFirst();
+        Transaction transaction = transactions.getFirst();
+        BudgetSummary summary = new BudgetSummary(
+                new BigDecimal("3000.00"), new BigDecimal("1234.56"), new BigDecimal("1765.44"));
+        Map<String, List<String>> responses = new LinkedHashMap<>();
+        for (ToolResponses format : List.of(text, json)) {
+            responses.computeIfAbsent("createBudget", tool -> new ArrayList<>())
+                    .add(format.budgetCreated(budget));
+            responses.computeIfAbsent("addTransaction", tool -> new ArrayList<>())
+                    .add(format.transactionAdded(transaction, "EXPENSE"));
+            responses.computeIfAbsent("getAllBudgets", tool -> new ArrayList<>())
+                    .add(format.activeBudgets(budgets, b -> new BigDecimal("123.45")));
+            responses.computeIfAbsent("getSpendingSummary (month)", tool -> new ArrayList<>())
+                    .add(format.monthlySummary(6, 2025, summary));
+            responses.computeIfAbsent("getSpendingSummary (category)", tool -> new ArrayList<>())
+                    .add(format.categorySpending("Food", 6, 2025, new BigDecimal("123.45"), 4));
+            responses.computeIfAbsent("getRecentTransactions", tool -> new ArrayList<>())
+                    .add(format.recentTransactions(transactions));
+        }
+        return responses;
+    }
+
+    private static int bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
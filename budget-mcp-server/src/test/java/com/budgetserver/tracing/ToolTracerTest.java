@@ -0,0 +1,126 @@
+package com.budgetserver.tracing;
+
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tool Tracer Tests")
+class ToolTracerTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String CALLER_SPAN_ID = "00f067aa0ba902b7";
+    private static final String TRACEPARENT = "00-" + TRACE_ID + "-" + CALLER_SPAN_ID + "-01";
+
+    private final InMemorySpanExporter spanExporter = new InMemorySpanExporter(100);
+
+    private final ToolTracer toolTracer = new ToolTracer(List.of(spanExporter));
+
+    @Test
+    @DisplayName("Should continue the caller's trace and return the tool timings in the result meta")
+    void trace_WithTraceparent_ShouldContinueCallerTrace() {
+        // When
+        CallToolResult result = toolTracer.trace("getSummary", Map.of(TraceParent.KEY, TRACEPARENT),
+                () -> CallToolResult.builder().addTextContent("{}").build());
+
+        // Then
+        assertThat(result.content()).hasSize(1);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> timings = (Map<String, Object>) result.meta().get(ToolTracer.TIMINGS_KEY);
+        assertThat(timings).containsEntry("traceId", TRACE_ID).containsEntry("dbCalls", 0)
+                .containsKeys("toolMs", "dbMs");
+        assertThat(spanExporter.trace(TRACE_ID)).singleElement().satisfies(span -> {
+            assertThat(span.name()).isEqualTo("mcp.tools/call getSummary");
+            assertThat(span.parentSpanId()).isEqualTo(CALLER_SPAN_ID);
+            assertThat(span.attributes()).containsEntry("mcp.tool.name", "getSummary");
+            assertThat(span.endEpochNanos()).isGreaterThanOrEqualTo(span.startEpochNanos());
+        });
+    }
+
+    @Test
+    @DisplayName("Should start a new trace when the request carries no valid traceparent")
+    void trace_WithoutTraceparent_ShouldStartNewTrace() {
+        // When
+        CallToolResult result = toolTracer.trace("getAllBudgets", Map.of(TraceParent.KEY, "not-a-traceparent"),
+                () -> CallToolResult.builder().addTextContent("[]").build());
+
+        // Then
+        Map<String, List<Span>> traces = spanExporter.traces(10);
+        assertThat(traces).hasSize(1);
+        assertThat(traces.values().iterator().next()).singleElement()
+                .satisfies(span -> assertThat(span.parentSpanId()).isNull());
+        assertThat(result.meta()).containsKey(ToolTracer.TIMINGS_KEY);
+    }
+
+    @Test
+    @DisplayName("Should mark failed tool calls and still export their span")
+    void trace_WhenToolFails_ShouldMarkSpanAsError() {
+        // When
+        toolTracer.trace("getDashboard", null,
+                () -> CallToolResult.builder().addTextContent("❌ Server is busy").isError(true).build());
+        assertThatThrownBy(() -> toolTracer.trace("getDashboard", Map.of(TraceParent.KEY, TRACEPARENT), () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // Then
+        assertThat(spanExporter.size()).isEqualTo(2);
+        assertThat(spanExporter.traces(10).values()).allSatisfy(spans ->
+                assertThat(spans.getFirst().attributes()).containsEntry("error", true));
+    }
+
+    @Test
+    @DisplayName("Should trace a reactive call from subscription to result, whichever thread finishes it")
+    void traceMono_ShouldContinueCallerTraceAcrossThreads() {
+        // When
+        CallToolResult result = toolTracer.trace("getSummary", Map.of(TraceParent.KEY, TRACEPARENT),
+                        Mono.fromSupplier(() -> CallToolResult.builder().addTextContent("{}").build())
+                                .subscribeOn(Schedulers.parallel()))
+                .block();
+        toolTracer.trace("getDashboard", null, Mono.<CallToolResult>error(new IllegalStateException("boom")))
+                .onErrorResume(e -> Mono.empty())
+                .block();
+
+        // Then
+        assertThat(result.meta()).containsKey(ToolTracer.TIMINGS_KEY);
+        assertThat(spanExporter.trace(TRACE_ID)).singleElement().satisfies(span -> {
+            assertThat(span.name()).isEqualTo("mcp.tools/call getSummary");
+            assertThat(span.parentSpanId()).isEqualTo(CALLER_SPAN_ID);
+        });
+        assertThat(spanExporter.size()).isEqualTo(2);
+        assertThat(spanExporter.traces(10).values()).filteredOn(spans -> spans.getFirst().name().endsWith("getDashboard"))
+                .singleElement().satisfies(spans -> assertThat(spans.getFirst().attributes()).containsEntry("error", true));
+    }
+
+    @Test
+    @DisplayName("Should only accept well-formed W3C traceparent values")
+    void parse_ShouldValidateFormat() {
+        assertThat(TraceParent.parse(TRACEPARENT)).isEqualTo(new TraceParent(TRACE_ID, CALLER_SPAN_ID));
+        assertThat(TraceParent.parse("00-" + TRACE_ID + "-short-01")).isNull();
+        assertThat(TraceParent.parse(42)).isNull();
+        assertThat(TraceParent.parse(null)).isNull();
+        assertThat(TraceParent.root().header()).matches("00-[0-9a-f]{32}-[0-9a-f]{16}-01");
+    }
+
+    @Test
+    @DisplayName("Should encode spans as OTLP/JSON resource spans")
+    void otlp_ShouldEncodeSpans() {
+        // Given
+        Span span = new Span(TRACE_ID, "b7ad6b7169203331", CALLER_SPAN_ID, "db BudgetRepository.findAll",
+                1_000L, 2_000L, Map.of("db.system", "h2"));
+
+        // When
+        Map<String, Object> otlp = OtlpFileSpanExporter.otlp("budget-mcp-server", List.of(span));
+
+        // Then
+        assertThat(otlp.toString())
+                .contains("service.name", "stringValue=budget-mcp-server", "traceId=" + TRACE_ID,
+                        "parentSpanId=" + CALLER_SPAN_ID, "startTimeUnixNano=1000", "kind=3");
+    }
+}
@@ -0,0 +1,13 @@
+-- A production database as ddl-auto: update left it before Flyway: the tables Hibernate
+-- generated for the original Budget and Transaction entities, holding some data.
+
+create table budgets (alert_threshold numeric(5,2), budget_month integer not null, budget_year integer not null, is_active boolean not null, monthly_limit numeric(10,2) not null, created_at timestamp(6), id bigint generated by default as identity, updated_at timestamp(6), category varchar(100) not null, notes varchar(500), primary key (id));
+create table transactions (amount numeric(10,2) not null, date date not null, created_at timestamp(6), id bigint generated by default as identity, updated_at timestamp(6), category varchar(100) not null, description varchar(255) not null, type enum ('EXPENSE','INCOME') not null, primary key (id));
+
+insert into budgets (category, monthly_limit, budget_year, budget_month, alert_threshold, is_active, created_at, updated_at)
+values ('Food', 300.00, 2025, 6, 80.00, true, current_timestamp, current_timestamp);
+
+insert into transactions (amount, description, date, category, type, created_at, updated_at)
+values (3000.00, 'Salary', date '2025-06-01', 'Salary', 'INCOME', current_timestamp, current_timestamp),
+       (45.50, 'Groceries', date '2025-06-03', 'Food', 'EXPENSE', current_timestamp, current_timestamp),
+       (20.00, 'Lunch', date '2025-06-10', 'Food', 'EXPENSE', current_timestamp, current_timestamp);